@@ -1,12 +1,20 @@
 package benchmark;
 
 import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
 import graphql.execution.instrumentation.ChainedInstrumentation;
 import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.InstrumentationState;
 import graphql.execution.instrumentation.SimplePerformantInstrumentation;
 import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldParameters;
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLList;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLSchema;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -24,8 +32,11 @@ import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 
 import static graphql.Scalars.GraphQLString;
@@ -38,7 +49,7 @@ import static graphql.schema.GraphQLObjectType.newObject;
 @Fork(2)
 public class ChainedInstrumentationBenchmark {
 
-    @Param({"0", "1", "10"})
+    @Param({"0", "1", "5", "10"})
     public int num;
 
     ChainedInstrumentation chainedInstrumentation;
@@ -46,6 +57,10 @@ public class ChainedInstrumentationBenchmark {
     InstrumentationExecutionParameters parameters;
     InstrumentationState instrumentationState;
 
+    // executes 100 objects of 5 fields with a chain where only the first instrumentation implements a per field hook
+    GraphQL graphQL;
+    static final String FIELDS_QUERY = "{ items { a b c d e } }";
+
     @Setup(Level.Trial)
     public void setUp() throws ExecutionException, InterruptedException {
         GraphQLObjectType queryType = newObject()
@@ -65,6 +80,48 @@ public class ChainedInstrumentationBenchmark {
         chainedInstrumentation = new ChainedInstrumentation(instrumentations);
         instrumentationState = chainedInstrumentation.createStateAsync(createStateParameters).get();
         parameters = new InstrumentationExecutionParameters(executionInput, schema);
+
+        graphQL = GraphQL.newGraphQL(buildFieldsSchema())
+                .instrumentation(new ChainedInstrumentation(mostlyNoOpInstrumentations(num)))
+                .build();
+    }
+
+    private static List<Instrumentation> mostlyNoOpInstrumentations(int num) {
+        List<Instrumentation> instrumentations = new ArrayList<>();
+        for (int i = 0; i < num; i++) {
+            if (i == 0) {
+                instrumentations.add(new SimplePerformantInstrumentation() {
+                    @Override
+                    public InstrumentationContext<Object> beginFieldExecution(InstrumentationFieldParameters parameters, InstrumentationState state) {
+                        return null;
+                    }
+                });
+            } else {
+                instrumentations.add(new SimplePerformantInstrumentation());
+            }
+        }
+        return instrumentations;
+    }
+
+    private static GraphQLSchema buildFieldsSchema() {
+        GraphQLObjectType.Builder itemType = newObject().name("Item");
+        Map<String, Object> item = new LinkedHashMap<>();
+        for (String name : List.of("a", "b", "c", "d", "e")) {
+            itemType.field(newFieldDefinition().name(name).type(GraphQLString));
+            item.put(name, name);
+        }
+        List<Map<String, Object>> items = Collections.nCopies(100, item);
+        GraphQLObjectType queryType = newObject()
+                .name("Query")
+                .field(newFieldDefinition().name("items").type(GraphQLList.list(itemType.build())))
+                .build();
+        GraphQLCodeRegistry codeRegistry = GraphQLCodeRegistry.newCodeRegistry()
+                .dataFetcher(FieldCoordinates.coordinates("Query", "items"), (DataFetcher<?>) env -> items)
+                .build();
+        return GraphQLSchema.newSchema()
+                .query(queryType)
+                .codeRegistry(codeRegistry)
+                .build();
     }
 
     @Benchmark
@@ -73,6 +130,12 @@ public class ChainedInstrumentationBenchmark {
         return chainedInstrumentation.instrumentSchema(schema, parameters, instrumentationState);
     }
 
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public ExecutionResult benchmarkExecuteFields() {
+        return graphQL.execute(FIELDS_QUERY);
+    }
+
     public static void main(String[] args) throws Exception {
         Options opt = new OptionsBuilder()
                 .include("benchmark.ChainedInstrumentationBenchmark")
@@ -0,0 +1,99 @@
+package benchmark;
+
+import graphql.language.AstBinaryCodec;
+import graphql.language.AstPrinter;
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.parser.ParserEnvironment;
+import graphql.parser.ParserOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing a document from its text with decoding it from the binary form of {@link AstBinaryCodec}, for
+ * a large query and a large SDL document
+ */
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(2)
+public class DocumentParserVersusDecodeBenchmark {
+
+    static String QUERY = BenchmarkUtils.loadResource("large-schema-4-query.graphql");
+    static String SDL = BenchmarkUtils.loadResource("large-schema-2.graphqls");
+
+    static Document queryDocument = parseQuery(QUERY);
+    static Document sdlDocument = parseSdl(SDL);
+
+    static byte[] queryBytes = AstBinaryCodec.encode(queryDocument);
+    static byte[] sdlBytes = AstBinaryCodec.encode(sdlDocument);
+    static byte[] queryBytesWithoutLocations = AstBinaryCodec.encode(queryDocument, false);
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void benchMarkParsingQuery(Blackhole blackhole) {
+        blackhole.consume(parseQuery(QUERY));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void benchMarkPrintingAndParsingQuery(Blackhole blackhole) {
+        blackhole.consume(parseQuery(AstPrinter.printAstCompact(queryDocument)));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void benchMarkDecodingQuery(Blackhole blackhole) {
+        blackhole.consume(AstBinaryCodec.decode(queryBytes));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void benchMarkDecodingQueryWithoutLocations(Blackhole blackhole) {
+        blackhole.consume(AstBinaryCodec.decode(queryBytesWithoutLocations));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void benchMarkEncodingQuery(Blackhole blackhole) {
+        blackhole.consume(AstBinaryCodec.encode(queryDocument));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void benchMarkParsingSdl(Blackhole blackhole) {
+        blackhole.consume(parseSdl(SDL));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void benchMarkDecodingSdl(Blackhole blackhole) {
+        blackhole.consume(AstBinaryCodec.decode(sdlBytes));
+    }
+
+    static Document parseQuery(String query) {
+        return Parser.parse(query);
+    }
+
+    static Document parseSdl(String sdl) {
+        ParserEnvironment parserEnvironment = ParserEnvironment.newParserEnvironment()
+                .document(sdl)
+                .parserOptions(ParserOptions.getDefaultSdlParserOptions())
+                .build();
+        return new Parser().parseDocument(parserEnvironment);
+    }
+}
@@ -0,0 +1,74 @@
+package benchmark;
+
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.FastSchemaGenerator;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.SchemaSnapshot;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building a large schema from its SDL with reading it back from a {@link SchemaSnapshot}
+ */
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(2)
+public class SchemaSnapshotBenchmark {
+
+    static String largeSDL = BenchmarkUtils.loadResource("large-schema-4.graphqls");
+
+    static GraphQLSchema largeSchema = createSchema(largeSDL);
+    static byte[] largeSnapshot = SchemaSnapshot.write(largeSchema);
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchmarkLargeSchemaCreate(Blackhole blackhole) {
+        blackhole.consume(createSchema(largeSDL));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchmarkLargeSchemaCreateFast(Blackhole blackhole) {
+        blackhole.consume(createSchemaFast(largeSDL));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchmarkLargeSchemaReadSnapshot(Blackhole blackhole) {
+        blackhole.consume(SchemaSnapshot.read(largeSnapshot, RuntimeWiring.MOCKED_WIRING));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchmarkLargeSchemaWriteSnapshot(Blackhole blackhole) {
+        blackhole.consume(SchemaSnapshot.write(largeSchema));
+    }
+
+    private static GraphQLSchema createSchema(String sdl) {
+        TypeDefinitionRegistry registry = new SchemaParser().parse(sdl);
+        return new SchemaGenerator().makeExecutableSchema(registry, RuntimeWiring.MOCKED_WIRING);
+    }
+
+    private static GraphQLSchema createSchemaFast(String sdl) {
+        TypeDefinitionRegistry registry = new SchemaParser().parse(sdl);
+        return new FastSchemaGenerator().makeExecutableSchema(
+                SchemaGenerator.Options.defaultOptions().withValidation(false),
+                registry,
+                RuntimeWiring.MOCKED_WIRING);
+    }
+}
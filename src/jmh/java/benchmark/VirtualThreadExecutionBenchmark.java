@@ -0,0 +1,118 @@
+package benchmark;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.AsyncExecutionStrategy;
+import graphql.execution.VirtualThreadExecutionStrategy;
+import graphql.schema.AsyncDataFetcher;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring;
+
+/**
+ * Compares running blocking data fetchers via {@link AsyncDataFetcher} on the common pool with running them
+ * on virtual threads via {@link VirtualThreadExecutionStrategy}.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(2)
+public class VirtualThreadExecutionBenchmark {
+
+    @Param({"10", "100"})
+    public int numberOfItems;
+
+    @Param({"1"})
+    public int blockingMillis;
+
+    GraphQL commonPoolGraphQL;
+    GraphQL virtualThreadGraphQL;
+    String query;
+
+    @Setup
+    public void setUp() {
+        String sdl = "type Query { items : [Item] }\n" +
+                "type Item { id : ID detail : String }";
+        TypeDefinitionRegistry registry = new SchemaParser().parse(sdl);
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 0; i < numberOfItems; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", String.valueOf(i));
+            items.add(item);
+        }
+        DataFetcher<?> itemsDF = env -> items;
+        DataFetcher<?> blockingDetailDF = env -> {
+            Thread.sleep(blockingMillis);
+            Map<String, Object> item = env.getSource();
+            return "detail" + item.get("id");
+        };
+
+        GraphQLSchema commonPoolSchema = buildSchema(registry, itemsDF, AsyncDataFetcher.async(blockingDetailDF));
+        commonPoolGraphQL = GraphQL.newGraphQL(commonPoolSchema)
+                .queryExecutionStrategy(new AsyncExecutionStrategy())
+                .build();
+
+        GraphQLSchema virtualThreadSchema = buildSchema(registry, itemsDF, blockingDetailDF);
+        virtualThreadGraphQL = GraphQL.newGraphQL(virtualThreadSchema)
+                .queryExecutionStrategy(new VirtualThreadExecutionStrategy())
+                .build();
+
+        query = "{ items { id detail } }";
+    }
+
+    private static GraphQLSchema buildSchema(TypeDefinitionRegistry registry, DataFetcher<?> itemsDF, DataFetcher<?> detailDF) {
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("items", itemsDF))
+                .type(newTypeWiring("Item").dataFetcher("detail", detailDF))
+                .build();
+        return new SchemaGenerator().makeExecutableSchema(registry, runtimeWiring);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ExecutionResult blockingFetchersOnCommonPool() {
+        return commonPoolGraphQL.execute(query);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ExecutionResult blockingFetchersOnVirtualThreads() {
+        return virtualThreadGraphQL.execute(query);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include("benchmark.VirtualThreadExecutionBenchmark")
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,156 @@
+package graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring;
+
+/**
+ * Executes a wide query of leaf fields served by property data fetchers, where creating the step infos dominates the
+ * per field cost.  It is apart from {@link ExecutionStepInfoBenchmark} so that it is not repeated for each of its
+ * numbers of items.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 2)
+@Fork(2)
+public class ExecutionStepInfoLeafFieldsBenchmark {
+
+    private static final int NUMBER_OF_LIST_ITEMS = 1000;
+
+    private static final String LEAF_FIELDS_QUERY = "{ items { id name description price inStock category } }";
+
+    GraphQL graphQL;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graphQL = buildGraphQL();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public ExecutionResult benchMarkLeafFieldsThroughput() {
+        return graphQL.execute(LEAF_FIELDS_QUERY);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ExecutionResult benchMarkLeafFieldsAvgTime() {
+        return graphQL.execute(LEAF_FIELDS_QUERY);
+    }
+
+    private static GraphQL buildGraphQL() {
+        String sdl = "type Query {\n" +
+                "    items : [Item]\n" +
+                "}\n" +
+                "\n" +
+                "enum Category {\n" +
+                "    BOOKS\n" +
+                "    GAMES\n" +
+                "}\n" +
+                "\n" +
+                "type Item {\n" +
+                "    id : ID!\n" +
+                "    name : String\n" +
+                "    description : String\n" +
+                "    price : Float\n" +
+                "    inStock : Boolean\n" +
+                "    category : Category\n" +
+                "}\n";
+        TypeDefinitionRegistry definitionRegistry = new SchemaParser().parse(sdl);
+
+        List<ItemDTO> items = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_LIST_ITEMS; i++) {
+            items.add(new ItemDTO("item" + i, "Item " + i, "The description of item " + i, i * 1.5d, i % 3 != 0, i % 2 == 0 ? "BOOKS" : "GAMES"));
+        }
+        DataFetcher<List<ItemDTO>> itemsDataFetcher = environment -> items;
+
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("items", itemsDataFetcher))
+                .build();
+
+        GraphQLSchema graphQLSchema = new SchemaGenerator().makeExecutableSchema(definitionRegistry, runtimeWiring);
+
+        return GraphQL.newGraphQL(graphQLSchema)
+                .build();
+    }
+
+    public static class ItemDTO {
+        private final String id;
+        private final String name;
+        private final String description;
+        private final double price;
+        private final boolean inStock;
+        private final String category;
+
+        ItemDTO(String id, String name, String description, double price, boolean inStock, String category) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.price = price;
+            this.inStock = inStock;
+            this.category = category;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public boolean isInStock() {
+            return inStock;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include("graphql.execution.ExecutionStepInfoLeafFieldsBenchmark")
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+}
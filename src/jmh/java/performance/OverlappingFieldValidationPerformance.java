@@ -45,11 +45,14 @@ public class OverlappingFieldValidationPerformance {
             "type Concrete2 implements Abstract2{ field: Abstract leaf: Int} " +
             "type Viewer { xingId: XingId } type XingId { firstName: String! lastName: String! }";
 
+    static String fragmentSchemaSdl = "type Query { node: Node } type Node { id: ID name: String child: Node children: [Node] }";
+
     @State(Scope.Benchmark)
     public static class MyState {
 
         GraphQLSchema schema;
         GraphQLSchema schema2;
+        GraphQLSchema fragmentSchema;
         Document document;
 
         @Param({"100"})
@@ -61,6 +64,9 @@ public class OverlappingFieldValidationPerformance {
         Document noOverlapNoFrag;
         Document repeatedFields;
         Document deepAbstractConcrete;
+        Document fragmentFanOut;
+        Document fragmentChain;
+        Document repeatedFragmentSpreads;
 
         @Setup
         public void setup() {
@@ -71,9 +77,14 @@ public class OverlappingFieldValidationPerformance {
                 noOverlapNoFrag = makeQuery(size, false, false);
                 repeatedFields = makeRepeatedFieldsQuery(size);
                 deepAbstractConcrete = makeDeepAbstractConcreteQuery(size);
+                // sized to stay within the default parser and query complexity limits
+                fragmentFanOut = makeFragmentFanOutQuery(size / 2);
+                fragmentChain = makeFragmentChainQuery(size / 2);
+                repeatedFragmentSpreads = makeRepeatedFragmentSpreadsQuery(size);
 
 
                 schema2 = SchemaGenerator.createdMockedSchema(schemaSdl);
+                fragmentSchema = SchemaGenerator.createdMockedSchema(fragmentSchemaSdl);
 
                 String schemaString = PerformanceTestingUtils.loadResource("large-schema-4.graphqls");
                 String query = PerformanceTestingUtils.loadResource("large-schema-4-query.graphql");
@@ -146,6 +157,27 @@ public class OverlappingFieldValidationPerformance {
         blackhole.consume(validateQuery(myState.schema2, myState.deepAbstractConcrete));
     }
 
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchmarkFragmentFanOut(MyState myState, Blackhole blackhole) {
+        blackhole.consume(validateQuery(myState.fragmentSchema, myState.fragmentFanOut));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchmarkFragmentChain(MyState myState, Blackhole blackhole) {
+        blackhole.consume(validateQuery(myState.fragmentSchema, myState.fragmentChain));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchmarkRepeatedFragmentSpreads(MyState myState, Blackhole blackhole) {
+        blackhole.consume(validateQuery(myState.fragmentSchema, myState.repeatedFragmentSpreads));
+    }
+
     private List<ValidationError> validateQuery(GraphQLSchema schema, Document document) {
         ValidationErrorCollector errorCollector = new ValidationErrorCollector();
         I18n i18n = I18n.i18n(I18n.BundleType.Validation, Locale.ENGLISH);
@@ -243,4 +275,64 @@ public class OverlappingFieldValidationPerformance {
 
         return Parser.parse(q.toString());
     }
+
+    /*
+     * Every branch fragment spreads every leaf fragment under the same field, so the sub selections of the
+     * fields that are merged share the same fragments
+     */
+    private static Document makeFragmentFanOutQuery(int width) {
+        StringBuilder q = new StringBuilder();
+
+        for (int i = 1; i <= width; i++) {
+            q.append("fragment leaf").append(i).append(" on Node { id name child { id name } children { id name } }\n");
+        }
+        for (int i = 1; i <= width; i++) {
+            q.append("fragment branch").append(i).append(" on Node { child { ");
+            for (int j = 1; j <= width; j++) {
+                q.append("...leaf").append(j).append(" ");
+            }
+            q.append("} }\n");
+        }
+
+        q.append("query FragmentFanOut { node { ");
+        for (int i = 1; i <= width; i++) {
+            q.append("...branch").append(i).append(" ");
+        }
+        q.append("} }");
+
+        return Parser.parse(q.toString());
+    }
+
+    /*
+     * A chain of fragments that each spread the next one a level deeper, spread from two fields that are merged
+     */
+    private static Document makeFragmentChainQuery(int depth) {
+        StringBuilder q = new StringBuilder();
+
+        for (int i = 1; i < depth; i++) {
+            q.append("fragment chain").append(i).append(" on Node { id name child { ...chain").append(i + 1).append(" } }\n");
+        }
+        q.append("fragment chain").append(depth).append(" on Node { id name }\n");
+
+        q.append("query FragmentChain { node { ...chain1 } node { ...chain1 } }");
+
+        return Parser.parse(q.toString());
+    }
+
+    /*
+     * The same fragment spread in many fields that are merged
+     */
+    private static Document makeRepeatedFragmentSpreadsQuery(int size) {
+        StringBuilder q = new StringBuilder();
+
+        q.append("fragment nodeFields on Node { id name child { id name children { id name } } }\n");
+
+        q.append("query RepeatedFragmentSpreads { node { ");
+        for (int i = 1; i <= size; i++) {
+            q.append("child { ...nodeFields } ");
+        }
+        q.append("} }");
+
+        return Parser.parse(q.toString());
+    }
 }
@@ -0,0 +1,230 @@
+package graphql;
+
+import graphql.language.OperationDefinition;
+import graphql.schema.FieldCoordinates;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A point in time snapshot of the profiles of all the executions of one operation signature, as accumulated by an
+ * {@link AggregatingProfiler}.
+ * <p>
+ * The fetch counts and dispatches are totals over {@link #getExecutionCount()} executions, so dividing them by it
+ * gives the mean per execution.  A field that is fetched many times per execution by a custom data fetcher is a
+ * candidate N+1, and a {@link org.dataloader.DataLoader} with many small batches is a candidate for better batching.
+ */
+@ExperimentalApi
+@NullMarked
+public class AggregatedProfilerResult {
+
+    private final String signature;
+    private final @Nullable String operationName;
+    private final OperationDefinition.Operation operationType;
+    private final long executionCount;
+    private final long totalExecutionNanos;
+    private final long engineRunningNanos;
+    private final Map<FieldCoordinates, Long> fieldFetchCounts;
+    private final List<DispatchStats> dispatchStats;
+
+    AggregatedProfilerResult(String signature,
+                             @Nullable String operationName,
+                             OperationDefinition.Operation operationType,
+                             long executionCount,
+                             long totalExecutionNanos,
+                             long engineRunningNanos,
+                             Map<FieldCoordinates, Long> fieldFetchCounts,
+                             List<DispatchStats> dispatchStats) {
+        this.signature = signature;
+        this.operationName = operationName;
+        this.operationType = operationType;
+        this.executionCount = executionCount;
+        this.totalExecutionNanos = totalExecutionNanos;
+        this.engineRunningNanos = engineRunningNanos;
+        this.fieldFetchCounts = fieldFetchCounts;
+        this.dispatchStats = dispatchStats;
+    }
+
+    /**
+     * @return the signature of the operation, which is its document with the literals hidden, the aliases removed and
+     * the selections sorted, as made by {@link graphql.language.AstSignature#signatureQuery}
+     */
+    public String getSignature() {
+        return signature;
+    }
+
+    /**
+     * @return the name of the operation or null if it is anonymous
+     */
+    public @Nullable String getOperationName() {
+        return operationName;
+    }
+
+    /**
+     * @return the type of the operation
+     */
+    public OperationDefinition.Operation getOperationType() {
+        return operationType;
+    }
+
+    /**
+     * @return the number of executions of the operation that finished
+     */
+    public long getExecutionCount() {
+        return executionCount;
+    }
+
+    /**
+     * @return the total time of the executions, from when the engine started until the result was complete
+     */
+    public Duration getTotalExecutionTime() {
+        return Duration.ofNanos(totalExecutionNanos);
+    }
+
+    /**
+     * @return the total time the engine was running code during the executions
+     */
+    public Duration getEngineRunningTime() {
+        return Duration.ofNanos(engineRunningNanos);
+    }
+
+    /**
+     * @return the total time the executions were waiting, typically for async data fetchers and batch loaders, which
+     * is the execution time that the engine was not running
+     */
+    public Duration getEngineWaitingTime() {
+        return Duration.ofNanos(Math.max(0, totalExecutionNanos - engineRunningNanos));
+    }
+
+    /**
+     * @return the mean time of an execution, or zero if none finished
+     */
+    public Duration getMeanExecutionTime() {
+        return executionCount == 0 ? Duration.ZERO : Duration.ofNanos(totalExecutionNanos / executionCount);
+    }
+
+    /**
+     * @return the number of times each field was fetched, excluding introspection fields
+     */
+    public Map<FieldCoordinates, Long> getFieldFetchCounts() {
+        return fieldFetchCounts;
+    }
+
+    /**
+     * @return the dispatches of each {@link org.dataloader.DataLoader} at each level
+     */
+    public List<DispatchStats> getDispatchStats() {
+        return dispatchStats;
+    }
+
+    @Override
+    public String toString() {
+        return "AggregatedProfilerResult{" +
+                "operationName=" + operationName +
+                ", operationType=" + operationType +
+                ", executionCount=" + executionCount +
+                ", meanExecutionTime=" + getMeanExecutionTime() +
+                ", engineRunningTime=" + getEngineRunningTime() +
+                ", engineWaitingTime=" + getEngineWaitingTime() +
+                ", fieldFetchCounts=" + fieldFetchCounts +
+                ", dispatchStats=" + dispatchStats +
+                '}';
+    }
+
+    /**
+     * The batches dispatched by one {@link org.dataloader.DataLoader} at one level.  The batch sizes are counted in
+     * power of two buckets: bucket {@code i} counts the batches of {@code 2^i} to {@code 2^(i+1) - 1} keys.
+     */
+    @ExperimentalApi
+    @NullMarked
+    public static class DispatchStats {
+
+        /**
+         * The number of buckets of batch sizes
+         */
+        public static final int BUCKET_COUNT = 31;
+
+        private final String dataLoaderName;
+        private final @Nullable Integer level;
+        private final long[] batchSizeCounts;
+        private final long dispatchCount;
+        private final long keyCount;
+        private final long maxBatchSize;
+
+        DispatchStats(String dataLoaderName, @Nullable Integer level, long[] batchSizeCounts, long dispatchCount, long keyCount, long maxBatchSize) {
+            this.dataLoaderName = dataLoaderName;
+            this.level = level;
+            this.batchSizeCounts = batchSizeCounts;
+            this.dispatchCount = dispatchCount;
+            this.keyCount = keyCount;
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        static int bucketIndex(int batchSize) {
+            return 31 - Integer.numberOfLeadingZeros(Math.max(batchSize, 1));
+        }
+
+        /**
+         * @return the name of the data loader
+         */
+        public String getDataLoaderName() {
+            return dataLoaderName;
+        }
+
+        /**
+         * @return the level of the dispatches, or null if they were not dispatched by level
+         */
+        public @Nullable Integer getLevel() {
+            return level;
+        }
+
+        /**
+         * @return the number of batches dispatched
+         */
+        public long getDispatchCount() {
+            return dispatchCount;
+        }
+
+        /**
+         * @return the total number of keys in the batches
+         */
+        public long getKeyCount() {
+            return keyCount;
+        }
+
+        /**
+         * @return the number of keys in the largest batch
+         */
+        public long getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        /**
+         * @return the mean number of keys in a batch, or zero if none were dispatched
+         */
+        public double getMeanBatchSize() {
+            return dispatchCount == 0 ? 0 : (double) keyCount / dispatchCount;
+        }
+
+        /**
+         * @return the number of batches counted in each power of two bucket of sizes
+         */
+        public long[] getBatchSizeCounts() {
+            return batchSizeCounts.clone();
+        }
+
+        @Override
+        public String toString() {
+            return "DispatchStats{" +
+                    "dataLoaderName='" + dataLoaderName + '\'' +
+                    ", level=" + level +
+                    ", dispatchCount=" + dispatchCount +
+                    ", meanBatchSize=" + getMeanBatchSize() +
+                    ", maxBatchSize=" + maxBatchSize +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package graphql;
+
+import graphql.execution.EngineRunningObserver;
+import graphql.execution.ExecutionId;
+import graphql.execution.QueryAndOperationName;
+import graphql.execution.ResultPath;
+import graphql.execution.instrumentation.Instrumentation;
+import graphql.language.AstPrinter;
+import graphql.language.AstSignature;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLOutputType;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.util.ConcurrentLruCache;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.NullUnmarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import static graphql.Assert.assertTrue;
+
+/**
+ * A profiler that accumulates the profiles of every execution, rather than one as {@link ExecutionInput#isProfileExecution()}
+ * does, so that it can be left enabled in production.  The executions are grouped by the signature of their operation
+ * and for each signature it totals the execution count, the time the engine was running and waiting, the number of
+ * times each field was fetched and the batch sizes dispatched by each {@link org.dataloader.DataLoader} at each level.
+ * <p>
+ * It is enabled with {@link GraphQL.Builder#aggregatingProfiler(AggregatingProfiler)}, and a request that asks for
+ * {@link ExecutionInput#isProfileExecution()} is profiled on its own instead.  Use {@link #snapshot()} or
+ * {@link #snapshotAndReset()} to export the profiles, say to a metrics system at a fixed interval.
+ * <p>
+ * Recording fields and dispatches does not lock and the memory is bounded: at most {@link Builder#maxOperations(int)}
+ * signatures are tracked and the executions of any others are only counted by {@link #getUntrackedCount()}.  The
+ * signatures of about the {@link #MAX_QUERY_SIGNATURES} most recently used query texts are remembered in a
+ * {@link graphql.util.ConcurrentLruCache}, so they are not computed for every execution and looking one up does not
+ * take a lock shared by the whole process.  Executions that fail before their operation is executed, say from a validation error,
+ * are not profiled.
+ */
+@ExperimentalApi
+@NullMarked
+public class AggregatingProfiler {
+
+    /**
+     * The default maximum number of operation signatures that are tracked
+     */
+    public static final int DEFAULT_MAX_OPERATIONS = 1000;
+
+    /**
+     * The maximum number of query texts whose signatures are remembered, the least recently used ones are forgotten first
+     */
+    public static final int MAX_QUERY_SIGNATURES = 4096;
+
+    private final int maxOperations;
+    private final LongSupplier ticker;
+    private final ConcurrentLruCache<QueryAndOperationName, String> signatures = new ConcurrentLruCache<>(MAX_QUERY_SIGNATURES);
+    private final ConcurrentHashMap<String, OperationProfile> profiles = new ConcurrentHashMap<>();
+    private final LongAdder untrackedCount = new LongAdder();
+
+    private AggregatingProfiler(Builder builder) {
+        this.maxOperations = builder.maxOperations;
+        this.ticker = builder.ticker;
+    }
+
+    /**
+     * This is called by the engine to profile one execution
+     *
+     * @return a profiler that adds the profile of one execution to this one
+     */
+    @Internal
+    public Profiler newExecutionProfiler() {
+        return new ExecutionProfiler();
+    }
+
+    private @Nullable OperationProfile getProfile(@Nullable String query, Document document, OperationDefinition operationDefinition) {
+        String signature = getSignature(query, document, operationDefinition);
+        OperationProfile profile = profiles.get(signature);
+        if (profile != null) {
+            return profile;
+        }
+        if (profiles.size() >= maxOperations) {
+            return null;
+        }
+        return profiles.computeIfAbsent(signature, key -> new OperationProfile(operationDefinition.getName(), operationDefinition.getOperation()));
+    }
+
+    private String getSignature(@Nullable String query, Document document, OperationDefinition operationDefinition) {
+        // a persisted query has no text, so the printing of its document stands in for it
+        String queryText = query == null || ExecutionInput.PERSISTED_QUERY_MARKER.equals(query) ? AstPrinter.printAstCompact(document) : query;
+        return signatures.computeIfAbsent(new QueryAndOperationName(queryText, operationDefinition.getName()),
+                key -> AstPrinter.printAstCompact(new AstSignature().signatureQuery(document, key.getOperationName())));
+    }
+
+    @VisibleForTesting
+    int getQuerySignatureCount() {
+        return signatures.size();
+    }
+
+    /**
+     * @return a snapshot of the profiles of each operation signature accumulated so far
+     */
+    public List<AggregatedProfilerResult> snapshot() {
+        return snapshot(false);
+    }
+
+    /**
+     * Takes a snapshot of the profiles of each operation signature and starts them again from zero, so that each
+     * snapshot has the profiles since the previous one.  The signatures remain tracked.
+     *
+     * @return a snapshot of the profiles accumulated since the last reset
+     */
+    public List<AggregatedProfilerResult> snapshotAndReset() {
+        untrackedCount.reset();
+        return snapshot(true);
+    }
+
+    private List<AggregatedProfilerResult> snapshot(boolean reset) {
+        List<AggregatedProfilerResult> results = new ArrayList<>();
+        for (Map.Entry<String, OperationProfile> entry : profiles.entrySet()) {
+            results.add(entry.getValue().snapshot(entry.getKey(), reset));
+        }
+        return results;
+    }
+
+    /**
+     * @return the number of executions that were not profiled because the maximum number of operation signatures
+     * were already tracked
+     */
+    public long getUntrackedCount() {
+        return untrackedCount.sum();
+    }
+
+    private class ExecutionProfiler implements Profiler {
+
+        private volatile @Nullable String query;
+        private volatile @Nullable OperationProfile profile;
+        private volatile long startTime;
+        private volatile long lastStartTime;
+        private final AtomicLong engineTotalRunningTime = new AtomicLong();
+
+        @Override
+        public void setExecutionInputAndInstrumentation(ExecutionInput executionInput, Instrumentation instrumentation) {
+            query = executionInput.getQuery();
+        }
+
+        @Override
+        public void operationDefinition(Document document, OperationDefinition operationDefinition) {
+            profile = getProfile(query, document, operationDefinition);
+            if (profile == null) {
+                untrackedCount.increment();
+            }
+        }
+
+        @Override
+        public void fieldFetched(Object fetchedObject, DataFetcher<?> originalDataFetcher, DataFetcher<?> dataFetcher, ResultPath path, GraphQLFieldDefinition fieldDef, GraphQLOutputType parentType) {
+            OperationProfile profile = this.profile;
+            if (profile == null) {
+                return;
+            }
+            String typeName = ((GraphQLNamedType) GraphQLTypeUtil.unwrapAll(parentType)).getName();
+            // introspection types and meta fields all start with two underscores
+            if (typeName.startsWith("__") || fieldDef.getName().startsWith("__")) {
+                return;
+            }
+            profile.fieldFetched(typeName, fieldDef.getName());
+        }
+
+        @Override
+        public EngineRunningObserver wrapEngineRunningObserver(@Nullable EngineRunningObserver engineRunningObserver) {
+            return new EngineRunningObserver() {
+                @Override
+                public void runningStateChanged(@Nullable ExecutionId executionId, GraphQLContext graphQLContext, RunningState runningState) {
+                    runningStateChangedImpl(runningState);
+                    if (engineRunningObserver != null) {
+                        engineRunningObserver.runningStateChanged(executionId, graphQLContext, runningState);
+                    }
+                }
+            };
+        }
+
+        private void runningStateChangedImpl(EngineRunningObserver.RunningState runningState) {
+            long now = ticker.getAsLong();
+            if (runningState == EngineRunningObserver.RunningState.RUNNING_START) {
+                startTime = now;
+                lastStartTime = now;
+            } else if (runningState == EngineRunningObserver.RunningState.NOT_RUNNING_FINISH) {
+                long runningTime = engineTotalRunningTime.addAndGet(now - lastStartTime);
+                OperationProfile profile = this.profile;
+                if (profile != null) {
+                    profile.executionFinished(now - startTime, runningTime);
+                }
+            } else if (runningState == EngineRunningObserver.RunningState.RUNNING) {
+                lastStartTime = now;
+            } else if (runningState == EngineRunningObserver.RunningState.NOT_RUNNING) {
+                engineTotalRunningTime.addAndGet(now - lastStartTime);
+            }
+        }
+
+        @Override
+        public void batchLoadedOldStrategy(String name, int level, int count) {
+            dispatched(name, level, count);
+        }
+
+        @Override
+        public void batchLoadedNewStrategy(String dataLoaderName, @Nullable Integer level, int count, boolean delayed, boolean chained) {
+            dispatched(dataLoaderName, level, count);
+        }
+
+        @Override
+        public <V> void manualDispatch(String dataLoaderName, int level, int count) {
+            dispatched(dataLoaderName, level, count);
+        }
+
+        private void dispatched(String dataLoaderName, @Nullable Integer level, int count) {
+            OperationProfile profile = this.profile;
+            if (profile != null) {
+                profile.dispatched(dataLoaderName, level, count);
+            }
+        }
+    }
+
+    private static class OperationProfile {
+        // the dispatches that are not made by level are recorded under this level
+        private static final int NO_LEVEL = -1;
+
+        private final @Nullable String operationName;
+        private final OperationDefinition.Operation operationType;
+        private final LongAdder executionCount = new LongAdder();
+        private final LongAdder totalExecutionNanos = new LongAdder();
+        private final LongAdder engineRunningNanos = new LongAdder();
+        // nested by type name so that counting a fetch does not allocate a FieldCoordinates
+        private final ConcurrentHashMap<String, ConcurrentHashMap<String, LongAdder>> fieldFetchCounts = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, ConcurrentHashMap<Integer, DispatchRecorder>> dispatchRecorders = new ConcurrentHashMap<>();
+
+        OperationProfile(@Nullable String operationName, OperationDefinition.Operation operationType) {
+            this.operationName = operationName;
+            this.operationType = operationType;
+        }
+
+        void executionFinished(long totalNanos, long runningNanos) {
+            executionCount.increment();
+            totalExecutionNanos.add(totalNanos);
+            engineRunningNanos.add(runningNanos);
+        }
+
+        void fieldFetched(String typeName, String fieldName) {
+            ConcurrentHashMap<String, LongAdder> fieldCounts = fieldFetchCounts.get(typeName);
+            if (fieldCounts == null) {
+                fieldCounts = fieldFetchCounts.computeIfAbsent(typeName, name -> new ConcurrentHashMap<>());
+            }
+            LongAdder count = fieldCounts.get(fieldName);
+            if (count == null) {
+                count = fieldCounts.computeIfAbsent(fieldName, name -> new LongAdder());
+            }
+            count.increment();
+        }
+
+        void dispatched(String dataLoaderName, @Nullable Integer level, int keyCount) {
+            dispatchRecorders.computeIfAbsent(dataLoaderName, name -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(level == null ? NO_LEVEL : level, l -> new DispatchRecorder())
+                    .record(keyCount);
+        }
+
+        AggregatedProfilerResult snapshot(String signature, boolean reset) {
+            Map<FieldCoordinates, Long> fieldCounts = new LinkedHashMap<>();
+            for (Map.Entry<String, ConcurrentHashMap<String, LongAdder>> typeEntry : fieldFetchCounts.entrySet()) {
+                for (Map.Entry<String, LongAdder> fieldEntry : typeEntry.getValue().entrySet()) {
+                    LongAdder count = fieldEntry.getValue();
+                    fieldCounts.put(FieldCoordinates.coordinates(typeEntry.getKey(), fieldEntry.getKey()), reset ? count.sumThenReset() : count.sum());
+                }
+            }
+            List<AggregatedProfilerResult.DispatchStats> dispatchStats = new ArrayList<>();
+            for (Map.Entry<String, ConcurrentHashMap<Integer, DispatchRecorder>> nameEntry : dispatchRecorders.entrySet()) {
+                for (Map.Entry<Integer, DispatchRecorder> levelEntry : nameEntry.getValue().entrySet()) {
+                    Integer level = levelEntry.getKey() == NO_LEVEL ? null : levelEntry.getKey();
+                    dispatchStats.add(levelEntry.getValue().snapshot(nameEntry.getKey(), level, reset));
+                }
+            }
+            if (reset) {
+                return new AggregatedProfilerResult(signature, operationName, operationType, executionCount.sumThenReset(),
+                        totalExecutionNanos.sumThenReset(), engineRunningNanos.sumThenReset(), fieldCounts, dispatchStats);
+            }
+            return new AggregatedProfilerResult(signature, operationName, operationType, executionCount.sum(),
+                    totalExecutionNanos.sum(), engineRunningNanos.sum(), fieldCounts, dispatchStats);
+        }
+    }
+
+    private static class DispatchRecorder {
+        private final AtomicLongArray batchSizeCounts = new AtomicLongArray(AggregatedProfilerResult.DispatchStats.BUCKET_COUNT);
+        private final LongAdder keyCount = new LongAdder();
+        private final LongAccumulator maxBatchSize = new LongAccumulator(Math::max, 0);
+
+        void record(int batchSize) {
+            batchSizeCounts.incrementAndGet(AggregatedProfilerResult.DispatchStats.bucketIndex(batchSize));
+            keyCount.add(batchSize);
+            maxBatchSize.accumulate(batchSize);
+        }
+
+        AggregatedProfilerResult.DispatchStats snapshot(String dataLoaderName, @Nullable Integer level, boolean reset) {
+            long[] counts = new long[batchSizeCounts.length()];
+            long dispatchCount = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = reset ? batchSizeCounts.getAndSet(i, 0) : batchSizeCounts.get(i);
+                dispatchCount += counts[i];
+            }
+            if (reset) {
+                return new AggregatedProfilerResult.DispatchStats(dataLoaderName, level, counts, dispatchCount, keyCount.sumThenReset(), maxBatchSize.getThenReset());
+            }
+            return new AggregatedProfilerResult.DispatchStats(dataLoaderName, level, counts, dispatchCount, keyCount.sum(), maxBatchSize.get());
+        }
+    }
+
+
+    public static Builder newAggregatingProfiler() {
+        return new Builder();
+    }
+
+    @NullUnmarked
+    public static class Builder {
+        private int maxOperations = DEFAULT_MAX_OPERATIONS;
+        private LongSupplier ticker = System::nanoTime;
+
+        /**
+         * Sets the maximum number of operation signatures that are tracked, which bounds the memory used
+         *
+         * @param maxOperations the maximum number of operation signatures
+         *
+         * @return this builder
+         */
+        public Builder maxOperations(int maxOperations) {
+            assertTrue(maxOperations > 0, "maxOperations must be greater than zero");
+            this.maxOperations = maxOperations;
+            return this;
+        }
+
+        /**
+         * @param ticker the source of the time in nanoseconds, which is {@link System#nanoTime()} by default
+         *
+         * @return this builder
+         */
+        public Builder ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        public AggregatingProfiler build() {
+            return new AggregatingProfiler(this);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package graphql;
 
 import graphql.collect.ImmutableKit;
+import graphql.execution.Deadline;
 import graphql.execution.ExecutionId;
 import graphql.execution.RawVariables;
 import graphql.execution.preparsed.persisted.PersistedQuerySupport;
@@ -36,6 +37,7 @@ public class ExecutionInput {
     private final Locale locale;
     private final AtomicBoolean cancelled;
     private final boolean profileExecution;
+    private final @Nullable Deadline deadline;
 
     /**
      * In order for {@link #getQuery()} to never be null, use this to mark
@@ -62,6 +64,7 @@ public class ExecutionInput {
         this.extensions = builder.extensions;
         this.cancelled = builder.cancelled;
         this.profileExecution = builder.profileExecution;
+        this.deadline = builder.deadline;
     }
 
     private static String assertQuery(Builder builder) {
@@ -227,6 +230,17 @@ public class ExecutionInput {
         return profileExecution;
     }
 
+    /**
+     * Once the deadline of an execution has passed the engine stops fetching fields and completes the execution with
+     * the data fetched so far, plus errors for the fields it did not finish.
+     *
+     * @return the deadline of this execution or null if it has none
+     */
+    @ExperimentalApi
+    public @Nullable Deadline getDeadline() {
+        return deadline;
+    }
+
     /**
      * This helps you transform the current ExecutionInput object into another one by starting a builder with all
      * the current values and allows you to transform it how you want.
@@ -248,7 +262,8 @@ public class ExecutionInput {
                 .variables(this.rawVariables.toMap())
                 .extensions(this.extensions)
                 .executionId(this.executionId)
-                .locale(this.locale);
+                .locale(this.locale)
+                .deadline(this.deadline);
 
         builderConsumer.accept(builder);
 
@@ -308,6 +323,7 @@ public class ExecutionInput {
         private ExecutionId executionId;
         private AtomicBoolean cancelled = new AtomicBoolean(false);
         private boolean profileExecution;
+        private Deadline deadline;
 
         /**
          * Package level access to the graphql context
@@ -461,6 +477,20 @@ public class ExecutionInput {
             return this;
         }
 
+        /**
+         * Sets the deadline of the execution, say {@code Deadline.after(Duration.ofSeconds(2))} when the request
+         * arrives, after which no more fields are fetched and the data fetched so far is returned
+         *
+         * @param deadline the deadline of the execution or null for none
+         *
+         * @return this builder
+         */
+        @ExperimentalApi
+        public Builder deadline(Deadline deadline) {
+            this.deadline = deadline;
+            return this;
+        }
+
         public ExecutionInput build() {
             return new ExecutionInput(this);
         }
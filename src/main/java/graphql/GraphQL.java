@@ -8,6 +8,7 @@ import graphql.execution.DataFetcherExceptionHandler;
 import graphql.execution.Execution;
 import graphql.execution.ExecutionId;
 import graphql.execution.ExecutionIdProvider;
+import graphql.execution.ExecutionPlan;
 import graphql.execution.ExecutionStrategy;
 import graphql.execution.SimpleDataFetcherExceptionHandler;
 import graphql.execution.SubscriptionExecutionStrategy;
@@ -23,7 +24,10 @@ import graphql.execution.instrumentation.parameters.InstrumentationValidationPar
 import graphql.execution.preparsed.NoOpPreparsedDocumentProvider;
 import graphql.execution.preparsed.PreparsedDocumentEntry;
 import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.singleflight.SingleFlight;
 import graphql.introspection.GoodFaithIntrospection;
+import graphql.jfr.EngineEvent;
+import graphql.jfr.EngineFlightRecorder;
 import graphql.language.Document;
 import graphql.schema.GraphQLSchema;
 import graphql.validation.GoodFaithIntrospectionExceeded;
@@ -32,6 +36,7 @@ import graphql.validation.QueryComplexityLimits;
 import graphql.validation.ValidationError;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.NullUnmarked;
+import org.jspecify.annotations.Nullable;
 
 import java.util.List;
 import java.util.Locale;
@@ -165,6 +170,8 @@ public class GraphQL {
     private final PreparsedDocumentProvider preparsedDocumentProvider;
     private final ValueUnboxer valueUnboxer;
     private final boolean doNotAutomaticallyDispatchDataLoader;
+    private final @Nullable SingleFlight singleFlight;
+    private final @Nullable AggregatingProfiler aggregatingProfiler;
 
 
     private GraphQL(Builder builder) {
@@ -177,6 +184,8 @@ public class GraphQL {
         this.preparsedDocumentProvider = assertNotNull(builder.preparsedDocumentProvider, "preparsedDocumentProvider must be non null");
         this.valueUnboxer = assertNotNull(builder.valueUnboxer, "valueUnboxer must not be null");
         this.doNotAutomaticallyDispatchDataLoader = builder.doNotAutomaticallyDispatchDataLoader;
+        this.singleFlight = builder.singleFlight;
+        this.aggregatingProfiler = builder.aggregatingProfiler;
     }
 
     /**
@@ -239,6 +248,22 @@ public class GraphQL {
         return valueUnboxer;
     }
 
+    /**
+     * @return the {@link SingleFlight} that shares identical executions in flight, or null if they are not shared
+     */
+    @ExperimentalApi
+    public @Nullable SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
+    /**
+     * @return the {@link AggregatingProfiler} that accumulates the profiles of the executions, or null if they are not profiled
+     */
+    @ExperimentalApi
+    public @Nullable AggregatingProfiler getAggregatingProfiler() {
+        return aggregatingProfiler;
+    }
+
     /**
      * Helps you build a GraphQL object ready to execute queries
      *
@@ -266,7 +291,9 @@ public class GraphQL {
                 .subscriptionExecutionStrategy(this.subscriptionStrategy)
                 .executionIdProvider(this.idProvider)
                 .instrumentation(this.instrumentation)
-                .preparsedDocumentProvider(this.preparsedDocumentProvider);
+                .preparsedDocumentProvider(this.preparsedDocumentProvider)
+                .singleFlight(this.singleFlight)
+                .aggregatingProfiler(this.aggregatingProfiler);
 
         builderConsumer.accept(builder);
 
@@ -286,6 +313,8 @@ public class GraphQL {
         private PreparsedDocumentProvider preparsedDocumentProvider = NoOpPreparsedDocumentProvider.INSTANCE;
         private boolean doNotAutomaticallyDispatchDataLoader = false;
         private ValueUnboxer valueUnboxer = ValueUnboxer.DEFAULT;
+        private SingleFlight singleFlight;
+        private AggregatingProfiler aggregatingProfiler;
 
         public Builder(GraphQLSchema graphQLSchema) {
             this.graphQLSchema = graphQLSchema;
@@ -356,6 +385,35 @@ public class GraphQL {
             return this;
         }
 
+        /**
+         * Identical query executions that are in flight at the same time will be executed once and share their result
+         * via the {@link SingleFlight}.  By default every request is executed.
+         *
+         * @param singleFlight the single flight to share executions with or null to execute every request
+         *
+         * @return this builder
+         */
+        @ExperimentalApi
+        public Builder singleFlight(SingleFlight singleFlight) {
+            this.singleFlight = singleFlight;
+            return this;
+        }
+
+        /**
+         * The profile of every execution will be accumulated by the {@link AggregatingProfiler}, except for the
+         * requests that ask for {@link ExecutionInput#isProfileExecution()}, which are profiled on their own.
+         * By default executions are not profiled.
+         *
+         * @param aggregatingProfiler the profiler to accumulate the executions with or null to not profile them
+         *
+         * @return this builder
+         */
+        @ExperimentalApi
+        public Builder aggregatingProfiler(AggregatingProfiler aggregatingProfiler) {
+            this.aggregatingProfiler = aggregatingProfiler;
+            return this;
+        }
+
         public GraphQL build() {
             // we use the data fetcher exception handler unless they set their own strategy in which case bets are off
             if (queryExecutionStrategy == null) {
@@ -484,7 +542,24 @@ public class GraphQL {
      * @return a promise to an {@link ExecutionResult} which can include errors
      */
     public CompletableFuture<ExecutionResult> executeAsync(ExecutionInput executionInput) {
-        Profiler profiler = executionInput.isProfileExecution() ? new ProfilerImpl(executionInput.getGraphQLContext()) : Profiler.NO_OP;
+        if (singleFlight != null) {
+            return singleFlight.execute(executionInput, this.graphQLSchema, () -> executeAsyncImpl(executionInput));
+        }
+        return executeAsyncImpl(executionInput);
+    }
+
+    private Profiler createProfiler(ExecutionInput executionInput) {
+        if (executionInput.isProfileExecution()) {
+            return new ProfilerImpl(executionInput.getGraphQLContext());
+        }
+        if (aggregatingProfiler != null) {
+            return aggregatingProfiler.newExecutionProfiler();
+        }
+        return Profiler.NO_OP;
+    }
+
+    private CompletableFuture<ExecutionResult> executeAsyncImpl(ExecutionInput executionInput) {
+        Profiler profiler = createProfiler(executionInput);
         EngineRunningState engineRunningState = new EngineRunningState(executionInput, profiler);
         return engineRunningState.engineRun(() -> {
             ExecutionInput executionInputWithId = ensureInputHasId(executionInput);
@@ -550,7 +625,9 @@ public class GraphQL {
                 return CompletableFuture.completedFuture(new ExecutionResultImpl(preparsedDocumentEntry.getErrors()));
             }
             try {
-                return execute(Assert.assertNotNull(executionInputRef.get()), assertNotNull(preparsedDocumentEntry.getDocument(), "document must not be null"), graphQLSchema, instrumentationState, engineRunningState, profiler);
+                ExecutionInput executionInputToRun = Assert.assertNotNull(executionInputRef.get());
+                ExecutionPlan executionPlan = ExecutionPlan.isEnabled(executionInputToRun.getGraphQLContext()) ? preparsedDocumentEntry.getExecutionPlan(graphQLSchema) : null;
+                return execute(executionInputToRun, assertNotNull(preparsedDocumentEntry.getDocument(), "document must not be null"), graphQLSchema, instrumentationState, engineRunningState, profiler, executionPlan);
             } catch (AbortExecutionException e) {
                 return CompletableFuture.completedFuture(e.toExecutionResult());
             }
@@ -589,7 +666,9 @@ public class GraphQL {
         InstrumentationContext<Document> parseInstrumentationCtx = nonNullCtx(instrumentation.beginParse(parameters, instrumentationState));
         parseInstrumentationCtx.onDispatched();
 
+        EngineEvent parseEvent = EngineFlightRecorder.beginParse(executionInput);
         ParseAndValidateResult parseResult = ParseAndValidate.parse(executionInput);
+        EngineFlightRecorder.commit(parseEvent);
         if (parseResult.isFailure()) {
             parseInstrumentationCtx.onCompleted(null, parseResult.getSyntaxException());
             return parseResult;
@@ -617,7 +696,9 @@ public class GraphQL {
             validationRulePredicate = rule -> rule != OperationValidationRule.GOOD_FAITH_INTROSPECTION && existing.test(rule);
         }
 
+        EngineEvent validationEvent = EngineFlightRecorder.beginValidation(executionInput);
         List<ValidationError> validationErrors = ParseAndValidate.validate(graphQLSchema, document, validationRulePredicate, locale, limits);
+        EngineFlightRecorder.commit(validationEvent);
 
         validationCtx.onCompleted(validationErrors, null);
         return validationErrors;
@@ -628,13 +709,14 @@ public class GraphQL {
                                                        GraphQLSchema graphQLSchema,
                                                        InstrumentationState instrumentationState,
                                                        EngineRunningState engineRunningState,
-                                                       Profiler profiler
+                                                       Profiler profiler,
+                                                       @Nullable ExecutionPlan executionPlan
     ) {
 
         Execution execution = new Execution(queryStrategy, mutationStrategy, subscriptionStrategy, instrumentation, valueUnboxer, doNotAutomaticallyDispatchDataLoader);
         ExecutionId executionId = executionInput.getExecutionId();
 
-        return execution.execute(document, graphQLSchema, executionId, executionInput, instrumentationState, engineRunningState, profiler);
+        return execution.execute(document, graphQLSchema, executionId, executionInput, instrumentationState, engineRunningState, profiler, executionPlan);
     }
 
 }
@@ -1,12 +1,21 @@
 package graphql;
 
+import graphql.execution.ExecutionPlan;
 import graphql.execution.ResponseMapFactory;
+import graphql.execution.entitycache.EntityCache;
 import graphql.execution.incremental.IncrementalExecutionContextKeys;
+import graphql.execution.instrumentation.dataloader.DelayedDataLoaderDispatcherExecutorFactory;
 import graphql.introspection.GoodFaithIntrospection;
 import graphql.parser.ParserOptions;
 import graphql.schema.PropertyDataFetcherHelper;
 
+import java.time.Duration;
+
 import static graphql.Assert.assertNotNull;
+import static graphql.execution.instrumentation.dataloader.DataLoaderDispatchingContextKeys.DATA_LOADER_DISPATCH_WINDOW;
+import static graphql.execution.instrumentation.dataloader.DataLoaderDispatchingContextKeys.DATA_LOADER_TARGET_BATCH_SIZE;
+import static graphql.execution.instrumentation.dataloader.DataLoaderDispatchingContextKeys.DELAYED_DATA_LOADER_DISPATCHER_EXECUTOR_FACTORY;
+import static graphql.execution.instrumentation.dataloader.DataLoaderDispatchingContextKeys.ENABLE_DATA_LOADER_ADAPTIVE_DISPATCHING;
 import static graphql.execution.instrumentation.dataloader.DataLoaderDispatchingContextKeys.ENABLE_DATA_LOADER_CHAINING;
 import static graphql.execution.instrumentation.dataloader.DataLoaderDispatchingContextKeys.ENABLE_DATA_LOADER_EXHAUSTED_DISPATCHING;
 
@@ -277,6 +286,20 @@ public class GraphQLUnusualConfiguration {
             return new ResponseMapFactoryConfig(this);
         }
 
+        /**
+         * @return an element that allows you to control the use of {@link ExecutionPlan}s
+         */
+        public ExecutionPlanConfig executionPlans() {
+            return new ExecutionPlanConfig(this);
+        }
+
+        /**
+         * @return an element that allows you to control the use of an {@link EntityCache}
+         */
+        public EntityCacheConfig entityCache() {
+            return new EntityCacheConfig(this);
+        }
+
         private void put(String named, Object value) {
             if (graphQLContext != null) {
                 graphQLContext.put(named, value);
@@ -384,6 +407,48 @@ public class GraphQLUnusualConfiguration {
             return this;
         }
 
+        public boolean isDataLoaderAdaptiveDispatchingEnabled() {
+            return contextConfig.getBoolean(ENABLE_DATA_LOADER_ADAPTIVE_DISPATCHING);
+        }
+
+        /**
+         * Enables a dispatching strategy that dispatches when no other data fetcher is running but
+         * holds back small batches while other batch loads are in flight, for at most the dispatch window
+         * or until a DataLoader has reached the target batch size.
+         */
+        @ExperimentalApi
+        public DataloaderConfig enableDataLoaderAdaptiveDispatching(boolean enable) {
+            contextConfig.put(ENABLE_DATA_LOADER_ADAPTIVE_DISPATCHING, enable);
+            return this;
+        }
+
+        /**
+         * Sets the maximum time the adaptive dispatching holds back a DataLoader.
+         */
+        @ExperimentalApi
+        public DataloaderConfig dataLoaderDispatchWindow(Duration dispatchWindow) {
+            contextConfig.put(DATA_LOADER_DISPATCH_WINDOW, dispatchWindow);
+            return this;
+        }
+
+        /**
+         * Sets the number of pending keys at which the adaptive dispatching dispatches a DataLoader straight away.
+         */
+        @ExperimentalApi
+        public DataloaderConfig dataLoaderTargetBatchSize(int targetBatchSize) {
+            contextConfig.put(DATA_LOADER_TARGET_BATCH_SIZE, targetBatchSize);
+            return this;
+        }
+
+        /**
+         * Sets the factory of the executor used to schedule delayed DataLoader dispatches.
+         */
+        @ExperimentalApi
+        public DataloaderConfig delayedDataLoaderDispatcherExecutorFactory(DelayedDataLoaderDispatcherExecutorFactory executorFactory) {
+            contextConfig.put(DELAYED_DATA_LOADER_DISPATCHER_EXECUTOR_FACTORY, executorFactory);
+            return this;
+        }
+
 
     }
 
@@ -409,5 +474,61 @@ public class GraphQLUnusualConfiguration {
             contextConfig.put(ResponseMapFactory.class.getCanonicalName(), factory);
             return this;
         }
+
+        /**
+         * This uses {@link ResponseMapFactory#COMPACT} for this request, which creates immutable maps that share
+         * their keys with all the other maps that have the same keys
+         */
+        @ExperimentalApi
+        public ResponseMapFactoryConfig useCompactMaps() {
+            return setFactory(ResponseMapFactory.COMPACT);
+        }
+    }
+
+    public static class ExecutionPlanConfig extends BaseContextConfig {
+        private ExecutionPlanConfig(GraphQLContextConfiguration contextConfig) {
+            super(contextConfig);
+        }
+
+        /**
+         * @return true if execution plans are enabled for this execution
+         */
+        public boolean isExecutionPlansEnabled() {
+            return contextConfig.getBoolean(ExecutionPlan.ENABLE_EXECUTION_PLANS);
+        }
+
+        /**
+         * Enables the use of {@link ExecutionPlan}s, which remember the collected fields and data fetchers of a document
+         * so that repeated executions of the same cached document do not have to re-collect them.  This is most effective
+         * when combined with a caching {@link graphql.execution.preparsed.PreparsedDocumentProvider}.
+         */
+        @ExperimentalApi
+        public ExecutionPlanConfig enableExecutionPlans(boolean enable) {
+            contextConfig.put(ExecutionPlan.ENABLE_EXECUTION_PLANS, enable);
+            return this;
+        }
+    }
+
+    public static class EntityCacheConfig extends BaseContextConfig {
+        private EntityCacheConfig(GraphQLContextConfiguration contextConfig) {
+            super(contextConfig);
+        }
+
+        /**
+         * @return the {@link EntityCache} in play - this can be null
+         */
+        @ExperimentalApi
+        public EntityCache get() {
+            return contextConfig.get(EntityCache.class.getCanonicalName());
+        }
+
+        /**
+         * This sets the {@link EntityCache} that completed objects of this request are served from and stored in
+         */
+        @ExperimentalApi
+        public EntityCacheConfig setEntityCache(EntityCache entityCache) {
+            contextConfig.put(EntityCache.class.getCanonicalName(), entityCache);
+            return this;
+        }
     }
 }
@@ -3,6 +3,7 @@ package graphql;
 import graphql.execution.EngineRunningObserver;
 import graphql.execution.ResultPath;
 import graphql.execution.instrumentation.Instrumentation;
+import graphql.language.Document;
 import graphql.language.OperationDefinition;
 import graphql.schema.DataFetcher;
 import graphql.schema.GraphQLFieldDefinition;
@@ -40,6 +41,10 @@ public interface Profiler {
 
     }
 
+    default void operationDefinition(Document document, OperationDefinition operationDefinition) {
+        operationDefinition(operationDefinition);
+    }
+
     default void oldStrategyDispatchingAll(int level) {
 
     }
@@ -28,6 +28,11 @@ public abstract class AbstractAsyncExecutionStrategy extends ExecutionStrategy {
                 handleNonNullException(executionContext, overallResult, exception);
                 return;
             }
+            NonNullableFieldWasNullException nonNullException = findNonNullableFieldWasNull(results);
+            if (nonNullException != null) {
+                handleNonNullException(executionContext, overallResult, nonNullException);
+                return;
+            }
 
             Map<String, Object> resolvedValuesByField = executionContext.getResponseMapFactory().createInsertionOrdered(fieldNames, results);
             overallResult.complete(new ExecutionResultImpl(resolvedValuesByField, executionContext.getErrors()));
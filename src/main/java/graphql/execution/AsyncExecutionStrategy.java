@@ -77,7 +77,7 @@ public class AsyncExecutionStrategy extends AbstractAsyncExecutionStrategy {
 
             Async.CombinedBuilder<Object> fieldValuesFutures = Async.ofExpectedSize(completeValueInfos.size());
             for (FieldValueInfo completeValueInfo : completeValueInfos) {
-                fieldValuesFutures.addObject(completeValueInfo.getFieldValueObject());
+                fieldValuesFutures.addObject(completeValueInfo.getFieldValueObjectOrNonNullException());
             }
             dataLoaderDispatcherStrategy.executionStrategyOnFieldValuesInfo(completeValueInfos, parameters);
             executionStrategyCtx.onFieldValuesInfo(completeValueInfos);
@@ -0,0 +1,126 @@
+package graphql.execution;
+
+import graphql.Internal;
+import graphql.VisibleForTesting;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.LightDataFetcher;
+import graphql.util.LockKit;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * This holds the values that a {@link graphql.schema.BatchedDataFetcher} has fetched for the elements of a list, keyed
+ * by the result path of the field in each element.  They are put here when the list is completed and taken out again when
+ * the field of each element is fetched.  Any values that were not taken, say because the element's fields were not fetched,
+ * are removed once the list has been completed.
+ */
+@Internal
+@NullMarked
+public class BatchedFieldValues {
+
+    /**
+     * Returned from {@link #take(ResultPath)} when there is no batched value for a path
+     */
+    public static final Object NO_VALUE = new Object();
+
+    private static final Object NULL_VALUE = new Object();
+
+    private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+    private volatile @Nullable Map<ResultPath, Object> values;
+
+    /**
+     * Puts the batched value, which may be a {@link java.util.concurrent.CompletableFuture}, for a field path
+     *
+     * @param fieldPath the result path of the field
+     * @param value     the value fetched for that field
+     */
+    public void put(ResultPath fieldPath, @Nullable Object value) {
+        Map<ResultPath, Object> map = values;
+        if (map == null) {
+            map = lock.callLocked(() -> {
+                Map<ResultPath, Object> current = values;
+                if (current == null) {
+                    current = new ConcurrentHashMap<>();
+                    values = current;
+                }
+                return current;
+            });
+        }
+        map.put(fieldPath, value == null ? NULL_VALUE : value);
+    }
+
+    /**
+     * Takes the batched value for a field path if there is one
+     *
+     * @param fieldPath the result path of the field
+     *
+     * @return the batched value or {@link #NO_VALUE} if the field was not batched
+     */
+    public @Nullable Object take(ResultPath fieldPath) {
+        Map<ResultPath, Object> map = values;
+        if (map == null) {
+            return NO_VALUE;
+        }
+        Object value = map.remove(fieldPath);
+        if (value == null) {
+            return NO_VALUE;
+        }
+        return value == NULL_VALUE ? null : value;
+    }
+
+    /**
+     * Removes the values of field paths if they have not been taken
+     *
+     * @param fieldPaths the result paths of the fields
+     */
+    public void removeAll(Collection<ResultPath> fieldPaths) {
+        Map<ResultPath, Object> map = values;
+        if (map != null) {
+            for (ResultPath fieldPath : fieldPaths) {
+                map.remove(fieldPath);
+            }
+        }
+    }
+
+    @VisibleForTesting
+    int size() {
+        Map<ResultPath, Object> map = values;
+        return map == null ? 0 : map.size();
+    }
+
+    /**
+     * A data fetcher that hands out a value that was already fetched, so that the value can be instrumented like any
+     * other fetched value
+     *
+     * @param value the batched value
+     *
+     * @return a data fetcher that returns the value
+     */
+    public static LightDataFetcher<Object> valueFetcher(@Nullable Object value) {
+        return new BatchedValueDataFetcher(value);
+    }
+
+    private static class BatchedValueDataFetcher implements LightDataFetcher<Object> {
+        private final @Nullable Object value;
+
+        private BatchedValueDataFetcher(@Nullable Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public @Nullable Object get(GraphQLFieldDefinition fieldDefinition, Object sourceObject, Supplier<DataFetchingEnvironment> environmentSupplier) {
+            return value;
+        }
+
+        @Override
+        public @Nullable Object get(DataFetchingEnvironment environment) {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package graphql.execution;
+
+import graphql.Internal;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import static graphql.Assert.assertTrue;
+
+/**
+ * Implements the contract of {@link ResponseMapFactory} with immutable maps that hold their values in an array.
+ * <p>
+ * All the maps with the same keys, which is every object of a list that was completed with the same selection set,
+ * share one {@link Shape} that holds the keys and their indexes.  So a map costs one array of values rather than a
+ * key table and an entry node per field as a {@link java.util.LinkedHashMap} does.
+ * <p>
+ * The maps can not be modified.
+ */
+@Internal
+@NullMarked
+public class CompactResponseMapFactory implements ResponseMapFactory {
+
+    /**
+     * The number of shapes that are kept for sharing.  Maps with keys beyond that still use an array of values
+     * but get their own shape.
+     */
+    static final int MAX_SHARED_SHAPES = 4096;
+
+    // shapes with up to this many keys find their keys by scanning them rather than via a hash index
+    private static final int MAX_KEYS_TO_SCAN = 8;
+
+    private final Map<List<String>, Shape> shapes = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<String, @Nullable Object> createInsertionOrdered(List<String> keys, List<@Nullable Object> values) {
+        assertTrue(keys.size() == values.size(), () -> String.format("There must be a value for each of the %d keys but there were %d values", keys.size(), values.size()));
+        return new CompactMap(getShape(keys), values.toArray());
+    }
+
+    private Shape getShape(List<String> keys) {
+        Shape shape = shapes.get(keys);
+        if (shape != null) {
+            return shape;
+        }
+        shape = new Shape(keys.toArray(new String[0]));
+        if (shapes.size() >= MAX_SHARED_SHAPES) {
+            return shape;
+        }
+        // the shape is held by its own keys so that the maps do not keep the list of keys reachable
+        Shape existing = shapes.putIfAbsent(shape.keyList(), shape);
+        return existing != null ? existing : shape;
+    }
+
+    int sharedShapeCount() {
+        return shapes.size();
+    }
+
+    /**
+     * The keys of a map in insertion order and their indexes
+     */
+    static final class Shape {
+        private final String[] keys;
+        private final @Nullable Map<String, Integer> indexes;
+
+        Shape(String[] keys) {
+            this.keys = keys;
+            if (keys.length > MAX_KEYS_TO_SCAN) {
+                Map<String, Integer> indexes = new HashMap<>(keys.length * 2);
+                for (int i = 0; i < keys.length; i++) {
+                    indexes.put(keys[i], i);
+                }
+                this.indexes = indexes;
+            } else {
+                this.indexes = null;
+            }
+        }
+
+        int indexOf(@Nullable Object key) {
+            if (indexes != null) {
+                Integer index = indexes.get(key);
+                return index != null ? index : -1;
+            }
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private List<String> keyList() {
+            return List.of(keys);
+        }
+    }
+
+    /**
+     * An immutable map that looks up the index of a key in its shape and its value in an array
+     */
+    static final class CompactMap extends AbstractMap<String, @Nullable Object> {
+        private final Shape shape;
+        private final @Nullable Object[] values;
+
+        CompactMap(Shape shape, @Nullable Object[] values) {
+            this.shape = shape;
+            this.values = values;
+        }
+
+        Shape getShape() {
+            return shape;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return values.length == 0;
+        }
+
+        @Override
+        public boolean containsKey(@Nullable Object key) {
+            return shape.indexOf(key) >= 0;
+        }
+
+        @Override
+        public @Nullable Object get(@Nullable Object key) {
+            int index = shape.indexOf(key);
+            return index >= 0 ? values[index] : null;
+        }
+
+        @Override
+        public @Nullable Object getOrDefault(@Nullable Object key, @Nullable Object defaultValue) {
+            int index = shape.indexOf(key);
+            return index >= 0 ? values[index] : defaultValue;
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super String, ? super @Nullable Object> action) {
+            String[] keys = shape.keys;
+            for (int i = 0; i < keys.length; i++) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<String> iterator() {
+                    return new IndexIterator<>(values.length) {
+                        @Override
+                        String element(int index) {
+                            return shape.keys[index];
+                        }
+                    };
+                }
+
+                @Override
+                public boolean contains(@Nullable Object key) {
+                    return containsKey(key);
+                }
+
+                @Override
+                public int size() {
+                    return values.length;
+                }
+            };
+        }
+
+        @Override
+        public Collection<@Nullable Object> values() {
+            return new AbstractCollection<>() {
+                @Override
+                public Iterator<@Nullable Object> iterator() {
+                    return new IndexIterator<>(values.length) {
+                        @Override
+                        @Nullable Object element(int index) {
+                            return values[index];
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return values.length;
+                }
+            };
+        }
+
+        @Override
+        public Set<Entry<String, @Nullable Object>> entrySet() {
+            // the entries are created as they are iterated rather than kept
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, @Nullable Object>> iterator() {
+                    return new IndexIterator<>(values.length) {
+                        @Override
+                        Entry<String, @Nullable Object> element(int index) {
+                            return new SimpleImmutableEntry<>(shape.keys[index], values[index]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return values.length;
+                }
+            };
+        }
+    }
+
+    private abstract static class IndexIterator<T extends @Nullable Object> implements Iterator<T> {
+        private final int size;
+        private int index;
+
+        IndexIterator(int size) {
+            this.size = size;
+        }
+
+        abstract T element(int index);
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public T next() {
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            return element(index++);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package graphql.execution;
+
+import graphql.ExperimentalApi;
+import graphql.Internal;
+import graphql.VisibleForTesting;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * A point in time by which an execution, or the fetching of a field, should be finished.
+ * <p>
+ * A deadline can be given to a request via {@link graphql.ExecutionInput.Builder#deadline(Deadline)}.  Once it has
+ * passed the engine stops invoking data fetchers and stops dispatching {@link org.dataloader.DataLoader}s, the
+ * asynchronous fetches still in flight are completed with a {@link DeadlineExceededException}, and the request
+ * completes with the data fetched so far plus an error for each field that was cut off.  The futures returned by
+ * data fetchers are never cancelled, as they may be shared, say by a {@link org.dataloader.DataLoader} that caches
+ * them per key, so the engine only stops waiting for them.
+ * <p>
+ * A field can additionally be given its own timeout, counted from when it starts being fetched, via a directive
+ * declared as
+ * <pre>
+ * {@code
+ *   directive @timeout(ms: Int!) on FIELD_DEFINITION
+ * }
+ * </pre>
+ * Data fetchers can find the deadline of their field via {@link graphql.schema.DataFetchingEnvironment#getDeadline()}
+ * and pass it on to the backends they call, or stop their own work once it passes.
+ */
+@ExperimentalApi
+@NullMarked
+public final class Deadline {
+
+    /**
+     * The name of the directive that gives a field its own timeout
+     */
+    public static final String TIMEOUT_DIRECTIVE = "timeout";
+
+    /**
+     * The argument of the timeout directive that holds the timeout in milliseconds
+     */
+    public static final String TIMEOUT_DIRECTIVE_MILLIS = "ms";
+
+    private final long deadlineNanos;
+    private final LongSupplier ticker;
+
+    private Deadline(long deadlineNanos, LongSupplier ticker) {
+        this.deadlineNanos = deadlineNanos;
+        this.ticker = ticker;
+    }
+
+    /**
+     * @param duration how long from now the deadline is
+     *
+     * @return a deadline that passes the given duration from now
+     */
+    public static Deadline after(Duration duration) {
+        return after(duration, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    static Deadline after(Duration duration, LongSupplier ticker) {
+        assertNotNull(duration);
+        return new Deadline(ticker.getAsLong() + duration.toNanos(), ticker);
+    }
+
+    /**
+     * @return true if the deadline has passed
+     */
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * @return the time left until the deadline passes, which is zero once it has passed
+     */
+    public Duration getTimeRemaining() {
+        return Duration.ofNanos(Math.max(remainingNanos(), 0));
+    }
+
+    private long remainingNanos() {
+        return deadlineNanos - ticker.getAsLong();
+    }
+
+    /**
+     * @param other another deadline, which may be null
+     *
+     * @return whichever of this and the other deadline passes first
+     */
+    public Deadline earliest(@Nullable Deadline other) {
+        if (other == null) {
+            return this;
+        }
+        return other.deadlineNanos - deadlineNanos < 0 ? other : this;
+    }
+
+    /**
+     * Bounds a future by this deadline.  If the future is not done by the time the deadline passes then the returned
+     * future completes with a {@link DeadlineExceededException}.  The given future is left alone as it may be shared.
+     *
+     * @param future  the future to bound
+     * @param message the message of the exception should the deadline pass
+     * @param <T>     the type of value
+     *
+     * @return a future that completes like the given future or exceptionally once the deadline passes
+     */
+    @Internal
+    public <T> CompletableFuture<T> bound(CompletableFuture<T> future, String message) {
+        CompletableFuture<T> bounded = new CompletableFuture<>();
+        // the timer is completed along with the future so that its scheduled timeout is cancelled straight away
+        CompletableFuture<Void> timer = new CompletableFuture<Void>().orTimeout(Math.max(remainingNanos(), 0), TimeUnit.NANOSECONDS);
+        timer.whenComplete((ignored, exception) -> {
+            if (exception instanceof TimeoutException) {
+                bounded.completeExceptionally(new DeadlineExceededException(message));
+            }
+        });
+        future.whenComplete((value, exception) -> {
+            timer.complete(null);
+            if (exception != null) {
+                bounded.completeExceptionally(exception);
+            } else {
+                bounded.complete(value);
+            }
+        });
+        return bounded;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline{" +
+                "timeRemaining=" + getTimeRemaining() +
+                '}';
+    }
+}
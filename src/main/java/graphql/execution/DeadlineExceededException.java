@@ -0,0 +1,33 @@
+package graphql.execution;
+
+import graphql.ErrorType;
+import graphql.ExperimentalApi;
+import graphql.GraphQLError;
+import graphql.GraphQLException;
+import graphql.language.SourceLocation;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * The exception that a field is completed with when its {@link Deadline} passed before it was fetched
+ */
+@ExperimentalApi
+@NullMarked
+public class DeadlineExceededException extends GraphQLException implements GraphQLError {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    @Override
+    public @Nullable List<SourceLocation> getLocations() {
+        return null;
+    }
+
+    @Override
+    public ErrorType getErrorType() {
+        return ErrorType.ExecutionAborted;
+    }
+}
@@ -7,6 +7,7 @@ import graphql.EngineRunningState;
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.ExecutionResultImpl;
+import graphql.ExperimentalApi;
 import graphql.GraphQL;
 import graphql.GraphQLContext;
 import graphql.GraphQLError;
@@ -20,6 +21,7 @@ import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.InstrumentationState;
 import graphql.execution.instrumentation.dataloader.DataLoaderDispatchingContextKeys;
+import graphql.execution.instrumentation.dataloader.AdaptiveDataLoaderDispatchStrategy;
 import graphql.execution.instrumentation.dataloader.ExhaustedDataLoaderDispatchStrategy;
 import graphql.execution.instrumentation.dataloader.PerLevelDataLoaderDispatchStrategy;
 import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
@@ -29,6 +31,8 @@ import graphql.execution.reactive.ReactiveSupport;
 import graphql.extensions.ExtensionsBuilder;
 import graphql.incremental.DelayedIncrementalPartialResult;
 import graphql.incremental.IncrementalExecutionResultImpl;
+import graphql.jfr.EngineEvent;
+import graphql.jfr.EngineFlightRecorder;
 import graphql.language.Directive;
 import graphql.language.Document;
 import graphql.language.NodeUtil;
@@ -39,6 +43,7 @@ import graphql.schema.GraphQLSchema;
 import graphql.schema.impl.SchemaUtil;
 import graphql.util.FpKit;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.reactivestreams.Publisher;
 
 import java.util.Collections;
@@ -83,6 +88,10 @@ public class Execution {
     }
 
     public CompletableFuture<ExecutionResult> execute(Document document, GraphQLSchema graphQLSchema, ExecutionId executionId, ExecutionInput executionInput, InstrumentationState instrumentationState, EngineRunningState engineRunningState, Profiler profiler) {
+        return execute(document, graphQLSchema, executionId, executionInput, instrumentationState, engineRunningState, profiler, null);
+    }
+
+    public CompletableFuture<ExecutionResult> execute(Document document, GraphQLSchema graphQLSchema, ExecutionId executionId, ExecutionInput executionInput, InstrumentationState instrumentationState, EngineRunningState engineRunningState, Profiler profiler, @Nullable ExecutionPlan executionPlan) {
         NodeUtil.GetOperationResult getOperationResult;
         CoercedVariables coercedVariables;
         Supplier<NormalizedVariables> normalizedVariableValues;
@@ -111,6 +120,12 @@ public class Execution {
         ResponseMapFactory responseMapFactory = GraphQL.unusualConfiguration(graphQLContext)
                 .responseMapFactory().getOr(ResponseMapFactory.DEFAULT);
 
+        ExecutionPlan.Bound boundExecutionPlan = null;
+        if (executionPlan != null && executionPlan.isFor(graphQLSchema)) {
+            boolean incrementalSupport = graphQLContext.getBoolean(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT);
+            boundExecutionPlan = executionPlan.bind(coercedVariables, graphQLContext, incrementalSupport);
+        }
+
         Supplier<Map<OperationDefinition, ImmutableList<QueryAppliedDirective>>> operationDirectives = FpKit.interThreadMemoize(() ->
                 operationDirectivesResolver.resolveDirectives(document, graphQLSchema, coercedVariables, graphQLContext, locale));
 
@@ -140,6 +155,8 @@ public class Execution {
                 .propagapropagateErrorsOnNonNullContractFailureeErrors(propagateErrorsOnNonNullContractFailure)
                 .engineRunningState(engineRunningState)
                 .profiler(profiler)
+                .executionPlan(boundExecutionPlan)
+                .entityCache(GraphQL.unusualConfiguration(graphQLContext).entityCache().get())
                 .build();
 
         executionContext.getGraphQLContext().put(ResultNodesInfo.RESULT_NODES_INFO, executionContext.getResultNodesInfo());
@@ -181,7 +198,7 @@ public class Execution {
 
         OperationDefinition.Operation operation = operationDefinition.getOperation();
         GraphQLObjectType operationRootType;
-        executionContext.getProfiler().operationDefinition(operationDefinition);
+        executionContext.getProfiler().operationDefinition(executionContext.getDocument(), operationDefinition);
         try {
             operationRootType = SchemaUtil.getOperationRootType(executionContext.getGraphQLSchema(), operationDefinition);
         } catch (RuntimeException rte) {
@@ -204,11 +221,15 @@ public class Execution {
                 .graphQLContext(graphQLContext)
                 .build();
 
-        MergedSelectionSet fields = fieldCollector.collectFields(
+        Supplier<MergedSelectionSet> fieldsCollector = () -> fieldCollector.collectFields(
                 collectorParameters,
                 operationDefinition.getSelectionSet(),
                 executionContext.hasIncrementalSupport()
         );
+        ExecutionPlan.Bound executionPlan = executionContext.getExecutionPlan();
+        MergedSelectionSet fields = executionPlan != null
+                ? executionPlan.getSelectionSet(operationRootType, operationDefinition, fieldsCollector)
+                : fieldsCollector.get();
 
         ResultPath path = ResultPath.rootPath();
         ExecutionStepInfo executionStepInfo = newExecutionStepInfo().type(operationRootType).path(path).build();
@@ -225,8 +246,9 @@ public class Execution {
 
 
         CompletableFuture<ExecutionResult> result;
+        ExecutionStrategy executionStrategy = executionContext.getStrategy(operation);
+        EngineEvent executionStrategyEvent = EngineFlightRecorder.beginExecutionStrategy(executionContext, executionStrategy);
         try {
-            ExecutionStrategy executionStrategy = executionContext.getStrategy(operation);
             DataLoaderDispatchStrategy dataLoaderDispatchStrategy = createDataLoaderDispatchStrategy(executionContext, executionStrategy);
             executionContext.setDataLoaderDispatcherStrategy(dataLoaderDispatchStrategy);
             result = executionStrategy.execute(executionContext, parameters);
@@ -241,6 +263,8 @@ public class Execution {
             result = completedFuture(new ExecutionResultImpl(null, executionContext.getErrors()));
         }
 
+        result = EngineFlightRecorder.commitOnCompletion(executionStrategyEvent, result);
+
         // note this happens NOW - not when the result completes
         executeOperationCtx.onDispatched();
 
@@ -287,6 +311,13 @@ public class Execution {
         if (executionContext.getDataLoaderRegistry() == EMPTY_DATALOADER_REGISTRY || doNotAutomaticallyDispatchDataLoader) {
             return DataLoaderDispatchStrategy.NO_OP;
         }
+        if (executionContext.getGraphQLContext().getBoolean(DataLoaderDispatchingContextKeys.ENABLE_DATA_LOADER_ADAPTIVE_DISPATCHING, false)) {
+            if (executionContext.getGraphQLContext().getBoolean(DataLoaderDispatchingContextKeys.ENABLE_DATA_LOADER_CHAINING, false)
+                    || executionContext.getGraphQLContext().getBoolean(DataLoaderDispatchingContextKeys.ENABLE_DATA_LOADER_EXHAUSTED_DISPATCHING, false)) {
+                throw new GraphQLException("enabling adaptive data loader dispatching together with chaining or exhausted dispatching is ambiguous");
+            }
+            return new AdaptiveDataLoaderDispatchStrategy(executionContext);
+        }
         if (executionContext.getGraphQLContext().getBoolean(DataLoaderDispatchingContextKeys.ENABLE_DATA_LOADER_EXHAUSTED_DISPATCHING, false)) {
             if (executionContext.getGraphQLContext().getBoolean(DataLoaderDispatchingContextKeys.ENABLE_DATA_LOADER_CHAINING, false)) {
                 throw new GraphQLException("enabling data loader chaining and exhausted dispatching at the same time ambiguous");
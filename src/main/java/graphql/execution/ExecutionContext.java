@@ -13,8 +13,10 @@ import graphql.PublicApi;
 import graphql.collect.ImmutableKit;
 import graphql.execution.directives.OperationDirectivesResolver;
 import graphql.execution.directives.QueryAppliedDirective;
+import graphql.execution.entitycache.EntityCache;
 import graphql.execution.incremental.IncrementalCallState;
 import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.instrumentation.InstrumentationHook;
 import graphql.execution.instrumentation.InstrumentationState;
 import graphql.language.Document;
 import graphql.language.FragmentDefinition;
@@ -27,6 +29,7 @@ import org.dataloader.DataLoaderRegistry;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
@@ -61,12 +64,14 @@ public class ExecutionContext {
     private final GraphQLContext graphQLContext;
     private final @Nullable Object localContext;
     private final Instrumentation instrumentation;
+    private final Set<InstrumentationHook> instrumentationHooks;
     private final AtomicReference<ImmutableList<GraphQLError>> errors = new AtomicReference<>(ImmutableKit.emptyList());
     private final LockKit.ReentrantLock errorsLock = new LockKit.ReentrantLock();
     private final Set<ResultPath> errorPaths = new HashSet<>();
     private final DataLoaderRegistry dataLoaderRegistry;
     private final Locale locale;
     private final IncrementalCallState incrementalCallState = new IncrementalCallState();
+    private final BatchedFieldValues batchedFieldValues = new BatchedFieldValues();
     private final ValueUnboxer valueUnboxer;
     private final ResponseMapFactory responseMapFactory;
 
@@ -83,6 +88,11 @@ public class ExecutionContext {
     private final Supplier<Map<OperationDefinition, ImmutableList<QueryAppliedDirective>>> allOperationsDirectives;
     private final Supplier<Map<String, ImmutableList<QueryAppliedDirective>>> operationDirectives;
     private final Profiler profiler;
+    private final ExecutionPlan.@Nullable Bound executionPlan;
+    private final @Nullable EntityCache entityCache;
+    private final EntityCache.@Nullable SelectionShapes entityCacheSelectionShapes;
+    private final @Nullable Deadline deadline;
+    private final boolean hasFieldTimeouts;
 
     ExecutionContext(ExecutionContextBuilder builder) {
         this.graphQLSchema = builder.graphQLSchema;
@@ -100,6 +110,7 @@ public class ExecutionContext {
         this.graphQLContext = builder.graphQLContext;
         this.root = builder.root;
         this.instrumentation = builder.instrumentation;
+        this.instrumentationHooks = getInstrumentationHooks(builder.instrumentation);
         this.dataLoaderRegistry = builder.dataLoaderRegistry;
         this.locale = builder.locale;
         this.valueUnboxer = builder.valueUnboxer;
@@ -111,6 +122,12 @@ public class ExecutionContext {
         this.propagateErrorsOnNonNullContractFailure = builder.propagateErrorsOnNonNullContractFailure;
         this.engineRunningState = builder.engineRunningState;
         this.profiler = builder.profiler;
+        this.executionPlan = builder.executionPlan;
+        this.entityCache = builder.entityCache;
+        this.entityCacheSelectionShapes = builder.entityCache != null ? new EntityCache.SelectionShapes() : null;
+        this.deadline = builder.executionInput != null ? builder.executionInput.getDeadline() : null;
+        // a field can only have a timeout if the schema declares the directive
+        this.hasFieldTimeouts = builder.graphQLSchema != null && builder.graphQLSchema.getDirective(Deadline.TIMEOUT_DIRECTIVE) != null;
         // lazy loading for performance
         this.queryTree = mkExecutableNormalizedOperation();
         this.allOperationsDirectives = builder.allOperationsDirectives;
@@ -147,6 +164,22 @@ public class ExecutionContext {
         return instrumentation;
     }
 
+    /**
+     * @param hook the hook of the instrumentation
+     *
+     * @return true if the instrumentation implements the hook, which otherwise does not have to be called
+     */
+    @Internal
+    public boolean isInstrumented(InstrumentationHook hook) {
+        return instrumentationHooks.contains(hook);
+    }
+
+    private static Set<InstrumentationHook> getInstrumentationHooks(@Nullable Instrumentation instrumentation) {
+        Set<InstrumentationHook> hooks = instrumentation != null ? instrumentation.getInstrumentationHooks() : null;
+        // an instrumentation that can't tell has all its hooks called
+        return hooks != null ? hooks : EnumSet.allOf(InstrumentationHook.class);
+    }
+
     public GraphQLSchema getGraphQLSchema() {
         return graphQLSchema;
     }
@@ -432,6 +465,61 @@ public class ExecutionContext {
         return profiler;
     }
 
+    /**
+     * @return the {@link ExecutionPlan} bound to this execution or null if execution plans are not in use
+     */
+    @Internal
+    public ExecutionPlan.@Nullable Bound getExecutionPlan() {
+        return executionPlan;
+    }
+
+    /**
+     * @return the {@link EntityCache} used by this execution or null if completed objects are not cached
+     */
+    @Internal
+    public @Nullable EntityCache getEntityCache() {
+        return entityCache;
+    }
+
+    /**
+     * @return the shapes of the sub selections the {@link EntityCache} has computed for this execution, or null if completed objects are not cached
+     */
+    @Internal
+    public EntityCache.@Nullable SelectionShapes getEntityCacheSelectionShapes() {
+        return entityCacheSelectionShapes;
+    }
+
+    /**
+     * @return the {@link Deadline} of this execution or null if it has none
+     */
+    public @Nullable Deadline getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * @return true if this execution has a deadline and it has passed
+     */
+    @Internal
+    public boolean isDeadlineExpired() {
+        return deadline != null && deadline.isExpired();
+    }
+
+    /**
+     * @return true if the schema declares the {@link Deadline#TIMEOUT_DIRECTIVE} directive, so fields may have their own timeout
+     */
+    @Internal
+    public boolean hasFieldTimeouts() {
+        return hasFieldTimeouts;
+    }
+
+    /**
+     * @return the values fetched by {@link graphql.schema.BatchedDataFetcher}s that are waiting to be used
+     */
+    @Internal
+    public BatchedFieldValues getBatchedFieldValues() {
+        return batchedFieldValues;
+    }
+
     @Internal
     void throwIfCancelled() throws AbortExecutionException {
         engineRunningState.throwIfCancelled();
@@ -11,6 +11,7 @@ import graphql.Internal;
 import graphql.Profiler;
 import graphql.collect.ImmutableKit;
 import graphql.execution.directives.QueryAppliedDirective;
+import graphql.execution.entitycache.EntityCache;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationState;
 import graphql.language.Document;
@@ -57,6 +58,8 @@ public class ExecutionContextBuilder {
     EngineRunningState engineRunningState;
     ResponseMapFactory responseMapFactory = ResponseMapFactory.DEFAULT;
     Profiler profiler;
+    ExecutionPlan.Bound executionPlan;
+    EntityCache entityCache;
     Supplier<Map<OperationDefinition, ImmutableList<QueryAppliedDirective>>> allOperationsDirectives = Collections::emptyMap;
 
     /**
@@ -108,6 +111,8 @@ public class ExecutionContextBuilder {
         engineRunningState = other.getEngineRunningState();
         responseMapFactory = other.getResponseMapFactory();
         profiler = other.getProfiler();
+        executionPlan = other.getExecutionPlan();
+        entityCache = other.getEntityCache();
     }
 
     public ExecutionContextBuilder instrumentation(Instrumentation instrumentation) {
@@ -260,6 +265,18 @@ public class ExecutionContextBuilder {
         return this;
     }
 
+    @Internal
+    public ExecutionContextBuilder executionPlan(ExecutionPlan.Bound executionPlan) {
+        this.executionPlan = executionPlan;
+        return this;
+    }
+
+    @Internal
+    public ExecutionContextBuilder entityCache(EntityCache entityCache) {
+        this.entityCache = entityCache;
+        return this;
+    }
+
     public ExecutionContextBuilder operationDirectives(Supplier<Map<OperationDefinition, ImmutableList<QueryAppliedDirective>>> allOperationsDirectives) {
         this.allOperationsDirectives = allOperationsDirectives;
         return this;
@@ -0,0 +1,369 @@
+package graphql.execution;
+
+import com.google.common.collect.ImmutableList;
+import graphql.GraphQLContext;
+import graphql.Internal;
+import graphql.VisibleForTesting;
+import graphql.execution.conditional.ConditionalNodeDecision;
+import graphql.language.Argument;
+import graphql.language.ArrayValue;
+import graphql.language.Definition;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.ObjectField;
+import graphql.language.ObjectValue;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.Value;
+import graphql.language.VariableReference;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * An execution plan holds the parts of field collection that only depend on the schema and the validated {@link Document}
+ * and hence can be computed once and shared by every execution of that same document.
+ * <p>
+ * For each object type and selection set that the engine descends into, the plan remembers the collected
+ * {@link MergedSelectionSet} (the ordered result keys and their {@link MergedField}s with the static parts of
+ * {@code @skip} and {@code @include} already applied) as well as the {@link DataFetcher} resolved from the
+ * {@link GraphQLCodeRegistry} for each field.
+ * <p>
+ * Selections whose inclusion depends on variables are still cached, but keyed by the values of the variables that
+ * the document's directives actually reference, so executions with different conditional variable values get their own entries.
+ * <p>
+ * Execution plans are opt-in via {@link #ENABLE_EXECUTION_PLANS} and are attached to a
+ * {@link graphql.execution.preparsed.PreparsedDocumentEntry} so that a caching
+ * {@link graphql.execution.preparsed.PreparsedDocumentProvider} gives them the same lifetime as the cached document.
+ * Because data fetchers are cached, a {@link graphql.schema.DataFetcherFactory} will only be asked once per field for a given document.
+ */
+@Internal
+@NullMarked
+public class ExecutionPlan {
+
+    /**
+     * Enables the use of execution plans for an execution.  Expects a boolean value.
+     */
+    public static final String ENABLE_EXECUTION_PLANS = "__GJ_enable_execution_plans";
+
+    /**
+     * The maximum number of selection sets a single plan will remember.  This guards against a document being
+     * executed with an unbounded number of different conditional variable values.
+     */
+    static final int MAX_CACHED_SELECTION_SETS = 10_000;
+
+    private static final Object NO_CONDITIONAL_VARIABLES = new Object();
+
+    private final GraphQLSchema graphQLSchema;
+    private final ImmutableList<String> conditionalVariableNames;
+    private final Map<SelectionKey, MergedSelectionSet> selectionSets = new ConcurrentHashMap<>();
+    private final Map<FieldKey, DataFetcher<?>> dataFetchers = new ConcurrentHashMap<>();
+
+    private ExecutionPlan(GraphQLSchema graphQLSchema, ImmutableList<String> conditionalVariableNames) {
+        this.graphQLSchema = graphQLSchema;
+        this.conditionalVariableNames = conditionalVariableNames;
+    }
+
+    /**
+     * Creates a new (empty) plan for the given schema and document.  The plan fills itself in as executions use it.
+     *
+     * @param graphQLSchema the schema the document was validated against
+     * @param document      the validated document
+     *
+     * @return a new execution plan
+     */
+    public static ExecutionPlan newExecutionPlan(GraphQLSchema graphQLSchema, Document document) {
+        Set<String> variableNames = new LinkedHashSet<>();
+        for (Definition<?> definition : document.getDefinitions()) {
+            if (definition instanceof OperationDefinition) {
+                collectConditionalVariables(((OperationDefinition) definition).getSelectionSet(), variableNames);
+            } else if (definition instanceof FragmentDefinition) {
+                FragmentDefinition fragmentDefinition = (FragmentDefinition) definition;
+                collectConditionalVariables(fragmentDefinition.getDirectives(), variableNames);
+                collectConditionalVariables(fragmentDefinition.getSelectionSet(), variableNames);
+            }
+        }
+        return new ExecutionPlan(graphQLSchema, ImmutableList.copyOf(variableNames));
+    }
+
+    /**
+     * @param graphQLContext the context of the execution
+     *
+     * @return true if execution plans have been enabled for this execution
+     */
+    public static boolean isEnabled(GraphQLContext graphQLContext) {
+        return graphQLContext.getBoolean(ENABLE_EXECUTION_PLANS, false);
+    }
+
+    /**
+     * @param graphQLSchema the schema in play
+     *
+     * @return true if this plan was made for the given schema
+     */
+    public boolean isFor(GraphQLSchema graphQLSchema) {
+        return this.graphQLSchema == graphQLSchema;
+    }
+
+    /**
+     * @return the names of the variables that affect which fields are collected
+     */
+    public List<String> getConditionalVariableNames() {
+        return conditionalVariableNames;
+    }
+
+    /**
+     * Binds this plan to the variables of a specific execution.  A null value is returned if the plan cannot be used
+     * for this execution, for example because a custom {@link ConditionalNodeDecision} is in play which could
+     * include or exclude nodes in ways the plan does not know about.
+     *
+     * @param coercedVariables the coerced variables of the execution
+     * @param graphQLContext   the context of the execution
+     * @param incrementalSupport whether incremental delivery is enabled for the execution
+     *
+     * @return a plan bound to the execution or null if it cannot be used
+     */
+    public @Nullable Bound bind(CoercedVariables coercedVariables, GraphQLContext graphQLContext, boolean incrementalSupport) {
+        if (incrementalSupport || graphQLContext.get(ConditionalNodeDecision.class) != null) {
+            return null;
+        }
+        return new Bound(this, variablesKey(coercedVariables));
+    }
+
+    private Object variablesKey(CoercedVariables coercedVariables) {
+        if (conditionalVariableNames.isEmpty()) {
+            return NO_CONDITIONAL_VARIABLES;
+        }
+        List<@Nullable Object> values = new ArrayList<>(conditionalVariableNames.size());
+        for (String variableName : conditionalVariableNames) {
+            values.add(coercedVariables.get(variableName));
+        }
+        return values;
+    }
+
+    @VisibleForTesting
+    int cachedSelectionSetCount() {
+        return selectionSets.size();
+    }
+
+    private MergedSelectionSet getSelectionSet(SelectionKey key, Supplier<MergedSelectionSet> collector) {
+        MergedSelectionSet selectionSet = selectionSets.get(key);
+        if (selectionSet != null) {
+            return selectionSet;
+        }
+        selectionSet = collector.get();
+        if (selectionSets.size() < MAX_CACHED_SELECTION_SETS) {
+            MergedSelectionSet existing = selectionSets.putIfAbsent(key, selectionSet);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return selectionSet;
+    }
+
+    private DataFetcher<?> getDataFetcher(GraphQLCodeRegistry codeRegistry, GraphQLObjectType parentType, GraphQLFieldDefinition fieldDefinition) {
+        FieldKey key = new FieldKey(parentType, fieldDefinition);
+        DataFetcher<?> dataFetcher = dataFetchers.get(key);
+        if (dataFetcher == null) {
+            dataFetcher = codeRegistry.getDataFetcher(parentType.getName(), fieldDefinition.getName(), fieldDefinition);
+            DataFetcher<?> existing = dataFetchers.putIfAbsent(key, dataFetcher);
+            if (existing != null) {
+                dataFetcher = existing;
+            }
+        }
+        return dataFetcher;
+    }
+
+    /**
+     * An execution plan bound to the conditional variable values of a single execution
+     */
+    @Internal
+    public static class Bound {
+        private final ExecutionPlan executionPlan;
+        private final Object variablesKey;
+
+        private Bound(ExecutionPlan executionPlan, Object variablesKey) {
+            this.executionPlan = executionPlan;
+            this.variablesKey = variablesKey;
+        }
+
+        public ExecutionPlan getExecutionPlan() {
+            return executionPlan;
+        }
+
+        /**
+         * Returns the selection set of the operation for the root type, collecting it if it's not yet known
+         *
+         * @param objectType the operation root type
+         * @param operationDefinition the operation being executed
+         * @param collector called to collect the fields if the plan does not have them yet
+         *
+         * @return the merged selection set
+         */
+        public MergedSelectionSet getSelectionSet(GraphQLObjectType objectType, OperationDefinition operationDefinition, Supplier<MergedSelectionSet> collector) {
+            return executionPlan.getSelectionSet(new SelectionKey(objectType, new Object[]{operationDefinition.getSelectionSet()}, variablesKey), collector);
+        }
+
+        /**
+         * Returns the sub selection set of a field for the resolved object type, collecting it if it's not yet known
+         *
+         * @param objectType  the resolved object type
+         * @param mergedField the field whose sub selection is wanted
+         * @param collector   called to collect the fields if the plan does not have them yet
+         *
+         * @return the merged selection set
+         */
+        public MergedSelectionSet getSelectionSet(GraphQLObjectType objectType, MergedField mergedField, Supplier<MergedSelectionSet> collector) {
+            Object[] fields = mergedField.isSingleField() ? new Object[]{mergedField.getSingleField()} : mergedField.getFields().toArray();
+            return executionPlan.getSelectionSet(new SelectionKey(objectType, fields, variablesKey), collector);
+        }
+
+        /**
+         * @param codeRegistry    the code registry to consult if the plan does not have the data fetcher yet
+         * @param parentType      the object type containing the field
+         * @param fieldDefinition the field definition
+         *
+         * @return the data fetcher for the field as registered in the {@link GraphQLCodeRegistry}
+         */
+        public DataFetcher<?> getDataFetcher(GraphQLCodeRegistry codeRegistry, GraphQLObjectType parentType, GraphQLFieldDefinition fieldDefinition) {
+            return executionPlan.getDataFetcher(codeRegistry, parentType, fieldDefinition);
+        }
+    }
+
+    private static void collectConditionalVariables(@Nullable SelectionSet selectionSet, Set<String> variableNames) {
+        if (selectionSet == null) {
+            return;
+        }
+        for (Selection<?> selection : selectionSet.getSelections()) {
+            if (selection instanceof Field) {
+                Field field = (Field) selection;
+                collectConditionalVariables(field.getDirectives(), variableNames);
+                collectConditionalVariables(field.getSelectionSet(), variableNames);
+            } else if (selection instanceof InlineFragment) {
+                InlineFragment inlineFragment = (InlineFragment) selection;
+                collectConditionalVariables(inlineFragment.getDirectives(), variableNames);
+                collectConditionalVariables(inlineFragment.getSelectionSet(), variableNames);
+            } else if (selection instanceof FragmentSpread) {
+                collectConditionalVariables(((FragmentSpread) selection).getDirectives(), variableNames);
+            }
+        }
+    }
+
+    private static void collectConditionalVariables(List<Directive> directives, Set<String> variableNames) {
+        for (Directive directive : directives) {
+            for (Argument argument : directive.getArguments()) {
+                collectVariableReferences(argument.getValue(), variableNames);
+            }
+        }
+    }
+
+    private static void collectVariableReferences(Value<?> value, Set<String> variableNames) {
+        if (value instanceof VariableReference) {
+            variableNames.add(((VariableReference) value).getName());
+        } else if (value instanceof ArrayValue) {
+            for (Value<?> element : ((ArrayValue) value).getValues()) {
+                collectVariableReferences(element, variableNames);
+            }
+        } else if (value instanceof ObjectValue) {
+            for (ObjectField objectField : ((ObjectValue) value).getObjectFields()) {
+                collectVariableReferences(objectField.getValue(), variableNames);
+            }
+        }
+    }
+
+    /*
+     * AST nodes implement equals in terms of their content, but the plan must only match the exact nodes
+     * of the document, so selections are compared by identity
+     */
+    private static final class SelectionKey {
+        private final GraphQLObjectType objectType;
+        private final Object[] nodes;
+        private final Object variablesKey;
+        private final int hashCode;
+
+        private SelectionKey(GraphQLObjectType objectType, Object[] nodes, Object variablesKey) {
+            this.objectType = objectType;
+            this.nodes = nodes;
+            this.variablesKey = variablesKey;
+            int result = System.identityHashCode(objectType);
+            for (Object node : nodes) {
+                result = 31 * result + System.identityHashCode(node);
+            }
+            this.hashCode = 31 * result + variablesKey.hashCode();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SelectionKey)) {
+                return false;
+            }
+            SelectionKey that = (SelectionKey) o;
+            if (this.objectType != that.objectType || this.nodes.length != that.nodes.length) {
+                return false;
+            }
+            for (int i = 0; i < nodes.length; i++) {
+                if (this.nodes[i] != that.nodes[i]) {
+                    return false;
+                }
+            }
+            return variablesKey.equals(that.variablesKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return "SelectionKey{" + objectType.getName() + ", " + Arrays.toString(nodes) + '}';
+        }
+    }
+
+    private static final class FieldKey {
+        private final GraphQLObjectType parentType;
+        private final GraphQLFieldDefinition fieldDefinition;
+
+        private FieldKey(GraphQLObjectType parentType, GraphQLFieldDefinition fieldDefinition) {
+            this.parentType = parentType;
+            this.fieldDefinition = fieldDefinition;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FieldKey)) {
+                return false;
+            }
+            FieldKey that = (FieldKey) o;
+            return this.parentType == that.parentType && this.fieldDefinition == that.fieldDefinition;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(parentType) + System.identityHashCode(fieldDefinition);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package graphql.execution;
 
 import com.google.common.collect.ImmutableList;
+import graphql.AssertException;
 import graphql.DuckTyped;
 import graphql.EngineRunningState;
 import graphql.ExecutionResult;
@@ -14,6 +15,7 @@ import graphql.TypeMismatchError;
 import graphql.UnresolvedTypeError;
 import graphql.execution.directives.QueryDirectives;
 import graphql.execution.directives.QueryDirectivesImpl;
+import graphql.execution.entitycache.EntityCache;
 import graphql.execution.incremental.AlternativeCallContext;
 import graphql.execution.incremental.DeferredExecutionSupport;
 import graphql.execution.incremental.IncrementalExecutionContextKeys;
@@ -21,6 +23,7 @@ import graphql.execution.instrumentation.ExecuteObjectInstrumentationContext;
 import graphql.execution.instrumentation.FieldFetchingInstrumentationContext;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationHook;
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionStrategyParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationFieldCompleteParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
@@ -28,25 +31,34 @@ import graphql.execution.instrumentation.parameters.InstrumentationFieldParamete
 import graphql.execution.reactive.ReactiveSupport;
 import graphql.extensions.ExtensionsBuilder;
 import graphql.introspection.Introspection;
+import graphql.jfr.EngineFlightRecorder;
 import graphql.language.Field;
 import graphql.normalized.ExecutableNormalizedField;
 import graphql.normalized.ExecutableNormalizedOperation;
+import graphql.schema.BatchedDataFetcher;
+import graphql.schema.BatchedDataFetchingEnvironment;
 import graphql.schema.CoercingSerializeException;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.DataFetchingFieldSelectionSet;
 import graphql.schema.DataFetchingFieldSelectionSetImpl;
+import graphql.schema.GraphQLAppliedDirective;
+import graphql.schema.GraphQLAppliedDirectiveArgument;
 import graphql.schema.GraphQLCodeRegistry;
 import graphql.schema.GraphQLEnumType;
 import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLList;
 import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLOutputType;
 import graphql.schema.GraphQLScalarType;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.GraphQLType;
 import graphql.schema.LightDataFetcher;
 import graphql.util.FpKit;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -58,7 +70,6 @@ import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
-import static graphql.execution.Async.exceptionallyCompletedFuture;
 import static graphql.execution.FieldCollectorParameters.newParameters;
 import static graphql.execution.FieldValueInfo.CompleteValueType.ENUM;
 import static graphql.execution.FieldValueInfo.CompleteValueType.LIST;
@@ -66,11 +77,14 @@ import static graphql.execution.FieldValueInfo.CompleteValueType.NULL;
 import static graphql.execution.FieldValueInfo.CompleteValueType.OBJECT;
 import static graphql.execution.FieldValueInfo.CompleteValueType.SCALAR;
 import static graphql.execution.ResultNodesInfo.MAX_RESULT_NODES;
+import static graphql.execution.instrumentation.SimpleInstrumentationContext.noOp;
 import static graphql.execution.instrumentation.SimpleInstrumentationContext.nonNullCtx;
+import static graphql.schema.BatchedDataFetchingEnvironment.newBatchedDataFetchingEnvironment;
 import static graphql.schema.DataFetchingEnvironmentImpl.newDataFetchingEnvironment;
 import static graphql.schema.GraphQLTypeUtil.isEnum;
 import static graphql.schema.GraphQLTypeUtil.isList;
 import static graphql.schema.GraphQLTypeUtil.isScalar;
+import static graphql.schema.GraphQLTypeUtil.unwrapNonNull;
 
 /**
  * An execution strategy is give a list of fields from the graphql query to execute and find values for using a recursive strategy.
@@ -191,20 +205,24 @@ public abstract class ExecutionStrategy {
      *
      * @return a {@link CompletableFuture} promise to a map of object field values or a materialized map of object field values
      *
-     * @throws NonNullableFieldWasNullException in the {@link CompletableFuture} if a non-null field resolved to a null value
+     * @throws NonNullableFieldWasNullException in the {@link CompletableFuture}, or as the materialized value, if a non-null field resolved to a null value
      */
     @SuppressWarnings("unchecked")
-    @DuckTyped(shape = "CompletableFuture<Map<String, Object>> | Map<String, Object>")
+    @DuckTyped(shape = "CompletableFuture<Map<String, Object>> | Map<String, Object> | NonNullableFieldWasNullException")
     protected Object executeObject(ExecutionContext executionContext, ExecutionStrategyParameters parameters) throws NonNullableFieldWasNullException {
         executionContext.throwIfCancelled();
 
         DataLoaderDispatchStrategy dataLoaderDispatcherStrategy = executionContext.getDataLoaderDispatcherStrategy();
         Instrumentation instrumentation = executionContext.getInstrumentation();
-        InstrumentationExecutionStrategyParameters instrumentationParameters = new InstrumentationExecutionStrategyParameters(executionContext, parameters);
-
-        ExecuteObjectInstrumentationContext resolveObjectCtx = ExecuteObjectInstrumentationContext.nonNullCtx(
-                instrumentation.beginExecuteObject(instrumentationParameters, executionContext.getInstrumentationState())
-        );
+        ExecuteObjectInstrumentationContext resolveObjectCtx;
+        if (executionContext.isInstrumented(InstrumentationHook.BEGIN_EXECUTE_OBJECT)) {
+            InstrumentationExecutionStrategyParameters instrumentationParameters = new InstrumentationExecutionStrategyParameters(executionContext, parameters);
+            resolveObjectCtx = ExecuteObjectInstrumentationContext.nonNullCtx(
+                    instrumentation.beginExecuteObject(instrumentationParameters, executionContext.getInstrumentationState())
+            );
+        } else {
+            resolveObjectCtx = ExecuteObjectInstrumentationContext.NOOP;
+        }
 
         List<String> fieldNames = parameters.getFields().getKeys();
 
@@ -258,7 +276,14 @@ public abstract class ExecutionStrategy {
                 overallResult.whenComplete(resolveObjectCtx::onCompleted);
                 return overallResult;
             } else {
-                Map<String, Object> fieldValueMap = executionContext.getResponseMapFactory().createInsertionOrdered(fieldsExecutedOnInitialResult, (List<Object>) completedValuesObject);
+                List<Object> completedValues = (List<Object>) completedValuesObject;
+                NonNullableFieldWasNullException nonNullException = findNonNullableFieldWasNull(completedValues);
+                if (nonNullException != null) {
+                    NonNullableFieldWasNullException parentException = nonNullExceptionForParent(nonNullException);
+                    resolveObjectCtx.onCompleted(null, parentException);
+                    return parentException;
+                }
+                Map<String, Object> fieldValueMap = executionContext.getResponseMapFactory().createInsertionOrdered(fieldsExecutedOnInitialResult, completedValues);
                 resolveObjectCtx.onCompleted(fieldValueMap, null);
                 return fieldValueMap;
             }
@@ -268,7 +293,7 @@ public abstract class ExecutionStrategy {
     private static Async.@NonNull CombinedBuilder<Object> fieldValuesCombinedBuilder(List<FieldValueInfo> completeValueInfos) {
         Async.CombinedBuilder<Object> resultFutures = Async.ofExpectedSize(completeValueInfos.size());
         for (FieldValueInfo completeValueInfo : completeValueInfos) {
-            resultFutures.addObject(completeValueInfo.getFieldValueObject());
+            resultFutures.addObject(completeValueInfo.getFieldValueObjectOrNonNullException());
         }
         return resultFutures;
     }
@@ -281,6 +306,11 @@ public abstract class ExecutionStrategy {
                 handleValueException(overallResult, exception, executionContext);
                 return;
             }
+            NonNullableFieldWasNullException nonNullException = findNonNullableFieldWasNull(results);
+            if (nonNullException != null) {
+                handleValueException(overallResult, nonNullException, executionContext);
+                return;
+            }
             Map<String, Object> resolvedValuesByField = executionContext.getResponseMapFactory().createInsertionOrdered(fieldNames, results);
             overallResult.complete(resolvedValuesByField);
         };
@@ -361,19 +391,22 @@ public abstract class ExecutionStrategy {
     @DuckTyped(shape = "CompletableFuture<FieldValueInfo> | FieldValueInfo")
     protected Object resolveFieldWithInfo(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
         GraphQLFieldDefinition fieldDef = getFieldDef(executionContext, parameters, parameters.getField().getSingleField());
-        Supplier<ExecutionStepInfo> executionStepInfo = FpKit.intraThreadMemoize(() -> createExecutionStepInfo(executionContext, parameters, fieldDef, null));
+        GraphQLObjectType parentType = parameters.getExecutionStepInfo().getUnwrappedNonNullTypeAs();
+        // the one execution step info of this field is shared by instrumentation, fetching and completion
+        // and is only created if one of them asks for it
+        Supplier<ExecutionStepInfo> executionStepInfo = FpKit.intraThreadMemoize(() -> createExecutionStepInfo(executionContext, parameters, fieldDef, parentType));
 
         Instrumentation instrumentation = executionContext.getInstrumentation();
-        InstrumentationContext<Object> fieldCtx = nonNullCtx(instrumentation.beginFieldExecution(
-                new InstrumentationFieldParameters(executionContext, executionStepInfo), executionContext.getInstrumentationState()
-        ));
+        InstrumentationContext<Object> fieldCtx = executionContext.isInstrumented(InstrumentationHook.BEGIN_FIELD_EXECUTION)
+                ? nonNullCtx(instrumentation.beginFieldExecution(new InstrumentationFieldParameters(executionContext, executionStepInfo), executionContext.getInstrumentationState()))
+                : noOp();
 
-        Object fetchedValueObj = fetchField(executionContext, parameters);
+        Object fetchedValueObj = fetchField(fieldDef, executionContext, parameters, executionStepInfo);
         if (fetchedValueObj instanceof CompletableFuture) {
             CompletableFuture<Object> fetchFieldFuture = (CompletableFuture<Object>) fetchedValueObj;
             CompletableFuture<FieldValueInfo> result = fetchFieldFuture.thenApply((fetchedValue) -> {
                 executionContext.getDataLoaderDispatcherStrategy().startComplete(parameters);
-                FieldValueInfo completeFieldResult = completeField(fieldDef, executionContext, parameters, fetchedValue);
+                FieldValueInfo completeFieldResult = completeField(fieldDef, executionContext, parameters, executionStepInfo, fetchedValue);
                 executionContext.getDataLoaderDispatcherStrategy().stopComplete(parameters);
                 return completeFieldResult;
             });
@@ -383,7 +416,7 @@ public abstract class ExecutionStrategy {
             return result;
         } else {
             try {
-                FieldValueInfo fieldValueInfo = completeField(fieldDef, executionContext, parameters, fetchedValueObj);
+                FieldValueInfo fieldValueInfo = completeField(fieldDef, executionContext, parameters, executionStepInfo, fetchedValueObj);
                 fieldCtx.onDispatched();
                 fieldCtx.onCompleted(FetchedValue.getFetchedValue(fetchedValueObj), null);
                 return fieldValueInfo;
@@ -412,69 +445,67 @@ public abstract class ExecutionStrategy {
         MergedField field = parameters.getField();
         GraphQLObjectType parentType = parameters.getExecutionStepInfo().getUnwrappedNonNullTypeAs();
         GraphQLFieldDefinition fieldDef = getFieldDef(executionContext.getGraphQLSchema(), parentType, field.getSingleField());
-        return fetchField(fieldDef, executionContext, parameters);
+        Supplier<ExecutionStepInfo> executionStepInfo = FpKit.intraThreadMemoize(() -> createExecutionStepInfo(executionContext, parameters, fieldDef, parentType));
+        return fetchField(fieldDef, executionContext, parameters, executionStepInfo);
     }
 
     @DuckTyped(shape = "CompletableFuture<FetchedValue|Object> | <FetchedValue|Object>")
-    private Object fetchField(GraphQLFieldDefinition fieldDef, ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+    private Object fetchField(GraphQLFieldDefinition fieldDef, ExecutionContext executionContext, ExecutionStrategyParameters parameters, Supplier<ExecutionStepInfo> executionStepInfo) {
         executionContext.throwIfCancelled();
 
         if (incrementAndCheckMaxNodesExceeded(executionContext)) {
             return null;
         }
 
-        MergedField field = parameters.getField();
         GraphQLObjectType parentType = parameters.getExecutionStepInfo().getUnwrappedNonNullTypeAs();
 
-        // if the DF (like PropertyDataFetcher) does not use the arguments or execution step info then dont build any
-
-        Supplier<DataFetchingEnvironment> dataFetchingEnvironment = FpKit.intraThreadMemoize(() -> {
+        Deadline deadline = getFieldDeadline(executionContext, fieldDef);
 
-            Supplier<ExecutionStepInfo> executionStepInfo = FpKit.intraThreadMemoize(
-                    () -> createExecutionStepInfo(executionContext, parameters, fieldDef, parentType));
-
-            Supplier<Map<String, Object>> argumentValues = () -> executionStepInfo.get().getArguments();
-
-            Supplier<ExecutableNormalizedField> normalizedFieldSupplier = getNormalizedField(executionContext, parameters, executionStepInfo);
-
-            // DataFetchingFieldSelectionSet and QueryDirectives is a supplier of sorts - eg a lazy pattern
-            DataFetchingFieldSelectionSet fieldCollector = DataFetchingFieldSelectionSetImpl.newCollector(executionContext.getGraphQLSchema(), fieldDef.getType(), normalizedFieldSupplier);
-            QueryDirectives queryDirectives = new QueryDirectivesImpl(field,
-                    executionContext.getGraphQLSchema(),
-                    executionContext.getCoercedVariables(),
-                    executionContext.getNormalizedVariables(),
-                    executionContext.getGraphQLContext(),
-                    executionContext.getLocale());
-
-
-            return newDataFetchingEnvironment(executionContext)
-                    .source(parameters.getSource())
-                    .localContext(parameters.getLocalContext())
-                    .arguments(argumentValues)
-                    .fieldDefinition(fieldDef)
-                    .mergedField(parameters.getField())
-                    .fieldType(fieldDef.getType())
-                    .executionStepInfo(executionStepInfo)
-                    .parentType(parentType)
-                    .selectionSet(fieldCollector)
-                    .queryDirectives(queryDirectives)
-                    .alternativeCallContext(parameters.getAlternativeCallContext())
-                    .level(parameters.getPath().getLevel())
-                    .build();
-        });
+        // if the DF (like PropertyDataFetcher) does not use the arguments or execution step info then dont build any
+        Supplier<DataFetchingEnvironment> dataFetchingEnvironment = createDataFetchingEnvironment(executionContext, parameters, fieldDef, parentType, executionStepInfo, deadline);
 
         GraphQLCodeRegistry codeRegistry = executionContext.getGraphQLSchema().getCodeRegistry();
-        DataFetcher<?> originalDataFetcher = codeRegistry.getDataFetcher(parentType.getName(), fieldDef.getName(), fieldDef);
+        ExecutionPlan.Bound executionPlan = executionContext.getExecutionPlan();
+        DataFetcher<?> originalDataFetcher = executionPlan != null
+                ? executionPlan.getDataFetcher(codeRegistry, parentType, fieldDef)
+                : codeRegistry.getDataFetcher(parentType.getName(), fieldDef.getName(), fieldDef);
 
-        Instrumentation instrumentation = executionContext.getInstrumentation();
+        // a batched data fetcher may have already fetched the value when the enclosing list was completed, in which case
+        // the value is handed out by a data fetcher of its own so that it is instrumented like any other fetched value
+        Object batchedValue = executionContext.getBatchedFieldValues().take(parameters.getPath());
+        boolean batched = batchedValue != BatchedFieldValues.NO_VALUE;
+        DataFetcher<?> fetchingDataFetcher = batched ? BatchedFieldValues.valueFetcher(batchedValue) : originalDataFetcher;
 
-        InstrumentationFieldFetchParameters instrumentationFieldFetchParams = new InstrumentationFieldFetchParameters(executionContext, dataFetchingEnvironment, parameters, originalDataFetcher instanceof TrivialDataFetcher);
-        FieldFetchingInstrumentationContext fetchCtx = FieldFetchingInstrumentationContext.nonNullCtx(instrumentation.beginFieldFetching(instrumentationFieldFetchParams,
-                executionContext.getInstrumentationState())
-        );
+        Instrumentation instrumentation = executionContext.getInstrumentation();
 
-        DataFetcher<?> dataFetcher = instrumentation.instrumentDataFetcher(originalDataFetcher, instrumentationFieldFetchParams, executionContext.getInstrumentationState());
-        Object fetchedObject = invokeDataFetcher(executionContext, parameters, fieldDef, dataFetchingEnvironment, originalDataFetcher, dataFetcher);
+        // the instrumentation parameters are only created if the instrumentation implements one of the fetching hooks
+        boolean instrumentFetching = executionContext.isInstrumented(InstrumentationHook.BEGIN_FIELD_FETCHING);
+        boolean instrumentDataFetcher = executionContext.isInstrumented(InstrumentationHook.INSTRUMENT_DATA_FETCHER);
+        FieldFetchingInstrumentationContext instrumentationFetchCtx;
+        DataFetcher<?> dataFetcher;
+        if (instrumentFetching || instrumentDataFetcher) {
+            InstrumentationFieldFetchParameters instrumentationFieldFetchParams = new InstrumentationFieldFetchParameters(executionContext, dataFetchingEnvironment, parameters, originalDataFetcher instanceof TrivialDataFetcher);
+            instrumentationFetchCtx = instrumentFetching
+                    ? FieldFetchingInstrumentationContext.nonNullCtx(instrumentation.beginFieldFetching(instrumentationFieldFetchParams, executionContext.getInstrumentationState()))
+                    : FieldFetchingInstrumentationContext.NOOP;
+            dataFetcher = instrumentDataFetcher
+                    ? instrumentation.instrumentDataFetcher(fetchingDataFetcher, instrumentationFieldFetchParams, executionContext.getInstrumentationState())
+                    : fetchingDataFetcher;
+        } else {
+            instrumentationFetchCtx = FieldFetchingInstrumentationContext.NOOP;
+            dataFetcher = fetchingDataFetcher;
+        }
+        FieldFetchingInstrumentationContext fetchCtx = EngineFlightRecorder.fieldFetching(instrumentationFetchCtx, originalDataFetcher, parentType, fieldDef, parameters.getPath());
+        if (!batched) {
+            dataFetcher = decorateDataFetcher(executionContext, parameters, originalDataFetcher, dataFetcher);
+        }
+        Object fetchedObject;
+        if (deadline != null && deadline.isExpired()) {
+            // no new fetches are started once the deadline has passed
+            fetchedObject = Async.exceptionallyCompletedFuture(new DeadlineExceededException("The deadline passed before the field was fetched"));
+        } else {
+            fetchedObject = invokeDataFetcher(executionContext, parameters, fieldDef, dataFetchingEnvironment, originalDataFetcher, dataFetcher);
+        }
         executionContext.getDataLoaderDispatcherStrategy().fieldFetched(executionContext, parameters, dataFetcher, fetchedObject, dataFetchingEnvironment);
         fetchCtx.onDispatched();
         fetchCtx.onFetchedValue(fetchedObject);
@@ -485,7 +516,10 @@ public abstract class ExecutionStrategy {
         }
         if (fetchedObject instanceof CompletableFuture) {
             @SuppressWarnings("unchecked")
-            CompletableFuture<Object> fetchedValue = (CompletableFuture<Object>) fetchedObject;
+            CompletableFuture<Object> fetchedFuture = (CompletableFuture<Object>) fetchedObject;
+            CompletableFuture<Object> fetchedValue = deadline != null && !fetchedFuture.isDone()
+                    ? deadline.bound(fetchedFuture, "The deadline passed before the field was fetched")
+                    : fetchedFuture;
             EngineRunningState engineRunningState = executionContext.getEngineRunningState();
 
             CompletableFuture<CompletableFuture<Object>> handleCF = engineRunningState.handle(fetchedValue, (result, exception) -> {
@@ -514,6 +548,78 @@ public abstract class ExecutionStrategy {
         }
     }
 
+    /**
+     * The deadline of a field fetch is the earliest of the deadline of the execution and the timeout given to the field
+     * via the {@link Deadline#TIMEOUT_DIRECTIVE} directive
+     */
+    private @Nullable Deadline getFieldDeadline(ExecutionContext executionContext, GraphQLFieldDefinition fieldDef) {
+        Deadline deadline = executionContext.getDeadline();
+        if (!executionContext.hasFieldTimeouts()) {
+            return deadline;
+        }
+        GraphQLAppliedDirective timeout = fieldDef.getAppliedDirective(Deadline.TIMEOUT_DIRECTIVE);
+        if (timeout == null) {
+            return deadline;
+        }
+        GraphQLAppliedDirectiveArgument millis = timeout.getArgument(Deadline.TIMEOUT_DIRECTIVE_MILLIS);
+        Object value = millis != null ? millis.getValue() : null;
+        if (!(value instanceof Number)) {
+            return deadline;
+        }
+        return Deadline.after(Duration.ofMillis(((Number) value).longValue())).earliest(deadline);
+    }
+
+    private Supplier<DataFetchingEnvironment> createDataFetchingEnvironment(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLFieldDefinition fieldDef, GraphQLObjectType parentType, Supplier<ExecutionStepInfo> executionStepInfo, @Nullable Deadline deadline) {
+        MergedField field = parameters.getField();
+        return FpKit.intraThreadMemoize(() -> {
+
+            Supplier<Map<String, Object>> argumentValues = () -> executionStepInfo.get().getArguments();
+
+            Supplier<ExecutableNormalizedField> normalizedFieldSupplier = getNormalizedField(executionContext, parameters, executionStepInfo);
+
+            // DataFetchingFieldSelectionSet and QueryDirectives is a supplier of sorts - eg a lazy pattern
+            DataFetchingFieldSelectionSet fieldCollector = DataFetchingFieldSelectionSetImpl.newCollector(executionContext.getGraphQLSchema(), fieldDef.getType(), normalizedFieldSupplier);
+            QueryDirectives queryDirectives = new QueryDirectivesImpl(field,
+                    executionContext.getGraphQLSchema(),
+                    executionContext.getCoercedVariables(),
+                    executionContext.getNormalizedVariables(),
+                    executionContext.getGraphQLContext(),
+                    executionContext.getLocale());
+
+
+            return newDataFetchingEnvironment(executionContext)
+                    .source(parameters.getSource())
+                    .localContext(parameters.getLocalContext())
+                    .arguments(argumentValues)
+                    .fieldDefinition(fieldDef)
+                    .mergedField(parameters.getField())
+                    .fieldType(fieldDef.getType())
+                    .executionStepInfo(executionStepInfo)
+                    .parentType(parentType)
+                    .selectionSet(fieldCollector)
+                    .queryDirectives(queryDirectives)
+                    .alternativeCallContext(parameters.getAlternativeCallContext())
+                    .level(parameters.getPath().getLevel())
+                    .deadline(deadline)
+                    .build();
+        });
+    }
+
+    /**
+     * This is called just before a data fetcher is invoked and allows an execution strategy to change how the data fetcher
+     * is run, for example on another thread.  By default, the data fetcher is returned unchanged.
+     *
+     * @param executionContext    contains the top level execution parameters
+     * @param parameters          contains the parameters holding the fields to be executed and source object
+     * @param originalDataFetcher the data fetcher as registered in the {@link GraphQLCodeRegistry}
+     * @param dataFetcher         the data fetcher to be invoked, which may have been instrumented
+     *
+     * @return the data fetcher to invoke
+     */
+    protected DataFetcher<?> decorateDataFetcher(ExecutionContext executionContext, ExecutionStrategyParameters parameters, DataFetcher<?> originalDataFetcher, DataFetcher<?> dataFetcher) {
+        return dataFetcher;
+    }
+
     /*
      * ExecutionContext is not used in the method, but the java agent uses it, so it needs to be present
      */
@@ -639,32 +745,42 @@ public abstract class ExecutionStrategy {
         Field field = parameters.getField().getSingleField();
         GraphQLObjectType parentType = parameters.getExecutionStepInfo().getUnwrappedNonNullTypeAs();
         GraphQLFieldDefinition fieldDef = getFieldDef(executionContext.getGraphQLSchema(), parentType, field);
-        return completeField(fieldDef, executionContext, parameters, fetchedValue);
+        Supplier<ExecutionStepInfo> executionStepInfo = FpKit.intraThreadMemoize(() -> createExecutionStepInfo(executionContext, parameters, fieldDef, parentType));
+        return completeField(fieldDef, executionContext, parameters, executionStepInfo, fetchedValue);
     }
 
-    private FieldValueInfo completeField(GraphQLFieldDefinition fieldDef, ExecutionContext executionContext, ExecutionStrategyParameters parameters, Object fetchedValue) {
-        GraphQLObjectType parentType = parameters.getExecutionStepInfo().getUnwrappedNonNullTypeAs();
-        ExecutionStepInfo executionStepInfo = createExecutionStepInfo(executionContext, parameters, fieldDef, parentType);
-
+    private FieldValueInfo completeField(GraphQLFieldDefinition fieldDef, ExecutionContext executionContext, ExecutionStrategyParameters parameters, Supplier<ExecutionStepInfo> executionStepInfo, Object fetchedValue) {
         Instrumentation instrumentation = executionContext.getInstrumentation();
-        InstrumentationFieldCompleteParameters instrumentationParams = new InstrumentationFieldCompleteParameters(executionContext, parameters, () -> executionStepInfo, fetchedValue);
-        InstrumentationContext<Object> ctxCompleteField = nonNullCtx(instrumentation.beginFieldCompletion(
-                instrumentationParams, executionContext.getInstrumentationState()
-        ));
-
-        ExecutionStrategyParameters newParameters = parameters.transform(
-                executionStepInfo,
-                FetchedValue.getLocalContext(fetchedValue, parameters.getLocalContext()),
-                FetchedValue.getFetchedValue(fetchedValue)
-        );
+        InstrumentationContext<Object> ctxCompleteField = noOp();
+        if (executionContext.isInstrumented(InstrumentationHook.BEGIN_FIELD_COMPLETION)) {
+            InstrumentationFieldCompleteParameters instrumentationParams = new InstrumentationFieldCompleteParameters(executionContext, parameters, executionStepInfo, fetchedValue);
+            ctxCompleteField = nonNullCtx(instrumentation.beginFieldCompletion(
+                    instrumentationParams, executionContext.getInstrumentationState()
+            ));
+        }
+
+        Object localContext = FetchedValue.getLocalContext(fetchedValue, parameters.getLocalContext());
+        Object source = FetchedValue.getFetchedValue(fetchedValue);
+        GraphQLOutputType fieldType = fieldDef.getType();
+        GraphQLType unwrappedFieldType = unwrapNonNull(fieldType);
+        ExecutionStrategyParameters newParameters;
+        if (isScalar(unwrappedFieldType) || isEnum(unwrappedFieldType)) {
+            // leaf values only need the execution step info for errors, so it stays lazy
+            newParameters = parameters.transform(executionStepInfo, fieldType, localContext, source);
+        } else {
+            newParameters = parameters.transform(executionStepInfo.get(), localContext, source);
+        }
 
         FieldValueInfo fieldValueInfo = completeValue(executionContext, newParameters);
         ctxCompleteField.onDispatched();
-        if (fieldValueInfo.isFutureValue()) {
+        Object fieldValueObject = fieldValueInfo.getFieldValueObjectOrNonNullException();
+        if (fieldValueObject instanceof CompletableFuture) {
             CompletableFuture<Object> executionResultFuture = fieldValueInfo.getFieldValueFuture();
             executionResultFuture.whenComplete(ctxCompleteField::onCompleted);
+        } else if (fieldValueObject instanceof NonNullableFieldWasNullException) {
+            ctxCompleteField.onCompleted(null, (NonNullableFieldWasNullException) fieldValueObject);
         } else {
-            ctxCompleteField.onCompleted(fieldValueInfo.getFieldValueObject(), null);
+            ctxCompleteField.onCompleted(fieldValueObject, null);
         }
         return fieldValueInfo;
     }
@@ -686,9 +802,8 @@ public abstract class ExecutionStrategy {
      * @throws NonNullableFieldWasNullException if a non null field resolves to a null value
      */
     protected FieldValueInfo completeValue(ExecutionContext executionContext, ExecutionStrategyParameters parameters) throws NonNullableFieldWasNullException {
-        ExecutionStepInfo executionStepInfo = parameters.getExecutionStepInfo();
         Object result = executionContext.getValueUnboxer().unbox(parameters.getSource());
-        GraphQLType fieldType = executionStepInfo.getUnwrappedNonNullType();
+        GraphQLType fieldType = unwrapNonNull(parameters.getExecutionStepInfoType());
         Object fieldValue;
 
         if (result == null) {
@@ -732,7 +847,7 @@ public abstract class ExecutionStrategy {
      *
      * @return a {@link FieldValueInfo}
      *
-     * @throws NonNullableFieldWasNullException inside a {@link CompletableFuture} if a non null field resolves to a null value
+     * @throws NonNullableFieldWasNullException as the field value if a non null field resolves to a null value
      */
     private FieldValueInfo getFieldValueInfoForNull(ExecutionStrategyParameters parameters) {
         Object fieldValue = completeValueForNull(parameters);
@@ -744,14 +859,13 @@ public abstract class ExecutionStrategy {
      *
      * @param parameters contains the parameters holding the fields to be executed and source object
      *
-     * @return a null value or a {@link CompletableFuture} exceptionally completed
-     *
-     * @throws NonNullableFieldWasNullException inside the {@link CompletableFuture} if a non-null field resolves to a null value
+     * @return a null value, a {@link NonNullableFieldWasNullException} value if a non-null field resolves to a null value
+     * or a {@link CompletableFuture} exceptionally completed
      */
-    @DuckTyped(shape = "CompletableFuture<Object> | Object")
+    @DuckTyped(shape = "CompletableFuture<Object> | NonNullableFieldWasNullException | Object")
     protected Object completeValueForNull(ExecutionStrategyParameters parameters) {
         try {
-            return parameters.getNonNullFieldValidator().validate(parameters, null);
+            return parameters.getNonNullFieldValidator().checkNonNullable(parameters, null);
         } catch (Exception e) {
             return Async.exceptionallyCompletedFuture(e);
         }
@@ -769,10 +883,9 @@ public abstract class ExecutionStrategy {
      */
     protected FieldValueInfo completeValueForList(ExecutionContext executionContext, ExecutionStrategyParameters parameters, Object result) {
         Iterable<Object> resultIterable = toIterable(executionContext, parameters, result);
-        try {
-            resultIterable = parameters.getNonNullFieldValidator().validate(parameters, resultIterable);
-        } catch (NonNullableFieldWasNullException e) {
-            return new FieldValueInfo(LIST, exceptionallyCompletedFuture(e));
+        NonNullableFieldWasNullException nonNullException = parameters.getNonNullFieldValidator().checkNonNullable(parameters, resultIterable);
+        if (nonNullException != null) {
+            return new FieldValueInfo(LIST, nonNullException);
         }
         if (resultIterable == null) {
             return new FieldValueInfo(LIST, null);
@@ -795,38 +908,62 @@ public abstract class ExecutionStrategy {
         OptionalInt size = FpKit.toSize(iterableValues);
         ExecutionStepInfo executionStepInfo = parameters.getExecutionStepInfo();
 
-        InstrumentationFieldCompleteParameters instrumentationParams = new InstrumentationFieldCompleteParameters(executionContext, parameters, () -> executionStepInfo, iterableValues);
-        Instrumentation instrumentation = executionContext.getInstrumentation();
+        InstrumentationContext<Object> completeListCtx = noOp();
+        if (executionContext.isInstrumented(InstrumentationHook.BEGIN_FIELD_LIST_COMPLETION)) {
+            InstrumentationFieldCompleteParameters instrumentationParams = new InstrumentationFieldCompleteParameters(executionContext, parameters, () -> executionStepInfo, iterableValues);
+            Instrumentation instrumentation = executionContext.getInstrumentation();
+            completeListCtx = nonNullCtx(instrumentation.beginFieldListCompletion(
+                    instrumentationParams, executionContext.getInstrumentationState()
+            ));
+        }
 
-        InstrumentationContext<Object> completeListCtx = nonNullCtx(instrumentation.beginFieldListCompletion(
-                instrumentationParams, executionContext.getInstrumentationState()
-        ));
+        Iterable<Object> values = iterableValues;
+        boolean valuesUnboxed = false;
+        List<ResultPath> batchedFieldPaths = null;
+        GraphQLObjectType batchedObjectType = getBatchedObjectType(executionContext, executionStepInfo);
+        if (batchedObjectType != null) {
+            List<Object> fetchedValues = new ArrayList<>(size.orElse(16));
+            for (Object item : iterableValues) {
+                fetchedValues.add(unboxPossibleDataFetcherResult(executionContext, parameters, item));
+            }
+            batchedFieldPaths = fetchBatchedFields(executionContext, parameters, batchedObjectType, fetchedValues);
+            values = fetchedValues;
+            valuesUnboxed = true;
+        }
 
         List<FieldValueInfo> fieldValueInfos = new ArrayList<>(size.orElse(1));
-        int index = 0;
-        for (Object item : iterableValues) {
-            if (incrementAndCheckMaxNodesExceeded(executionContext)) {
-                return new FieldValueInfo(NULL, null, fieldValueInfos);
-            }
+        try {
+            int index = 0;
+            for (Object item : values) {
+                if (incrementAndCheckMaxNodesExceeded(executionContext)) {
+                    return new FieldValueInfo(NULL, null, fieldValueInfos);
+                }
 
-            ResultPath indexedPath = parameters.getPath().segment(index);
+                ResultPath indexedPath = parameters.getPath().segment(index);
 
-            ExecutionStepInfo stepInfoForListElement = executionStepInfoFactory.newExecutionStepInfoForListElement(executionStepInfo, indexedPath);
+                ExecutionStepInfo stepInfoForListElement = executionStepInfoFactory.newExecutionStepInfoForListElement(executionStepInfo, indexedPath);
 
-            Object fetchedValue = unboxPossibleDataFetcherResult(executionContext, parameters, item);
+                Object fetchedValue = valuesUnboxed ? item : unboxPossibleDataFetcherResult(executionContext, parameters, item);
 
-            ExecutionStrategyParameters newParameters = parameters.transform(
-                    stepInfoForListElement,
-                    indexedPath,
-                    FetchedValue.getLocalContext(fetchedValue, parameters.getLocalContext()),
-                    FetchedValue.getFetchedValue(fetchedValue)
-            );
+                ExecutionStrategyParameters newParameters = parameters.transform(
+                        stepInfoForListElement,
+                        indexedPath,
+                        FetchedValue.getLocalContext(fetchedValue, parameters.getLocalContext()),
+                        FetchedValue.getFetchedValue(fetchedValue)
+                );
 
-            fieldValueInfos.add(completeValue(executionContext, newParameters));
-            index++;
+                fieldValueInfos.add(completeValue(executionContext, newParameters));
+                index++;
+            }
+        } finally {
+            if (batchedFieldPaths != null) {
+                // the fields of the elements are fetched as the elements are completed, so any batched values that are
+                // left belong to fields that were never fetched, say because they were deferred or cached
+                executionContext.getBatchedFieldValues().removeAll(batchedFieldPaths);
+            }
         }
 
-        Object listResults = Async.eachPolymorphic(fieldValueInfos, FieldValueInfo::getFieldValueObject);
+        Object listResults = Async.eachPolymorphic(fieldValueInfos, FieldValueInfo::getFieldValueObjectOrNonNullException);
         Object listOrPromiseToList;
         if (listResults instanceof CompletableFuture) {
             @SuppressWarnings("unchecked")
@@ -842,18 +979,173 @@ public abstract class ExecutionStrategy {
                     handleValueException(overallResult, exception, executionContext);
                     return;
                 }
+                NonNullableFieldWasNullException nonNullException = findNonNullableFieldWasNull(results);
+                if (nonNullException != null) {
+                    handleValueException(overallResult, nonNullException, executionContext);
+                    return;
+                }
                 List<Object> completedResults = new ArrayList<>(results.size());
                 completedResults.addAll(results);
                 overallResult.complete(completedResults);
             });
             listOrPromiseToList = overallResult;
         } else {
-            completeListCtx.onCompleted(listResults, null);
-            listOrPromiseToList = listResults;
+            @SuppressWarnings("unchecked")
+            NonNullableFieldWasNullException nonNullException = findNonNullableFieldWasNull((List<Object>) listResults);
+            if (nonNullException != null) {
+                NonNullableFieldWasNullException parentException = nonNullExceptionForParent(nonNullException);
+                completeListCtx.onCompleted(null, parentException);
+                listOrPromiseToList = parentException;
+            } else {
+                completeListCtx.onCompleted(listResults, null);
+                listOrPromiseToList = listResults;
+            }
         }
         return new FieldValueInfo(LIST, listOrPromiseToList, fieldValueInfos);
     }
 
+    /*
+     * The fields of a list of objects are batched if the schema has batched data fetchers.  Lists of abstract types and
+     * lists of lists are not batched and neither are subscription events
+     */
+    private @Nullable GraphQLObjectType getBatchedObjectType(ExecutionContext executionContext, ExecutionStepInfo executionStepInfo) {
+        if (!executionContext.getGraphQLSchema().getCodeRegistry().hasBatchedDataFetchers() || executionContext.isSubscriptionOperation()) {
+            return null;
+        }
+        GraphQLList listType = (GraphQLList) executionStepInfo.getUnwrappedNonNullType();
+        GraphQLType elementType = unwrapNonNull(listType.getWrappedType());
+        return elementType instanceof GraphQLObjectType ? (GraphQLObjectType) elementType : null;
+    }
+
+    /**
+     * This calls each {@link BatchedDataFetcher} of the list's object type once with all the non-null list elements as sources.
+     * The values are then put into {@link ExecutionContext#getBatchedFieldValues()} where {@link #fetchField(ExecutionContext, ExecutionStrategyParameters)}
+     * will find them when the fields of each element are fetched.
+     *
+     * @param executionContext contains the top level execution parameters
+     * @param parameters       contains the parameters of the list field
+     * @param objectType       the object type of the list elements
+     * @param fetchedValues    the list elements, which may be {@link FetchedValue}s
+     *
+     * @return the result paths of the fields whose values were put into the batched field values
+     */
+    private List<ResultPath> fetchBatchedFields(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLObjectType objectType, List<Object> fetchedValues) {
+        GraphQLCodeRegistry codeRegistry = executionContext.getGraphQLSchema().getCodeRegistry();
+        ExecutionPlan.Bound executionPlan = executionContext.getExecutionPlan();
+        MergedSelectionSet subFields = null;
+        for (int index = 0; index < fetchedValues.size() && subFields == null; index++) {
+            if (sourceOf(executionContext, fetchedValues.get(index)) != null) {
+                subFields = collectSubFields(executionContext, parameters, objectType);
+            }
+        }
+        if (subFields == null) {
+            // there is nothing to fetch for null elements
+            return Collections.emptyList();
+        }
+        List<ResultPath> batchedFieldPaths = new ArrayList<>();
+        for (String fieldName : subFields.getKeys()) {
+            MergedField mergedField = subFields.getSubField(fieldName);
+            GraphQLFieldDefinition fieldDef = getFieldDef(executionContext.getGraphQLSchema(), objectType, mergedField.getSingleField());
+            DataFetcher<?> dataFetcher = executionPlan != null
+                    ? executionPlan.getDataFetcher(codeRegistry, objectType, fieldDef)
+                    : codeRegistry.getDataFetcher(objectType.getName(), fieldDef.getName(), fieldDef);
+            if (dataFetcher instanceof BatchedDataFetcher) {
+                fetchBatchedField(executionContext, parameters, objectType, subFields, mergedField, fieldDef, (BatchedDataFetcher<?>) dataFetcher, fetchedValues, batchedFieldPaths);
+            }
+        }
+        return batchedFieldPaths;
+    }
+
+    private void fetchBatchedField(ExecutionContext executionContext,
+                                   ExecutionStrategyParameters parameters,
+                                   GraphQLObjectType objectType,
+                                   MergedSelectionSet subFields,
+                                   MergedField mergedField,
+                                   GraphQLFieldDefinition fieldDef,
+                                   BatchedDataFetcher<?> batchedDataFetcher,
+                                   List<Object> fetchedValues,
+                                   List<ResultPath> batchedFieldPaths) {
+        Deadline deadline = getFieldDeadline(executionContext, fieldDef);
+        if (deadline != null && deadline.isExpired()) {
+            // each field will then fail on its own as no new fetches are started once the deadline has passed
+            return;
+        }
+        List<Object> sources = new ArrayList<>(fetchedValues.size());
+        List<Integer> indexes = new ArrayList<>(fetchedValues.size());
+        for (int index = 0; index < fetchedValues.size(); index++) {
+            Object source = sourceOf(executionContext, fetchedValues.get(index));
+            if (source != null) {
+                sources.add(source);
+                indexes.add(index);
+            }
+        }
+        String pathName = mkNameForPath(mergedField);
+        Function<Integer, ExecutionStrategyParameters> fieldParameters = i -> {
+            int index = indexes.get(i);
+            Object fetchedValue = fetchedValues.get(index);
+            ResultPath indexedPath = parameters.getPath().segment(index);
+            ExecutionStepInfo stepInfoForListElement = executionStepInfoFactory.newExecutionStepInfoForListElement(parameters.getExecutionStepInfo(), indexedPath);
+            ExecutionStrategyParameters objectParameters = parameters
+                    .transform(stepInfoForListElement.changeTypeWithPreservedNonNull(objectType),
+                            indexedPath,
+                            FetchedValue.getLocalContext(fetchedValue, parameters.getLocalContext()),
+                            sources.get(i))
+                    .transform(stepInfoForListElement.changeTypeWithPreservedNonNull(objectType), subFields, sources.get(i));
+            return objectParameters.transform(mergedField, indexedPath.segment(pathName), objectParameters);
+        };
+        Supplier<List<ExecutionStepInfo>> executionStepInfos = () -> {
+            ImmutableList.Builder<ExecutionStepInfo> stepInfos = ImmutableList.builderWithExpectedSize(sources.size());
+            for (int i = 0; i < sources.size(); i++) {
+                stepInfos.add(createExecutionStepInfo(executionContext, fieldParameters.apply(i), fieldDef, objectType));
+            }
+            return stepInfos.build();
+        };
+        ExecutionStrategyParameters firstFieldParameters = fieldParameters.apply(0);
+        Supplier<ExecutionStepInfo> firstExecutionStepInfo = FpKit.intraThreadMemoize(() -> createExecutionStepInfo(executionContext, firstFieldParameters, fieldDef, objectType));
+        BatchedDataFetchingEnvironment environment = newBatchedDataFetchingEnvironment(
+                createDataFetchingEnvironment(executionContext, firstFieldParameters, fieldDef, objectType, firstExecutionStepInfo, deadline).get(),
+                sources,
+                executionStepInfos);
+
+        Object batch;
+        try {
+            batch = Async.toCompletableFutureOrMaterializedObject(batchedDataFetcher.getBatch(environment));
+        } catch (Exception e) {
+            batch = Async.exceptionallyCompletedFuture(e);
+        }
+
+        BatchedFieldValues batchedFieldValues = executionContext.getBatchedFieldValues();
+        if (batch instanceof CompletableFuture) {
+            @SuppressWarnings("unchecked")
+            CompletableFuture<Object> batchFuture = (CompletableFuture<Object>) batch;
+            for (int i = 0; i < sources.size(); i++) {
+                int sourceIndex = i;
+                CompletableFuture<Object> value = batchFuture.thenApply(values -> BatchedDataFetchingEnvironment.assertBatchSize(values, sources.size()).get(sourceIndex));
+                ResultPath fieldPath = parameters.getPath().segment(indexes.get(i)).segment(pathName);
+                batchedFieldValues.put(fieldPath, value);
+                batchedFieldPaths.add(fieldPath);
+            }
+        } else {
+            List<?> values;
+            try {
+                values = BatchedDataFetchingEnvironment.assertBatchSize(batch, sources.size());
+            } catch (AssertException e) {
+                // each source will see the problem as its own fetching exception
+                CompletableFuture<Object> failed = Async.exceptionallyCompletedFuture(e);
+                values = Collections.nCopies(sources.size(), failed);
+            }
+            for (int i = 0; i < sources.size(); i++) {
+                ResultPath fieldPath = parameters.getPath().segment(indexes.get(i)).segment(pathName);
+                batchedFieldValues.put(fieldPath, values.get(i));
+                batchedFieldPaths.add(fieldPath);
+            }
+        }
+    }
+
+    private static @Nullable Object sourceOf(ExecutionContext executionContext, Object fetchedValue) {
+        return executionContext.getValueUnboxer().unbox(FetchedValue.getFetchedValue(fetchedValue));
+    }
+
     protected <T> void handleValueException(CompletableFuture<T> overallResult, Throwable e, ExecutionContext executionContext) {
         Throwable underlyingException = e;
         if (e instanceof CompletionException) {
@@ -885,9 +1177,9 @@ public abstract class ExecutionStrategy {
      * @param scalarType       the type of the scalar
      * @param result           the result to be coerced
      *
-     * @return a materialized scalar value or exceptionally completed {@link CompletableFuture} if there is a problem
+     * @return a materialized scalar value or a {@link NonNullableFieldWasNullException} value if a non-null field resolves to a null value
      */
-    @DuckTyped(shape = "CompletableFuture<Object> | Object")
+    @DuckTyped(shape = "NonNullableFieldWasNullException | Object")
     protected Object completeValueForScalar(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLScalarType scalarType, Object result) {
         Object serialized;
         try {
@@ -896,10 +1188,9 @@ public abstract class ExecutionStrategy {
             serialized = handleCoercionProblem(executionContext, parameters, e);
         }
 
-        try {
-            serialized = parameters.getNonNullFieldValidator().validate(parameters, serialized);
-        } catch (NonNullableFieldWasNullException e) {
-            return exceptionallyCompletedFuture(e);
+        NonNullableFieldWasNullException nonNullException = parameters.getNonNullFieldValidator().checkNonNullable(parameters, serialized);
+        if (nonNullException != null) {
+            return nonNullException;
         }
         return serialized;
     }
@@ -912,9 +1203,9 @@ public abstract class ExecutionStrategy {
      * @param enumType         the type of the enum
      * @param result           the result to be coerced
      *
-     * @return a materialized enum value or exceptionally completed {@link CompletableFuture} if there is a problem
+     * @return a materialized enum value or a {@link NonNullableFieldWasNullException} value if a non-null field resolves to a null value
      */
-    @DuckTyped(shape = "CompletableFuture<Object> | Object")
+    @DuckTyped(shape = "NonNullableFieldWasNullException | Object")
     protected Object completeValueForEnum(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLEnumType enumType, Object result) {
         Object serialized;
         try {
@@ -922,10 +1213,9 @@ public abstract class ExecutionStrategy {
         } catch (CoercingSerializeException e) {
             serialized = handleCoercionProblem(executionContext, parameters, e);
         }
-        try {
-            serialized = parameters.getNonNullFieldValidator().validate(parameters, serialized);
-        } catch (NonNullableFieldWasNullException e) {
-            return exceptionallyCompletedFuture(e);
+        NonNullableFieldWasNullException nonNullException = parameters.getNonNullFieldValidator().checkNonNullable(parameters, serialized);
+        if (nonNullException != null) {
+            return nonNullException;
         }
         return serialized;
     }
@@ -944,6 +1234,24 @@ public abstract class ExecutionStrategy {
     protected Object completeValueForObject(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLObjectType resolvedObjectType, Object result) {
         ExecutionStepInfo executionStepInfo = parameters.getExecutionStepInfo();
 
+        MergedSelectionSet subFields = collectSubFields(executionContext, parameters, resolvedObjectType);
+
+        ExecutionStepInfo newExecutionStepInfo = executionStepInfo.changeTypeWithPreservedNonNull(resolvedObjectType);
+
+        ExecutionStrategyParameters newParameters = parameters.transform(newExecutionStepInfo,
+                subFields,
+                result);
+
+        EntityCache entityCache = executionContext.getEntityCache();
+        if (entityCache != null) {
+            return entityCache.completeObject(executionContext, resolvedObjectType, result, subFields,
+                    () -> executionContext.getQueryStrategy().executeObject(executionContext, newParameters));
+        }
+        // Calling this from the executionContext to ensure we shift back from mutation strategy to the query strategy.
+        return executionContext.getQueryStrategy().executeObject(executionContext, newParameters);
+    }
+
+    private MergedSelectionSet collectSubFields(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLObjectType resolvedObjectType) {
         FieldCollectorParameters collectorParameters = newParameters()
                 .schema(executionContext.getGraphQLSchema())
                 .objectType(resolvedObjectType)
@@ -952,20 +1260,15 @@ public abstract class ExecutionStrategy {
                 .graphQLContext(executionContext.getGraphQLContext())
                 .build();
 
-        MergedSelectionSet subFields = fieldCollector.collectFields(
+        Supplier<MergedSelectionSet> subFieldsCollector = () -> fieldCollector.collectFields(
                 collectorParameters,
                 parameters.getField(),
                 executionContext.hasIncrementalSupport()
         );
-
-        ExecutionStepInfo newExecutionStepInfo = executionStepInfo.changeTypeWithPreservedNonNull(resolvedObjectType);
-
-        ExecutionStrategyParameters newParameters = parameters.transform(newExecutionStepInfo,
-                subFields,
-                result);
-
-        // Calling this from the executionContext to ensure we shift back from mutation strategy to the query strategy.
-        return executionContext.getQueryStrategy().executeObject(executionContext, newParameters);
+        ExecutionPlan.Bound executionPlan = executionContext.getExecutionPlan();
+        return executionPlan != null
+                ? executionPlan.getSelectionSet(resolvedObjectType, parameters.getField(), subFieldsCollector)
+                : subFieldsCollector.get();
     }
 
     @SuppressWarnings("SameReturnValue")
@@ -1075,6 +1378,30 @@ public abstract class ExecutionStrategy {
         }
     }
 
+    /*
+     * While values are materialised a non null field that resolved to a null value is passed up as a NonNullableFieldWasNullException
+     * value rather than via an exceptionally completed CompletableFuture.  This returns the first one in the completed values, if any.
+     */
+    static @Nullable NonNullableFieldWasNullException findNonNullableFieldWasNull(List<Object> values) {
+        for (Object value : values) {
+            if (value instanceof NonNullableFieldWasNullException) {
+                return (NonNullableFieldWasNullException) value;
+            }
+        }
+        return null;
+    }
+
+    /*
+     * This is the value of the parent, which is null if the parent is nullable, otherwise the null bubbles up further
+     */
+    private static @Nullable NonNullableFieldWasNullException nonNullExceptionForParent(NonNullableFieldWasNullException e) {
+        ExecutionStepInfo executionStepInfo = e.getExecutionStepInfo();
+        if (executionStepInfo.hasParent() && executionStepInfo.getParent().isNonNullType()) {
+            return new NonNullableFieldWasNullException(e);
+        }
+        return null;
+    }
+
     protected ExecutionResult handleNonNullException(ExecutionContext executionContext, CompletableFuture<ExecutionResult> result, Throwable e) {
         ExecutionResult executionResult = null;
         List<GraphQLError> errors = ImmutableList.copyOf(executionContext.getErrors());
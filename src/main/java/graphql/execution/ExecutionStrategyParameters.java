@@ -3,11 +3,13 @@ package graphql.execution;
 import graphql.Internal;
 import graphql.PublicApi;
 import graphql.execution.incremental.AlternativeCallContext;
+import graphql.schema.GraphQLOutputType;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.NullUnmarked;
 import org.jspecify.annotations.Nullable;
 
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static graphql.Assert.assertNotNull;
 
@@ -17,7 +19,8 @@ import static graphql.Assert.assertNotNull;
 @PublicApi
 @NullMarked
 public class ExecutionStrategyParameters {
-    private final ExecutionStepInfo executionStepInfo;
+    // an ExecutionStepInfo or a LazyExecutionStepInfo
+    private final Object executionStepInfo;
     private final @Nullable Object source;
     private final @Nullable Object localContext;
     private final MergedSelectionSet fields;
@@ -27,7 +30,7 @@ public class ExecutionStrategyParameters {
     private final @Nullable ExecutionStrategyParameters parent;
     private final @Nullable AlternativeCallContext alternativeCallContext;
 
-    private ExecutionStrategyParameters(ExecutionStepInfo executionStepInfo,
+    private ExecutionStrategyParameters(Object executionStepInfo,
                                         @Nullable Object source,
                                         @Nullable Object localContext,
                                         MergedSelectionSet fields,
@@ -49,7 +52,26 @@ public class ExecutionStrategyParameters {
     }
 
     public ExecutionStepInfo getExecutionStepInfo() {
-        return executionStepInfo;
+        Object stepInfo = executionStepInfo;
+        if (stepInfo instanceof LazyExecutionStepInfo) {
+            return ((LazyExecutionStepInfo) stepInfo).executionStepInfo.get();
+        }
+        return (ExecutionStepInfo) stepInfo;
+    }
+
+    /**
+     * This returns the type of {@link #getExecutionStepInfo()} without creating the execution step info
+     * if it has not been created yet.
+     *
+     * @return the type of the execution step info
+     */
+    @Internal
+    public GraphQLOutputType getExecutionStepInfoType() {
+        Object stepInfo = executionStepInfo;
+        if (stepInfo instanceof LazyExecutionStepInfo) {
+            return ((LazyExecutionStepInfo) stepInfo).type;
+        }
+        return ((ExecutionStepInfo) stepInfo).getType();
     }
 
     public @Nullable Object getSource() {
@@ -165,6 +187,26 @@ public class ExecutionStrategyParameters {
                 alternativeCallContext);
     }
 
+    /*
+     * The execution step info is only created when it is asked for.  The type must be the type
+     * of the execution step info the supplier returns, and the supplier must be memoized.
+     */
+    @Internal
+    ExecutionStrategyParameters transform(Supplier<ExecutionStepInfo> executionStepInfo,
+                                          GraphQLOutputType executionStepInfoType,
+                                          @Nullable Object localContext,
+                                          @Nullable Object source) {
+        return new ExecutionStrategyParameters(new LazyExecutionStepInfo(executionStepInfoType, executionStepInfo),
+                source,
+                localContext,
+                fields,
+                nonNullableFieldValidator,
+                path,
+                currentField,
+                parent,
+                alternativeCallContext);
+    }
+
     @Internal
     ExecutionStrategyParameters transform(MergedField currentField,
                                           ResultPath path,
@@ -189,7 +231,17 @@ public class ExecutionStrategyParameters {
     @Override
     public String toString() {
         return String.format("ExecutionStrategyParameters { path=%s, executionStepInfo=%s, source=%s, fields=%s }",
-                path, executionStepInfo, source, fields);
+                path, getExecutionStepInfo(), source, fields);
+    }
+
+    private static class LazyExecutionStepInfo {
+        private final GraphQLOutputType type;
+        private final Supplier<ExecutionStepInfo> executionStepInfo;
+
+        private LazyExecutionStepInfo(GraphQLOutputType type, Supplier<ExecutionStepInfo> executionStepInfo) {
+            this.type = type;
+            this.executionStepInfo = executionStepInfo;
+        }
     }
 
     public static Builder newParameters() {
@@ -202,7 +254,7 @@ public class ExecutionStrategyParameters {
 
     @NullUnmarked
     public static class Builder {
-        ExecutionStepInfo executionStepInfo;
+        Object executionStepInfo;
         Object source;
         Object localContext;
         MergedSelectionSet fields;
@@ -19,6 +19,9 @@ import static graphql.Assert.assertNotNull;
  * The {@link #getFieldValueObject()} method returns either a materialized value or a {@link CompletableFuture}
  * promise to a materialized value.  Simple in-memory values will tend to be materialized, while complicated
  * values might need a call to a database or other systems will tend to be {@link CompletableFuture} promises.
+ * <p>
+ * If a non-null field resolved to a null value then the value is a {@link CompletableFuture} completed exceptionally
+ * with a {@link NonNullableFieldWasNullException}.
  */
 @PublicApi
 @NullMarked
@@ -33,7 +36,8 @@ public class FieldValueInfo {
     }
 
     private final CompleteValueType completeValueType;
-    private final @Nullable Object /* CompletableFuture<Object> | Object */ fieldValueObject;
+    // the execution strategies pass a NonNullableFieldWasNullException up as a value rather than as a failed future
+    private final @Nullable Object /* CompletableFuture<Object> | NonNullableFieldWasNullException | Object */ fieldValueObject;
     private final List<FieldValueInfo> fieldValueInfos;
 
     public FieldValueInfo(CompleteValueType completeValueType, @Nullable Object fieldValueObject) {
@@ -62,24 +66,37 @@ public class FieldValueInfo {
      * @return either an object that is materialized or a {@link CompletableFuture} promise to a value
      */
     public @Nullable Object /* CompletableFuture<Object> | Object */ getFieldValueObject() {
+        if (fieldValueObject instanceof NonNullableFieldWasNullException) {
+            return Async.exceptionallyCompletedFuture((NonNullableFieldWasNullException) fieldValueObject);
+        }
+        return fieldValueObject;
+    }
+
+    /**
+     * This is used by the execution strategies, which handle a {@link NonNullableFieldWasNullException} value without
+     * completing a future with it
+     *
+     * @return either an object that is materialized, a {@link NonNullableFieldWasNullException} or a {@link CompletableFuture} promise to a value
+     */
+    @Nullable Object /* CompletableFuture<Object> | NonNullableFieldWasNullException | Object */ getFieldValueObjectOrNonNullException() {
         return fieldValueObject;
     }
 
     /**
      * This returns the value in {@link CompletableFuture} form.  If it is already a {@link CompletableFuture} it is returned
-     * directly, otherwise the materialized value is wrapped in a {@link CompletableFuture} and returned
+     * directly, otherwise the materialized value is wrapped in a {@link CompletableFuture} and returned.
      *
      * @return a {@link CompletableFuture} promise to the value
      */
     public CompletableFuture<Object> getFieldValueFuture() {
-        return Async.toCompletableFuture(fieldValueObject);
+        return Async.toCompletableFuture(getFieldValueObject());
     }
 
     /**
      * @return true if the value is a {@link CompletableFuture} promise to a value
      */
     public boolean isFutureValue() {
-        return fieldValueObject instanceof CompletableFuture;
+        return fieldValueObject instanceof CompletableFuture || fieldValueObject instanceof NonNullableFieldWasNullException;
     }
 
     /**
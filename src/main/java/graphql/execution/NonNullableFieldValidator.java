@@ -31,6 +31,24 @@ public class NonNullableFieldValidator {
      * @throws NonNullableFieldWasNullException if the value is null but the type requires it to be non null
      */
     public <T> T validate(ExecutionStrategyParameters parameters, T result) throws NonNullableFieldWasNullException {
+        NonNullableFieldWasNullException nonNullException = checkNonNullable(parameters, result);
+        if (nonNullException != null) {
+            throw nonNullException;
+        }
+        return result;
+    }
+
+    /**
+     * Called to check that a value is non-null if the type requires it to be non null.  This is the same as
+     * {@link #validate(ExecutionStrategyParameters, Object)} except that the {@link NonNullableFieldWasNullException}
+     * is returned rather than thrown, so that the execution strategy can pass it up to the parent field as a value.
+     *
+     * @param parameters the execution strategy parameters
+     * @param result     the result to check
+     *
+     * @return the exception to pass up if the value is null but the type requires it to be non null, otherwise null
+     */
+    public NonNullableFieldWasNullException checkNonNullable(ExecutionStrategyParameters parameters, Object result) {
         if (result == null) {
             ExecutionStepInfo executionStepInfo = parameters.getExecutionStepInfo();
             if (executionStepInfo.isNonNullType()) {
@@ -56,11 +74,11 @@ public class NonNullableFieldValidator {
                     executionContext.addError(error, path);
                 }
                 if (executionContext.propagateErrorsOnNonNullContractFailure()) {
-                    throw nonNullException;
+                    return nonNullException;
                 }
             }
         }
-        return result;
+        return null;
     }
 
 }
@@ -16,21 +16,24 @@ import java.util.List;
 @Internal
 public class NonNullableFieldWasNullError implements GraphQLError {
 
-    private final String message;
-    private final List<Object> path;
+    // the message and path are only built when they are asked for
+    private final NonNullableFieldWasNullException exception;
+    private List<Object> path;
 
     public NonNullableFieldWasNullError(NonNullableFieldWasNullException exception) {
-        this.message = exception.getMessage();
-        this.path = exception.getPath().toList();
+        this.exception = exception;
     }
 
     @Override
     public String getMessage() {
-        return message;
+        return exception.getMessage();
     }
 
     @Override
     public List<Object> getPath() {
+        if (path == null) {
+            path = exception.getPath().toList();
+        }
         return path;
     }
 
@@ -47,8 +50,8 @@ public class NonNullableFieldWasNullError implements GraphQLError {
     @Override
     public String toString() {
         return "NonNullableFieldWasNullError{" +
-                "message='" + message + '\'' +
-                ", path=" + path +
+                "message='" + getMessage() + '\'' +
+                ", path=" + getPath() +
                 '}';
     }
 
@@ -9,34 +9,28 @@ import static graphql.schema.GraphQLTypeUtil.simplePrint;
 /**
  * See (https://spec.graphql.org/October2021/#sec-Errors-and-Non-Nullability), but if a non nullable field
  * actually resolves to a null value and the parent type is nullable then the parent must in fact become null
- * so we use exceptions to indicate this special case
+ * so we use exceptions to indicate this special case.
+ * <p>
+ * While values are materialised the execution strategies pass this up to the parent field as a value rather than
+ * throwing it, and so it has no stack trace and its message is only built when it is asked for.
  */
 @Internal
 public class NonNullableFieldWasNullException extends RuntimeException {
 
     private final ExecutionStepInfo executionStepInfo;
     private final ResultPath path;
-
+    private String message;
 
     public NonNullableFieldWasNullException(ExecutionStepInfo executionStepInfo, ResultPath path) {
-        super(
-                mkMessage(assertNotNull(executionStepInfo),
-                        assertNotNull(path))
-        );
-        this.executionStepInfo = executionStepInfo;
-        this.path = path;
+        super(null, null, false, false);
+        this.executionStepInfo = assertNotNull(executionStepInfo);
+        this.path = assertNotNull(path);
     }
 
     public NonNullableFieldWasNullException(NonNullableFieldWasNullException previousException) {
-        super(
-                mkMessage(
-                        assertNotNull(previousException.executionStepInfo.getParent()),
-                        assertNotNull(previousException.executionStepInfo.getParent().getPath())
-                ),
-                previousException
-        );
-        this.executionStepInfo = previousException.executionStepInfo.getParent();
-        this.path = previousException.executionStepInfo.getParent().getPath();
+        super(null, previousException, false, false);
+        this.executionStepInfo = assertNotNull(previousException.executionStepInfo.getParent());
+        this.path = assertNotNull(this.executionStepInfo.getPath());
     }
 
 
@@ -60,6 +54,14 @@ public class NonNullableFieldWasNullException extends RuntimeException {
         }
     }
 
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = mkMessage(executionStepInfo, path);
+        }
+        return message;
+    }
+
     public ExecutionStepInfo getExecutionStepInfo() {
         return executionStepInfo;
     }
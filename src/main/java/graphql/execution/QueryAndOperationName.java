@@ -0,0 +1,49 @@
+package graphql.execution;
+
+import graphql.Internal;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * The text of a query and the name of the operation to execute in it, which together identify what is executed
+ * independently of the variables
+ */
+@Internal
+@NullMarked
+public final class QueryAndOperationName {
+
+    private final String query;
+    private final @Nullable String operationName;
+
+    public QueryAndOperationName(String query, @Nullable String operationName) {
+        this.query = query;
+        this.operationName = operationName;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public @Nullable String getOperationName() {
+        return operationName;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        QueryAndOperationName that = (QueryAndOperationName) o;
+        return query.equals(that.query) && Objects.equals(operationName, that.operationName);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * query.hashCode() + Objects.hashCode(operationName);
+    }
+}
@@ -22,6 +22,13 @@ public interface ResponseMapFactory {
      */
     ResponseMapFactory DEFAULT = new DefaultResponseMapFactory();
 
+    /**
+     * An implementation with immutable maps that hold their values in an array and share their keys with all
+     * the other maps that have the same keys, for example the objects of a list.  This uses a lot less memory
+     * than the default for large responses.
+     */
+    ResponseMapFactory COMPACT = new CompactResponseMapFactory();
+
     /**
      * The general contract is that the resulting map keeps the insertion orders of keys. Values are nullable but keys are not.
      * Implementations are free to create or to reuse map instances.
@@ -21,6 +21,10 @@ import static java.lang.String.format;
 /**
  * As a graphql query is executed, each field forms a hierarchical path from parent field to child field and this
  * class represents that path as a series of segments.
+ * <p>
+ * A path is created for every field and every list element of a result, so it is kept compact: list indices are
+ * held as primitive ints rather than boxed segments and the hash code builds on the cached hash code of the parent.
+ * The list and string forms of a path are only materialised when asked for.
  */
 @PublicApi
 @NullMarked
@@ -37,31 +41,33 @@ public class ResultPath {
     }
 
     private final @Nullable ResultPath parent;
-    private final @Nullable Object segment;
+    // the name of a named segment or null for a list segment (and the root)
+    private final @Nullable String name;
+    // the level of a named segment or the index of a list segment
+    private final int levelOrIndex;
 
     // hash is effective immutable but lazily initialized similar to the hash code of java.lang.String
     private int hash;
     // lazily initialized similar to hash - computed on first toString() call
     private @Nullable String toStringValue;
-    private final int level;
 
     private ResultPath() {
         parent = null;
-        segment = null;
-        this.level = 0;
+        name = null;
+        this.levelOrIndex = 0;
         this.toStringValue = "";
     }
 
     private ResultPath(ResultPath parent, String segment) {
         this.parent = assertNotNull(parent, "Must provide a parent path");
-        this.segment = assertNotNull(segment, "Must provide a sub path");
-        this.level = parent.level + 1;
+        this.name = assertNotNull(segment, "Must provide a sub path");
+        this.levelOrIndex = parent.getLevel() + 1;
     }
 
     private ResultPath(ResultPath parent, int segment) {
         this.parent = assertNotNull(parent, "Must provide a parent path");
-        this.segment = segment;
-        this.level = parent.level;
+        this.name = null;
+        this.levelOrIndex = segment;
     }
 
     private String initString() {
@@ -72,14 +78,19 @@ public class ResultPath {
     }
 
     public int getLevel() {
-        return level;
+        // list segments are on the level of the closest named segment
+        ResultPath p = this;
+        while (p.isListSegment()) {
+            p = assertNotNull(p.parent);
+        }
+        return p.levelOrIndex;
     }
 
     public @Nullable ResultPath getPathWithoutListEnd() {
         if (ROOT_PATH.equals(this)) {
             return ROOT_PATH;
         }
-        if (segment instanceof String) {
+        if (name != null) {
             return this;
         }
         return parent;
@@ -89,27 +100,38 @@ public class ResultPath {
      * @return true if the end of the path has a list style segment eg 'a/b[2]'
      */
     public boolean isListSegment() {
-        return segment instanceof Integer;
+        return name == null && parent != null;
     }
 
     /**
      * @return true if the end of the path has a named style segment eg 'a/b[2]/c'
      */
     public boolean isNamedSegment() {
-        return segment instanceof String;
+        return name != null;
     }
 
 
     public String getSegmentName() {
-        return (String) assertNotNull(segment);
+        assertTrue(parent != null, "The root path has no segment");
+        if (name == null) {
+            throw new ClassCastException("The path " + this + " does not end with a named segment");
+        }
+        return name;
     }
 
     public int getSegmentIndex() {
-        return (int) assertNotNull(segment);
+        assertTrue(parent != null, "The root path has no segment");
+        if (name != null) {
+            throw new ClassCastException("The path " + this + " does not end with a list segment");
+        }
+        return levelOrIndex;
     }
 
     public @Nullable Object getSegmentValue() {
-        return segment;
+        if (parent == null) {
+            return null;
+        }
+        return name != null ? name : (Object) levelOrIndex;
     }
 
     public @Nullable ResultPath getParent() {
@@ -270,13 +292,13 @@ public class ResultPath {
         if (parent == null) {
             return ImmutableKit.emptyList();
         }
-        LinkedList<Object> list = new LinkedList<>();
+        Object[] segments = new Object[segmentCount()];
         ResultPath p = this;
-        while (p.segment != null) {
-            list.addFirst(p.segment);
+        for (int i = segments.length - 1; i >= 0; i--) {
+            segments[i] = p.getSegmentValue();
             p = assertNotNull(p.parent, "non-root ResultPath must have a non-null parent");
         }
-        return ImmutableList.copyOf(list);
+        return ImmutableList.copyOf(segments);
     }
 
     /**
@@ -288,15 +310,23 @@ public class ResultPath {
         }
         LinkedList<String> list = new LinkedList<>();
         ResultPath p = this;
-        while (p.segment != null) {
-            if (p.segment instanceof String) {
-                list.addFirst((String) p.segment);
+        while (p.parent != null) {
+            if (p.name != null) {
+                list.addFirst(p.name);
             }
-            p = assertNotNull(p.parent, "non-root ResultPath must have a non-null parent");
+            p = p.parent;
         }
         return list;
     }
 
+    private int segmentCount() {
+        int count = 0;
+        for (ResultPath p = this; p.parent != null; p = p.parent) {
+            count++;
+        }
+        return count;
+    }
+
 
     /**
      * @return the path as a string which represents the call hierarchy
@@ -312,10 +342,10 @@ public class ResultPath {
     }
 
     public String segmentToString() {
-        if (segment instanceof String) {
-            return "/" + segment;
+        if (name != null) {
+            return "/" + name;
         } else {
-            return "[" + segment + "]";
+            return "[" + levelOrIndex + "]";
         }
     }
 
@@ -330,12 +360,19 @@ public class ResultPath {
 
         ResultPath self = this;
         ResultPath that = (ResultPath) o;
-        while (self.segment != null && that.segment != null) {
-            if (!Objects.equals(self.segment, that.segment)) {
+        while (self.parent != null && that.parent != null) {
+            if (self == that) {
+                // paths share their parents, so once they meet the rest is equal
+                return true;
+            }
+            if (self.hash != 0 && that.hash != 0 && self.hash != that.hash) {
                 return false;
             }
-            self = assertNotNull(self.parent, "non-root ResultPath must have a non-null parent");
-            that = assertNotNull(that.parent, "non-root ResultPath must have a non-null parent");
+            if (self.levelOrIndex != that.levelOrIndex || !Objects.equals(self.name, that.name)) {
+                return false;
+            }
+            self = self.parent;
+            that = that.parent;
         }
 
         return self.isRootPath() && that.isRootPath();
@@ -345,12 +382,11 @@ public class ResultPath {
     public int hashCode() {
         int h = hash;
         if (h == 0) {
-            h = 1;
-            ResultPath self = this;
-            while (self != null) {
-                Object value = self.segment;
-                h = 31 * h + (value == null ? 0 : value.hashCode());
-                self = self.parent;
+            if (parent == null) {
+                h = 1;
+            } else {
+                // this builds on the cached hash of the parent so hashing a new path does not walk the whole path
+                h = 31 * parent.hashCode() + (name != null ? name.hashCode() : levelOrIndex);
             }
             hash = h;
         }
@@ -0,0 +1,170 @@
+package graphql.execution;
+
+import graphql.ExperimentalApi;
+import graphql.schema.BlockingDataFetcher;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * An execution strategy that runs blocking data fetchers on virtual threads.
+ * <p>
+ * Running a data fetcher on another thread is opt-in, since the ones that call
+ * {@link org.dataloader.DataLoader#load(Object)} would then make their loads after the engine may have dispatched the
+ * data loaders.  By default only the data fetchers marked as {@link BlockingDataFetcher}, say via
+ * {@link BlockingDataFetcher#blocking(DataFetcher)}, are blocking, and
+ * {@link #VirtualThreadExecutionStrategy(DataFetcherExceptionHandler, Executor, Predicate)} takes a {@link Predicate}
+ * on the data fetcher registered in the {@link graphql.schema.GraphQLCodeRegistry} to decide otherwise.  Blocking data
+ * fetchers are invoked on the strategy's {@link Executor}, and if they return a {@link CompletionStage} then the field
+ * completes with its value rather than with the stage itself.  Every other data fetcher is called inline on the calling
+ * thread as with {@link AsyncExecutionStrategy}.
+ * <p>
+ * By default a new virtual thread is started for each blocking data fetcher invocation when running on JDK 21 or later.
+ * On earlier JVMs, where virtual threads are not available, the {@link ForkJoinPool#commonPool()} is used.
+ * <p>
+ * The {@link DataFetchingEnvironment} is created on the calling thread before the data fetcher is handed off.
+ */
+@ExperimentalApi
+@NullMarked
+public class VirtualThreadExecutionStrategy extends AsyncExecutionStrategy {
+
+    private static final @Nullable MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadPerTaskExecutor();
+
+    private final Executor executor;
+    private final Predicate<DataFetcher<?>> blockingDataFetchers;
+
+    /**
+     * Creates an execution strategy that runs {@link BlockingDataFetcher}s on virtual threads if available
+     */
+    public VirtualThreadExecutionStrategy() {
+        this(new SimpleDataFetcherExceptionHandler());
+    }
+
+    /**
+     * Creates an execution strategy that runs {@link BlockingDataFetcher}s on virtual threads if available
+     *
+     * @param exceptionHandler the exception handler to use
+     */
+    public VirtualThreadExecutionStrategy(DataFetcherExceptionHandler exceptionHandler) {
+        this(exceptionHandler, defaultExecutor());
+    }
+
+    /**
+     * Creates an execution strategy that runs {@link BlockingDataFetcher}s on the given executor
+     *
+     * @param exceptionHandler the exception handler to use
+     * @param executor         the executor to run blocking data fetchers on
+     */
+    public VirtualThreadExecutionStrategy(DataFetcherExceptionHandler exceptionHandler, Executor executor) {
+        this(exceptionHandler, executor, dataFetcher -> dataFetcher instanceof BlockingDataFetcher);
+    }
+
+    /**
+     * Creates an execution strategy that runs the blocking data fetchers on the given executor
+     *
+     * @param exceptionHandler     the exception handler to use
+     * @param executor             the executor to run blocking data fetchers on
+     * @param blockingDataFetchers tests whether a data fetcher, as registered in the code registry, is blocking
+     */
+    public VirtualThreadExecutionStrategy(DataFetcherExceptionHandler exceptionHandler, Executor executor, Predicate<DataFetcher<?>> blockingDataFetchers) {
+        super(exceptionHandler);
+        this.executor = assertNotNull(executor, "executor can't be null");
+        this.blockingDataFetchers = assertNotNull(blockingDataFetchers, "blockingDataFetchers can't be null");
+    }
+
+    /**
+     * @return the executor that blocking data fetchers are run on
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return true if this JVM supports virtual threads
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    @Override
+    protected DataFetcher<?> decorateDataFetcher(ExecutionContext executionContext, ExecutionStrategyParameters parameters, DataFetcher<?> originalDataFetcher, DataFetcher<?> dataFetcher) {
+        if (!blockingDataFetchers.test(originalDataFetcher)) {
+            return dataFetcher;
+        }
+        return new OffloadedDataFetcher(dataFetcher, executor);
+    }
+
+    /*
+     * Runs the data fetcher on the executor and flattens any CompletionStage it returns, so the field is completed
+     * with its value rather than with a nested future
+     */
+    static class OffloadedDataFetcher implements DataFetcher<CompletableFuture<Object>> {
+
+        private final DataFetcher<?> dataFetcher;
+        private final Executor executor;
+
+        OffloadedDataFetcher(DataFetcher<?> dataFetcher, Executor executor) {
+            this.dataFetcher = dataFetcher;
+            this.executor = executor;
+        }
+
+        @Override
+        public CompletableFuture<Object> get(DataFetchingEnvironment environment) {
+            CompletableFuture<Object> fetched = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return dataFetcher.get(environment);
+                } catch (Exception e) {
+                    if (e instanceof RuntimeException) {
+                        throw (RuntimeException) e;
+                    } else {
+                        throw new RuntimeException(e);
+                    }
+                }
+            }, executor);
+            return fetched.thenCompose(value -> {
+                if (value instanceof CompletionStage) {
+                    @SuppressWarnings("unchecked")
+                    CompletionStage<Object> stage = (CompletionStage<Object>) value;
+                    return stage;
+                }
+                return CompletableFuture.completedFuture(value);
+            });
+        }
+    }
+
+    private static Executor defaultExecutor() {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke();
+            } catch (Throwable ignored) {
+                // fall through to the common pool
+            }
+        }
+        return ForkJoinPool.commonPool();
+    }
+
+    /*
+     * We release on JDK 11 and hence cannot reference the virtual thread APIs directly
+     */
+    private static @Nullable MethodHandle findVirtualThreadPerTaskExecutor() {
+        try {
+            return MethodHandles.publicLookup().findStatic(java.util.concurrent.Executors.class,
+                    "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,502 @@
+package graphql.execution.entitycache;
+
+import graphql.ExperimentalApi;
+import graphql.Internal;
+import graphql.VisibleForTesting;
+import graphql.execution.ExecutionContext;
+import graphql.execution.MergedField;
+import graphql.execution.MergedSelectionSet;
+import graphql.language.AstPrinter;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.Node;
+import graphql.language.VariableReference;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.PropertyDataFetcherHelper;
+import graphql.util.LockKit;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.NullUnmarked;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A cache of completed objects that is shared by executions, so that when the same entity is selected in the same
+ * way again the whole completed sub tree, including all the data fetching beneath it, is skipped.
+ * <p>
+ * A completed object is keyed by its resolved {@link GraphQLObjectType}, the id of its source object and its sub
+ * selection, which is the text of the fields selected on it plus the values of any variables they reference.  By
+ * default the id is the {@code id} property of objects whose type has an {@code id} field and objects of other types
+ * are not cached, but a different key function can be given to the builder.  A key function that returns null makes
+ * an object uncacheable.
+ * <p>
+ * The cache is opt-in per execution via {@link graphql.GraphQLUnusualConfiguration.EntityCacheConfig}, say
+ * <pre>
+ * {@code
+ *   ExecutionInput executionInput = ...;
+ *   GraphQL.unusualConfiguration(executionInput).entityCache().setEntityCache(entityCache);
+ * }
+ * </pre>
+ * Objects are only cached if their completion added no errors to the execution.  Because a cached object is served
+ * without fetching its fields, the completed values are shared by executions and must not be modified, data fetchers
+ * beneath it are not called and so cannot depend on anything other than the entity, and no field instrumentation
+ * happens for the cached sub tree.  The cache is not used for executions with incremental delivery support enabled.
+ * <p>
+ * The cache holds up to a maximum number of completed objects, evicting the least recently used ones, and objects can
+ * optionally be expired a fixed time after they were completed.  Cached objects of an entity can be removed via
+ * {@link #invalidate(String, Object)} when it changes.
+ */
+@ExperimentalApi
+@NullMarked
+public class EntityCache {
+
+    /**
+     * The default maximum number of completed objects that are cached
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private static final String ID = "id";
+
+    // the entries and the index of their keys by entity are guarded by the lock
+    private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<EntityId, Set<Key>> keysByEntity = new HashMap<>();
+
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+    private final BiFunction<GraphQLObjectType, Object, @Nullable Object> keyFunction;
+    private final LongSupplier ticker;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expirationCount = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
+
+    private EntityCache(Builder builder) {
+        this.maximumSize = builder.maximumSize;
+        this.timeToLiveNanos = builder.timeToLive != null ? builder.timeToLive.toNanos() : 0;
+        this.keyFunction = builder.keyFunction;
+        this.ticker = builder.ticker;
+    }
+
+    /**
+     * This is called by the execution strategy to complete an object, either from the cache or by executing it
+     *
+     * @param executionContext   the execution in play
+     * @param resolvedObjectType the type of the object
+     * @param source             the source object
+     * @param subFields          the fields selected on the object
+     * @param executeObject      executes the object when it is not cached
+     *
+     * @return the cached completed object or else the value of executeObject
+     */
+    @Internal
+    public Object completeObject(ExecutionContext executionContext,
+                                 GraphQLObjectType resolvedObjectType,
+                                 Object source,
+                                 MergedSelectionSet subFields,
+                                 Supplier<Object> executeObject) {
+        Key key = keyFor(executionContext, resolvedObjectType, source, subFields);
+        if (key == null) {
+            return executeObject.get();
+        }
+        Object cached = get(key);
+        if (cached != null) {
+            hitCount.increment();
+            return cached;
+        }
+        missCount.increment();
+
+        // errors are only ever added, so if the count is unchanged then this object completed without any
+        int errorCount = executionContext.getErrors().size();
+        Object value = executeObject.get();
+        if (value instanceof CompletableFuture) {
+            ((CompletableFuture<?>) value).whenComplete((result, exception) -> {
+                if (exception == null) {
+                    putIfCacheable(executionContext, key, result, errorCount);
+                }
+            });
+        } else {
+            putIfCacheable(executionContext, key, value, errorCount);
+        }
+        return value;
+    }
+
+    private @Nullable Key keyFor(ExecutionContext executionContext, GraphQLObjectType objectType, Object source, MergedSelectionSet subFields) {
+        if (executionContext.hasIncrementalSupport()) {
+            return null;
+        }
+        Object id = keyFunction.apply(objectType, source);
+        if (id == null) {
+            return null;
+        }
+        SelectionShape shape = selectionShape(executionContext, subFields);
+        Map<String, @Nullable Object> variables;
+        if (shape.variableNames.isEmpty()) {
+            variables = Map.of();
+        } else {
+            Map<String, Object> coercedVariables = executionContext.getCoercedVariables().toMap();
+            variables = new HashMap<>();
+            for (String variableName : shape.variableNames) {
+                variables.put(variableName, coercedVariables.get(variableName));
+            }
+        }
+        return new Key(new EntityId(objectType.getName(), id), shape.text, variables);
+    }
+
+    private SelectionShape selectionShape(ExecutionContext executionContext, MergedSelectionSet subFields) {
+        List<Field> fields = new ArrayList<>();
+        for (MergedField mergedField : subFields.getSubFieldsList()) {
+            fields.addAll(mergedField.getFields());
+        }
+        SelectionShapes selectionShapes = executionContext.getEntityCacheSelectionShapes();
+        if (selectionShapes == null) {
+            return SelectionShape.of(fields, executionContext.getFragmentsByName());
+        }
+        SelectionShape shape = selectionShapes.shapes.get(fields);
+        if (shape == null) {
+            shape = selectionShapes.shapes.computeIfAbsent(fields, key -> SelectionShape.of(key, executionContext.getFragmentsByName()));
+        }
+        return shape;
+    }
+
+    private @Nullable Object get(Key key) {
+        return lock.callLocked(() -> {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (timeToLiveNanos > 0 && ticker.getAsLong() - entry.writeTimeNanos >= timeToLiveNanos) {
+                remove(key);
+                expirationCount.increment();
+                return null;
+            }
+            return entry.value;
+        });
+    }
+
+    private void putIfCacheable(ExecutionContext executionContext, Key key, @Nullable Object value, int errorCount) {
+        // anything other than a map, such as a non-null field failure, is not a completed object
+        if (!(value instanceof Map) || executionContext.getErrors().size() != errorCount) {
+            return;
+        }
+        Entry entry = new Entry(value, ticker.getAsLong());
+        lock.runLocked(() -> {
+            if (entries.put(key, entry) == null) {
+                keysByEntity.computeIfAbsent(key.entityId, entityId -> new HashSet<>()).add(key);
+            }
+            if (entries.size() > maximumSize) {
+                Iterator<Key> eldest = entries.keySet().iterator();
+                Key evicted = eldest.next();
+                eldest.remove();
+                removeFromIndex(evicted);
+                evictionCount.increment();
+            }
+        });
+    }
+
+    // must be called under the lock
+    private void remove(Key key) {
+        entries.remove(key);
+        removeFromIndex(key);
+    }
+
+    private void removeFromIndex(Key key) {
+        Set<Key> keys = keysByEntity.get(key.entityId);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByEntity.remove(key.entityId);
+            }
+        }
+    }
+
+    /**
+     * Removes all the cached objects of an entity, whatever they selected
+     *
+     * @param typeName the name of the object type of the entity
+     * @param id       the id of the entity as produced by the key function
+     */
+    public void invalidate(String typeName, Object id) {
+        EntityId entityId = new EntityId(assertNotNull(typeName), assertNotNull(id));
+        lock.runLocked(() -> {
+            Set<Key> keys = keysByEntity.remove(entityId);
+            if (keys != null) {
+                for (Key key : keys) {
+                    entries.remove(key);
+                }
+                invalidationCount.add(keys.size());
+            }
+        });
+    }
+
+    /**
+     * Removes all the cached objects of a type
+     *
+     * @param typeName the name of the object type
+     */
+    public void invalidateType(String typeName) {
+        lock.runLocked(() -> {
+            Iterator<Map.Entry<EntityId, Set<Key>>> iterator = keysByEntity.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<EntityId, Set<Key>> entityKeys = iterator.next();
+                if (entityKeys.getKey().typeName.equals(typeName)) {
+                    for (Key key : entityKeys.getValue()) {
+                        entries.remove(key);
+                    }
+                    invalidationCount.add(entityKeys.getValue().size());
+                    iterator.remove();
+                }
+            }
+        });
+    }
+
+    /**
+     * Removes all the cached objects
+     */
+    public void invalidateAll() {
+        lock.runLocked(() -> {
+            invalidationCount.add(entries.size());
+            entries.clear();
+            keysByEntity.clear();
+        });
+    }
+
+    /**
+     * @return a snapshot of the statistics of this cache
+     */
+    public EntityCacheStats getStats() {
+        int entryCount = lock.callLocked(entries::size);
+        return new EntityCacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), expirationCount.sum(), invalidationCount.sum(), entryCount);
+    }
+
+    private static @Nullable Object idProperty(GraphQLObjectType objectType, Object source) {
+        GraphQLFieldDefinition idField = objectType.getField(ID);
+        if (idField == null) {
+            return null;
+        }
+        return PropertyDataFetcherHelper.getPropertyValue(ID, source, idField.getType());
+    }
+
+    /**
+     * The shapes of the sub selections of one execution, so that the shape of a sub selection is computed once rather
+     * than for every object in a list.  AST nodes are only equal to themselves, so they only live as long as the
+     * execution and its document.
+     */
+    @Internal
+    public static class SelectionShapes {
+        private final ConcurrentHashMap<List<Field>, SelectionShape> shapes = new ConcurrentHashMap<>();
+
+        @VisibleForTesting
+        int size() {
+            return shapes.size();
+        }
+    }
+
+    /**
+     * The text and the referenced variables of the fields selected on an object
+     */
+    private static class SelectionShape {
+        final String text;
+        final List<String> variableNames;
+
+        private SelectionShape(String text, List<String> variableNames) {
+            this.text = text;
+            this.variableNames = variableNames;
+        }
+
+        static SelectionShape of(List<Field> fields, Map<String, FragmentDefinition> fragmentsByName) {
+            StringBuilder text = new StringBuilder();
+            Set<String> variableNames = new HashSet<>();
+            Map<String, FragmentDefinition> fragments = new TreeMap<>();
+            for (Field field : fields) {
+                text.append(AstPrinter.printAstCompact(field)).append('\n');
+                collectReferences(field, fragmentsByName, variableNames, fragments);
+            }
+            // the spread fragments are part of the selection too
+            for (FragmentDefinition fragment : fragments.values()) {
+                text.append(AstPrinter.printAstCompact(fragment)).append('\n');
+            }
+            return new SelectionShape(text.toString(), new ArrayList<>(variableNames));
+        }
+
+        private static void collectReferences(Node<?> node, Map<String, FragmentDefinition> fragmentsByName, Set<String> variableNames, Map<String, FragmentDefinition> fragments) {
+            if (node instanceof VariableReference) {
+                variableNames.add(((VariableReference) node).getName());
+            } else if (node instanceof FragmentSpread) {
+                String fragmentName = ((FragmentSpread) node).getName();
+                FragmentDefinition fragment = fragmentsByName.get(fragmentName);
+                if (fragment != null && !fragments.containsKey(fragmentName)) {
+                    fragments.put(fragmentName, fragment);
+                    collectReferences(fragment, fragmentsByName, variableNames, fragments);
+                }
+            }
+            for (Node<?> child : node.getChildren()) {
+                collectReferences(child, fragmentsByName, variableNames, fragments);
+            }
+        }
+    }
+
+    private static class EntityId {
+        final String typeName;
+        final Object id;
+
+        EntityId(String typeName, Object id) {
+            this.typeName = typeName;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            EntityId that = (EntityId) o;
+            return typeName.equals(that.typeName) && id.equals(that.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * typeName.hashCode() + id.hashCode();
+        }
+    }
+
+    private static class Key {
+        final EntityId entityId;
+        final String selection;
+        final Map<String, @Nullable Object> variables;
+        final int hashCode;
+
+        Key(EntityId entityId, String selection, Map<String, @Nullable Object> variables) {
+            this.entityId = entityId;
+            this.selection = selection;
+            this.variables = variables;
+            this.hashCode = Objects.hash(entityId, selection, variables);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key that = (Key) o;
+            return hashCode == that.hashCode
+                    && entityId.equals(that.entityId)
+                    && selection.equals(that.selection)
+                    && variables.equals(that.variables);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static class Entry {
+        final Object value;
+        final long writeTimeNanos;
+
+        Entry(Object value, long writeTimeNanos) {
+            this.value = value;
+            this.writeTimeNanos = writeTimeNanos;
+        }
+    }
+
+    /**
+     * @return a builder of entity caches
+     */
+    public static Builder newEntityCache() {
+        return new Builder();
+    }
+
+    @NullUnmarked
+    public static class Builder {
+        private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+        private Duration timeToLive;
+        private BiFunction<GraphQLObjectType, Object, Object> keyFunction = EntityCache::idProperty;
+        private LongSupplier ticker = System::nanoTime;
+
+        /**
+         * The maximum number of completed objects that are cached
+         *
+         * @param maximumSize the maximum size
+         *
+         * @return this builder
+         */
+        public Builder maximumSize(int maximumSize) {
+            assertTrue(maximumSize > 0, "maximumSize must be greater than zero");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Completed objects will be removed from the cache once this much time has passed since they were completed
+         *
+         * @param timeToLive the time to live of each completed object
+         *
+         * @return this builder
+         */
+        public Builder timeToLive(Duration timeToLive) {
+            assertTrue(timeToLive != null && !timeToLive.isNegative() && !timeToLive.isZero(), "timeToLive must be positive");
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        /**
+         * By default the id of an entity is the {@code id} property of its source object.  This allows you to use a
+         * different id, or to return null for objects that should not be cached.
+         *
+         * @param keyFunction the function that produces the id of an entity from its type and source object
+         *
+         * @return this builder
+         */
+        public Builder keyFunction(BiFunction<GraphQLObjectType, Object, Object> keyFunction) {
+            this.keyFunction = assertNotNull(keyFunction);
+            return this;
+        }
+
+        /**
+         * The source of nano second time used for expiry, which is mostly useful for testing
+         *
+         * @param ticker the time source
+         *
+         * @return this builder
+         */
+        public Builder ticker(LongSupplier ticker) {
+            this.ticker = assertNotNull(ticker);
+            return this;
+        }
+
+        public EntityCache build() {
+            return new EntityCache(this);
+        }
+    }
+}
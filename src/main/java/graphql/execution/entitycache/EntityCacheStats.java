@@ -0,0 +1,90 @@
+package graphql.execution.entitycache;
+
+import graphql.ExperimentalApi;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A point in time snapshot of the statistics of an {@link EntityCache}
+ */
+@ExperimentalApi
+@NullMarked
+public class EntityCacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long expirationCount;
+    private final long invalidationCount;
+    private final long entryCount;
+
+    EntityCacheStats(long hitCount, long missCount, long evictionCount, long expirationCount, long invalidationCount, long entryCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.expirationCount = expirationCount;
+        this.invalidationCount = invalidationCount;
+        this.entryCount = entryCount;
+    }
+
+    /**
+     * @return the number of objects that were served from the cache
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of cacheable objects that had to be completed
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the ratio of hits to lookups, or 1.0 if there have been no lookups
+     */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * @return the number of objects evicted to keep the cache within its maximum size
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the number of objects removed because they lived past their time to live
+     */
+    public long getExpirationCount() {
+        return expirationCount;
+    }
+
+    /**
+     * @return the number of objects removed by the invalidation methods of the cache
+     */
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    /**
+     * @return the number of objects currently cached
+     */
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    @Override
+    public String toString() {
+        return "EntityCacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", expirationCount=" + expirationCount +
+                ", invalidationCount=" + invalidationCount +
+                ", entryCount=" + entryCount +
+                '}';
+    }
+}
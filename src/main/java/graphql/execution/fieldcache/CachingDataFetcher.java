@@ -0,0 +1,76 @@
+package graphql.execution.fieldcache;
+
+import graphql.Internal;
+import graphql.execution.DataFetcherResult;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.FieldCoordinates;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Wraps the data fetcher of a field with a cache control so that a cached result is returned without calling it
+ */
+@Internal
+@NullMarked
+class CachingDataFetcher implements DataFetcher<Object> {
+
+    private final DataFetcher<?> delegate;
+    private final FieldCoordinates coordinates;
+    private final Duration maxAge;
+    private final boolean privateScope;
+    private final FieldResultCacheStore store;
+
+    CachingDataFetcher(DataFetcher<?> delegate, FieldCoordinates coordinates, Duration maxAge, boolean privateScope, FieldResultCacheStore store) {
+        this.delegate = delegate;
+        this.coordinates = coordinates;
+        this.maxAge = maxAge;
+        this.privateScope = privateScope;
+        this.store = store;
+    }
+
+    @Override
+    public @Nullable Object get(DataFetchingEnvironment environment) throws Exception {
+        Object scope = null;
+        if (privateScope) {
+            scope = environment.getGraphQlContext().get(FieldResultCache.PRIVATE_SCOPE_CONTEXT_KEY);
+            if (scope == null) {
+                // a private result can not be shared when we don't know who it belongs to
+                return delegate.get(environment);
+            }
+        }
+        FieldResultCacheKey key = new FieldResultCacheKey(coordinates, environment.getArguments(), scope);
+        Object cached = store.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Object value = delegate.get(environment);
+        if (value instanceof CompletableFuture) {
+            ((CompletableFuture<?>) value).whenComplete((result, exception) -> {
+                if (exception == null) {
+                    putIfCacheable(key, result);
+                }
+            });
+        } else {
+            putIfCacheable(key, value);
+        }
+        return value;
+    }
+
+    private void putIfCacheable(FieldResultCacheKey key, @Nullable Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof DataFetcherResult && ((DataFetcherResult<?>) value).hasErrors()) {
+            return;
+        }
+        store.put(key, value, maxAge);
+    }
+
+    DataFetcher<?> getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,160 @@
+package graphql.execution.fieldcache;
+
+import graphql.ExperimentalApi;
+import graphql.introspection.Introspection;
+import graphql.schema.BatchedDataFetcher;
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLAppliedDirective;
+import graphql.schema.GraphQLAppliedDirectiveArgument;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.NullUnmarked;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * Caches the results of fields across requests as told by a {@code @cacheControl} directive applied to their
+ * definitions.  The directive has to be declared in the schema like this
+ * <pre>
+ * {@code
+ *   enum CacheControlScope { PUBLIC PRIVATE }
+ *
+ *   directive @cacheControl(maxAge: Int, scope: CacheControlScope = PUBLIC) on FIELD_DEFINITION
+ *
+ *   type Query {
+ *       config : Config @cacheControl(maxAge: 60)
+ *   }
+ * }
+ * </pre>
+ * and then the cache is applied to the schema
+ * <pre>
+ * {@code
+ *   GraphQLSchema cachingSchema = FieldResultCache.newFieldResultCache().build().apply(schema);
+ * }
+ * </pre>
+ * The data fetchers of the fields with a {@code maxAge} greater than zero are wrapped in the code registry of the
+ * schema so that a cached result is returned without calling the real data fetcher.  Fields without the directive
+ * have no extra cost.
+ * <p>
+ * Results are keyed by the coordinates of the field and its coerced argument values.  The source object of the field
+ * is NOT part of the key so fields of non-root types must be fully determined by their arguments, such as
+ * {@code Product.reviewsSummary(id: ID!)}.  Results of fields with a {@code PRIVATE} scope are additionally keyed
+ * by the value of {@link #PRIVATE_SCOPE_CONTEXT_KEY} in the {@link graphql.GraphQLContext}, typically the id of
+ * the user, and are not cached at all when there is no such value.
+ * <p>
+ * Cached results are shared by all requests and hence must be immutable.  Null results, failed futures and
+ * {@link graphql.execution.DataFetcherResult}s with errors are not cached.
+ */
+@ExperimentalApi
+@NullMarked
+public class FieldResultCache {
+
+    /**
+     * The name of the directive that controls the caching of a field
+     */
+    public static final String CACHE_CONTROL = "cacheControl";
+
+    /**
+     * The key of the {@link graphql.GraphQLContext} value that results of fields with a {@code PRIVATE} scope
+     * are cached for
+     */
+    public static final String PRIVATE_SCOPE_CONTEXT_KEY = "__GJ_field_result_cache_private_scope";
+
+    private static final String MAX_AGE = "maxAge";
+    private static final String SCOPE = "scope";
+    private static final String PRIVATE = "PRIVATE";
+
+    private final FieldResultCacheStore store;
+
+    private FieldResultCache(Builder builder) {
+        this.store = builder.store != null ? builder.store : new InMemoryFieldResultCacheStore();
+    }
+
+    /**
+     * @return the store that holds the cached results
+     */
+    public FieldResultCacheStore getStore() {
+        return store;
+    }
+
+    /**
+     * Creates a new schema where the data fetchers of the fields with a {@code @cacheControl} directive are
+     * wrapped with this cache
+     *
+     * @param schema the schema to apply the cache to
+     *
+     * @return a new schema or the same schema if no field has a cache control
+     */
+    public GraphQLSchema apply(GraphQLSchema schema) {
+        GraphQLCodeRegistry codeRegistry = schema.getCodeRegistry();
+        GraphQLCodeRegistry.Builder codeRegistryBuilder = GraphQLCodeRegistry.newCodeRegistry(codeRegistry);
+        boolean changed = false;
+        for (GraphQLNamedType type : schema.getAllTypesAsList()) {
+            if (!(type instanceof GraphQLObjectType) || Introspection.isIntrospectionTypes(type)) {
+                continue;
+            }
+            GraphQLObjectType objectType = (GraphQLObjectType) type;
+            for (GraphQLFieldDefinition fieldDefinition : objectType.getFieldDefinitions()) {
+                GraphQLAppliedDirective cacheControl = fieldDefinition.getAppliedDirective(CACHE_CONTROL);
+                if (cacheControl == null) {
+                    continue;
+                }
+                Object maxAge = argumentValue(cacheControl, MAX_AGE);
+                if (!(maxAge instanceof Number) || ((Number) maxAge).longValue() <= 0) {
+                    continue;
+                }
+                DataFetcher<?> dataFetcher = codeRegistry.getDataFetcher(objectType, fieldDefinition);
+                if (dataFetcher instanceof BatchedDataFetcher || dataFetcher instanceof CachingDataFetcher) {
+                    continue;
+                }
+                boolean privateScope = PRIVATE.equals(String.valueOf(argumentValue(cacheControl, SCOPE)));
+                FieldCoordinates coordinates = FieldCoordinates.coordinates(objectType, fieldDefinition);
+                codeRegistryBuilder.dataFetcher(coordinates, new CachingDataFetcher(dataFetcher, coordinates,
+                        Duration.ofSeconds(((Number) maxAge).longValue()), privateScope, store));
+                changed = true;
+            }
+        }
+        if (!changed) {
+            return schema;
+        }
+        return schema.transform(builder -> builder.codeRegistry(codeRegistryBuilder.build()));
+    }
+
+    private static @Nullable Object argumentValue(GraphQLAppliedDirective directive, String name) {
+        GraphQLAppliedDirectiveArgument argument = directive.getArgument(name);
+        return argument != null ? argument.getValue() : null;
+    }
+
+    public static Builder newFieldResultCache() {
+        return new Builder();
+    }
+
+    @NullUnmarked
+    public static class Builder {
+        private FieldResultCacheStore store;
+
+        /**
+         * Sets the store of the cached results, which is an {@link InMemoryFieldResultCacheStore} by default
+         *
+         * @param store the store to use
+         *
+         * @return this builder
+         */
+        public Builder store(FieldResultCacheStore store) {
+            this.store = assertNotNull(store);
+            return this;
+        }
+
+        public FieldResultCache build() {
+            return new FieldResultCache(this);
+        }
+    }
+}
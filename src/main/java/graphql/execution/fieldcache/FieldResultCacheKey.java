@@ -0,0 +1,76 @@
+package graphql.execution.fieldcache;
+
+import graphql.ExperimentalApi;
+import graphql.schema.FieldCoordinates;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * The key of a cached field result, which is the coordinates of the field, its coerced argument values and, for
+ * fields with a private cache control scope, the scope the result belongs to.
+ */
+@ExperimentalApi
+@NullMarked
+public final class FieldResultCacheKey {
+
+    private final FieldCoordinates coordinates;
+    private final Map<String, Object> arguments;
+    private final @Nullable Object scope;
+    private final int hashCode;
+
+    public FieldResultCacheKey(FieldCoordinates coordinates, Map<String, Object> arguments, @Nullable Object scope) {
+        this.coordinates = assertNotNull(coordinates);
+        this.arguments = assertNotNull(arguments);
+        this.scope = scope;
+        this.hashCode = Objects.hash(coordinates, arguments, scope);
+    }
+
+    public FieldCoordinates getCoordinates() {
+        return coordinates;
+    }
+
+    public Map<String, Object> getArguments() {
+        return arguments;
+    }
+
+    /**
+     * @return the private scope of the result or null if the result is shared by everyone
+     */
+    public @Nullable Object getScope() {
+        return scope;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        FieldResultCacheKey that = (FieldResultCacheKey) o;
+        return hashCode == that.hashCode
+                && coordinates.equals(that.coordinates)
+                && arguments.equals(that.arguments)
+                && Objects.equals(scope, that.scope);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "FieldResultCacheKey{" +
+                "coordinates=" + coordinates +
+                ", arguments=" + arguments +
+                ", scope=" + scope +
+                '}';
+    }
+}
@@ -0,0 +1,38 @@
+package graphql.execution.fieldcache;
+
+import graphql.ExperimentalApi;
+import graphql.PublicSpi;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+
+/**
+ * The storage of a {@link FieldResultCache}.  The default is an {@link InMemoryFieldResultCacheStore} but any
+ * other local cache can be plugged in.
+ * <p>
+ * Implementations must be thread safe since they are called by all executions concurrently.
+ */
+@ExperimentalApi
+@PublicSpi
+@NullMarked
+public interface FieldResultCacheStore {
+
+    /**
+     * Called to get a cached field result
+     *
+     * @param key the key of the field result
+     *
+     * @return the cached result or null if there is none or it has expired
+     */
+    @Nullable Object get(FieldResultCacheKey key);
+
+    /**
+     * Called to cache a field result
+     *
+     * @param key        the key of the field result
+     * @param value      the field result, which is never null
+     * @param timeToLive how long the result can be cached for, which is the max age of the field's cache control
+     */
+    void put(FieldResultCacheKey key, Object value, Duration timeToLive);
+}
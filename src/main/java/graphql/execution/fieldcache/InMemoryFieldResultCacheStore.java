@@ -0,0 +1,99 @@
+package graphql.execution.fieldcache;
+
+import graphql.ExperimentalApi;
+import graphql.VisibleForTesting;
+import graphql.util.LockKit;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import static graphql.Assert.assertTrue;
+
+/**
+ * A {@link FieldResultCacheStore} that keeps up to a maximum number of field results in memory.  When it is full the
+ * least recently used result is evicted and results expire once their time to live has passed.
+ */
+@ExperimentalApi
+@NullMarked
+public class InMemoryFieldResultCacheStore implements FieldResultCacheStore {
+
+    /**
+     * The default maximum number of field results that are kept
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+    // guarded by the lock
+    private final LinkedHashMap<FieldResultCacheKey, Entry> entries;
+    private final LongSupplier ticker;
+
+    public InMemoryFieldResultCacheStore() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public InMemoryFieldResultCacheStore(int maximumSize) {
+        this(maximumSize, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    InMemoryFieldResultCacheStore(int maximumSize, LongSupplier ticker) {
+        assertTrue(maximumSize > 0, "maximumSize must be greater than zero");
+        this.ticker = ticker;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<FieldResultCacheKey, Entry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    @Override
+    public @Nullable Object get(FieldResultCacheKey key) {
+        long now = ticker.getAsLong();
+        return lock.callLocked(() -> {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (now - entry.expiryTimeNanos >= 0) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value;
+        });
+    }
+
+    @Override
+    public void put(FieldResultCacheKey key, Object value, Duration timeToLive) {
+        Entry entry = new Entry(value, ticker.getAsLong() + timeToLive.toNanos());
+        lock.runLocked(() -> entries.put(key, entry));
+    }
+
+    /**
+     * @return the number of field results in the cache, including the ones that have expired but were not removed yet
+     */
+    public int size() {
+        return lock.callLocked(entries::size);
+    }
+
+    /**
+     * Removes all field results from the cache
+     */
+    public void invalidateAll() {
+        lock.runLocked(entries::clear);
+    }
+
+    private static class Entry {
+        final Object value;
+        final long expiryTimeNanos;
+
+        Entry(Object value, long expiryTimeNanos) {
+            this.value = value;
+            this.expiryTimeNanos = expiryTimeNanos;
+        }
+    }
+}
@@ -26,10 +26,13 @@ import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
@@ -52,8 +55,37 @@ public class ChainedInstrumentation implements Instrumentation {
 
     protected final ImmutableList<Instrumentation> instrumentations;
 
+    // the indexes of the instrumentations that implement each hook, by the ordinal of the hook, so that
+    // the ones that do not are skipped
+    private final int[][] hookIndexes;
+    private final Set<InstrumentationHook> hooks;
+
     public ChainedInstrumentation(List<Instrumentation> instrumentations) {
         this.instrumentations = ImmutableList.copyOf(assertNotNull(instrumentations));
+        List<Set<InstrumentationHook>> instrumentationHooks = new ArrayList<>(this.instrumentations.size());
+        for (Instrumentation instrumentation : this.instrumentations) {
+            Set<InstrumentationHook> implemented = instrumentation.getInstrumentationHooks();
+            // an instrumentation that can't tell has all its hooks called
+            instrumentationHooks.add(implemented != null ? implemented : EnumSet.allOf(InstrumentationHook.class));
+        }
+        // a derived class may implement hooks itself
+        EnumSet<InstrumentationHook> hooks = EnumSet.noneOf(InstrumentationHook.class);
+        hooks.addAll(InstrumentationHook.implementedBy(getClass()));
+        this.hookIndexes = new int[InstrumentationHook.values().length][];
+        for (InstrumentationHook hook : InstrumentationHook.values()) {
+            int[] indexes = new int[this.instrumentations.size()];
+            int count = 0;
+            for (int i = 0; i < indexes.length; i++) {
+                if (instrumentationHooks.get(i).contains(hook)) {
+                    indexes[count++] = i;
+                }
+            }
+            if (count > 0) {
+                hooks.add(hook);
+            }
+            this.hookIndexes[hook.ordinal()] = Arrays.copyOf(indexes, count);
+        }
+        this.hooks = Collections.unmodifiableSet(hooks);
     }
 
     public ChainedInstrumentation(Instrumentation... instrumentations) {
@@ -67,22 +99,36 @@ public class ChainedInstrumentation implements Instrumentation {
         return instrumentations;
     }
 
-    private <T> @Nullable InstrumentationContext<T> chainedCtx(InstrumentationState state, BiFunction<Instrumentation, InstrumentationState, InstrumentationContext<T>> mapper) {
-        // if we have zero or 1 instrumentations (and 1 is the most common), then we can avoid an object allocation
+    /**
+     * @return the hooks that at least one of the chained instrumentations implements
+     */
+    @ExperimentalApi
+    @Override
+    public Set<InstrumentationHook> getInstrumentationHooks() {
+        return hooks;
+    }
+
+    private <T> @Nullable InstrumentationContext<T> chainedCtx(InstrumentationHook hook, InstrumentationState state, BiFunction<Instrumentation, InstrumentationState, InstrumentationContext<T>> mapper) {
+        // if we have zero or 1 instrumentations implementing the hook (and 1 is the most common), then we can avoid an object allocation
         // of the ChainedInstrumentationContext since it won't be needed
-        if (instrumentations.isEmpty()) {
+        int[] indexes = hookIndexes[hook.ordinal()];
+        if (indexes.length == 0) {
             return SimpleInstrumentationContext.noOp();
         }
         ChainedInstrumentationState chainedInstrumentationState = (ChainedInstrumentationState) state;
-        if (instrumentations.size() == 1) {
-            return mapper.apply(instrumentations.get(0), chainedInstrumentationState.getState(0));
+        if (indexes.length == 1) {
+            return mapper.apply(instrumentations.get(indexes[0]), chainedInstrumentationState.getState(indexes[0]));
         }
-        return new ChainedInstrumentationContext<>(chainedMapAndDropNulls(chainedInstrumentationState, mapper));
+        return new ChainedInstrumentationContext<>(chainedMapAndDropNulls(indexes, chainedInstrumentationState, mapper));
     }
 
-    private <T> T chainedInstrument(InstrumentationState state, T input, ChainedInstrumentationFunction<Instrumentation, InstrumentationState, T, T> mapper) {
+    private <T> T chainedInstrument(InstrumentationHook hook, InstrumentationState state, T input, ChainedInstrumentationFunction<Instrumentation, InstrumentationState, T, T> mapper) {
+        int[] indexes = hookIndexes[hook.ordinal()];
+        if (indexes.length == 0) {
+            return input;
+        }
         ChainedInstrumentationState chainedInstrumentationState = (ChainedInstrumentationState) state;
-        for (int i = 0; i < instrumentations.size(); i++) {
+        for (int i : indexes) {
             Instrumentation instrumentation = instrumentations.get(i);
             InstrumentationState specificState = chainedInstrumentationState.getState(i);
             input = mapper.apply(instrumentation, specificState, input);
@@ -104,6 +150,18 @@ public class ChainedInstrumentation implements Instrumentation {
         return result.build();
     }
 
+    private <T> ImmutableList<T> chainedMapAndDropNulls(int[] indexes, InstrumentationState state, BiFunction<Instrumentation, InstrumentationState, T> mapper) {
+        ChainedInstrumentationState chainedInstrumentationState = (ChainedInstrumentationState) state;
+        ImmutableList.Builder<T> result = ImmutableList.builderWithExpectedSize(indexes.length);
+        for (int i : indexes) {
+            T value = mapper.apply(instrumentations.get(i), chainedInstrumentationState.getState(i));
+            if (value != null) {
+                result.add(value);
+            }
+        }
+        return result.build();
+    }
+
     protected void chainedConsume(InstrumentationState state, BiConsumer<Instrumentation, InstrumentationState> stateConsumer) {
         ChainedInstrumentationState chainedInstrumentationState = (ChainedInstrumentationState) state;
         for (int i = 0; i < instrumentations.size(); i++) {
@@ -113,6 +171,24 @@ public class ChainedInstrumentation implements Instrumentation {
         }
     }
 
+    /**
+     * Calls the instrumentations that implement a hook
+     *
+     * @param hook          the hook being called
+     * @param state         the chained state
+     * @param stateConsumer called with each instrumentation that implements the hook and its state
+     */
+    protected void chainedConsume(InstrumentationHook hook, InstrumentationState state, BiConsumer<Instrumentation, InstrumentationState> stateConsumer) {
+        int[] indexes = hookIndexes[hook.ordinal()];
+        if (indexes.length == 0) {
+            return;
+        }
+        ChainedInstrumentationState chainedInstrumentationState = (ChainedInstrumentationState) state;
+        for (int i : indexes) {
+            stateConsumer.accept(instrumentations.get(i), chainedInstrumentationState.getState(i));
+        }
+    }
+
     @Override
     public CompletableFuture<InstrumentationState> createStateAsync(InstrumentationCreateStateParameters parameters) {
         return ChainedInstrumentationState.combineAll(instrumentations, parameters);
@@ -120,95 +196,98 @@ public class ChainedInstrumentation implements Instrumentation {
 
     @Override
     public @Nullable InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters, InstrumentationState state) {
-        return chainedCtx(state, (instrumentation, specificState) -> instrumentation.beginExecution(parameters, specificState));
+        return chainedCtx(InstrumentationHook.BEGIN_EXECUTION, state, (instrumentation, specificState) -> instrumentation.beginExecution(parameters, specificState));
     }
 
 
     @Override
     public @Nullable InstrumentationContext<Document> beginParse(InstrumentationExecutionParameters parameters, InstrumentationState state) {
-        return chainedCtx(state, (instrumentation, specificState) -> instrumentation.beginParse(parameters, specificState));
+        return chainedCtx(InstrumentationHook.BEGIN_PARSE, state, (instrumentation, specificState) -> instrumentation.beginParse(parameters, specificState));
     }
 
 
     @Override
     public @Nullable InstrumentationContext<List<ValidationError>> beginValidation(InstrumentationValidationParameters parameters, InstrumentationState state) {
-        return chainedCtx(state, (instrumentation, specificState) -> instrumentation.beginValidation(parameters, specificState));
+        return chainedCtx(InstrumentationHook.BEGIN_VALIDATION, state, (instrumentation, specificState) -> instrumentation.beginValidation(parameters, specificState));
     }
 
     @Override
     public @Nullable InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
-        return chainedCtx(state, (instrumentation, specificState) -> instrumentation.beginExecuteOperation(parameters, specificState));
+        return chainedCtx(InstrumentationHook.BEGIN_EXECUTE_OPERATION, state, (instrumentation, specificState) -> instrumentation.beginExecuteOperation(parameters, specificState));
     }
 
     @Override
     public @Nullable InstrumentationContext<Void> beginReactiveResults(InstrumentationReactiveResultsParameters parameters, InstrumentationState state) {
-        return chainedCtx(state, (instrumentation, specificState) -> instrumentation.beginReactiveResults(parameters, specificState));
+        return chainedCtx(InstrumentationHook.BEGIN_REACTIVE_RESULTS, state, (instrumentation, specificState) -> instrumentation.beginReactiveResults(parameters, specificState));
     }
 
     @Override
     public @Nullable ExecutionStrategyInstrumentationContext beginExecutionStrategy(InstrumentationExecutionStrategyParameters parameters, InstrumentationState state) {
-        if (instrumentations.isEmpty()) {
+        int[] indexes = hookIndexes[InstrumentationHook.BEGIN_EXECUTION_STRATEGY.ordinal()];
+        if (indexes.length == 0) {
             return ExecutionStrategyInstrumentationContext.NOOP;
         }
         BiFunction<Instrumentation, InstrumentationState, ExecutionStrategyInstrumentationContext> mapper = (instrumentation, specificState) -> instrumentation.beginExecutionStrategy(parameters, specificState);
         ChainedInstrumentationState chainedInstrumentationState = (ChainedInstrumentationState) state;
-        if (instrumentations.size() == 1) {
-            return mapper.apply(instrumentations.get(0), chainedInstrumentationState.getState(0));
+        if (indexes.length == 1) {
+            return mapper.apply(instrumentations.get(indexes[0]), chainedInstrumentationState.getState(indexes[0]));
         }
-        return new ChainedExecutionStrategyInstrumentationContext(chainedMapAndDropNulls(chainedInstrumentationState, mapper));
+        return new ChainedExecutionStrategyInstrumentationContext(chainedMapAndDropNulls(indexes, chainedInstrumentationState, mapper));
     }
 
     @Override
     public @Nullable ExecuteObjectInstrumentationContext beginExecuteObject(InstrumentationExecutionStrategyParameters parameters, InstrumentationState state) {
-        if (instrumentations.isEmpty()) {
+        int[] indexes = hookIndexes[InstrumentationHook.BEGIN_EXECUTE_OBJECT.ordinal()];
+        if (indexes.length == 0) {
             return ExecuteObjectInstrumentationContext.NOOP;
         }
         BiFunction<Instrumentation, InstrumentationState, ExecuteObjectInstrumentationContext> mapper = (instrumentation, specificState) -> instrumentation.beginExecuteObject(parameters, specificState);
         ChainedInstrumentationState chainedInstrumentationState = (ChainedInstrumentationState) state;
-        if (instrumentations.size() == 1) {
-            return mapper.apply(instrumentations.get(0), chainedInstrumentationState.getState(0));
+        if (indexes.length == 1) {
+            return mapper.apply(instrumentations.get(indexes[0]), chainedInstrumentationState.getState(indexes[0]));
         }
-        return new ChainedExecuteObjectInstrumentationContext(chainedMapAndDropNulls(chainedInstrumentationState, mapper));
+        return new ChainedExecuteObjectInstrumentationContext(chainedMapAndDropNulls(indexes, chainedInstrumentationState, mapper));
     }
 
     @ExperimentalApi
     @Override
     public @Nullable InstrumentationContext<Object> beginDeferredField(InstrumentationFieldParameters parameters, InstrumentationState state) {
-        return chainedCtx(state, (instrumentation, specificState) -> instrumentation.beginDeferredField(parameters, specificState));
+        return chainedCtx(InstrumentationHook.BEGIN_DEFERRED_FIELD, state, (instrumentation, specificState) -> instrumentation.beginDeferredField(parameters, specificState));
     }
 
     @Override
     public @Nullable InstrumentationContext<ExecutionResult> beginSubscribedFieldEvent(InstrumentationFieldParameters parameters, InstrumentationState state) {
-        return chainedCtx(state, (instrumentation, specificState) -> instrumentation.beginSubscribedFieldEvent(parameters, specificState));
+        return chainedCtx(InstrumentationHook.BEGIN_SUBSCRIBED_FIELD_EVENT, state, (instrumentation, specificState) -> instrumentation.beginSubscribedFieldEvent(parameters, specificState));
     }
 
     @Override
     public @Nullable InstrumentationContext<Object> beginFieldExecution(InstrumentationFieldParameters parameters, InstrumentationState state) {
-        return chainedCtx(state, (instrumentation, specificState) -> instrumentation.beginFieldExecution(parameters, specificState));
+        return chainedCtx(InstrumentationHook.BEGIN_FIELD_EXECUTION, state, (instrumentation, specificState) -> instrumentation.beginFieldExecution(parameters, specificState));
     }
 
     @SuppressWarnings("deprecation")
     @Override
     public @Nullable InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
-        return chainedCtx(state, (instrumentation, specificState) -> instrumentation.beginFieldFetch(parameters, specificState));
+        return chainedCtx(InstrumentationHook.BEGIN_FIELD_FETCHING, state, (instrumentation, specificState) -> instrumentation.beginFieldFetch(parameters, specificState));
     }
 
     @Override
     public @Nullable FieldFetchingInstrumentationContext beginFieldFetching(InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
-        if (instrumentations.isEmpty()) {
+        int[] indexes = hookIndexes[InstrumentationHook.BEGIN_FIELD_FETCHING.ordinal()];
+        if (indexes.length == 0) {
             return FieldFetchingInstrumentationContext.NOOP;
         }
         ChainedInstrumentationState chainedInstrumentationState = (ChainedInstrumentationState) state;
-        if (instrumentations.size() == 1) {
-            return instrumentations.get(0).beginFieldFetching(parameters, chainedInstrumentationState.getState(0));
+        if (indexes.length == 1) {
+            return instrumentations.get(indexes[0]).beginFieldFetching(parameters, chainedInstrumentationState.getState(indexes[0]));
         }
-        return chainedFieldFetchingCtx(parameters, chainedInstrumentationState);
+        return chainedFieldFetchingCtx(indexes, parameters, chainedInstrumentationState);
     }
 
-    private FieldFetchingInstrumentationContext chainedFieldFetchingCtx(InstrumentationFieldFetchParameters parameters, ChainedInstrumentationState chainedInstrumentationState) {
+    private FieldFetchingInstrumentationContext chainedFieldFetchingCtx(int[] indexes, InstrumentationFieldFetchParameters parameters, ChainedInstrumentationState chainedInstrumentationState) {
         @Nullable FieldFetchingInstrumentationContext firstContext = null;
         ImmutableList.Builder<FieldFetchingInstrumentationContext> builder = null;
-        for (int i = 0; i < instrumentations.size(); i++) {
+        for (int i : indexes) {
             Instrumentation instrumentation = instrumentations.get(i);
             FieldFetchingInstrumentationContext context = instrumentation.beginFieldFetching(parameters, chainedInstrumentationState.getState(i));
             if (context == null || context == FieldFetchingInstrumentationContext.NOOP) {
@@ -235,47 +314,51 @@ public class ChainedInstrumentation implements Instrumentation {
 
     @Override
     public @Nullable InstrumentationContext<Object> beginFieldCompletion(InstrumentationFieldCompleteParameters parameters, InstrumentationState state) {
-        return chainedCtx(state, (instrumentation, specificState) -> instrumentation.beginFieldCompletion(parameters, specificState));
+        return chainedCtx(InstrumentationHook.BEGIN_FIELD_COMPLETION, state, (instrumentation, specificState) -> instrumentation.beginFieldCompletion(parameters, specificState));
     }
 
 
     @Override
     public @Nullable InstrumentationContext<Object> beginFieldListCompletion(InstrumentationFieldCompleteParameters parameters, InstrumentationState state) {
-        return chainedCtx(state, (instrumentation, specificState) -> instrumentation.beginFieldListCompletion(parameters, specificState));
+        return chainedCtx(InstrumentationHook.BEGIN_FIELD_LIST_COMPLETION, state, (instrumentation, specificState) -> instrumentation.beginFieldListCompletion(parameters, specificState));
     }
 
     @Override
     public ExecutionInput instrumentExecutionInput(ExecutionInput executionInput, InstrumentationExecutionParameters parameters, InstrumentationState state) {
-        return chainedInstrument(state, executionInput, (instrumentation, specificState, accumulator) -> instrumentation.instrumentExecutionInput(accumulator, parameters, specificState));
+        return chainedInstrument(InstrumentationHook.INSTRUMENT_EXECUTION_INPUT, state, executionInput, (instrumentation, specificState, accumulator) -> instrumentation.instrumentExecutionInput(accumulator, parameters, specificState));
     }
 
     @Override
     public DocumentAndVariables instrumentDocumentAndVariables(DocumentAndVariables documentAndVariables, InstrumentationExecutionParameters parameters, InstrumentationState state) {
-        return chainedInstrument(state, documentAndVariables, (instrumentation, specificState, accumulator) ->
+        return chainedInstrument(InstrumentationHook.INSTRUMENT_DOCUMENT_AND_VARIABLES, state, documentAndVariables, (instrumentation, specificState, accumulator) ->
                 instrumentation.instrumentDocumentAndVariables(accumulator, parameters, specificState));
     }
 
     @Override
     public GraphQLSchema instrumentSchema(GraphQLSchema schema, InstrumentationExecutionParameters parameters, InstrumentationState state) {
-        return chainedInstrument(state, schema, (instrumentation, specificState, accumulator) ->
+        return chainedInstrument(InstrumentationHook.INSTRUMENT_SCHEMA, state, schema, (instrumentation, specificState, accumulator) ->
                 instrumentation.instrumentSchema(accumulator, parameters, specificState));
     }
 
     @Override
     public ExecutionContext instrumentExecutionContext(ExecutionContext executionContext, InstrumentationExecutionParameters parameters, InstrumentationState state) {
-        return chainedInstrument(state, executionContext, (instrumentation, specificState, accumulator) ->
+        return chainedInstrument(InstrumentationHook.INSTRUMENT_EXECUTION_CONTEXT, state, executionContext, (instrumentation, specificState, accumulator) ->
                 instrumentation.instrumentExecutionContext(accumulator, parameters, specificState));
     }
 
     @Override
     public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
-        return chainedInstrument(state, dataFetcher, (Instrumentation instrumentation, InstrumentationState specificState, DataFetcher<?> accumulator) ->
+        return chainedInstrument(InstrumentationHook.INSTRUMENT_DATA_FETCHER, state, dataFetcher, (Instrumentation instrumentation, InstrumentationState specificState, DataFetcher<?> accumulator) ->
                 instrumentation.instrumentDataFetcher(accumulator, parameters, specificState));
     }
 
     @Override
     public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters, InstrumentationState state) {
-        ImmutableList<Map.Entry<Instrumentation, InstrumentationState>> entries = chainedMapAndDropNulls(state, AbstractMap.SimpleEntry::new);
+        int[] indexes = hookIndexes[InstrumentationHook.INSTRUMENT_EXECUTION_RESULT.ordinal()];
+        if (indexes.length == 0) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+        ImmutableList<Map.Entry<Instrumentation, InstrumentationState>> entries = chainedMapAndDropNulls(indexes, state, AbstractMap.SimpleEntry::new);
         CompletableFuture<List<ExecutionResult>> resultsFuture = Async.eachSequentially(entries, (entry, prevResults) -> {
             Instrumentation instrumentation = entry.getKey();
             InstrumentationState specificState = entry.getValue();
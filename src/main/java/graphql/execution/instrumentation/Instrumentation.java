@@ -22,6 +22,7 @@ import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import static graphql.execution.instrumentation.SimpleInstrumentationContext.noOp;
@@ -362,4 +363,19 @@ public interface Instrumentation {
     default CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters, InstrumentationState state) {
         return CompletableFuture.completedFuture(executionResult);
     }
+
+    /**
+     * This is called once per execution to find out which of the hooks of this instrumentation have to be called.  The engine
+     * does not call the others and does not create their parameters, which matters for the hooks that are called for every field.
+     * <p>
+     * The default is the hooks that the class of this instrumentation overrides.  Override this to declare the hooks explicitly,
+     * say when an instrumentation delegates all its methods to another one.  It must include every hook whose method
+     * does something other than its default.
+     *
+     * @return the hooks to call
+     */
+    @ExperimentalApi
+    default Set<InstrumentationHook> getInstrumentationHooks() {
+        return InstrumentationHook.implementedBy(getClass());
+    }
 }
@@ -0,0 +1,99 @@
+package graphql.execution.instrumentation;
+
+import graphql.ExperimentalApi;
+import org.jspecify.annotations.NullMarked;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The hooks of an {@link Instrumentation}.  An instrumentation tells the engine which of them it implements via
+ * {@link Instrumentation#getInstrumentationHooks()} and the engine does not call the others, which saves creating
+ * their parameters and contexts for every field.
+ */
+@ExperimentalApi
+@NullMarked
+public enum InstrumentationHook {
+    BEGIN_EXECUTION("beginExecution"),
+    BEGIN_PARSE("beginParse"),
+    BEGIN_VALIDATION("beginValidation"),
+    BEGIN_EXECUTE_OPERATION("beginExecuteOperation"),
+    BEGIN_REACTIVE_RESULTS("beginReactiveResults"),
+    BEGIN_EXECUTION_STRATEGY("beginExecutionStrategy"),
+    BEGIN_EXECUTE_OBJECT("beginExecuteObject"),
+    BEGIN_DEFERRED_FIELD("beginDeferredField"),
+    BEGIN_SUBSCRIBED_FIELD_EVENT("beginSubscribedFieldEvent"),
+    BEGIN_FIELD_EXECUTION("beginFieldExecution"),
+    // the default beginFieldFetching calls back to the deprecated beginFieldFetch
+    BEGIN_FIELD_FETCHING("beginFieldFetching", "beginFieldFetch"),
+    BEGIN_FIELD_COMPLETION("beginFieldCompletion"),
+    BEGIN_FIELD_LIST_COMPLETION("beginFieldListCompletion"),
+    INSTRUMENT_EXECUTION_INPUT("instrumentExecutionInput"),
+    INSTRUMENT_DOCUMENT_AND_VARIABLES("instrumentDocumentAndVariables"),
+    INSTRUMENT_SCHEMA("instrumentSchema"),
+    INSTRUMENT_EXECUTION_CONTEXT("instrumentExecutionContext"),
+    INSTRUMENT_DATA_FETCHER("instrumentDataFetcher"),
+    INSTRUMENT_EXECUTION_RESULT("instrumentExecutionResult");
+
+    // the classes whose methods do nothing or only call the instrumentations they chain, so they do not count as implementing a hook
+    private static final List<Class<?>> NON_IMPLEMENTING_CLASSES = Arrays.asList(
+            Instrumentation.class,
+            SimplePerformantInstrumentation.class,
+            SimpleInstrumentation.class,
+            ChainedInstrumentation.class,
+            NoContextChainedInstrumentation.class
+    );
+
+    private static final ClassValue<Set<InstrumentationHook>> IMPLEMENTED_HOOKS = new ClassValue<>() {
+        @Override
+        protected Set<InstrumentationHook> computeValue(Class<?> instrumentationClass) {
+            EnumSet<InstrumentationHook> hooks = EnumSet.noneOf(InstrumentationHook.class);
+            for (InstrumentationHook hook : values()) {
+                if (hook.isImplementedBy(instrumentationClass)) {
+                    hooks.add(hook);
+                }
+            }
+            return Collections.unmodifiableSet(hooks);
+        }
+    };
+
+    private final List<String> methodNames;
+
+    InstrumentationHook(String... methodNames) {
+        this.methodNames = Arrays.asList(methodNames);
+    }
+
+    private boolean isImplementedBy(Class<?> instrumentationClass) {
+        for (Method method : Instrumentation.class.getMethods()) {
+            if (!methodNames.contains(method.getName())) {
+                continue;
+            }
+            try {
+                Method implementation = instrumentationClass.getMethod(method.getName(), method.getParameterTypes());
+                if (!NON_IMPLEMENTING_CLASSES.contains(implementation.getDeclaringClass())) {
+                    return true;
+                }
+            } catch (NoSuchMethodException e) {
+                // can't tell so assume it is implemented
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the hooks that a class of instrumentation implements, which are the ones it overrides from
+     * {@link Instrumentation} or {@link SimplePerformantInstrumentation}.  The result is computed once per class.
+     *
+     * @param instrumentationClass the class of instrumentation
+     *
+     * @return the hooks the class implements
+     */
+    static Set<InstrumentationHook> implementedBy(Class<?> instrumentationClass) {
+        return IMPLEMENTED_HOOKS.get(instrumentationClass);
+    }
+}
@@ -51,79 +51,79 @@ public class NoContextChainedInstrumentation extends ChainedInstrumentation {
         super(instrumentations);
     }
 
-    private <T> @Nullable T runAll(InstrumentationState state, BiConsumer<Instrumentation, InstrumentationState> stateConsumer) {
-        chainedConsume(state, stateConsumer);
+    private <T> @Nullable T runAll(InstrumentationHook hook, InstrumentationState state, BiConsumer<Instrumentation, InstrumentationState> stateConsumer) {
+        chainedConsume(hook, state, stateConsumer);
         return null;
     }
 
     @Override
     public @Nullable InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters, InstrumentationState state) {
-        return runAll(state, (instrumentation, specificState) -> instrumentation.beginExecution(parameters, specificState));
+        return runAll(InstrumentationHook.BEGIN_EXECUTION, state, (instrumentation, specificState) -> instrumentation.beginExecution(parameters, specificState));
     }
 
     @Override
     public @Nullable InstrumentationContext<Document> beginParse(InstrumentationExecutionParameters parameters, InstrumentationState state) {
-        return runAll(state, (instrumentation, specificState) -> instrumentation.beginParse(parameters, specificState));
+        return runAll(InstrumentationHook.BEGIN_PARSE, state, (instrumentation, specificState) -> instrumentation.beginParse(parameters, specificState));
     }
 
     @Override
     public @Nullable InstrumentationContext<List<ValidationError>> beginValidation(InstrumentationValidationParameters parameters, InstrumentationState state) {
-        return runAll(state, (instrumentation, specificState) -> instrumentation.beginValidation(parameters, specificState));
+        return runAll(InstrumentationHook.BEGIN_VALIDATION, state, (instrumentation, specificState) -> instrumentation.beginValidation(parameters, specificState));
     }
 
     @Override
     public @Nullable InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
-        return runAll(state, (instrumentation, specificState) -> instrumentation.beginExecuteOperation(parameters, specificState));
+        return runAll(InstrumentationHook.BEGIN_EXECUTE_OPERATION, state, (instrumentation, specificState) -> instrumentation.beginExecuteOperation(parameters, specificState));
     }
 
     @Override
     public @Nullable InstrumentationContext<Void> beginReactiveResults(InstrumentationReactiveResultsParameters parameters, InstrumentationState state) {
-        return runAll(state, (instrumentation, specificState) -> instrumentation.beginReactiveResults(parameters, specificState));
+        return runAll(InstrumentationHook.BEGIN_REACTIVE_RESULTS, state, (instrumentation, specificState) -> instrumentation.beginReactiveResults(parameters, specificState));
     }
 
     @Override
     public @Nullable ExecutionStrategyInstrumentationContext beginExecutionStrategy(InstrumentationExecutionStrategyParameters parameters, InstrumentationState state) {
-        return runAll(state, (instrumentation, specificState) -> instrumentation.beginExecutionStrategy(parameters, specificState));
+        return runAll(InstrumentationHook.BEGIN_EXECUTION_STRATEGY, state, (instrumentation, specificState) -> instrumentation.beginExecutionStrategy(parameters, specificState));
     }
 
     @Override
     public @Nullable ExecuteObjectInstrumentationContext beginExecuteObject(InstrumentationExecutionStrategyParameters parameters, InstrumentationState state) {
-        return runAll(state, (instrumentation, specificState) -> instrumentation.beginExecuteObject(parameters, specificState));
+        return runAll(InstrumentationHook.BEGIN_EXECUTE_OBJECT, state, (instrumentation, specificState) -> instrumentation.beginExecuteObject(parameters, specificState));
     }
 
     @Override
     public @Nullable InstrumentationContext<Object> beginDeferredField(InstrumentationFieldParameters parameters, InstrumentationState state) {
-        return runAll(state, (instrumentation, specificState) -> instrumentation.beginDeferredField(parameters, specificState));
+        return runAll(InstrumentationHook.BEGIN_DEFERRED_FIELD, state, (instrumentation, specificState) -> instrumentation.beginDeferredField(parameters, specificState));
     }
 
     @Override
     public @Nullable InstrumentationContext<ExecutionResult> beginSubscribedFieldEvent(InstrumentationFieldParameters parameters, InstrumentationState state) {
-        return runAll(state, (instrumentation, specificState) -> instrumentation.beginSubscribedFieldEvent(parameters, specificState));
+        return runAll(InstrumentationHook.BEGIN_SUBSCRIBED_FIELD_EVENT, state, (instrumentation, specificState) -> instrumentation.beginSubscribedFieldEvent(parameters, specificState));
     }
 
     @Override
     public @Nullable InstrumentationContext<Object> beginFieldExecution(InstrumentationFieldParameters parameters, InstrumentationState state) {
-        return runAll(state, (instrumentation, specificState) -> instrumentation.beginFieldExecution(parameters, specificState));
+        return runAll(InstrumentationHook.BEGIN_FIELD_EXECUTION, state, (instrumentation, specificState) -> instrumentation.beginFieldExecution(parameters, specificState));
     }
 
     @Override
     public @Nullable InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
-        return runAll(state, (instrumentation, specificState) -> instrumentation.beginFieldFetch(parameters, specificState));
+        return runAll(InstrumentationHook.BEGIN_FIELD_FETCHING, state, (instrumentation, specificState) -> instrumentation.beginFieldFetch(parameters, specificState));
     }
 
     @Override
     public @Nullable FieldFetchingInstrumentationContext beginFieldFetching(InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
-        return runAll(state, (instrumentation, specificState) -> instrumentation.beginFieldFetching(parameters, specificState));
+        return runAll(InstrumentationHook.BEGIN_FIELD_FETCHING, state, (instrumentation, specificState) -> instrumentation.beginFieldFetching(parameters, specificState));
     }
 
     @Override
     public @Nullable InstrumentationContext<Object> beginFieldCompletion(InstrumentationFieldCompleteParameters parameters, InstrumentationState state) {
-        return runAll(state, (instrumentation, specificState) -> instrumentation.beginFieldCompletion(parameters, specificState));
+        return runAll(InstrumentationHook.BEGIN_FIELD_COMPLETION, state, (instrumentation, specificState) -> instrumentation.beginFieldCompletion(parameters, specificState));
     }
 
     @Override
     public @Nullable InstrumentationContext<Object> beginFieldListCompletion(InstrumentationFieldCompleteParameters parameters, InstrumentationState state) {
-        return runAll(state, (instrumentation, specificState) -> instrumentation.beginFieldListCompletion(parameters, specificState));
+        return runAll(InstrumentationHook.BEGIN_FIELD_LIST_COMPLETION, state, (instrumentation, specificState) -> instrumentation.beginFieldListCompletion(parameters, specificState));
     }
 
     // relies on the other methods from ChainedInstrumentation which this does not change
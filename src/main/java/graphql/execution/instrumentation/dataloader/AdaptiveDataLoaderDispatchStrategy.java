@@ -0,0 +1,265 @@
+package graphql.execution.instrumentation.dataloader;
+
+import graphql.Assert;
+import graphql.GraphQLContext;
+import graphql.Internal;
+import graphql.Profiler;
+import graphql.VisibleForTesting;
+import graphql.execution.DataLoaderDispatchStrategy;
+import graphql.execution.ExecutionContext;
+import graphql.execution.ExecutionStrategyParameters;
+import graphql.execution.incremental.AlternativeCallContext;
+import graphql.util.FpKit;
+import graphql.util.LockKit;
+import org.dataloader.DataLoader;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A dispatch strategy that, like {@link ExhaustedDataLoaderDispatchStrategy}, dispatches when no data fetcher is running,
+ * but which holds back DataLoaders with small batches while other batch loads are still in flight.
+ * <p>
+ * The completion of an in flight batch often leads to more loads on the same DataLoaders (for example a deep query
+ * where different branches reach the same type at different times) and so holding back a small batch for a short
+ * dispatch window coalesces them into fewer, larger backend calls.  A DataLoader is dispatched as soon as
+ * <ul>
+ *     <li>it has reached the target batch size or</li>
+ *     <li>the dispatch window has elapsed or</li>
+ *     <li>there are no more batch loads in flight, since then nothing can add to the batch anymore</li>
+ * </ul>
+ * The dispatch decisions are reported via {@link Profiler#batchLoadedNewStrategy(String, Integer, int, boolean, boolean)}
+ * where "delayed" means the DataLoader was held back before it was dispatched.
+ */
+@Internal
+@NullMarked
+public class AdaptiveDataLoaderDispatchStrategy implements DataLoaderDispatchStrategy {
+
+    public static final Duration DEFAULT_DISPATCH_WINDOW = Duration.ofMillis(2);
+    public static final int DEFAULT_TARGET_BATCH_SIZE = 100;
+
+    private final CallStack initialCallStack;
+    private final ExecutionContext executionContext;
+    private final Profiler profiler;
+    private final long dispatchWindowNanos;
+    private final int targetBatchSize;
+    private final Supplier<ScheduledExecutorService> scheduledExecutor;
+
+    private final Map<AlternativeCallContext, CallStack> alternativeCallContextMap = new ConcurrentHashMap<>();
+
+    @VisibleForTesting
+    static class CallStack {
+
+        private final AtomicInteger objectRunningCount = new AtomicInteger();
+        private final AtomicInteger deferredFragmentRootFieldsCompleted = new AtomicInteger();
+
+        private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+
+        // the following are guarded by the lock
+        private boolean dataLoaderToDispatch;
+        private boolean holding;
+        private boolean windowElapsed;
+        @VisibleForTesting
+        int batchesInFlight;
+        private @Nullable ScheduledFuture<?> scheduledDispatch;
+
+        public void clear() {
+            deferredFragmentRootFieldsCompleted.set(0);
+            objectRunningCount.set(0);
+            lock.runLocked(() -> {
+                dataLoaderToDispatch = false;
+                holding = false;
+                windowElapsed = false;
+                cancelScheduledDispatch();
+            });
+        }
+
+        private void cancelScheduledDispatch() {
+            if (scheduledDispatch != null) {
+                scheduledDispatch.cancel(false);
+                scheduledDispatch = null;
+            }
+        }
+    }
+
+    private static class Dispatch {
+        final String dataLoaderName;
+        final DataLoader<?, ?> dataLoader;
+        final int keyCount;
+
+        Dispatch(String dataLoaderName, DataLoader<?, ?> dataLoader, int keyCount) {
+            this.dataLoaderName = dataLoaderName;
+            this.dataLoader = dataLoader;
+            this.keyCount = keyCount;
+        }
+    }
+
+    public AdaptiveDataLoaderDispatchStrategy(ExecutionContext executionContext) {
+        this.initialCallStack = new CallStack();
+        this.executionContext = executionContext;
+        this.profiler = executionContext.getProfiler();
+
+        GraphQLContext graphQLContext = executionContext.getGraphQLContext();
+        Duration dispatchWindow = graphQLContext.getOrDefault(DataLoaderDispatchingContextKeys.DATA_LOADER_DISPATCH_WINDOW, DEFAULT_DISPATCH_WINDOW);
+        this.dispatchWindowNanos = dispatchWindow.toNanos();
+        this.targetBatchSize = graphQLContext.getOrDefault(DataLoaderDispatchingContextKeys.DATA_LOADER_TARGET_BATCH_SIZE, DEFAULT_TARGET_BATCH_SIZE);
+        DelayedDataLoaderDispatcherExecutorFactory executorFactory = graphQLContext.get(DataLoaderDispatchingContextKeys.DELAYED_DATA_LOADER_DISPATCHER_EXECUTOR_FACTORY);
+        if (executorFactory == null) {
+            this.scheduledExecutor = DefaultDataLoaderDispatcherExecutor::get;
+        } else {
+            this.scheduledExecutor = FpKit.interThreadMemoize(() -> executorFactory.createExecutor(executionContext.getExecutionId(), graphQLContext));
+        }
+    }
+
+    @Override
+    public void executionStrategy(ExecutionContext executionContext, ExecutionStrategyParameters parameters, int fieldCount) {
+        Assert.assertTrue(parameters.getExecutionStepInfo().getPath().isRootPath());
+        initialCallStack.objectRunningCount.incrementAndGet();
+    }
+
+    @Override
+    public void finishedFetching(ExecutionContext executionContext, ExecutionStrategyParameters newParameters) {
+        decrementObjectRunningAndMaybeDispatch(getCallStack(newParameters));
+    }
+
+    @Override
+    public void executionSerialStrategy(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+        CallStack callStack = getCallStack(parameters);
+        callStack.clear();
+        callStack.objectRunningCount.incrementAndGet();
+    }
+
+    @Override
+    public void newSubscriptionExecution(AlternativeCallContext alternativeCallContext) {
+        CallStack callStack = new CallStack();
+        alternativeCallContextMap.put(alternativeCallContext, callStack);
+        callStack.objectRunningCount.incrementAndGet();
+    }
+
+    @Override
+    public void subscriptionEventCompletionDone(AlternativeCallContext alternativeCallContext) {
+        decrementObjectRunningAndMaybeDispatch(getCallStack(alternativeCallContext));
+    }
+
+    @Override
+    public void subscriptionEventExecutionDone(AlternativeCallContext alternativeCallContext) {
+        alternativeCallContextMap.remove(alternativeCallContext);
+    }
+
+    @Override
+    public void deferFieldFetched(ExecutionStrategyParameters parameters) {
+        CallStack callStack = getCallStack(parameters);
+        int deferredFragmentRootFieldsCompleted = callStack.deferredFragmentRootFieldsCompleted.incrementAndGet();
+        Assert.assertNotNull(parameters.getAlternativeCallContext());
+        if (deferredFragmentRootFieldsCompleted == parameters.getAlternativeCallContext().getFields()) {
+            decrementObjectRunningAndMaybeDispatch(callStack);
+        }
+    }
+
+    @Override
+    public void startComplete(ExecutionStrategyParameters parameters) {
+        getCallStack(parameters).objectRunningCount.incrementAndGet();
+    }
+
+    @Override
+    public void stopComplete(ExecutionStrategyParameters parameters) {
+        decrementObjectRunningAndMaybeDispatch(getCallStack(parameters));
+    }
+
+    public void newDataLoaderInvocation(@Nullable AlternativeCallContext alternativeCallContext) {
+        CallStack callStack = getCallStack(alternativeCallContext);
+        callStack.lock.runLocked(() -> callStack.dataLoaderToDispatch = true);
+        // a held back DataLoader may have reached its target batch size, so this always re-evaluates
+        if (callStack.objectRunningCount.get() == 0) {
+            maybeDispatch(callStack, false);
+        }
+    }
+
+    private CallStack getCallStack(ExecutionStrategyParameters parameters) {
+        return getCallStack(parameters.getAlternativeCallContext());
+    }
+
+    private CallStack getCallStack(@Nullable AlternativeCallContext alternativeCallContext) {
+        if (alternativeCallContext == null) {
+            return this.initialCallStack;
+        } else {
+            return alternativeCallContextMap.computeIfAbsent(alternativeCallContext, k -> {
+                // see ExhaustedDataLoaderDispatchStrategy - deferred call stacks are created lazily
+                CallStack callStack = new CallStack();
+                callStack.objectRunningCount.incrementAndGet();
+                return callStack;
+            });
+        }
+    }
+
+    private void decrementObjectRunningAndMaybeDispatch(CallStack callStack) {
+        if (callStack.objectRunningCount.decrementAndGet() == 0) {
+            maybeDispatch(callStack, false);
+        }
+    }
+
+    private void maybeDispatch(CallStack callStack, boolean dispatchWindowElapsed) {
+        if (executionContext.isDeadlineExpired()) {
+            // the pending loads are abandoned, their fields are completed with deadline errors
+            return;
+        }
+        List<Dispatch> dispatches = new ArrayList<>();
+        boolean delayed = callStack.lock.callLocked(() -> {
+            if (dispatchWindowElapsed) {
+                callStack.scheduledDispatch = null;
+                // a stale timer of a window that was already dispatched is ignored
+                callStack.windowElapsed = callStack.holding;
+            }
+            if (!callStack.dataLoaderToDispatch || callStack.objectRunningCount.get() != 0) {
+                return false;
+            }
+            boolean dispatchAll = callStack.windowElapsed || callStack.batchesInFlight == 0 || dispatchWindowNanos <= 0;
+            boolean holdingBack = false;
+            for (Map.Entry<String, DataLoader<?, ?>> entry : executionContext.getDataLoaderRegistry().getDataLoadersMap().entrySet()) {
+                int keyCount = entry.getValue().dispatchDepth();
+                if (keyCount == 0) {
+                    continue;
+                }
+                if (dispatchAll || keyCount >= targetBatchSize) {
+                    dispatches.add(new Dispatch(entry.getKey(), entry.getValue(), keyCount));
+                } else {
+                    holdingBack = true;
+                }
+            }
+            boolean wasHolding = callStack.holding;
+            callStack.holding = holdingBack;
+            callStack.dataLoaderToDispatch = holdingBack;
+            callStack.batchesInFlight += dispatches.size();
+            if (holdingBack) {
+                if (callStack.scheduledDispatch == null && !callStack.windowElapsed) {
+                    callStack.scheduledDispatch = scheduledExecutor.get().schedule(() -> maybeDispatch(callStack, true), dispatchWindowNanos, TimeUnit.NANOSECONDS);
+                }
+            } else {
+                callStack.windowElapsed = false;
+                callStack.cancelScheduledDispatch();
+            }
+            return wasHolding;
+        });
+
+        // the DataLoaders are dispatched outside the lock since batch loaders can complete synchronously
+        for (Dispatch dispatch : dispatches) {
+            profiler.batchLoadedNewStrategy(dispatch.dataLoaderName, null, dispatch.keyCount, delayed, false);
+            dispatch.dataLoader.dispatch().whenComplete((result, throwable) -> onBatchCompleted(callStack));
+        }
+    }
+
+    private void onBatchCompleted(CallStack callStack) {
+        callStack.lock.runLocked(() -> callStack.batchesInFlight--);
+        maybeDispatch(callStack, false);
+    }
+}
@@ -5,6 +5,8 @@ import graphql.GraphQLContext;
 import graphql.Internal;
 import org.jspecify.annotations.NullMarked;
 
+import java.time.Duration;
+
 /**
  * GraphQLContext keys related to DataLoader dispatching.
  */
@@ -32,6 +34,41 @@ public final class DataLoaderDispatchingContextKeys {
      */
     public static final String ENABLE_DATA_LOADER_EXHAUSTED_DISPATCHING = "__GJ_enable_data_loader_exhausted_dispatching";
 
+    /**
+     * Enables an adaptive dispatching strategy: like the exhausted dispatching it waits until no data fetcher is running,
+     * but while other batch loads are still in flight it holds a DataLoader back for a short dispatch window
+     * or until it has reached a target batch size.  This coalesces the loads of many small levels into fewer, larger batches.
+     * <p>
+     * Expects a boolean value.
+     *
+     * @see #DATA_LOADER_DISPATCH_WINDOW
+     * @see #DATA_LOADER_TARGET_BATCH_SIZE
+     * @see #DELAYED_DATA_LOADER_DISPATCHER_EXECUTOR_FACTORY
+     */
+    public static final String ENABLE_DATA_LOADER_ADAPTIVE_DISPATCHING = "__GJ_enable_data_loader_adaptive_dispatching";
+
+    /**
+     * The maximum time the adaptive dispatching holds back a DataLoader that has not reached its target batch size.
+     * <p>
+     * Expects a {@link java.time.Duration} value.
+     */
+    public static final String DATA_LOADER_DISPATCH_WINDOW = "__GJ_data_loader_dispatch_window";
+
+    /**
+     * The number of pending keys at which the adaptive dispatching dispatches a DataLoader without waiting for the dispatch window.
+     * <p>
+     * Expects an int value.
+     */
+    public static final String DATA_LOADER_TARGET_BATCH_SIZE = "__GJ_data_loader_target_batch_size";
+
+    /**
+     * The {@link DelayedDataLoaderDispatcherExecutorFactory} used to schedule delayed DataLoader dispatches.  If not set,
+     * a shared single daemon thread is used.
+     * <p>
+     * Expects a {@link DelayedDataLoaderDispatcherExecutorFactory} value.
+     */
+    public static final String DELAYED_DATA_LOADER_DISPATCHER_EXECUTOR_FACTORY = "__GJ_delayed_data_loader_dispatcher_executor_factory";
+
     /**
      * Enables the ability that chained DataLoaders are dispatched automatically.
      *
@@ -50,5 +87,41 @@ public final class DataLoaderDispatchingContextKeys {
         graphQLContext.put(ENABLE_DATA_LOADER_EXHAUSTED_DISPATCHING, enabled);
     }
 
+    /**
+     * Enables the adaptive dispatching of DataLoaders.
+     *
+     * @param graphQLContext
+     */
+    public static void setEnableDataLoaderAdaptiveDispatching(GraphQLContext graphQLContext, boolean enabled) {
+        graphQLContext.put(ENABLE_DATA_LOADER_ADAPTIVE_DISPATCHING, enabled);
+    }
+
+    /**
+     * Sets the maximum time the adaptive dispatching holds back a DataLoader.
+     *
+     * @param graphQLContext
+     */
+    public static void setDataLoaderDispatchWindow(GraphQLContext graphQLContext, Duration dispatchWindow) {
+        graphQLContext.put(DATA_LOADER_DISPATCH_WINDOW, dispatchWindow);
+    }
+
+    /**
+     * Sets the number of pending keys at which the adaptive dispatching dispatches a DataLoader straight away.
+     *
+     * @param graphQLContext
+     */
+    public static void setDataLoaderTargetBatchSize(GraphQLContext graphQLContext, int targetBatchSize) {
+        graphQLContext.put(DATA_LOADER_TARGET_BATCH_SIZE, targetBatchSize);
+    }
+
+    /**
+     * Sets the factory of the executor that runs delayed DataLoader dispatches.
+     *
+     * @param graphQLContext
+     */
+    public static void setDelayedDataLoaderDispatcherExecutorFactory(GraphQLContext graphQLContext, DelayedDataLoaderDispatcherExecutorFactory executorFactory) {
+        graphQLContext.put(DELAYED_DATA_LOADER_DISPATCHER_EXECUTOR_FACTORY, executorFactory);
+    }
+
 
 }
@@ -0,0 +1,31 @@
+package graphql.execution.instrumentation.dataloader;
+
+import graphql.Internal;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * The shared executor for delayed DataLoader dispatches when no {@link DelayedDataLoaderDispatcherExecutorFactory}
+ * is provided.  It has a single daemon thread that is created on first use.
+ */
+@Internal
+@NullMarked
+final class DefaultDataLoaderDispatcherExecutor {
+
+    private DefaultDataLoaderDispatcherExecutor() {
+    }
+
+    private static class Holder {
+        static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "graphql-java-dataloader-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    static ScheduledExecutorService get() {
+        return Holder.INSTANCE;
+    }
+}
@@ -20,6 +20,8 @@ public interface DelayedDataLoaderDispatcherExecutorFactory {
      *
      * Will only called if needed, i.e. if there are delayed DataLoaders.
      *
+     * The executor is not shut down by graphql-java, so factories usually return a shared executor.
+     *
      * @param executionId
      * @param graphQLContext
      *
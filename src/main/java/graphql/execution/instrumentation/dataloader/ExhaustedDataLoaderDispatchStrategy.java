@@ -7,6 +7,8 @@ import graphql.execution.DataLoaderDispatchStrategy;
 import graphql.execution.ExecutionContext;
 import graphql.execution.ExecutionStrategyParameters;
 import graphql.execution.incremental.AlternativeCallContext;
+import graphql.jfr.EngineEvent;
+import graphql.jfr.EngineFlightRecorder;
 import org.dataloader.DataLoader;
 import org.dataloader.DataLoaderRegistry;
 import graphql.VisibleForTesting;
@@ -264,11 +266,24 @@ public class ExhaustedDataLoaderDispatchStrategy implements DataLoaderDispatchSt
             }
         }
 
+        if (executionContext.isDeadlineExpired()) {
+            // the pending loads are abandoned, their fields are completed with deadline errors
+            return;
+        }
         DataLoaderRegistry dataLoaderRegistry = executionContext.getDataLoaderRegistry();
         List<DataLoader<?, ?>> dataLoaders = dataLoaderRegistry.getDataLoaders();
         List<CompletableFuture<? extends List<?>>> allDispatchedCFs = new ArrayList<>();
+        boolean recording = EngineFlightRecorder.isRecording();
         for (DataLoader<?, ?> dataLoader : dataLoaders) {
+            EngineEvent dispatchEvent = null;
+            if (recording) {
+                int keyCount = dataLoader.dispatchDepth();
+                if (keyCount > 0 && dataLoader.getName() != null) {
+                    dispatchEvent = EngineFlightRecorder.beginDataLoaderDispatch(dataLoader.getName(), 0, keyCount);
+                }
+            }
             CompletableFuture<? extends List<?>> dispatch = dataLoader.dispatch();
+            EngineFlightRecorder.commit(dispatchEvent);
             allDispatchedCFs.add(dispatch);
         }
         CompletableFuture.allOf(allDispatchedCFs.toArray(new CompletableFuture[0]))
@@ -9,6 +9,8 @@ import graphql.execution.ExecutionContext;
 import graphql.execution.ExecutionStrategyParameters;
 import graphql.execution.FieldValueInfo;
 import graphql.execution.incremental.AlternativeCallContext;
+import graphql.jfr.EngineEvent;
+import graphql.jfr.EngineFlightRecorder;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import org.dataloader.DataLoader;
@@ -475,6 +477,10 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
     }
 
     void dispatch(int level, CallStack callStack) {
+        if (executionContext.isDeadlineExpired()) {
+            // the pending loads are abandoned, their fields are completed with deadline errors
+            return;
+        }
         if (!enableDataLoaderChaining) {
             profiler.oldStrategyDispatchingAll(level);
             DataLoaderRegistry dataLoaderRegistry = executionContext.getDataLoaderRegistry();
@@ -485,11 +491,30 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
     }
 
     private void dispatchAll(DataLoaderRegistry dataLoaderRegistry, int level) {
+        if (profiler == Profiler.NO_OP && !EngineFlightRecorder.isRecording()) {
+            dataLoaderRegistry.dispatchAll();
+            return;
+        }
+        List<EngineEvent> dispatchEvents = new ArrayList<>();
+        for (Map.Entry<String, DataLoader<?, ?>> entry : dataLoaderRegistry.getDataLoadersMap().entrySet()) {
+            int keyCount = entry.getValue().dispatchDepth();
+            if (keyCount > 0) {
+                profiler.batchLoadedOldStrategy(entry.getKey(), level, keyCount);
+                EngineEvent dispatchEvent = EngineFlightRecorder.beginDataLoaderDispatch(entry.getKey(), level, keyCount);
+                if (dispatchEvent != null) {
+                    dispatchEvents.add(dispatchEvent);
+                }
+            }
+        }
         dataLoaderRegistry.dispatchAll();
+        dispatchEvents.forEach(EngineEvent::commit);
     }
 
     private void dispatchDLCFImpl(Integer level, CallStack callStack, boolean normalOrDelayed, boolean chained) {
 
+        if (executionContext.isDeadlineExpired()) {
+            return;
+        }
         ChainedDLStack.StateForLevel stateForLevel = callStack.chainedDLStack.aboutToStartDispatching(level, normalOrDelayed, chained);
         if (stateForLevel == null || stateForLevel.dataLoader == null) {
             return;
@@ -497,7 +522,15 @@ public class PerLevelDataLoaderDispatchStrategy implements DataLoaderDispatchStr
 
         List<CompletableFuture> allDispatchedCFs = new ArrayList<>();
         while (stateForLevel != null && stateForLevel.dataLoader != null) {
-            CompletableFuture<List> dispatch = stateForLevel.dataLoader.dispatch();
+            DataLoader dataLoader = stateForLevel.dataLoader;
+            int keyCount = dataLoader.dispatchDepth();
+            EngineEvent dispatchEvent = null;
+            if (keyCount > 0 && dataLoader.getName() != null) {
+                profiler.batchLoadedNewStrategy(dataLoader.getName(), level, keyCount, !normalOrDelayed, chained);
+                dispatchEvent = EngineFlightRecorder.beginDataLoaderDispatch(dataLoader.getName(), level, keyCount);
+            }
+            CompletableFuture<List> dispatch = dataLoader.dispatch();
+            EngineFlightRecorder.commit(dispatchEvent);
             allDispatchedCFs.add(dispatch);
             stateForLevel = stateForLevel.prev;
         }
@@ -0,0 +1,323 @@
+package graphql.execution.instrumentation.dataloader;
+
+import graphql.ExperimentalApi;
+import graphql.util.LockKit;
+import org.dataloader.BatchLoader;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.NullUnmarked;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A {@link SharedBatchCoordinator} merges the batches of DataLoaders with the same name across concurrent executions.
+ * <p>
+ * Each execution still has its own {@link org.dataloader.DataLoaderRegistry} and hence its own DataLoader caches, but
+ * rather than calling the backend directly the DataLoaders are created with a batch loader from {@link #batchLoader(String)}.
+ * When one of them is dispatched by the engine, its batch is handed to the coordinator which waits a short batch window
+ * for the batches of other executions, merges them, removes duplicate keys and makes one call to the shared batch loader.
+ * The values are then handed back to each execution.
+ * <pre>
+ * {@code
+ * // once per application
+ * SharedBatchCoordinator coordinator = SharedBatchCoordinator.newSharedBatchCoordinator()
+ *     .batchLoader("users", userIds -> userService.getUsers(userIds))
+ *     .build();
+ *
+ * // once per execution
+ * DataLoaderRegistry registry = DataLoaderRegistry.newRegistry()
+ *     .register("users", DataLoaderFactory.newDataLoader(coordinator.batchLoader("users")))
+ *     .build();
+ * }
+ * </pre>
+ * The shared batch loaders must not depend on the execution they are called for, since they load keys for many of them
+ * at once, and the keys must have sensible {@code equals} and {@code hashCode} methods.
+ * <p>
+ * Errors are isolated per execution as far as possible: a failed key (for example a {@link org.dataloader.Try} value)
+ * only reaches the executions that asked for that key, and an execution that abandons its batch does not affect the others.
+ * If the shared call itself fails then every execution in the merged batch sees that failure.
+ * <p>
+ * The scheduled executor is only used to end the batch windows.  When a window ends, the shared batch loader is called on
+ * the {@link Builder#executor(Executor) executor}, which is the {@link ForkJoinPool#commonPool()} by default, so a slow
+ * batch loader does not hold up the windows of other batch loaders or the timers of the dispatch strategies.  A merged
+ * batch that is flushed early because it reached the maximum batch size is loaded on the thread that dispatched the
+ * DataLoader.
+ */
+@ExperimentalApi
+@NullMarked
+public class SharedBatchCoordinator {
+
+    /**
+     * The default time a batch waits for the batches of other executions
+     */
+    public static final Duration DEFAULT_BATCH_WINDOW = Duration.ofMillis(2);
+
+    private final Map<String, Lane<?, ?>> lanes;
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+    private final @Nullable ScheduledExecutorService scheduledExecutor;
+    private final Executor executor;
+
+    private SharedBatchCoordinator(Builder builder) {
+        this.batchWindowNanos = builder.batchWindow.toNanos();
+        this.maxBatchSize = builder.maxBatchSize;
+        this.scheduledExecutor = builder.scheduledExecutor;
+        this.executor = builder.executor;
+        ConcurrentHashMap<String, Lane<?, ?>> lanes = new ConcurrentHashMap<>();
+        builder.batchLoaders.forEach((name, batchLoader) -> lanes.put(name, new Lane<>(name, batchLoader)));
+        this.lanes = lanes;
+    }
+
+    /**
+     * Returns the batch loader that a per execution DataLoader should use to have its batches merged with those of
+     * other executions
+     *
+     * @param name the name the shared batch loader was registered with
+     * @param <K>  the type of keys
+     * @param <V>  the type of values
+     *
+     * @return a batch loader that hands batches to this coordinator
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> BatchLoader<K, V> batchLoader(String name) {
+        Lane<K, V> lane = (Lane<K, V>) lanes.get(name);
+        assertTrue(lane != null, () -> String.format("There is no shared batch loader called '%s'", name));
+        return lane::submit;
+    }
+
+    /**
+     * @return the names of the shared batch loaders
+     */
+    public List<String> getBatchLoaderNames() {
+        return new ArrayList<>(lanes.keySet());
+    }
+
+    private ScheduledExecutorService getScheduledExecutor() {
+        return scheduledExecutor != null ? scheduledExecutor : DefaultDataLoaderDispatcherExecutor.get();
+    }
+
+    /**
+     * A batch of one execution that is waiting for the values of its keys
+     */
+    private static class Participant<K, V> {
+        final List<K> keys;
+        final CompletableFuture<List<V>> values = new CompletableFuture<>();
+
+        Participant(List<K> keys) {
+            this.keys = keys;
+        }
+    }
+
+    /**
+     * The merged batches of all the executions that submitted during the same batch window
+     */
+    private static class MergedBatch<K, V> {
+        final List<Participant<K, V>> participants = new ArrayList<>();
+        // the unique keys in the order they were first asked for
+        final Map<K, Integer> keyIndexes = new LinkedHashMap<>();
+    }
+
+    /**
+     * Each shared batch loader has its own lane that collects the batches for the current window
+     */
+    private class Lane<K, V> {
+        private final String name;
+        private final BatchLoader<K, V> batchLoader;
+        private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+        // guarded by the lock
+        private @Nullable MergedBatch<K, V> openBatch;
+
+        Lane(String name, BatchLoader<K, V> batchLoader) {
+            this.name = name;
+            this.batchLoader = batchLoader;
+        }
+
+        CompletionStage<List<V>> submit(List<K> keys) {
+            Participant<K, V> participant = new Participant<>(keys);
+            MergedBatch<K, V> batchToFlush = lock.callLocked(() -> {
+                MergedBatch<K, V> batch = openBatch;
+                boolean newBatch = batch == null;
+                if (batch == null) {
+                    batch = new MergedBatch<>();
+                    openBatch = batch;
+                }
+                batch.participants.add(participant);
+                for (K key : keys) {
+                    batch.keyIndexes.putIfAbsent(key, batch.keyIndexes.size());
+                }
+                if (batch.keyIndexes.size() >= maxBatchSize || batchWindowNanos <= 0) {
+                    openBatch = null;
+                    return batch;
+                }
+                if (newBatch) {
+                    MergedBatch<K, V> windowBatch = batch;
+                    getScheduledExecutor().schedule(() -> flushWindow(windowBatch), batchWindowNanos, TimeUnit.NANOSECONDS);
+                }
+                return null;
+            });
+            if (batchToFlush != null) {
+                flush(batchToFlush);
+            }
+            return participant.values;
+        }
+
+        private void flushWindow(MergedBatch<K, V> batch) {
+            boolean stillOpen = lock.callLocked(() -> {
+                if (openBatch == batch) {
+                    openBatch = null;
+                    return true;
+                }
+                // it was flushed early because it reached the maximum batch size
+                return false;
+            });
+            if (stillOpen) {
+                // the scheduled executor only keeps time, the batch loader may be slow and so is called elsewhere
+                try {
+                    executor.execute(() -> flush(batch));
+                } catch (RejectedExecutionException e) {
+                    failAll(batch, e);
+                }
+            }
+        }
+
+        private void flush(MergedBatch<K, V> batch) {
+            List<K> keys = new ArrayList<>(batch.keyIndexes.keySet());
+            CompletionStage<List<V>> values;
+            try {
+                values = assertNotNull(batchLoader.load(keys), () -> String.format("The shared batch loader '%s' returned null", name));
+            } catch (Throwable throwable) {
+                failAll(batch, throwable);
+                return;
+            }
+            values.whenComplete((list, throwable) -> {
+                if (throwable != null) {
+                    failAll(batch, throwable);
+                } else if (list == null || list.size() != keys.size()) {
+                    failAll(batch, new IllegalStateException(String.format("The shared batch loader '%s' must return a value for each of the %d keys but returned %s",
+                            name, keys.size(), list == null ? "null" : list.size() + " values")));
+                } else {
+                    for (Participant<K, V> participant : batch.participants) {
+                        complete(batch, participant, list);
+                    }
+                }
+            });
+        }
+
+        private void complete(MergedBatch<K, V> batch, Participant<K, V> participant, List<V> values) {
+            try {
+                List<V> participantValues = new ArrayList<>(participant.keys.size());
+                for (K key : participant.keys) {
+                    participantValues.add(values.get(assertNotNull(batch.keyIndexes.get(key))));
+                }
+                participant.values.complete(participantValues);
+            } catch (Throwable throwable) {
+                participant.values.completeExceptionally(throwable);
+            }
+        }
+
+        private void failAll(MergedBatch<K, V> batch, Throwable throwable) {
+            for (Participant<K, V> participant : batch.participants) {
+                participant.values.completeExceptionally(throwable);
+            }
+        }
+    }
+
+    public static Builder newSharedBatchCoordinator() {
+        return new Builder();
+    }
+
+    @NullUnmarked
+    public static class Builder {
+        private final Map<String, BatchLoader<?, ?>> batchLoaders = new LinkedHashMap<>();
+        private Duration batchWindow = DEFAULT_BATCH_WINDOW;
+        private int maxBatchSize = Integer.MAX_VALUE;
+        private ScheduledExecutorService scheduledExecutor;
+        private Executor executor = ForkJoinPool.commonPool();
+
+        /**
+         * Registers a batch loader whose calls will be shared by all executions
+         *
+         * @param name        the name of the batch loader
+         * @param batchLoader the batch loader that calls the backend
+         * @param <K>         the type of keys
+         * @param <V>         the type of values
+         *
+         * @return this builder
+         */
+        public <K, V> Builder batchLoader(String name, BatchLoader<K, V> batchLoader) {
+            batchLoaders.put(assertNotNull(name), assertNotNull(batchLoader));
+            return this;
+        }
+
+        /**
+         * The time a batch waits for the batches of other executions before the shared batch loader is called
+         *
+         * @param batchWindow the batch window, where zero means that batches are not merged
+         *
+         * @return this builder
+         */
+        public Builder batchWindow(Duration batchWindow) {
+            assertTrue(batchWindow != null && !batchWindow.isNegative(), "batchWindow must not be negative");
+            this.batchWindow = batchWindow;
+            return this;
+        }
+
+        /**
+         * A merged batch is loaded straight away once it has this many unique keys
+         *
+         * @param maxBatchSize the maximum batch size
+         *
+         * @return this builder
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            assertTrue(maxBatchSize > 0, "maxBatchSize must be greater than zero");
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * The executor that ends the batch windows.  By default a shared daemon thread is used.  It is only used for
+         * timing and never calls the shared batch loaders.
+         *
+         * @param scheduledExecutor the executor
+         *
+         * @return this builder
+         */
+        public Builder scheduledExecutor(ScheduledExecutorService scheduledExecutor) {
+            this.scheduledExecutor = assertNotNull(scheduledExecutor);
+            return this;
+        }
+
+        /**
+         * The executor that calls the shared batch loaders when a batch window ends.  By default the
+         * {@link ForkJoinPool#commonPool()} is used.
+         *
+         * @param executor the executor
+         *
+         * @return this builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = assertNotNull(executor);
+            return this;
+        }
+
+        public SharedBatchCoordinator build() {
+            return new SharedBatchCoordinator(this);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package graphql.execution.instrumentation.fieldlatency;
+
+import graphql.ExperimentalApi;
+import graphql.execution.DataFetcherResult;
+import graphql.execution.ExecutionStrategyParameters;
+import graphql.execution.instrumentation.FieldFetchingInstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLNamedType;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.NullUnmarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import static graphql.Assert.assertTrue;
+
+/**
+ * An instrumentation that keeps a histogram of the fetch latencies, and a count of the failed fetches, of each
+ * field coordinates.  A fetch is timed from just before its {@link graphql.schema.DataFetcher} is called until its
+ * value is fetched, which for an async value is when its {@link java.util.concurrent.CompletableFuture} completes.
+ * <p>
+ * Recording does not lock and the memory is bounded: at most {@link Builder#maxFieldCoordinates(int)} coordinates are
+ * tracked and the fetches of any others are only counted by {@link #getUntrackedCount()}.  Use {@link #snapshot()} or
+ * {@link #snapshotAndReset()} to export the histograms, say to a metrics system at a fixed interval.
+ * <p>
+ * By default trivial data fetchers, such as the ones that read a property, are not timed.
+ */
+@ExperimentalApi
+@NullMarked
+public class FieldLatencyInstrumentation extends SimplePerformantInstrumentation {
+
+    /**
+     * The default maximum number of field coordinates that are tracked
+     */
+    public static final int DEFAULT_MAX_FIELD_COORDINATES = 1000;
+
+    private final int maxFieldCoordinates;
+    private final boolean includeTrivialDataFetchers;
+    private final LongSupplier ticker;
+    // recorders by parent type name and then field name so that no key has to be created to find one
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, FieldLatencyRecorder>> recorders = new ConcurrentHashMap<>();
+    private final AtomicInteger fieldCoordinatesCount = new AtomicInteger();
+    private final LongAdder untrackedCount = new LongAdder();
+
+    private FieldLatencyInstrumentation(Builder builder) {
+        this.maxFieldCoordinates = builder.maxFieldCoordinates;
+        this.includeTrivialDataFetchers = builder.includeTrivialDataFetchers;
+        this.ticker = builder.ticker;
+    }
+
+    @Override
+    public @Nullable FieldFetchingInstrumentationContext beginFieldFetching(InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+        if (parameters.isTrivialDataFetcher() && !includeTrivialDataFetchers) {
+            return null;
+        }
+        ExecutionStrategyParameters strategyParameters = parameters.getExecutionStrategyParameters();
+        GraphQLNamedType parentType = (GraphQLNamedType) strategyParameters.getExecutionStepInfo().getUnwrappedNonNullType();
+        FieldLatencyRecorder recorder = getRecorder(parentType.getName(), strategyParameters.getField().getName());
+        if (recorder == null) {
+            untrackedCount.increment();
+            return null;
+        }
+        long startNanos = ticker.getAsLong();
+        return new FieldFetchingInstrumentationContext() {
+            @Override
+            public void onDispatched() {
+            }
+
+            @Override
+            public void onCompleted(@Nullable Object result, @Nullable Throwable t) {
+                boolean error = t != null || (result instanceof DataFetcherResult && ((DataFetcherResult<?>) result).hasErrors());
+                recorder.record(ticker.getAsLong() - startNanos, error);
+            }
+        };
+    }
+
+    private @Nullable FieldLatencyRecorder getRecorder(String typeName, String fieldName) {
+        ConcurrentHashMap<String, FieldLatencyRecorder> fieldRecorders = recorders.get(typeName);
+        if (fieldRecorders != null) {
+            FieldLatencyRecorder recorder = fieldRecorders.get(fieldName);
+            if (recorder != null) {
+                return recorder;
+            }
+        }
+        if (fieldCoordinatesCount.get() >= maxFieldCoordinates) {
+            return null;
+        }
+        return recorders.computeIfAbsent(typeName, name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(fieldName, name -> {
+                    fieldCoordinatesCount.incrementAndGet();
+                    return new FieldLatencyRecorder();
+                });
+    }
+
+    /**
+     * @return a snapshot of the latencies of each field coordinates recorded so far
+     */
+    public List<FieldLatencyStats> snapshot() {
+        return snapshot(false);
+    }
+
+    /**
+     * Takes a snapshot of the latencies of each field coordinates and starts them again from zero, so that each
+     * snapshot has the latencies since the previous one.  The coordinates remain tracked.
+     *
+     * @return a snapshot of the latencies recorded since the last reset
+     */
+    public List<FieldLatencyStats> snapshotAndReset() {
+        untrackedCount.reset();
+        return snapshot(true);
+    }
+
+    private List<FieldLatencyStats> snapshot(boolean reset) {
+        List<FieldLatencyStats> stats = new ArrayList<>();
+        for (Map.Entry<String, ConcurrentHashMap<String, FieldLatencyRecorder>> typeEntry : recorders.entrySet()) {
+            for (Map.Entry<String, FieldLatencyRecorder> fieldEntry : typeEntry.getValue().entrySet()) {
+                FieldCoordinates coordinates = FieldCoordinates.coordinates(typeEntry.getKey(), fieldEntry.getKey());
+                stats.add(fieldEntry.getValue().snapshot(coordinates, reset));
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * @return the number of fetches that were not timed because the maximum number of field coordinates were already tracked
+     */
+    public long getUntrackedCount() {
+        return untrackedCount.sum();
+    }
+
+    public static Builder newFieldLatencyInstrumentation() {
+        return new Builder();
+    }
+
+    @NullUnmarked
+    public static class Builder {
+        private int maxFieldCoordinates = DEFAULT_MAX_FIELD_COORDINATES;
+        private boolean includeTrivialDataFetchers = false;
+        private LongSupplier ticker = System::nanoTime;
+
+        /**
+         * Sets the maximum number of field coordinates that are tracked, which bounds the memory used
+         *
+         * @param maxFieldCoordinates the maximum number of field coordinates
+         *
+         * @return this builder
+         */
+        public Builder maxFieldCoordinates(int maxFieldCoordinates) {
+            assertTrue(maxFieldCoordinates > 0, "maxFieldCoordinates must be greater than zero");
+            this.maxFieldCoordinates = maxFieldCoordinates;
+            return this;
+        }
+
+        /**
+         * @param includeTrivialDataFetchers whether to time trivial data fetchers, which is false by default
+         *
+         * @return this builder
+         */
+        public Builder includeTrivialDataFetchers(boolean includeTrivialDataFetchers) {
+            this.includeTrivialDataFetchers = includeTrivialDataFetchers;
+            return this;
+        }
+
+        /**
+         * @param ticker the source of the time in nanoseconds, which is {@link System#nanoTime()} by default
+         *
+         * @return this builder
+         */
+        public Builder ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        public FieldLatencyInstrumentation build() {
+            return new FieldLatencyInstrumentation(this);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package graphql.execution.instrumentation.fieldlatency;
+
+import graphql.Internal;
+import graphql.schema.FieldCoordinates;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the fetch latencies of the field at some coordinates into a histogram without locking.
+ * <p>
+ * The buckets are striped by thread so that threads recording the same field at the same time rarely contend on
+ * the same counters, and a stripe is only allocated once a thread records into it.  So the memory of a field is at most
+ * {@link #STRIPES} arrays of {@link FieldLatencyStats#BUCKET_COUNT} longs.
+ */
+@Internal
+@NullMarked
+class FieldLatencyRecorder {
+
+    static final int STRIPES = 4;
+
+    private final AtomicReferenceArray<AtomicLongArray> stripes = new AtomicReferenceArray<>(STRIPES);
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    void record(long nanos, boolean error) {
+        stripe().incrementAndGet(FieldLatencyStats.bucketIndex(nanos));
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        if (error) {
+            errorCount.increment();
+        }
+    }
+
+    private AtomicLongArray stripe() {
+        int index = System.identityHashCode(Thread.currentThread()) & (STRIPES - 1);
+        AtomicLongArray stripe = stripes.get(index);
+        if (stripe == null) {
+            stripes.compareAndSet(index, null, new AtomicLongArray(FieldLatencyStats.BUCKET_COUNT));
+            stripe = stripes.get(index);
+        }
+        return stripe;
+    }
+
+    FieldLatencyStats snapshot(FieldCoordinates coordinates, boolean reset) {
+        long[] bucketCounts = new long[FieldLatencyStats.BUCKET_COUNT];
+        for (int s = 0; s < STRIPES; s++) {
+            AtomicLongArray stripe = stripes.get(s);
+            if (stripe == null) {
+                continue;
+            }
+            for (int i = 0; i < bucketCounts.length; i++) {
+                bucketCounts[i] += reset ? stripe.getAndSet(i, 0) : stripe.get(i);
+            }
+        }
+        if (reset) {
+            return new FieldLatencyStats(coordinates, bucketCounts, errorCount.sumThenReset(), totalNanos.sumThenReset(), maxNanos.getThenReset());
+        }
+        return new FieldLatencyStats(coordinates, bucketCounts, errorCount.sum(), totalNanos.sum(), maxNanos.get());
+    }
+}
@@ -0,0 +1,166 @@
+package graphql.execution.instrumentation.fieldlatency;
+
+import graphql.ExperimentalApi;
+import graphql.schema.FieldCoordinates;
+import org.jspecify.annotations.NullMarked;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static graphql.Assert.assertTrue;
+
+/**
+ * A point in time snapshot of the fetch latencies of the field at some coordinates, as recorded by a
+ * {@link FieldLatencyInstrumentation}.
+ * <p>
+ * The latencies are counted in log-linear buckets: each power of two is split into {@link #SUB_BUCKETS} buckets of
+ * equal width, so a percentile is accurate to within an eighth of its value.
+ */
+@ExperimentalApi
+@NullMarked
+public class FieldLatencyStats {
+
+    /**
+     * The number of buckets that each power of two of nanoseconds is split into
+     */
+    public static final int SUB_BUCKETS = 8;
+
+    // latencies from 2^MAX_EXPONENT nanoseconds, which is about 4.5 minutes, are counted in the last bucket
+    private static final int MAX_EXPONENT = 38;
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /**
+     * The number of buckets of a histogram
+     */
+    public static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final FieldCoordinates coordinates;
+    private final long[] bucketCounts;
+    private final long count;
+    private final long errorCount;
+    private final long totalNanos;
+    private final long maxNanos;
+
+    FieldLatencyStats(FieldCoordinates coordinates, long[] bucketCounts, long errorCount, long totalNanos, long maxNanos) {
+        this.coordinates = coordinates;
+        this.bucketCounts = bucketCounts;
+        this.count = Arrays.stream(bucketCounts).sum();
+        this.errorCount = errorCount;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+    }
+
+    static int bucketIndex(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) Math.max(nanos, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent >= MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @param bucketIndex the index of a bucket
+     *
+     * @return the smallest latency in nanoseconds that is counted in the bucket
+     */
+    public static long getBucketLowerBoundNanos(int bucketIndex) {
+        assertTrue(bucketIndex >= 0 && bucketIndex < BUCKET_COUNT, "bucketIndex must be between 0 and BUCKET_COUNT");
+        if (bucketIndex < SUB_BUCKETS) {
+            return bucketIndex;
+        }
+        int exponent = bucketIndex / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucketIndex % SUB_BUCKETS;
+        return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * @return the coordinates of the field
+     */
+    public FieldCoordinates getCoordinates() {
+        return coordinates;
+    }
+
+    /**
+     * @return the number of times the field was fetched
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the number of fetches that failed or returned errors
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * @return the total time spent fetching the field
+     */
+    public Duration getTotalTime() {
+        return Duration.ofNanos(totalNanos);
+    }
+
+    /**
+     * @return the mean time of a fetch, or zero if the field was not fetched
+     */
+    public Duration getMeanTime() {
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(totalNanos / count);
+    }
+
+    /**
+     * @return the longest time of a fetch
+     */
+    public Duration getMaxTime() {
+        return Duration.ofNanos(maxNanos);
+    }
+
+    /**
+     * Estimates a percentile of the fetch latencies as the upper bound of the bucket it falls in
+     *
+     * @param percentile the percentile, from 0 to 100
+     *
+     * @return the estimated latency, or zero if the field was not fetched
+     */
+    public Duration getPercentile(double percentile) {
+        assertTrue(percentile >= 0 && percentile <= 100, "percentile must be between 0 and 100");
+        if (count == 0) {
+            return Duration.ZERO;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            seen += bucketCounts[i];
+            if (seen >= rank) {
+                long upperBound = i + 1 < BUCKET_COUNT ? getBucketLowerBoundNanos(i + 1) - 1 : maxNanos;
+                return Duration.ofNanos(Math.min(upperBound, maxNanos));
+            }
+        }
+        return Duration.ofNanos(maxNanos);
+    }
+
+    /**
+     * @return the number of fetches counted in each bucket
+     *
+     * @see #getBucketLowerBoundNanos(int)
+     */
+    public long[] getBucketCounts() {
+        return bucketCounts.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "FieldLatencyStats{" +
+                "coordinates=" + coordinates +
+                ", count=" + count +
+                ", errorCount=" + errorCount +
+                ", meanTime=" + getMeanTime() +
+                ", p99=" + getPercentile(99) +
+                ", maxTime=" + getMaxTime() +
+                '}';
+    }
+}
@@ -1,5 +1,6 @@
 package graphql.execution.instrumentation.parameters;
 
+import graphql.Internal;
 import graphql.PublicApi;
 import graphql.execution.ExecutionContext;
 import graphql.execution.ExecutionStrategyParameters;
@@ -33,4 +34,13 @@ public class InstrumentationFieldFetchParameters extends InstrumentationFieldPar
     public boolean isTrivialDataFetcher() {
         return trivialDataFetcher;
     }
+
+    /**
+     * @return the parameters of the execution strategy for the field, which give its field and parent type without
+     * creating the {@link DataFetchingEnvironment}
+     */
+    @Internal
+    public ExecutionStrategyParameters getExecutionStrategyParameters() {
+        return executionStrategyParameters;
+    }
 }
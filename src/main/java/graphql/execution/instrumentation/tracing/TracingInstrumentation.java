@@ -21,13 +21,17 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 
+import static graphql.Assert.assertTrue;
 import static graphql.execution.instrumentation.InstrumentationState.ofState;
 import static graphql.execution.instrumentation.SimpleInstrumentationContext.whenCompleted;
 
 /**
  * This {@link Instrumentation} implementation uses {@link TracingSupport} to
  * capture tracing information and puts it into the {@link ExecutionResult}
+ * <p>
+ * Use {@link Options#samplingRate(double)} to only trace a fraction of the requests.
  */
 @NullMarked
 @PublicApi
@@ -35,15 +39,21 @@ public class TracingInstrumentation extends SimplePerformantInstrumentation {
 
     public static class Options {
         private final boolean includeTrivialDataFetchers;
+        private final double samplingRate;
 
-        private Options(boolean includeTrivialDataFetchers) {
+        private Options(boolean includeTrivialDataFetchers, double samplingRate) {
             this.includeTrivialDataFetchers = includeTrivialDataFetchers;
+            this.samplingRate = samplingRate;
         }
 
         public boolean isIncludeTrivialDataFetchers() {
             return includeTrivialDataFetchers;
         }
 
+        public double getSamplingRate() {
+            return samplingRate;
+        }
+
         /**
          * By default trivial data fetchers (those that simple pull data from an object into field) are included
          * in tracing but you can control this behavior.
@@ -53,11 +63,25 @@ public class TracingInstrumentation extends SimplePerformantInstrumentation {
          * @return a new options object
          */
         public Options includeTrivialDataFetchers(boolean flag) {
-            return new Options(flag);
+            return new Options(flag, samplingRate);
+        }
+
+        /**
+         * By default every request is traced but you can trace a fraction of them, say 0.01 for one in a hundred,
+         * so that tracing can be left on in production.  The requests that are not sampled are not traced at all and
+         * have no tracing in their extensions.
+         *
+         * @param samplingRate the fraction of requests to trace, from 0 to 1
+         *
+         * @return a new options object
+         */
+        public Options samplingRate(double samplingRate) {
+            assertTrue(samplingRate >= 0 && samplingRate <= 1, "samplingRate must be between 0 and 1");
+            return new Options(includeTrivialDataFetchers, samplingRate);
         }
 
         public static Options newOptions() {
-            return new Options(true);
+            return new Options(true, 1);
         }
 
     }
@@ -74,11 +98,23 @@ public class TracingInstrumentation extends SimplePerformantInstrumentation {
 
     @Override
     public @Nullable CompletableFuture<InstrumentationState> createStateAsync(InstrumentationCreateStateParameters parameters) {
+        if (!isSampled()) {
+            // there is no state for a request that is not traced
+            return null;
+        }
         return CompletableFuture.completedFuture(new TracingSupport(options.includeTrivialDataFetchers));
     }
 
+    private boolean isSampled() {
+        double samplingRate = options.samplingRate;
+        return samplingRate >= 1 || ThreadLocalRandom.current().nextDouble() < samplingRate;
+    }
+
     @Override
-    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters, InstrumentationState rawState) {
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters, @Nullable InstrumentationState rawState) {
+        if (rawState == null) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
         Map<Object, Object> currentExt = executionResult.getExtensions();
 
         TracingSupport tracingSupport = ofState(rawState);
@@ -89,21 +125,30 @@ public class TracingInstrumentation extends SimplePerformantInstrumentation {
     }
 
     @Override
-    public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters, InstrumentationState rawState) {
+    public @Nullable InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters, @Nullable InstrumentationState rawState) {
+        if (rawState == null) {
+            return null;
+        }
         TracingSupport tracingSupport = ofState(rawState);
         TracingSupport.TracingContext ctx = tracingSupport.beginField(parameters.getEnvironment(), parameters.isTrivialDataFetcher());
         return whenCompleted((result, t) -> ctx.onEnd());
     }
 
     @Override
-    public InstrumentationContext<Document> beginParse(InstrumentationExecutionParameters parameters, InstrumentationState rawState) {
+    public @Nullable InstrumentationContext<Document> beginParse(InstrumentationExecutionParameters parameters, @Nullable InstrumentationState rawState) {
+        if (rawState == null) {
+            return null;
+        }
         TracingSupport tracingSupport = ofState(rawState);
         TracingSupport.TracingContext ctx = tracingSupport.beginParse();
         return whenCompleted((result, t) -> ctx.onEnd());
     }
 
     @Override
-    public InstrumentationContext<List<ValidationError>> beginValidation(InstrumentationValidationParameters parameters, InstrumentationState rawState) {
+    public @Nullable InstrumentationContext<List<ValidationError>> beginValidation(InstrumentationValidationParameters parameters, @Nullable InstrumentationState rawState) {
+        if (rawState == null) {
+            return null;
+        }
         TracingSupport tracingSupport = ofState(rawState);
         TracingSupport.TracingContext ctx = tracingSupport.beginValidation();
         return whenCompleted((result, t) -> ctx.onEnd());
@@ -5,14 +5,18 @@ import graphql.PublicApi;
 import graphql.execution.ExecutionStepInfo;
 import graphql.execution.instrumentation.InstrumentationState;
 import graphql.schema.DataFetchingEnvironment;
+import graphql.util.LockKit;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static graphql.Assert.assertNotNull;
 import static graphql.schema.GraphQLTypeUtil.simplePrint;
@@ -23,6 +27,9 @@ import static graphql.schema.GraphQLTypeUtil.simplePrint;
  * This is a stateful object that should be instantiated and called via {@link java.lang.instrument.Instrumentation}
  * calls.  It has been made a separate class so that you can compose this into existing
  * instrumentation code.
+ * <p>
+ * The timings of the fields are recorded into arrays of primitives and the map of each field is only created
+ * when {@link #snapshotTracingData()} is called.
  */
 @NullMarked
 @PublicApi
@@ -30,7 +37,7 @@ public class TracingSupport implements InstrumentationState {
 
     private final Instant startRequestTime;
     private final long startRequestNanos;
-    private final ConcurrentLinkedQueue<Map<String, Object>> fieldData;
+    private final FieldTimings fieldTimings = new FieldTimings();
     private final Map<String, Object> parseMap = new LinkedHashMap<>();
     private final Map<String, Object> validationMap = new LinkedHashMap<>();
     private final boolean includeTrivialDataFetchers;
@@ -44,7 +51,6 @@ public class TracingSupport implements InstrumentationState {
         this.includeTrivialDataFetchers = includeTrivialDataFetchers;
         startRequestNanos = System.nanoTime();
         startRequestTime = Instant.now();
-        fieldData = new ConcurrentLinkedQueue<>();
     }
 
     /**
@@ -75,19 +81,7 @@ public class TracingSupport implements InstrumentationState {
         long startFieldFetch = System.nanoTime();
         return () -> {
             long now = System.nanoTime();
-            long duration = now - startFieldFetch;
-            long startOffset = startFieldFetch - startRequestNanos;
-            ExecutionStepInfo executionStepInfo = dataFetchingEnvironment.getExecutionStepInfo();
-
-            Map<String, Object> fetchMap = new LinkedHashMap<>();
-            fetchMap.put("path", executionStepInfo.getPath().toList());
-            fetchMap.put("parentType", simplePrint(assertNotNull(executionStepInfo.getParent(), "executionStepInfo parent must not be null").getUnwrappedNonNullType()));
-            fetchMap.put("returnType", executionStepInfo.simplePrint());
-            fetchMap.put("fieldName", assertNotNull(executionStepInfo.getFieldDefinition(), "fieldDefinition must not be null").getName());
-            fetchMap.put("startOffset", startOffset);
-            fetchMap.put("duration", duration);
-
-            fieldData.add(fetchMap);
+            fieldTimings.record(startFieldFetch - startRequestNanos, now - startFieldFetch, dataFetchingEnvironment.getExecutionStepInfo());
         };
     }
 
@@ -148,11 +142,89 @@ public class TracingSupport implements InstrumentationState {
 
     private Map<String, Object> executionData() {
         Map<String, Object> map = new LinkedHashMap<>();
-        List<Map<String, Object>> list = ImmutableList.copyOf(fieldData);
+        List<Map<String, Object>> list = fieldTimings.toResolvers();
         map.put("resolvers", list);
         return map;
     }
 
+    private static Map<String, Object> fetchMap(ExecutionStepInfo executionStepInfo, long startOffset, long duration) {
+        Map<String, Object> fetchMap = new LinkedHashMap<>();
+        fetchMap.put("path", executionStepInfo.getPath().toList());
+        fetchMap.put("parentType", simplePrint(assertNotNull(executionStepInfo.getParent(), "executionStepInfo parent must not be null").getUnwrappedNonNullType()));
+        fetchMap.put("returnType", executionStepInfo.simplePrint());
+        fetchMap.put("fieldName", assertNotNull(executionStepInfo.getFieldDefinition(), "fieldDefinition must not be null").getName());
+        fetchMap.put("startOffset", startOffset);
+        fetchMap.put("duration", duration);
+        return fetchMap;
+    }
+
+    /**
+     * The timings of the fields in the order they were recorded.  Each field gets the next index of a per request
+     * counter and its timings are kept in chunks of arrays so that a field costs no more than its slots.
+     */
+    private static class FieldTimings {
+        private static final int CHUNK_SIZE = 64;
+
+        private final AtomicInteger fieldCount = new AtomicInteger();
+        private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+        private volatile Chunk[] chunks = new Chunk[0];
+
+        void record(long startOffset, long duration, ExecutionStepInfo executionStepInfo) {
+            int index = fieldCount.getAndIncrement();
+            Chunk chunk = chunk(index / CHUNK_SIZE);
+            int slot = index % CHUNK_SIZE;
+            chunk.startOffsets[slot] = startOffset;
+            chunk.durations[slot] = duration;
+            // this is written last so that a field with its step info also has its timings
+            chunk.executionStepInfos.set(slot, executionStepInfo);
+        }
+
+        private Chunk chunk(int chunkIndex) {
+            Chunk[] current = chunks;
+            if (chunkIndex < current.length) {
+                return current[chunkIndex];
+            }
+            return lock.callLocked(() -> {
+                Chunk[] grown = chunks;
+                if (chunkIndex >= grown.length) {
+                    int length = grown.length;
+                    grown = Arrays.copyOf(grown, chunkIndex + 1);
+                    for (int i = length; i < grown.length; i++) {
+                        grown[i] = new Chunk();
+                    }
+                    chunks = grown;
+                }
+                return grown[chunkIndex];
+            });
+        }
+
+        List<Map<String, Object>> toResolvers() {
+            int count = fieldCount.get();
+            Chunk[] current = chunks;
+            ImmutableList.Builder<Map<String, Object>> resolvers = ImmutableList.builderWithExpectedSize(count);
+            for (int index = 0; index < count; index++) {
+                int chunkIndex = index / CHUNK_SIZE;
+                if (chunkIndex >= current.length) {
+                    break;
+                }
+                Chunk chunk = current[chunkIndex];
+                int slot = index % CHUNK_SIZE;
+                ExecutionStepInfo executionStepInfo = chunk.executionStepInfos.get(slot);
+                // a field that is still being recorded is left out
+                if (executionStepInfo != null) {
+                    resolvers.add(fetchMap(executionStepInfo, chunk.startOffsets[slot], chunk.durations[slot]));
+                }
+            }
+            return resolvers.build();
+        }
+    }
+
+    private static class Chunk {
+        final long[] startOffsets = new long[FieldTimings.CHUNK_SIZE];
+        final long[] durations = new long[FieldTimings.CHUNK_SIZE];
+        final AtomicReferenceArray<@Nullable ExecutionStepInfo> executionStepInfos = new AtomicReferenceArray<>(FieldTimings.CHUNK_SIZE);
+    }
+
     private String rfc3339(Instant time) {
         return DateTimeFormatter.ISO_INSTANT.format(time);
     }
@@ -1,8 +1,11 @@
 package graphql.execution.preparsed;
 
 import graphql.GraphQLError;
+import graphql.Internal;
 import graphql.PublicApi;
+import graphql.execution.ExecutionPlan;
 import graphql.language.Document;
+import graphql.schema.GraphQLSchema;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
@@ -28,6 +31,8 @@ import static java.util.Collections.singletonList;
 public class PreparsedDocumentEntry implements Serializable {
     private final @Nullable Document document;
     private final List<? extends GraphQLError> errors;
+    // plans are derived data and hence are not serialised - they are rebuilt on demand
+    private transient volatile @Nullable ExecutionPlan executionPlan;
 
     public PreparsedDocumentEntry(Document document,
                                   List<? extends GraphQLError> errors) {
@@ -65,4 +70,22 @@ public class PreparsedDocumentEntry implements Serializable {
     public boolean hasErrors() {
         return !errors.isEmpty();
     }
+
+    /**
+     * Returns the {@link ExecutionPlan} for this entry's document and the given schema, creating it if needed.  Because the plan
+     * lives on the entry, a caching {@link PreparsedDocumentProvider} will also cache the plan.
+     *
+     * @param graphQLSchema the schema the document is executed against
+     *
+     * @return the execution plan for this document
+     */
+    @Internal
+    public ExecutionPlan getExecutionPlan(GraphQLSchema graphQLSchema) {
+        ExecutionPlan plan = this.executionPlan;
+        if (plan == null || !plan.isFor(graphQLSchema)) {
+            plan = ExecutionPlan.newExecutionPlan(graphQLSchema, assertNotNull(document, "an execution plan requires a document"));
+            this.executionPlan = plan;
+        }
+        return plan;
+    }
 }
@@ -0,0 +1,421 @@
+package graphql.execution.preparsed.caching;
+
+import graphql.ExecutionInput;
+import graphql.ExperimentalApi;
+import graphql.Internal;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.language.Document;
+import graphql.language.Node;
+import graphql.util.LockKit;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.NullUnmarked;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A {@link PreparsedDocumentProvider} that caches parsed and validated documents in memory within a fixed weight limit.
+ * <p>
+ * The weight of a document is approximately the number of AST nodes it contains, so a handful of very large queries
+ * cannot crowd out many small ones.  Which documents are kept is decided in the style of W-TinyLFU: new documents
+ * enter a small LRU window and, once they leave it, are only admitted into the main LRU area if they have been asked for
+ * more often recently than the document they would displace.  This stops a flood of one-off queries, say from query hash
+ * spraying, from flushing out the popular ones.
+ * <p>
+ * Concurrent misses on the same document are single-flight: only the first request parses and validates it and the
+ * other requests wait on its result.  Documents can optionally be expired a fixed time after they were loaded.
+ * <p>
+ * Statistics are available via {@link #getStats()} and a {@link PreparsedDocumentCacheListener} can be used to observe
+ * hits, misses and evictions as they happen.
+ * <p>
+ * By default documents are cached by {@link ExecutionInput#getQuery()}.  Note that validation results depend on the schema,
+ * so you should use a new provider if you change the schema of a {@link graphql.GraphQL} instance.
+ */
+@ExperimentalApi
+@NullMarked
+public class BoundedPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+    /**
+     * The default maximum weight, which is the approximate number of AST nodes that will be cached
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 1_000_000;
+
+    private static final PreparsedDocumentCacheListener NOOP_LISTENER = new PreparsedDocumentCacheListener() {
+    };
+
+    private final ConcurrentHashMap<Object, CacheNode> data = new ConcurrentHashMap<>();
+
+    // the access order lists and the sketch are guarded by the lock
+    private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+    private final AccessOrder window = new AccessOrder();
+    private final AccessOrder main = new AccessOrder();
+    private final FrequencySketch sketch;
+
+    private final long maximumWeight;
+    private final long windowMaximumWeight;
+    private final long mainMaximumWeight;
+    private final long timeToLiveNanos;
+    private final Function<ExecutionInput, Object> cacheKeyFunction;
+    private final PreparsedDocumentCacheListener listener;
+    private final LongSupplier ticker;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expirationCount = new LongAdder();
+
+    private BoundedPreparsedDocumentProvider(Builder builder) {
+        this.maximumWeight = builder.maximumWeight;
+        this.windowMaximumWeight = Math.max(1, maximumWeight / 100);
+        this.mainMaximumWeight = maximumWeight - windowMaximumWeight;
+        this.timeToLiveNanos = builder.timeToLive == null ? 0 : builder.timeToLive.toNanos();
+        this.cacheKeyFunction = builder.cacheKeyFunction;
+        this.listener = builder.listener;
+        this.ticker = builder.ticker;
+        // we assume a typical document weighs a few dozen nodes
+        this.sketch = new FrequencySketch(maximumWeight / 32);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        Object key = assertNotNull(cacheKeyFunction.apply(executionInput), "the cache key function must not return null");
+        CacheNode node = data.get(key);
+        if (node != null && isExpired(node)) {
+            expire(node);
+            node = null;
+        }
+        if (node != null) {
+            return hit(executionInput, node);
+        }
+        CacheNode loadingNode = new CacheNode(key);
+        CacheNode existingNode = data.putIfAbsent(key, loadingNode);
+        if (existingNode != null) {
+            // another request got there first and is loading or has loaded the document
+            return hit(executionInput, existingNode);
+        }
+        missCount.increment();
+        listener.onMiss(executionInput, key);
+        return load(executionInput, loadingNode, parseAndValidateFunction);
+    }
+
+    /**
+     * Removes all documents from the cache
+     */
+    public void invalidateAll() {
+        lock.runLocked(() -> {
+            for (CacheNode node : data.values()) {
+                if (node.entry != null && data.remove(node.key, node)) {
+                    unlink(node);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return a snapshot of the statistics of this cache
+     */
+    public PreparsedDocumentCacheStats getStats() {
+        return lock.callLocked(() -> new PreparsedDocumentCacheStats(
+                hitCount.sum(),
+                missCount.sum(),
+                evictionCount.sum(),
+                expirationCount.sum(),
+                window.size + main.size,
+                window.weight + main.weight));
+    }
+
+    /**
+     * @return the maximum weight of documents this cache will hold
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    private CompletableFuture<PreparsedDocumentEntry> hit(ExecutionInput executionInput, CacheNode node) {
+        hitCount.increment();
+        listener.onHit(executionInput, node.key);
+        // recording accesses is best effort - if the lock is busy then we skip it rather than contend on every hit
+        if (lock.tryLock()) {
+            try {
+                sketch.increment(node.key);
+                if (node.queue != null) {
+                    node.queue.moveToLast(node);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return node.future;
+    }
+
+    private CompletableFuture<PreparsedDocumentEntry> load(ExecutionInput executionInput, CacheNode node, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        PreparsedDocumentEntry entry;
+        try {
+            entry = parseAndValidateFunction.apply(executionInput);
+        } catch (RuntimeException | Error e) {
+            // let any waiting requests see the failure but don't cache it
+            data.remove(node.key, node);
+            node.future.completeExceptionally(e);
+            throw e;
+        }
+        node.weight = weigh(entry);
+        node.writeTimeNanos = ticker.getAsLong();
+        node.entry = entry;
+
+        List<CacheNode> evicted = lock.callLocked(() -> admit(node));
+        node.future.complete(entry);
+        for (CacheNode evictedNode : evicted) {
+            listener.onEviction(evictedNode.key, assertNotNull(evictedNode.entry), evictedNode.weight);
+        }
+        return node.future;
+    }
+
+    private List<CacheNode> admit(CacheNode node) {
+        if (data.get(node.key) != node) {
+            // it expired or was invalidated while we were loading it
+            return Collections.emptyList();
+        }
+        sketch.increment(node.key);
+        List<CacheNode> evicted = new ArrayList<>(0);
+        if (node.weight > maximumWeight) {
+            evict(node, evicted);
+            return evicted;
+        }
+        window.addLast(node);
+        while (window.weight > windowMaximumWeight) {
+            CacheNode candidate = assertNotNull(window.first());
+            window.remove(candidate);
+            admitToMain(candidate, evicted);
+        }
+        return evicted;
+    }
+
+    private void admitToMain(CacheNode candidate, List<CacheNode> evicted) {
+        while (main.weight + candidate.weight > mainMaximumWeight) {
+            CacheNode victim = main.first();
+            if (victim == null || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+                evict(candidate, evicted);
+                return;
+            }
+            main.remove(victim);
+            evict(victim, evicted);
+        }
+        main.addLast(candidate);
+    }
+
+    private void evict(CacheNode node, List<CacheNode> evicted) {
+        if (data.remove(node.key, node)) {
+            evictionCount.increment();
+            evicted.add(node);
+        }
+    }
+
+    private boolean isExpired(CacheNode node) {
+        return timeToLiveNanos > 0 && node.entry != null && ticker.getAsLong() - node.writeTimeNanos >= timeToLiveNanos;
+    }
+
+    private void expire(CacheNode node) {
+        if (data.remove(node.key, node)) {
+            lock.runLocked(() -> unlink(node));
+            expirationCount.increment();
+            listener.onExpiration(node.key, assertNotNull(node.entry));
+        }
+    }
+
+    private void unlink(CacheNode node) {
+        if (node.queue != null) {
+            node.queue.remove(node);
+        }
+    }
+
+    /**
+     * The weight of an entry is the number of AST nodes in its document plus its errors
+     *
+     * @param entry the entry to weigh
+     *
+     * @return the approximate weight of the entry
+     */
+    @Internal
+    public static int weigh(PreparsedDocumentEntry entry) {
+        int weight = 1 + entry.getErrors().size();
+        Document document = entry.getDocument();
+        if (document == null) {
+            return weight;
+        }
+        Deque<Node<?>> stack = new ArrayDeque<>();
+        stack.push(document);
+        while (!stack.isEmpty()) {
+            Node<?> node = stack.pop();
+            weight++;
+            for (Node<?> child : node.getChildren()) {
+                stack.push(child);
+            }
+        }
+        return weight;
+    }
+
+    private static class CacheNode {
+        final Object key;
+        final CompletableFuture<PreparsedDocumentEntry> future = new CompletableFuture<>();
+        volatile @Nullable PreparsedDocumentEntry entry;
+        volatile long writeTimeNanos;
+        int weight;
+
+        // guarded by the lock
+        @Nullable AccessOrder queue;
+        @Nullable CacheNode prev;
+        @Nullable CacheNode next;
+
+        CacheNode(Object key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * A doubly linked list of nodes from least to most recently used
+     */
+    private static class AccessOrder {
+        @Nullable CacheNode head;
+        @Nullable CacheNode tail;
+        long weight;
+        int size;
+
+        @Nullable CacheNode first() {
+            return head;
+        }
+
+        void addLast(CacheNode node) {
+            node.queue = this;
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            weight += node.weight;
+            size++;
+        }
+
+        void remove(CacheNode node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.queue = null;
+            node.prev = null;
+            node.next = null;
+            weight -= node.weight;
+            size--;
+        }
+
+        void moveToLast(CacheNode node) {
+            if (tail != node) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+
+    /**
+     * @return a builder of bounded preparsed document providers
+     */
+    public static Builder newBoundedPreparsedDocumentProvider() {
+        return new Builder();
+    }
+
+    @NullUnmarked
+    public static class Builder {
+        private long maximumWeight = DEFAULT_MAXIMUM_WEIGHT;
+        private Duration timeToLive;
+        private Function<ExecutionInput, Object> cacheKeyFunction = ExecutionInput::getQuery;
+        private PreparsedDocumentCacheListener listener = NOOP_LISTENER;
+        private LongSupplier ticker = System::nanoTime;
+
+        /**
+         * The maximum total weight of the cached documents, where a document weighs approximately the number of AST nodes in it
+         *
+         * @param maximumWeight the maximum weight
+         *
+         * @return this builder
+         */
+        public Builder maximumWeight(long maximumWeight) {
+            assertTrue(maximumWeight > 0, "maximumWeight must be greater than zero");
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * Documents will be removed from the cache once this much time has passed since they were parsed and validated
+         *
+         * @param timeToLive the time to live of each document
+         *
+         * @return this builder
+         */
+        public Builder timeToLive(Duration timeToLive) {
+            assertTrue(timeToLive != null && !timeToLive.isNegative() && !timeToLive.isZero(), "timeToLive must be positive");
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        /**
+         * By default documents are cached by their query text.  This allows you to use a different key, say if you want to
+         * cache by a persisted query id.
+         *
+         * @param cacheKeyFunction the function that produces a cache key from the execution input
+         *
+         * @return this builder
+         */
+        public Builder cacheKey(Function<ExecutionInput, Object> cacheKeyFunction) {
+            this.cacheKeyFunction = assertNotNull(cacheKeyFunction);
+            return this;
+        }
+
+        /**
+         * @param listener the listener that will be told of cache hits, misses and evictions
+         *
+         * @return this builder
+         */
+        public Builder listener(PreparsedDocumentCacheListener listener) {
+            this.listener = assertNotNull(listener);
+            return this;
+        }
+
+        /**
+         * The source of nano second time used for expiry, which is mostly useful for testing
+         *
+         * @param ticker the time source
+         *
+         * @return this builder
+         */
+        public Builder ticker(LongSupplier ticker) {
+            this.ticker = assertNotNull(ticker);
+            return this;
+        }
+
+        public BoundedPreparsedDocumentProvider build() {
+            return new BoundedPreparsedDocumentProvider(this);
+        }
+    }
+}
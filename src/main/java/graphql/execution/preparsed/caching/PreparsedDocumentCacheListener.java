@@ -0,0 +1,54 @@
+package graphql.execution.preparsed.caching;
+
+import graphql.ExecutionInput;
+import graphql.ExperimentalApi;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A callback that can be given to a {@link BoundedPreparsedDocumentProvider} to observe what the cache is doing, say to
+ * feed a metrics system.
+ * <p>
+ * Callbacks are made on the thread that caused the event and should be quick and non-blocking.
+ */
+@ExperimentalApi
+@NullMarked
+public interface PreparsedDocumentCacheListener {
+
+    /**
+     * Called when a document is found in the cache or is already being loaded by another request
+     *
+     * @param executionInput the execution input that was looked up
+     * @param key            the cache key of the document
+     */
+    default void onHit(ExecutionInput executionInput, Object key) {
+    }
+
+    /**
+     * Called when a document is not in the cache and hence will be parsed and validated
+     *
+     * @param executionInput the execution input that was looked up
+     * @param key            the cache key of the document
+     */
+    default void onMiss(ExecutionInput executionInput, Object key) {
+    }
+
+    /**
+     * Called when a document is removed from the cache, or not admitted to it, to keep the cache within its weight limit
+     *
+     * @param key           the cache key of the document
+     * @param documentEntry the evicted document entry
+     * @param weight        the weight of the evicted document entry
+     */
+    default void onEviction(Object key, PreparsedDocumentEntry documentEntry, int weight) {
+    }
+
+    /**
+     * Called when a document is removed from the cache because it has lived past its time to live
+     *
+     * @param key           the cache key of the document
+     * @param documentEntry the expired document entry
+     */
+    default void onExpiration(Object key, PreparsedDocumentEntry documentEntry) {
+    }
+}
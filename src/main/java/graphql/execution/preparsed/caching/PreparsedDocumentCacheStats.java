@@ -0,0 +1,90 @@
+package graphql.execution.preparsed.caching;
+
+import graphql.ExperimentalApi;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A point in time snapshot of the statistics of a {@link BoundedPreparsedDocumentProvider}
+ */
+@ExperimentalApi
+@NullMarked
+public class PreparsedDocumentCacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long expirationCount;
+    private final long entryCount;
+    private final long weightedSize;
+
+    PreparsedDocumentCacheStats(long hitCount, long missCount, long evictionCount, long expirationCount, long entryCount, long weightedSize) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.expirationCount = expirationCount;
+        this.entryCount = entryCount;
+        this.weightedSize = weightedSize;
+    }
+
+    /**
+     * @return the number of lookups that found a cached or loading document
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of lookups that had to parse and validate the document
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the ratio of hits to lookups, or 1.0 if there have been no lookups
+     */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * @return the number of documents evicted or not admitted to keep the cache within its weight limit
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the number of documents removed because they lived past their time to live
+     */
+    public long getExpirationCount() {
+        return expirationCount;
+    }
+
+    /**
+     * @return the number of documents currently cached
+     */
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * @return the total weight of the documents currently cached
+     */
+    public long getWeightedSize() {
+        return weightedSize;
+    }
+
+    @Override
+    public String toString() {
+        return "PreparsedDocumentCacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", expirationCount=" + expirationCount +
+                ", entryCount=" + entryCount +
+                ", weightedSize=" + weightedSize +
+                '}';
+    }
+}
@@ -0,0 +1,280 @@
+package graphql.execution.preparsed.persisted;
+
+import graphql.ExecutionInput;
+import graphql.ExperimentalApi;
+import graphql.GraphQLError;
+import graphql.ParseAndValidate;
+import graphql.ParseAndValidateResult;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.caching.BoundedPreparsedDocumentProvider;
+import graphql.language.Document;
+import graphql.schema.GraphQLSchema;
+import graphql.validation.GoodFaithIntrospectionExceeded;
+import graphql.validation.ValidationError;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.NullUnmarked;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongSupplier;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * A {@link PersistedQueryCache} of trusted operations, say a manifest of the operations a client was built with, that
+ * are all parsed and validated against the schema when the manifest is built, in parallel.
+ * <p>
+ * A request for a known operation id gets its ready {@link PreparsedDocumentEntry} and a request for any other id is
+ * rejected with {@link PersistedQueryNotFound} without the parser being touched, even if the request has query text.
+ * The operations that fail validation are kept along with their errors, so requests for them fail as they would have,
+ * and are available from {@link #getInvalidOperations()} so that a deploy can check for them.  Requests without a
+ * persisted query id never reach a {@link PersistedQueryCache}, see {@link PersistedQuerySupport}.
+ * <p>
+ * Note that the validation results depend on the schema, so a new manifest should be built if the schema changes.
+ * <pre>
+ * {@code
+ * PersistedQueryManifest manifest = PersistedQueryManifest.newPersistedQueryManifest(schema)
+ *         .operations(operationsByHash)
+ *         .build();
+ * GraphQL graphQL = GraphQL.newGraphQL(schema)
+ *         .preparsedDocumentProvider(new ApolloPersistedQuerySupport(manifest))
+ *         .build();
+ * }
+ * </pre>
+ */
+@ExperimentalApi
+@NullMarked
+public class PersistedQueryManifest implements PersistedQueryCache {
+
+    private final Map<Object, PreparsedDocumentEntry> entries;
+    private final Map<Object, List<GraphQLError>> invalidOperations;
+    private final Duration loadTime;
+    private final long weightedSize;
+
+    private PersistedQueryManifest(Map<Object, PreparsedDocumentEntry> entries, Map<Object, List<GraphQLError>> invalidOperations, Duration loadTime, long weightedSize) {
+        this.entries = entries;
+        this.invalidOperations = invalidOperations;
+        this.loadTime = loadTime;
+        this.weightedSize = weightedSize;
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(Object persistedQueryId, ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss) throws PersistedQueryNotFound {
+        PreparsedDocumentEntry entry = entries.get(persistedQueryId);
+        if (entry == null) {
+            throw new PersistedQueryNotFound(persistedQueryId);
+        }
+        return CompletableFuture.completedFuture(entry);
+    }
+
+    /**
+     * @param persistedQueryId the persisted query id
+     *
+     * @return true if the manifest has an operation with this id
+     */
+    public boolean containsOperation(Object persistedQueryId) {
+        return entries.containsKey(persistedQueryId);
+    }
+
+    /**
+     * @return the number of operations in the manifest, including the invalid ones
+     */
+    public int getOperationCount() {
+        return entries.size();
+    }
+
+    /**
+     * @return the errors of each operation that failed to parse or validate, by operation id
+     */
+    public Map<Object, List<GraphQLError>> getInvalidOperations() {
+        return invalidOperations;
+    }
+
+    /**
+     * @return the time taken to parse and validate the operations when the manifest was built
+     */
+    public Duration getLoadTime() {
+        return loadTime;
+    }
+
+    /**
+     * @return the total weight of the operations, which is approximately the number of AST nodes held and hence
+     * proportional to the memory the manifest uses.  It is weighed the same way as
+     * {@link BoundedPreparsedDocumentProvider} weighs documents.
+     */
+    public long getWeightedSize() {
+        return weightedSize;
+    }
+
+    @Override
+    public String toString() {
+        return "PersistedQueryManifest{" +
+                "operationCount=" + entries.size() +
+                ", invalidOperationCount=" + invalidOperations.size() +
+                ", loadTime=" + loadTime +
+                ", weightedSize=" + weightedSize +
+                '}';
+    }
+
+    private static PreparsedDocumentEntry parseAndValidate(GraphQLSchema graphQLSchema, String query, Locale locale, boolean precomputeExecutionPlans) {
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput(query).locale(locale).build();
+        ParseAndValidateResult parseResult = ParseAndValidate.parse(executionInput);
+        if (parseResult.isFailure()) {
+            return new PreparsedDocumentEntry(assertNotNull(parseResult.getSyntaxException()).toInvalidSyntaxError());
+        }
+        Document document = assertNotNull(parseResult.getDocument());
+        List<ValidationError> errors;
+        try {
+            errors = ParseAndValidate.validate(graphQLSchema, document, locale);
+        } catch (GoodFaithIntrospectionExceeded e) {
+            return new PreparsedDocumentEntry(document, List.of(e.toBadFaithError()));
+        }
+        if (!errors.isEmpty()) {
+            return new PreparsedDocumentEntry(document, errors);
+        }
+        PreparsedDocumentEntry entry = new PreparsedDocumentEntry(document);
+        if (precomputeExecutionPlans) {
+            entry.getExecutionPlan(graphQLSchema);
+        }
+        return entry;
+    }
+
+    /**
+     * @param graphQLSchema the schema the operations are validated against
+     *
+     * @return a new builder of manifests
+     */
+    public static Builder newPersistedQueryManifest(GraphQLSchema graphQLSchema) {
+        return new Builder(graphQLSchema);
+    }
+
+    @NullUnmarked
+    public static class Builder {
+        private final GraphQLSchema graphQLSchema;
+        private final Map<Object, String> operations = new LinkedHashMap<>();
+        private Executor executor = ForkJoinPool.commonPool();
+        private Locale locale = Locale.getDefault();
+        private boolean precomputeExecutionPlans = false;
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder(GraphQLSchema graphQLSchema) {
+            this.graphQLSchema = assertNotNull(graphQLSchema);
+        }
+
+        /**
+         * Adds an operation to the manifest
+         *
+         * @param persistedQueryId the id of the operation, typically the hash of its query text
+         * @param queryText        the query text of the operation
+         *
+         * @return this builder
+         */
+        public Builder operation(Object persistedQueryId, String queryText) {
+            operations.put(assertNotNull(persistedQueryId), assertNotNull(queryText));
+            return this;
+        }
+
+        /**
+         * Adds operations to the manifest
+         *
+         * @param operations the query text of the operations by their ids
+         *
+         * @return this builder
+         */
+        public Builder operations(Map<?, String> operations) {
+            operations.forEach(this::operation);
+            return this;
+        }
+
+        /**
+         * @param executor the executor that parses and validates the operations, which is the common
+         *                 {@link ForkJoinPool} by default
+         *
+         * @return this builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = assertNotNull(executor);
+            return this;
+        }
+
+        /**
+         * @param locale the locale of the validation error messages, which is the JVM default by default
+         *
+         * @return this builder
+         */
+        public Builder locale(Locale locale) {
+            this.locale = assertNotNull(locale);
+            return this;
+        }
+
+        /**
+         * Creates the {@link graphql.execution.ExecutionPlan} of each valid operation up front, for when execution
+         * plans are enabled
+         *
+         * @param precomputeExecutionPlans whether to create the execution plans, which is false by default
+         *
+         * @return this builder
+         */
+        public Builder precomputeExecutionPlans(boolean precomputeExecutionPlans) {
+            this.precomputeExecutionPlans = precomputeExecutionPlans;
+            return this;
+        }
+
+        /**
+         * @param ticker the source of the time in nanoseconds, which is {@link System#nanoTime()} by default
+         *
+         * @return this builder
+         */
+        public Builder ticker(LongSupplier ticker) {
+            this.ticker = assertNotNull(ticker);
+            return this;
+        }
+
+        /**
+         * Parses and validates all the operations, which blocks until they are done
+         *
+         * @return the manifest
+         */
+        public PersistedQueryManifest build() {
+            long startNanos = ticker.getAsLong();
+            List<Object> ids = new ArrayList<>(operations.keySet());
+            List<CompletableFuture<PreparsedDocumentEntry>> futures = new ArrayList<>(ids.size());
+            for (Object id : ids) {
+                String queryText = operations.get(id);
+                futures.add(CompletableFuture.supplyAsync(() -> parseAndValidate(graphQLSchema, queryText, locale, precomputeExecutionPlans), executor));
+            }
+
+            Map<Object, PreparsedDocumentEntry> entries = new ConcurrentHashMap<>(ids.size());
+            Map<Object, List<GraphQLError>> invalidOperations = new LinkedHashMap<>();
+            long weightedSize = 0;
+            for (int i = 0; i < ids.size(); i++) {
+                PreparsedDocumentEntry entry;
+                try {
+                    entry = futures.get(i).join();
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw e;
+                }
+                entries.put(ids.get(i), entry);
+                if (entry.hasErrors()) {
+                    invalidOperations.put(ids.get(i), Collections.unmodifiableList(new ArrayList<>(entry.getErrors())));
+                }
+                weightedSize += BoundedPreparsedDocumentProvider.weigh(entry);
+            }
+            Duration loadTime = Duration.ofNanos(ticker.getAsLong() - startNanos);
+            return new PersistedQueryManifest(entries, Collections.unmodifiableMap(invalidOperations), loadTime, weightedSize);
+        }
+    }
+}
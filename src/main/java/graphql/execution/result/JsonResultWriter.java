@@ -0,0 +1,331 @@
+package graphql.execution.result;
+
+import graphql.ExperimentalApi;
+import graphql.GraphQLException;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A {@link ResultWriter} that writes UTF-8 encoded JSON to an {@link OutputStream} or a {@link WritableByteChannel}.
+ * <p>
+ * Output is buffered and only written to the destination when the buffer fills or {@link #flush()} is called.  The
+ * destination is never closed by this writer.  Any {@link IOException} is rethrown as an {@link UncheckedIOException}.
+ * <p>
+ * Numbers that have no JSON representation, such as {@link Double#NaN} or infinity, are rejected with a
+ * {@link GraphQLException} rather than being written in a form that a client would read back as a different type.
+ * <p>
+ * This writer is not thread safe.
+ */
+@ExperimentalApi
+@NullMarked
+public class JsonResultWriter implements ResultWriter {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+
+    private final @Nullable OutputStream outputStream;
+    private final @Nullable WritableByteChannel channel;
+    private final byte[] buffer;
+    private int position;
+    private boolean needsComma;
+
+    public JsonResultWriter(OutputStream outputStream) {
+        this(outputStream, DEFAULT_BUFFER_SIZE);
+    }
+
+    public JsonResultWriter(OutputStream outputStream, int bufferSize) {
+        this(assertNotNull(outputStream, "outputStream can't be null"), null, bufferSize);
+    }
+
+    public JsonResultWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public JsonResultWriter(WritableByteChannel channel, int bufferSize) {
+        this(null, assertNotNull(channel, "channel can't be null"), bufferSize);
+    }
+
+    private JsonResultWriter(@Nullable OutputStream outputStream, @Nullable WritableByteChannel channel, int bufferSize) {
+        // room for the longest escape sequence or multi byte character
+        assertTrue(bufferSize >= 16, "bufferSize must be at least 16");
+        this.outputStream = outputStream;
+        this.channel = channel;
+        this.buffer = new byte[bufferSize];
+    }
+
+    @Override
+    public void startObject() {
+        beforeValue();
+        writeByte('{');
+        needsComma = false;
+    }
+
+    @Override
+    public void endObject() {
+        writeByte('}');
+        needsComma = true;
+    }
+
+    @Override
+    public void startArray() {
+        beforeValue();
+        writeByte('[');
+        needsComma = false;
+    }
+
+    @Override
+    public void endArray() {
+        writeByte(']');
+        needsComma = true;
+    }
+
+    @Override
+    public void name(String name) {
+        beforeValue();
+        writeString(name);
+        writeByte(':');
+        needsComma = false;
+    }
+
+    @Override
+    public void stringValue(String value) {
+        beforeValue();
+        writeString(value);
+        needsComma = true;
+    }
+
+    @Override
+    public void numberValue(Number value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                || value instanceof AtomicInteger || value instanceof AtomicLong || value instanceof LongAdder) {
+            beforeValue();
+            writeLong(value.longValue());
+        } else {
+            // the text is worked out first so nothing is written if the number is rejected
+            String text = numberText(value);
+            beforeValue();
+            writeAscii(text);
+        }
+        needsComma = true;
+    }
+
+    private static String numberText(Number value) {
+        if (value instanceof Double || value instanceof Float || value instanceof DoubleAdder) {
+            double d = value.doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                throw new GraphQLException("The number " + d + " cannot be written as JSON");
+            }
+            return value instanceof Float ? value.toString() : Double.toString(d);
+        } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+            return value.toString();
+        }
+        // other Number classes are only written if their text is a valid number
+        return toBigDecimal(value).toString();
+    }
+
+    private static BigDecimal toBigDecimal(Number value) {
+        try {
+            return new BigDecimal(value.toString());
+        } catch (NumberFormatException e) {
+            throw new GraphQLException("The number " + value + " of class " + value.getClass().getName() + " cannot be written as JSON", e);
+        }
+    }
+
+    @Override
+    public void booleanValue(boolean value) {
+        beforeValue();
+        writeBytes(value ? TRUE : FALSE);
+        needsComma = true;
+    }
+
+    @Override
+    public void nullValue() {
+        beforeValue();
+        writeBytes(NULL);
+        needsComma = true;
+    }
+
+    @Override
+    public void flush() {
+        drain();
+        try {
+            if (outputStream != null) {
+                outputStream.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void beforeValue() {
+        if (needsComma) {
+            writeByte(',');
+        }
+    }
+
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int start = position;
+        do {
+            buffer[position++] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        // digits were written least significant first
+        for (int i = start, j = position - 1; i < j; i++, j--) {
+            byte b = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = b;
+        }
+    }
+
+    private void writeAscii(String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            writeByte(value.charAt(i));
+        }
+    }
+
+    private void writeString(String value) {
+        writeByte('"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    writeByte(c);
+                } else {
+                    writeEscaped(c);
+                }
+            } else if (c < 0x800) {
+                ensureCapacity(2);
+                buffer[position++] = (byte) (0xc0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                ensureCapacity(4);
+                buffer[position++] = (byte) (0xf0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                // a lone surrogate cannot be encoded as UTF-8 so we escape it
+                writeUnicodeEscape(c);
+            } else {
+                ensureCapacity(3);
+                buffer[position++] = (byte) (0xe0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buffer[position++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        writeByte('"');
+    }
+
+    private void writeEscaped(char c) {
+        switch (c) {
+            case '"':
+                writeTwo('\\', '"');
+                break;
+            case '\\':
+                writeTwo('\\', '\\');
+                break;
+            case '\n':
+                writeTwo('\\', 'n');
+                break;
+            case '\r':
+                writeTwo('\\', 'r');
+                break;
+            case '\t':
+                writeTwo('\\', 't');
+                break;
+            case '\b':
+                writeTwo('\\', 'b');
+                break;
+            case '\f':
+                writeTwo('\\', 'f');
+                break;
+            default:
+                writeUnicodeEscape(c);
+        }
+    }
+
+    private void writeUnicodeEscape(char c) {
+        ensureCapacity(6);
+        buffer[position++] = '\\';
+        buffer[position++] = 'u';
+        buffer[position++] = HEX[(c >> 12) & 0xf];
+        buffer[position++] = HEX[(c >> 8) & 0xf];
+        buffer[position++] = HEX[(c >> 4) & 0xf];
+        buffer[position++] = HEX[c & 0xf];
+    }
+
+    private void writeTwo(char first, char second) {
+        ensureCapacity(2);
+        buffer[position++] = (byte) first;
+        buffer[position++] = (byte) second;
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeByte(int b) {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (buffer.length - position < needed) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        if (position == 0) {
+            return;
+        }
+        try {
+            if (outputStream != null) {
+                outputStream.write(buffer, 0, position);
+            } else {
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, position);
+                while (byteBuffer.hasRemaining()) {
+                    assertNotNull(channel).write(byteBuffer);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        position = 0;
+    }
+}
@@ -0,0 +1,132 @@
+package graphql.execution.result;
+
+import graphql.ExperimentalApi;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.reflect.Array;
+import java.util.Map;
+
+/**
+ * A sink that graphql results can be written into token by token, in the order they should appear in the response.
+ * <p>
+ * This allows a completed result to be serialised straight to a destination such as an {@link java.io.OutputStream}
+ * without building an intermediate {@link String} or a tree of some JSON library first, say
+ * <pre>
+ * {@code
+ *   resultWriter.value(executionResult.toSpecification());
+ *   resultWriter.flush();
+ * }
+ * </pre>
+ * The execution strategies do not write into it, so the result is fully built and held in memory before it is written.
+ * <p>
+ * Implementations are not expected to be thread safe.
+ *
+ * @see JsonResultWriter
+ */
+@ExperimentalApi
+@NullMarked
+public interface ResultWriter {
+
+    /**
+     * Starts a new object
+     */
+    void startObject();
+
+    /**
+     * Ends the current object
+     */
+    void endObject();
+
+    /**
+     * Starts a new array
+     */
+    void startArray();
+
+    /**
+     * Ends the current array
+     */
+    void endArray();
+
+    /**
+     * Writes the name of the next field of the current object
+     *
+     * @param name the field name
+     */
+    void name(String name);
+
+    /**
+     * Writes a string value
+     *
+     * @param value the value to write
+     */
+    void stringValue(String value);
+
+    /**
+     * Writes a number value
+     *
+     * @param value the value to write
+     *
+     * @throws graphql.GraphQLException if the number cannot be represented by this writer
+     */
+    void numberValue(Number value);
+
+    /**
+     * Writes a boolean value
+     *
+     * @param value the value to write
+     */
+    void booleanValue(boolean value);
+
+    /**
+     * Writes a null value
+     */
+    void nullValue();
+
+    /**
+     * Flushes any buffered output to the underlying destination
+     */
+    void flush();
+
+    /**
+     * Writes an arbitrary value by walking it.  {@link Map}s become objects, {@link Iterable}s and arrays become arrays
+     * and any other value that is not a string, number or boolean is written as its {@link Object#toString()} value.
+     *
+     * @param value the value to write
+     */
+    default void value(@Nullable Object value) {
+        if (value == null) {
+            nullValue();
+        } else if (value instanceof String) {
+            stringValue((String) value);
+        } else if (value instanceof Map) {
+            startObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                name(String.valueOf(entry.getKey()));
+                value(entry.getValue());
+            }
+            endObject();
+        } else if (value instanceof Iterable) {
+            startArray();
+            for (Object item : (Iterable<?>) value) {
+                value(item);
+            }
+            endArray();
+        } else if (value instanceof Number) {
+            numberValue((Number) value);
+        } else if (value instanceof Boolean) {
+            booleanValue((Boolean) value);
+        } else if (value.getClass().isArray()) {
+            startArray();
+            int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                value(Array.get(value, i));
+            }
+            endArray();
+        } else if (value instanceof Enum) {
+            stringValue(((Enum<?>) value).name());
+        } else {
+            stringValue(value.toString());
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package graphql.execution.singleflight;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.ExperimentalApi;
+import graphql.Internal;
+import graphql.VisibleForTesting;
+import graphql.execution.QueryAndOperationName;
+import graphql.language.AstPrinter;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.util.ConcurrentLruCache;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.NullUnmarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * Shares the execution of identical queries that are in flight at the same time, so that when the same query with the
+ * same variables arrives many times concurrently it is only executed once and every request is given its result.
+ * <p>
+ * It is used by giving it to {@link graphql.GraphQL.Builder#singleFlight(SingleFlight)}.  Two executions are identical
+ * when they are for the same schema and have the same document, ignoring formatting and comments, the same operation
+ * name, variables, extensions and locale and the same partition key.  The partition key is the value of
+ * {@link #PARTITION_KEY_CONTEXT_KEY} in the {@link graphql.GraphQLContext} by default, which should be set to say the
+ * user id of requests whose results depend on who is asking.  Requests without a partition key share results with
+ * every other request without one.
+ * <p>
+ * Only query operations are shared, mutations and subscriptions and documents that can not be parsed are always
+ * executed.  The first request, the leader, is executed as normal.  The requests that arrive while it is in flight,
+ * the followers, are not executed or instrumented at all and complete with the very same {@link ExecutionResult}
+ * as the leader, so their own root object, context and data loaders are never used.
+ */
+@ExperimentalApi
+@NullMarked
+public class SingleFlight {
+
+    /**
+     * The key of the {@link graphql.GraphQLContext} value that partitions the requests that can share results
+     */
+    public static final String PARTITION_KEY_CONTEXT_KEY = "__GJ_single_flight_partition_key";
+
+    /**
+     * The number of documents whose signature is remembered so that they are not parsed for every request, the
+     * least recently used ones are forgotten first
+     */
+    static final int MAX_DOCUMENT_SIGNATURES = 1024;
+
+    private static final DocumentSignature NOT_SHAREABLE = new DocumentSignature(null);
+
+    private final ConcurrentHashMap<Key, CompletableFuture<ExecutionResult>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentLruCache<QueryAndOperationName, DocumentSignature> documentSignatures = new ConcurrentLruCache<>(MAX_DOCUMENT_SIGNATURES);
+    private final Function<ExecutionInput, @Nullable Object> partitionKeyFunction;
+
+    private final LongAdder executionCount = new LongAdder();
+    private final LongAdder sharedCount = new LongAdder();
+
+    private SingleFlight(Builder builder) {
+        this.partitionKeyFunction = builder.partitionKeyFunction;
+    }
+
+    /**
+     * This is called by {@link graphql.GraphQL} to execute a request or to join an identical one in flight
+     *
+     * @param executionInput the request
+     * @param graphQLSchema  the schema the request is executed against
+     * @param execution      executes the request
+     *
+     * @return a promise to the result of the request
+     */
+    @Internal
+    public CompletableFuture<ExecutionResult> execute(ExecutionInput executionInput, GraphQLSchema graphQLSchema, Supplier<CompletableFuture<ExecutionResult>> execution) {
+        String signature = documentSignature(executionInput);
+        if (signature == null) {
+            return execution.get();
+        }
+        Key key = new Key(graphQLSchema, signature, executionInput.getOperationName(), executionInput.getVariables(),
+                executionInput.getExtensions(), executionInput.getLocale(), partitionKeyFunction.apply(executionInput));
+
+        CompletableFuture<ExecutionResult> leaderResult = new CompletableFuture<>();
+        CompletableFuture<ExecutionResult> inFlightResult = inFlight.putIfAbsent(key, leaderResult);
+        if (inFlightResult != null) {
+            sharedCount.increment();
+            // a follower is given its own future so that it can not complete the result of the others
+            return inFlightResult.thenApply(Function.identity());
+        }
+        executionCount.increment();
+        CompletableFuture<ExecutionResult> result;
+        try {
+            result = execution.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, leaderResult);
+            leaderResult.completeExceptionally(e);
+            throw e;
+        }
+        result.whenComplete((executionResult, exception) -> {
+            // the flight is over before anyone is told, so later requests execute again
+            inFlight.remove(key, leaderResult);
+            if (exception != null) {
+                leaderResult.completeExceptionally(exception);
+            } else {
+                leaderResult.complete(executionResult);
+            }
+        });
+        return result;
+    }
+
+    private @Nullable String documentSignature(ExecutionInput executionInput) {
+        QueryAndOperationName queryAndOperationName = new QueryAndOperationName(executionInput.getQuery(), executionInput.getOperationName());
+        return documentSignatures.computeIfAbsent(queryAndOperationName, SingleFlight::makeDocumentSignature).text;
+    }
+
+    private static DocumentSignature makeDocumentSignature(QueryAndOperationName queryAndOperationName) {
+        Document document;
+        try {
+            document = Parser.parse(queryAndOperationName.getQuery());
+        } catch (InvalidSyntaxException e) {
+            return NOT_SHAREABLE;
+        }
+        OperationDefinition operation = findOperation(document, queryAndOperationName.getOperationName());
+        if (operation == null || operation.getOperation() != OperationDefinition.Operation.QUERY) {
+            return NOT_SHAREABLE;
+        }
+        // the compact printing ignores formatting and comments
+        return new DocumentSignature(AstPrinter.printAstCompact(document));
+    }
+
+    private static @Nullable OperationDefinition findOperation(Document document, @Nullable String operationName) {
+        List<OperationDefinition> operations = document.getDefinitionsOfType(OperationDefinition.class);
+        if (operationName == null || operationName.isEmpty()) {
+            return operations.size() == 1 ? operations.get(0) : null;
+        }
+        for (OperationDefinition operation : operations) {
+            if (operationName.equals(operation.getName())) {
+                return operation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the number of requests that were executed because no identical request was in flight
+     */
+    public long getExecutionCount() {
+        return executionCount.sum();
+    }
+
+    /**
+     * @return the number of requests that were given the result of an identical request in flight
+     */
+    public long getSharedCount() {
+        return sharedCount.sum();
+    }
+
+    /**
+     * @return the number of executions that are currently in flight and can be shared
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    @VisibleForTesting
+    boolean hasDocumentSignature(String query, @Nullable String operationName) {
+        return documentSignatures.containsKey(new QueryAndOperationName(query, operationName));
+    }
+
+    @VisibleForTesting
+    int getDocumentSignatureCount() {
+        return documentSignatures.size();
+    }
+
+    private static class DocumentSignature {
+        // null if the document can not be shared
+        final @Nullable String text;
+
+        DocumentSignature(@Nullable String text) {
+            this.text = text;
+        }
+    }
+
+
+    private static class Key {
+        final GraphQLSchema schema;
+        final String document;
+        final @Nullable String operationName;
+        final Map<String, Object> variables;
+        final Map<String, Object> extensions;
+        final Locale locale;
+        final @Nullable Object partitionKey;
+        final int hashCode;
+
+        Key(GraphQLSchema schema, String document, @Nullable String operationName, Map<String, Object> variables, Map<String, Object> extensions, Locale locale, @Nullable Object partitionKey) {
+            this.schema = schema;
+            this.document = document;
+            this.operationName = operationName;
+            this.variables = variables;
+            this.extensions = extensions;
+            this.locale = locale;
+            this.partitionKey = partitionKey;
+            this.hashCode = Objects.hash(System.identityHashCode(schema), document, operationName, variables, extensions, locale, partitionKey);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key that = (Key) o;
+            return hashCode == that.hashCode
+                    && schema == that.schema
+                    && document.equals(that.document)
+                    && Objects.equals(operationName, that.operationName)
+                    && variables.equals(that.variables)
+                    && extensions.equals(that.extensions)
+                    && locale.equals(that.locale)
+                    && Objects.equals(partitionKey, that.partitionKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * @return a builder of single flights
+     */
+    public static Builder newSingleFlight() {
+        return new Builder();
+    }
+
+    @NullUnmarked
+    public static class Builder {
+        private Function<ExecutionInput, Object> partitionKeyFunction = executionInput -> executionInput.getGraphQLContext().get(PARTITION_KEY_CONTEXT_KEY);
+
+        /**
+         * By default requests are partitioned by the {@link #PARTITION_KEY_CONTEXT_KEY} value in their
+         * {@link graphql.GraphQLContext}.  This allows you to partition them some other way.  Only requests with
+         * equal partition keys share results.
+         *
+         * @param partitionKeyFunction the function that produces the partition key of a request, which may be null
+         *
+         * @return this builder
+         */
+        public Builder partitionKey(Function<ExecutionInput, Object> partitionKeyFunction) {
+            this.partitionKeyFunction = assertNotNull(partitionKeyFunction);
+            return this;
+        }
+
+        public SingleFlight build() {
+            return new SingleFlight(this);
+        }
+    }
+}
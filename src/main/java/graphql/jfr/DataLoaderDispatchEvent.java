@@ -0,0 +1,30 @@
+package graphql.jfr;
+
+import graphql.Internal;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+@Internal
+@NullMarked
+@Name("graphql.DataLoaderDispatch")
+@Label("GraphQL DataLoader Dispatch")
+@Description("The dispatch of a batch of keys by a DataLoader")
+@Category("GraphQL")
+@StackTrace(false)
+class DataLoaderDispatchEvent extends jdk.jfr.Event implements EngineEvent {
+
+    @Label("DataLoader Name")
+    @Nullable String dataLoaderName;
+
+    @Label("Level")
+    @Description("The level of the fields that loaded the keys, or zero if the dispatch is not made by level")
+    int level;
+
+    @Label("Batch Size")
+    int batchSize;
+}
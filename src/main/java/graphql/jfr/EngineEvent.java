@@ -0,0 +1,19 @@
+package graphql.jfr;
+
+import graphql.Internal;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A JDK Flight Recorder event that the engine has begun and will commit when the phase it times is over
+ *
+ * @see EngineFlightRecorder
+ */
+@Internal
+@NullMarked
+public interface EngineEvent {
+
+    /**
+     * Ends the event and writes it to the recording, if it is still enabled and passes its threshold
+     */
+    void commit();
+}
@@ -0,0 +1,142 @@
+package graphql.jfr;
+
+import graphql.ExecutionInput;
+import graphql.Internal;
+import graphql.TrivialDataFetcher;
+import graphql.execution.DataFetcherResult;
+import graphql.execution.ExecutionContext;
+import graphql.execution.ExecutionStrategy;
+import graphql.execution.ResultPath;
+import graphql.execution.instrumentation.FieldFetchingInstrumentationContext;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Emits JDK Flight Recorder events for the phases of the engine, so that a recording shows which phase of which
+ * operation was running: the parsing and validation of a request, the execution strategy of an operation, the
+ * fetches of fields by data fetchers that are not trivial and the dispatches of DataLoaders.
+ * <p>
+ * The events are in the "GraphQL" category and are named "graphql.Parse", "graphql.Validation",
+ * "graphql.ExecutionStrategy", "graphql.FieldFetch" and "graphql.DataLoaderDispatch".  They are only created while a
+ * recording is running and has them enabled, so otherwise their cost is reading a volatile field.  If the runtime does
+ * not have the jdk.jfr module, or the optional OSGi import of the jdk.jfr package is not wired, then no events are emitted.
+ */
+@Internal
+@NullMarked
+public final class EngineFlightRecorder {
+
+    private static final EventRecorder EVENT_RECORDER = createEventRecorder();
+
+    private EngineFlightRecorder() {
+    }
+
+    private static EventRecorder createEventRecorder() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder");
+            return JfrEventRecorder.create();
+        } catch (ClassNotFoundException | LinkageError | SecurityException e) {
+            // a runtime without the jdk.jfr module, a bundle whose optional jdk.jfr import is not wired, or a runtime
+            // that does not allow it to be used
+            return EventRecorder.NO_OP;
+        }
+    }
+
+    public static @Nullable EngineEvent beginParse(ExecutionInput executionInput) {
+        return EVENT_RECORDER.beginParse(executionInput.getOperationName());
+    }
+
+    public static @Nullable EngineEvent beginValidation(ExecutionInput executionInput) {
+        return EVENT_RECORDER.beginValidation(executionInput.getOperationName());
+    }
+
+    public static @Nullable EngineEvent beginExecutionStrategy(ExecutionContext executionContext, ExecutionStrategy executionStrategy) {
+        return EVENT_RECORDER.beginExecutionStrategy(String.valueOf(executionContext.getExecutionId()),
+                executionContext.getOperationDefinition().getName(),
+                executionContext.getOperationDefinition().getOperation().name(),
+                executionStrategy.getClass().getName());
+    }
+
+    /**
+     * Times the fetch of a field, if its data fetcher is not trivial, by committing an event when the given
+     * context is completed
+     *
+     * @param fetchCtx    the instrumentation context of the fetch
+     * @param dataFetcher the data fetcher of the field, before it was instrumented
+     * @param parentType  the type the field is fetched from
+     * @param fieldDef    the field
+     * @param path        the path of the field in the result
+     *
+     * @return the given context, or one that also commits the event of the fetch
+     */
+    public static FieldFetchingInstrumentationContext fieldFetching(FieldFetchingInstrumentationContext fetchCtx,
+                                                                    DataFetcher<?> dataFetcher,
+                                                                    GraphQLObjectType parentType,
+                                                                    GraphQLFieldDefinition fieldDef,
+                                                                    ResultPath path) {
+        if (dataFetcher instanceof TrivialDataFetcher) {
+            return fetchCtx;
+        }
+        EngineEvent event = EVENT_RECORDER.beginFieldFetch(parentType.getName(), fieldDef.getName(), path);
+        if (event == null) {
+            return fetchCtx;
+        }
+        return new FieldFetchingInstrumentationContext() {
+            @Override
+            public void onDispatched() {
+                fetchCtx.onDispatched();
+            }
+
+            @Override
+            public void onFetchedValue(Object fetchedValue) {
+                fetchCtx.onFetchedValue(fetchedValue);
+            }
+
+            @Override
+            public void onExceptionHandled(DataFetcherResult<Object> dataFetcherResult) {
+                fetchCtx.onExceptionHandled(dataFetcherResult);
+            }
+
+            @Override
+            public void onCompleted(@Nullable Object result, @Nullable Throwable t) {
+                event.commit();
+                fetchCtx.onCompleted(result, t);
+            }
+        };
+    }
+
+    /**
+     * @param dataLoaderName the name of the DataLoader
+     * @param level          the level of the fields that loaded the keys, or zero if the dispatch is not made by level
+     * @param batchSize      the number of keys dispatched
+     *
+     * @return the event of the dispatch, or null if it is not recorded
+     */
+    public static @Nullable EngineEvent beginDataLoaderDispatch(String dataLoaderName, int level, int batchSize) {
+        return EVENT_RECORDER.beginDataLoaderDispatch(dataLoaderName, level, batchSize);
+    }
+
+    /**
+     * @return true if the dispatches of DataLoaders may be recorded, so that the sizes of their batches are worth counting
+     */
+    public static boolean isRecording() {
+        return EVENT_RECORDER.isRecording();
+    }
+
+    public static void commit(@Nullable EngineEvent event) {
+        if (event != null) {
+            event.commit();
+        }
+    }
+
+    public static <T> CompletableFuture<T> commitOnCompletion(@Nullable EngineEvent event, CompletableFuture<T> future) {
+        if (event == null) {
+            return future;
+        }
+        return future.whenComplete((result, throwable) -> event.commit());
+    }
+}
@@ -0,0 +1,42 @@
+package graphql.jfr;
+
+import graphql.Internal;
+import graphql.execution.ResultPath;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Creates the events of the engine.  It is an interface so that {@link EngineFlightRecorder} only loads the classes
+ * that use the jdk.jfr module when the module is present.
+ */
+@Internal
+@NullMarked
+interface EventRecorder {
+
+    EventRecorder NO_OP = new EventRecorder() {
+    };
+
+    default boolean isRecording() {
+        return false;
+    }
+
+    default @Nullable EngineEvent beginParse(@Nullable String operationName) {
+        return null;
+    }
+
+    default @Nullable EngineEvent beginValidation(@Nullable String operationName) {
+        return null;
+    }
+
+    default @Nullable EngineEvent beginExecutionStrategy(String executionId, @Nullable String operationName, String operation, String executionStrategy) {
+        return null;
+    }
+
+    default @Nullable EngineEvent beginFieldFetch(String parentTypeName, String fieldName, ResultPath path) {
+        return null;
+    }
+
+    default @Nullable EngineEvent beginDataLoaderDispatch(String dataLoaderName, int level, int batchSize) {
+        return null;
+    }
+}
@@ -0,0 +1,32 @@
+package graphql.jfr;
+
+import graphql.Internal;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+@Internal
+@NullMarked
+@Name("graphql.ExecutionStrategy")
+@Label("GraphQL Execution Strategy")
+@Description("The execution of an operation by an execution strategy, from when it starts until its result is complete")
+@Category("GraphQL")
+@StackTrace(false)
+class ExecutionStrategyEvent extends jdk.jfr.Event implements EngineEvent {
+
+    @Label("Execution Id")
+    @Nullable String executionId;
+
+    @Label("Operation Name")
+    @Nullable String operationName;
+
+    @Label("Operation")
+    @Nullable String operation;
+
+    @Label("Execution Strategy")
+    @Nullable String executionStrategy;
+}
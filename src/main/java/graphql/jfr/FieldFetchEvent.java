@@ -0,0 +1,32 @@
+package graphql.jfr;
+
+import graphql.Internal;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * There are many fetches in a request so by default only the ones that take a millisecond or more are recorded,
+ * which a recording can change via the threshold setting of the event
+ */
+@Internal
+@NullMarked
+@Name("graphql.FieldFetch")
+@Label("GraphQL Field Fetch")
+@Description("The fetch of a field by a data fetcher that is not trivial, until its value is complete")
+@Category("GraphQL")
+@Threshold("1 ms")
+@StackTrace(false)
+class FieldFetchEvent extends jdk.jfr.Event implements EngineEvent {
+
+    @Label("Field Coordinates")
+    @Nullable String fieldCoordinates;
+
+    @Label("Path")
+    @Nullable String path;
+}
@@ -0,0 +1,134 @@
+package graphql.jfr;
+
+import graphql.Internal;
+import graphql.execution.ResultPath;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Creates the events of the engine as JDK Flight Recorder events.
+ * <p>
+ * No event is created unless a recording is running, which is tracked by a {@link FlightRecorderListener}, so when
+ * nothing is being recorded the cost of an event is reading a volatile field.
+ */
+@Internal
+@NullMarked
+class JfrEventRecorder implements EventRecorder {
+
+    private volatile boolean recording;
+
+    private JfrEventRecorder() {
+    }
+
+    static JfrEventRecorder create() {
+        JfrEventRecorder eventRecorder = new JfrEventRecorder();
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recorderInitialized(FlightRecorder recorder) {
+                eventRecorder.recordingStateChanged(recorder);
+            }
+
+            @Override
+            public void recordingStateChanged(Recording recording) {
+                eventRecorder.recordingStateChanged(FlightRecorder.getFlightRecorder());
+            }
+        });
+        return eventRecorder;
+    }
+
+    private void recordingStateChanged(FlightRecorder recorder) {
+        boolean running = false;
+        for (Recording recording : recorder.getRecordings()) {
+            if (recording.getState() == RecordingState.RUNNING) {
+                running = true;
+                break;
+            }
+        }
+        this.recording = running;
+    }
+
+    @Override
+    public boolean isRecording() {
+        return recording;
+    }
+
+    @Override
+    public @Nullable EngineEvent beginParse(@Nullable String operationName) {
+        if (!recording) {
+            return null;
+        }
+        ParseEvent event = new ParseEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.operationName = operationName;
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public @Nullable EngineEvent beginValidation(@Nullable String operationName) {
+        if (!recording) {
+            return null;
+        }
+        ValidationEvent event = new ValidationEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.operationName = operationName;
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public @Nullable EngineEvent beginExecutionStrategy(String executionId, @Nullable String operationName, String operation, String executionStrategy) {
+        if (!recording) {
+            return null;
+        }
+        ExecutionStrategyEvent event = new ExecutionStrategyEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.executionId = executionId;
+        event.operationName = operationName;
+        event.operation = operation;
+        event.executionStrategy = executionStrategy;
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public @Nullable EngineEvent beginFieldFetch(String parentTypeName, String fieldName, ResultPath path) {
+        if (!recording) {
+            return null;
+        }
+        FieldFetchEvent event = new FieldFetchEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.fieldCoordinates = parentTypeName + "." + fieldName;
+        event.path = path.toString();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public @Nullable EngineEvent beginDataLoaderDispatch(String dataLoaderName, int level, int batchSize) {
+        if (!recording) {
+            return null;
+        }
+        DataLoaderDispatchEvent event = new DataLoaderDispatchEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.dataLoaderName = dataLoaderName;
+        event.level = level;
+        event.batchSize = batchSize;
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,23 @@
+package graphql.jfr;
+
+import graphql.Internal;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+@Internal
+@NullMarked
+@Name("graphql.Parse")
+@Label("GraphQL Parse")
+@Description("The parsing of the query document of a request")
+@Category("GraphQL")
+@StackTrace(false)
+class ParseEvent extends jdk.jfr.Event implements EngineEvent {
+
+    @Label("Operation Name")
+    @Nullable String operationName;
+}
@@ -0,0 +1,919 @@
+package graphql.language;
+
+import com.google.common.collect.ImmutableList;
+import graphql.ExperimentalApi;
+import graphql.GraphQLException;
+import graphql.collect.ImmutableKit;
+import graphql.util.Interning;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This can encode a {@link Document} into a compact binary form and decode it again, which is much faster than
+ * printing and parsing it.  It can be used to persist parsed documents across restarts or to share them between nodes.
+ * <p>
+ * The encoding starts with a magic number and a version, then holds a table of the distinct strings of the document,
+ * such as the names, followed by the nodes in depth first order, each as a tag and its attributes with the strings
+ * as indexes into the table.  The {@link SourceLocation}s of the nodes are optional.
+ * <p>
+ * The comments, ignored chars and additional data of the nodes are not encoded.  A document encoded by one version
+ * of graphql-java can be decoded by a later one as long as the encoding version is still supported, otherwise decoding
+ * fails with a {@link GraphQLException} and the document should be parsed again.
+ * <p>
+ * Decoding does not trust the bytes: every count is checked against the bytes that remain, the nodes may be nested at
+ * most {@link #MAX_NODE_DEPTH} deep and any bytes that are not a valid encoding fail with a {@link GraphQLException}.
+ */
+@ExperimentalApi
+@NullMarked
+public class AstBinaryCodec {
+
+    /**
+     * The version of the encoding that is written
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The maximum depth of the nodes of a document that is decoded, which no document the parser accepts by default exceeds
+     */
+    public static final int MAX_NODE_DEPTH = 500;
+
+    private static final byte[] MAGIC = {'G', 'Q', 'L', 'D'};
+    private static final int FLAG_SOURCE_LOCATIONS = 1;
+
+    private static final int NULL = 0;
+    private static final int DOCUMENT = 1;
+    private static final int OPERATION_DEFINITION = 2;
+    private static final int FRAGMENT_DEFINITION = 3;
+    private static final int SELECTION_SET = 4;
+    private static final int FIELD = 5;
+    private static final int FRAGMENT_SPREAD = 6;
+    private static final int INLINE_FRAGMENT = 7;
+    private static final int ARGUMENT = 8;
+    private static final int DIRECTIVE = 9;
+    private static final int VARIABLE_DEFINITION = 10;
+    private static final int VARIABLE_REFERENCE = 11;
+    private static final int TYPE_NAME = 12;
+    private static final int LIST_TYPE = 13;
+    private static final int NON_NULL_TYPE = 14;
+    private static final int INT_VALUE = 15;
+    private static final int BIG_INT_VALUE = 16;
+    private static final int FLOAT_VALUE = 17;
+    private static final int STRING_VALUE = 18;
+    private static final int BOOLEAN_VALUE = 19;
+    private static final int NULL_VALUE = 20;
+    private static final int ENUM_VALUE = 21;
+    private static final int ARRAY_VALUE = 22;
+    private static final int OBJECT_VALUE = 23;
+    private static final int OBJECT_FIELD = 24;
+    private static final int SCHEMA_DEFINITION = 25;
+    private static final int SCHEMA_EXTENSION_DEFINITION = 26;
+    private static final int OPERATION_TYPE_DEFINITION = 27;
+    private static final int SCALAR_TYPE_DEFINITION = 28;
+    private static final int SCALAR_TYPE_EXTENSION_DEFINITION = 29;
+    private static final int OBJECT_TYPE_DEFINITION = 30;
+    private static final int OBJECT_TYPE_EXTENSION_DEFINITION = 31;
+    private static final int INTERFACE_TYPE_DEFINITION = 32;
+    private static final int INTERFACE_TYPE_EXTENSION_DEFINITION = 33;
+    private static final int UNION_TYPE_DEFINITION = 34;
+    private static final int UNION_TYPE_EXTENSION_DEFINITION = 35;
+    private static final int ENUM_TYPE_DEFINITION = 36;
+    private static final int ENUM_TYPE_EXTENSION_DEFINITION = 37;
+    private static final int ENUM_VALUE_DEFINITION = 38;
+    private static final int INPUT_OBJECT_TYPE_DEFINITION = 39;
+    private static final int INPUT_OBJECT_TYPE_EXTENSION_DEFINITION = 40;
+    private static final int INPUT_VALUE_DEFINITION = 41;
+    private static final int FIELD_DEFINITION = 42;
+    private static final int DIRECTIVE_DEFINITION = 43;
+    private static final int DIRECTIVE_EXTENSION_DEFINITION = 44;
+    private static final int DIRECTIVE_LOCATION = 45;
+
+    private static final OperationDefinition.Operation[] OPERATIONS = OperationDefinition.Operation.values();
+
+    private AstBinaryCodec() {
+    }
+
+    /**
+     * Encodes a document along with its source locations
+     *
+     * @param document the document to encode
+     *
+     * @return the encoded document
+     */
+    public static byte[] encode(Document document) {
+        return encode(document, true);
+    }
+
+    /**
+     * Encodes a document
+     *
+     * @param document               the document to encode
+     * @param includeSourceLocations whether to encode the source locations of the nodes, without which the decoded
+     *                               nodes have null source locations and error locations cannot be reported
+     *
+     * @return the encoded document
+     */
+    public static byte[] encode(Document document, boolean includeSourceLocations) {
+        Encoder encoder = new Encoder(includeSourceLocations);
+        encoder.writeNode(document);
+        return encoder.toByteArray();
+    }
+
+    /**
+     * Decodes a document encoded by {@link #encode(Document)}
+     *
+     * @param bytes the encoded document
+     *
+     * @return the document
+     *
+     * @throws GraphQLException if the bytes are not an encoded document or were encoded with an unsupported version
+     */
+    public static Document decode(byte[] bytes) {
+        try {
+            Decoder decoder = new Decoder(bytes);
+            Node<?> node = decoder.readNode();
+            if (!(node instanceof Document) || decoder.position != bytes.length) {
+                throw new GraphQLException("The bytes are not an encoded document");
+            }
+            return (Document) node;
+        } catch (GraphQLException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // such as a node of the wrong type, a malformed number or a node that rejects its attributes
+            throw new GraphQLException("The bytes are not an encoded document", e);
+        } catch (StackOverflowError e) {
+            // the depth is bounded but a thread with a small stack can still run out of it
+            throw new GraphQLException("The encoded document is nested too deeply to be decoded on this thread", e);
+        }
+    }
+
+    private static class Encoder {
+        private final boolean includeSourceLocations;
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+        private final Output strings = new Output(256);
+        private final Output nodes = new Output(1024);
+        private @Nullable String previousSourceName;
+        private int previousLine;
+
+        Encoder(boolean includeSourceLocations) {
+            this.includeSourceLocations = includeSourceLocations;
+        }
+
+        byte[] toByteArray() {
+            Output header = new Output(16);
+            header.writeBytes(MAGIC, 0, MAGIC.length);
+            header.writeVarInt(VERSION);
+            header.writeVarInt(includeSourceLocations ? FLAG_SOURCE_LOCATIONS : 0);
+            header.writeVarInt(stringIndexes.size());
+            byte[] bytes = new byte[header.size + strings.size + nodes.size];
+            System.arraycopy(header.buffer, 0, bytes, 0, header.size);
+            System.arraycopy(strings.buffer, 0, bytes, header.size, strings.size);
+            System.arraycopy(nodes.buffer, 0, bytes, header.size + strings.size, nodes.size);
+            return bytes;
+        }
+
+        // strings are written as their index in the table plus one, so that zero is null
+        void writeString(@Nullable String string) {
+            if (string == null) {
+                nodes.writeVarInt(0);
+                return;
+            }
+            Integer index = stringIndexes.get(string);
+            if (index == null) {
+                index = stringIndexes.size();
+                stringIndexes.put(string, index);
+                byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+                strings.writeVarInt(utf8.length);
+                strings.writeBytes(utf8, 0, utf8.length);
+            }
+            nodes.writeVarInt(index + 1);
+        }
+
+        void writeBoolean(boolean value) {
+            nodes.writeVarInt(value ? 1 : 0);
+        }
+
+        // the lines are written relative to the previous location and the source name only when it changes, so a
+        // location mostly takes three bytes
+        void writeSourceLocation(@Nullable SourceLocation sourceLocation) {
+            if (!includeSourceLocations) {
+                return;
+            }
+            if (sourceLocation == null) {
+                nodes.writeVarInt(0);
+                return;
+            }
+            String sourceName = sourceLocation.getSourceName();
+            if (Objects.equals(sourceName, previousSourceName)) {
+                nodes.writeVarInt(1);
+            } else {
+                nodes.writeVarInt(2);
+                writeString(sourceName);
+                previousSourceName = sourceName;
+            }
+            nodes.writeVarLong(zigZag((long) sourceLocation.getLine() - previousLine));
+            nodes.writeVarLong(zigZag(sourceLocation.getColumn()));
+            previousLine = sourceLocation.getLine();
+        }
+
+        void writeDescription(@Nullable Description description) {
+            if (description == null) {
+                nodes.writeVarInt(0);
+                return;
+            }
+            nodes.writeVarInt(description.isMultiLine() ? 2 : 1);
+            writeString(description.getContent());
+            writeSourceLocation(description.getSourceLocation());
+        }
+
+        void writeNodes(List<? extends Node> nodeList) {
+            nodes.writeVarInt(nodeList.size());
+            for (Node<?> node : nodeList) {
+                writeNode(node);
+            }
+        }
+
+        void writeTag(int tag, Node<?> node) {
+            nodes.writeVarInt(tag);
+            writeSourceLocation(node.getSourceLocation());
+        }
+
+        void writeNode(@Nullable Node<?> node) {
+            if (node == null) {
+                nodes.writeVarInt(NULL);
+            } else if (node instanceof Field) {
+                Field field = (Field) node;
+                writeTag(FIELD, field);
+                writeString(field.getName());
+                writeString(field.getAlias());
+                writeNodes(field.getArguments());
+                writeNodes(field.getDirectives());
+                writeNode(field.getSelectionSet());
+            } else if (node instanceof SelectionSet) {
+                writeTag(SELECTION_SET, node);
+                writeNodes(((SelectionSet) node).getSelections());
+            } else if (node instanceof Argument) {
+                Argument argument = (Argument) node;
+                writeTag(ARGUMENT, argument);
+                writeString(argument.getName());
+                writeNode(argument.getValue());
+            } else if (node instanceof Value) {
+                writeValue((Value<?>) node);
+            } else if (node instanceof Type) {
+                writeType((Type<?>) node);
+            } else if (node instanceof FragmentSpread) {
+                FragmentSpread fragmentSpread = (FragmentSpread) node;
+                writeTag(FRAGMENT_SPREAD, fragmentSpread);
+                writeString(fragmentSpread.getName());
+                writeNodes(fragmentSpread.getDirectives());
+            } else if (node instanceof InlineFragment) {
+                InlineFragment inlineFragment = (InlineFragment) node;
+                writeTag(INLINE_FRAGMENT, inlineFragment);
+                writeNode(inlineFragment.getTypeCondition());
+                writeNodes(inlineFragment.getDirectives());
+                writeNode(inlineFragment.getSelectionSet());
+            } else if (node instanceof Directive) {
+                Directive directive = (Directive) node;
+                writeTag(DIRECTIVE, directive);
+                writeString(directive.getName());
+                writeNodes(directive.getArguments());
+            } else if (node instanceof ObjectField) {
+                ObjectField objectField = (ObjectField) node;
+                writeTag(OBJECT_FIELD, objectField);
+                writeString(objectField.getName());
+                writeNode(objectField.getValue());
+            } else if (node instanceof VariableDefinition) {
+                VariableDefinition variableDefinition = (VariableDefinition) node;
+                writeTag(VARIABLE_DEFINITION, variableDefinition);
+                writeString(variableDefinition.getName());
+                writeNode(variableDefinition.getType());
+                writeNode(variableDefinition.getDefaultValue());
+                writeNodes(variableDefinition.getDirectives());
+                writeDescription(variableDefinition.getDescription());
+            } else if (node instanceof OperationDefinition) {
+                OperationDefinition operationDefinition = (OperationDefinition) node;
+                writeTag(OPERATION_DEFINITION, operationDefinition);
+                writeString(operationDefinition.getName());
+                nodes.writeVarInt(operationDefinition.getOperation().ordinal());
+                writeNodes(operationDefinition.getVariableDefinitions());
+                writeNodes(operationDefinition.getDirectives());
+                writeNode(operationDefinition.getSelectionSet());
+                writeDescription(operationDefinition.getDescription());
+            } else if (node instanceof FragmentDefinition) {
+                FragmentDefinition fragmentDefinition = (FragmentDefinition) node;
+                writeTag(FRAGMENT_DEFINITION, fragmentDefinition);
+                writeString(fragmentDefinition.getName());
+                writeNode(fragmentDefinition.getTypeCondition());
+                writeNodes(fragmentDefinition.getDirectives());
+                writeNode(fragmentDefinition.getSelectionSet());
+                writeDescription(fragmentDefinition.getDescription());
+            } else if (node instanceof Document) {
+                writeTag(DOCUMENT, node);
+                writeNodes(((Document) node).getDefinitions());
+            } else {
+                writeSdlNode(node);
+            }
+        }
+
+        void writeValue(Value<?> value) {
+            if (value instanceof VariableReference) {
+                writeTag(VARIABLE_REFERENCE, value);
+                writeString(((VariableReference) value).getName());
+            } else if (value instanceof StringValue) {
+                writeTag(STRING_VALUE, value);
+                writeString(((StringValue) value).getValue());
+            } else if (value instanceof IntValue) {
+                BigInteger intValue = ((IntValue) value).getValue();
+                if (intValue.bitLength() < 64) {
+                    writeTag(INT_VALUE, value);
+                    nodes.writeVarLong(zigZag(intValue.longValue()));
+                } else {
+                    writeTag(BIG_INT_VALUE, value);
+                    writeString(intValue.toString());
+                }
+            } else if (value instanceof BooleanValue) {
+                writeTag(BOOLEAN_VALUE, value);
+                writeBoolean(((BooleanValue) value).isValue());
+            } else if (value instanceof EnumValue) {
+                writeTag(ENUM_VALUE, value);
+                writeString(((EnumValue) value).getName());
+            } else if (value instanceof ObjectValue) {
+                writeTag(OBJECT_VALUE, value);
+                writeNodes(((ObjectValue) value).getObjectFields());
+            } else if (value instanceof ArrayValue) {
+                writeTag(ARRAY_VALUE, value);
+                writeNodes(((ArrayValue) value).getValues());
+            } else if (value instanceof FloatValue) {
+                writeTag(FLOAT_VALUE, value);
+                writeString(((FloatValue) value).getValue().toString());
+            } else if (value instanceof NullValue) {
+                writeTag(NULL_VALUE, value);
+            } else {
+                throw unsupported(value);
+            }
+        }
+
+        void writeType(Type<?> type) {
+            if (type instanceof TypeName) {
+                writeTag(TYPE_NAME, type);
+                writeString(((TypeName) type).getName());
+            } else if (type instanceof NonNullType) {
+                writeTag(NON_NULL_TYPE, type);
+                writeNode(((NonNullType) type).getType());
+            } else if (type instanceof ListType) {
+                writeTag(LIST_TYPE, type);
+                writeNode(((ListType) type).getType());
+            } else {
+                throw unsupported(type);
+            }
+        }
+
+        // the extensions are checked before the definitions they extend
+        void writeSdlNode(Node<?> node) {
+            if (node instanceof FieldDefinition) {
+                FieldDefinition fieldDefinition = (FieldDefinition) node;
+                writeTag(FIELD_DEFINITION, fieldDefinition);
+                writeString(fieldDefinition.getName());
+                writeNode(fieldDefinition.getType());
+                writeNodes(fieldDefinition.getInputValueDefinitions());
+                writeNodes(fieldDefinition.getDirectives());
+                writeDescription(fieldDefinition.getDescription());
+            } else if (node instanceof InputValueDefinition) {
+                InputValueDefinition inputValueDefinition = (InputValueDefinition) node;
+                writeTag(INPUT_VALUE_DEFINITION, inputValueDefinition);
+                writeString(inputValueDefinition.getName());
+                writeNode(inputValueDefinition.getType());
+                writeNode(inputValueDefinition.getDefaultValue());
+                writeNodes(inputValueDefinition.getDirectives());
+                writeDescription(inputValueDefinition.getDescription());
+            } else if (node instanceof EnumValueDefinition) {
+                EnumValueDefinition enumValueDefinition = (EnumValueDefinition) node;
+                writeTag(ENUM_VALUE_DEFINITION, enumValueDefinition);
+                writeString(enumValueDefinition.getName());
+                writeNodes(enumValueDefinition.getDirectives());
+                writeDescription(enumValueDefinition.getDescription());
+            } else if (node instanceof ObjectTypeDefinition) {
+                ObjectTypeDefinition definition = (ObjectTypeDefinition) node;
+                writeTag(node instanceof ObjectTypeExtensionDefinition ? OBJECT_TYPE_EXTENSION_DEFINITION : OBJECT_TYPE_DEFINITION, definition);
+                writeString(definition.getName());
+                writeNodes(definition.getImplements());
+                writeNodes(definition.getDirectives());
+                writeNodes(definition.getFieldDefinitions());
+                writeDescription(definition.getDescription());
+            } else if (node instanceof InterfaceTypeDefinition) {
+                InterfaceTypeDefinition definition = (InterfaceTypeDefinition) node;
+                writeTag(node instanceof InterfaceTypeExtensionDefinition ? INTERFACE_TYPE_EXTENSION_DEFINITION : INTERFACE_TYPE_DEFINITION, definition);
+                writeString(definition.getName());
+                writeNodes(definition.getImplements());
+                writeNodes(definition.getFieldDefinitions());
+                writeNodes(definition.getDirectives());
+                writeDescription(definition.getDescription());
+            } else if (node instanceof InputObjectTypeDefinition) {
+                InputObjectTypeDefinition definition = (InputObjectTypeDefinition) node;
+                writeTag(node instanceof InputObjectTypeExtensionDefinition ? INPUT_OBJECT_TYPE_EXTENSION_DEFINITION : INPUT_OBJECT_TYPE_DEFINITION, definition);
+                writeString(definition.getName());
+                writeNodes(definition.getDirectives());
+                writeNodes(definition.getInputValueDefinitions());
+                writeDescription(definition.getDescription());
+            } else if (node instanceof EnumTypeDefinition) {
+                EnumTypeDefinition definition = (EnumTypeDefinition) node;
+                writeTag(node instanceof EnumTypeExtensionDefinition ? ENUM_TYPE_EXTENSION_DEFINITION : ENUM_TYPE_DEFINITION, definition);
+                writeString(definition.getName());
+                writeNodes(definition.getEnumValueDefinitions());
+                writeNodes(definition.getDirectives());
+                writeDescription(definition.getDescription());
+            } else if (node instanceof UnionTypeDefinition) {
+                UnionTypeDefinition definition = (UnionTypeDefinition) node;
+                writeTag(node instanceof UnionTypeExtensionDefinition ? UNION_TYPE_EXTENSION_DEFINITION : UNION_TYPE_DEFINITION, definition);
+                writeString(definition.getName());
+                writeNodes(definition.getDirectives());
+                writeNodes(definition.getMemberTypes());
+                writeDescription(definition.getDescription());
+            } else if (node instanceof ScalarTypeDefinition) {
+                ScalarTypeDefinition definition = (ScalarTypeDefinition) node;
+                writeTag(node instanceof ScalarTypeExtensionDefinition ? SCALAR_TYPE_EXTENSION_DEFINITION : SCALAR_TYPE_DEFINITION, definition);
+                writeString(definition.getName());
+                writeNodes(definition.getDirectives());
+                writeDescription(definition.getDescription());
+            } else if (node instanceof SchemaExtensionDefinition) {
+                SchemaExtensionDefinition definition = (SchemaExtensionDefinition) node;
+                writeTag(SCHEMA_EXTENSION_DEFINITION, definition);
+                writeNodes(definition.getDirectives());
+                writeNodes(definition.getOperationTypeDefinitions());
+            } else if (node instanceof SchemaDefinition) {
+                SchemaDefinition definition = (SchemaDefinition) node;
+                writeTag(SCHEMA_DEFINITION, definition);
+                writeNodes(definition.getDirectives());
+                writeNodes(definition.getOperationTypeDefinitions());
+                writeDescription(definition.getDescription());
+            } else if (node instanceof OperationTypeDefinition) {
+                OperationTypeDefinition definition = (OperationTypeDefinition) node;
+                writeTag(OPERATION_TYPE_DEFINITION, definition);
+                writeString(definition.getName());
+                writeNode(definition.getTypeName());
+            } else if (node instanceof DirectiveExtensionDefinition) {
+                DirectiveExtensionDefinition definition = (DirectiveExtensionDefinition) node;
+                writeTag(DIRECTIVE_EXTENSION_DEFINITION, definition);
+                writeString(definition.getName());
+                writeNodes(definition.getDirectives());
+            } else if (node instanceof DirectiveDefinition) {
+                DirectiveDefinition definition = (DirectiveDefinition) node;
+                writeTag(DIRECTIVE_DEFINITION, definition);
+                writeString(definition.getName());
+                writeBoolean(definition.isRepeatable());
+                writeNodes(definition.getInputValueDefinitions());
+                writeNodes(definition.getDirectives());
+                writeNodes(definition.getDirectiveLocations());
+                writeDescription(definition.getDescription());
+            } else if (node instanceof DirectiveLocation) {
+                writeTag(DIRECTIVE_LOCATION, node);
+                writeString(((DirectiveLocation) node).getName());
+            } else {
+                throw unsupported(node);
+            }
+        }
+
+        private static GraphQLException unsupported(Node<?> node) {
+            return new GraphQLException("The node " + node.getClass().getName() + " cannot be encoded");
+        }
+    }
+
+    private static class Decoder {
+        private final byte[] bytes;
+        private final boolean includesSourceLocations;
+        private final String[] strings;
+        private int position;
+        private @Nullable String previousSourceName;
+        private int previousLine;
+        private int depth;
+
+        Decoder(byte[] bytes) {
+            this.bytes = bytes;
+            if (bytes.length < MAGIC.length) {
+                throw new GraphQLException("The bytes are not an encoded document");
+            }
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (bytes[i] != MAGIC[i]) {
+                    throw new GraphQLException("The bytes are not an encoded document");
+                }
+            }
+            this.position = MAGIC.length;
+            int version = readVarInt();
+            if (version != VERSION) {
+                throw new GraphQLException("The document was encoded with version " + version + " but only version " + VERSION + " is supported");
+            }
+            this.includesSourceLocations = (readVarInt() & FLAG_SOURCE_LOCATIONS) != 0;
+            // each string takes at least the byte of its length
+            int stringCount = readCount();
+            this.strings = new String[stringCount];
+            for (int i = 0; i < stringCount; i++) {
+                int length = readCount();
+                // the names in a document are interned so the table might as well be
+                strings[i] = Interning.intern(new String(bytes, position, length, StandardCharsets.UTF_8));
+                position += length;
+            }
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte b = readByte();
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new GraphQLException("The bytes are not an encoded document");
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new GraphQLException("The bytes are not an encoded document");
+        }
+
+        private byte readByte() {
+            if (position >= bytes.length) {
+                throw new GraphQLException("The bytes are not an encoded document, they end too soon");
+            }
+            return bytes[position++];
+        }
+
+        /*
+         * Reads the number of things that follow, each of which takes at least one byte, so a count can never be
+         * more than the bytes that remain
+         */
+        int readCount() {
+            int count = readVarInt();
+            if (count < 0 || count > bytes.length - position) {
+                throw new GraphQLException("The bytes are not an encoded document, the count " + count + " is more than the bytes that remain");
+            }
+            return count;
+        }
+
+        @Nullable String readNullableString() {
+            int index = readVarInt();
+            if (index < 0 || index > strings.length) {
+                throw new GraphQLException("The bytes are not an encoded document, the string " + index + " is unknown");
+            }
+            return index == 0 ? null : strings[index - 1];
+        }
+
+        String readString() {
+            String string = readNullableString();
+            if (string == null) {
+                throw new GraphQLException("The bytes are not an encoded document");
+            }
+            return string;
+        }
+
+        boolean readBoolean() {
+            return readVarInt() != 0;
+        }
+
+        @Nullable SourceLocation readSourceLocation() {
+            if (!includesSourceLocations) {
+                return null;
+            }
+            int kind = readVarInt();
+            if (kind == 0) {
+                return null;
+            }
+            if (kind == 2) {
+                previousSourceName = readNullableString();
+            }
+            int line = (int) (previousLine + unZigZag(readVarLong()));
+            int column = (int) unZigZag(readVarLong());
+            previousLine = line;
+            return new SourceLocation(line, column, previousSourceName);
+        }
+
+        @Nullable Description readDescription() {
+            int kind = readVarInt();
+            if (kind == 0) {
+                return null;
+            }
+            String content = readString();
+            return new Description(content, readSourceLocation(), kind == 2);
+        }
+
+        <T extends Node> ImmutableList<T> readNodes() {
+            int size = readCount();
+            if (size == 0) {
+                return ImmutableKit.emptyList();
+            }
+            ImmutableList.Builder<T> nodes = ImmutableList.builderWithExpectedSize(size);
+            for (int i = 0; i < size; i++) {
+                nodes.add(readRequiredNode());
+            }
+            return nodes.build();
+        }
+
+        @SuppressWarnings("unchecked")
+        <T extends Node> T readRequiredNode() {
+            Node<?> node = readNode();
+            if (node == null) {
+                throw new GraphQLException("The bytes are not an encoded document");
+            }
+            return (T) node;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T extends Node> @Nullable T readNode() {
+            int tag = readVarInt();
+            if (tag == NULL) {
+                return null;
+            }
+            // the nodes are read recursively, so the depth is bounded rather than overflowing the stack
+            if (++depth > MAX_NODE_DEPTH) {
+                throw new GraphQLException("The bytes are not an encoded document, the nodes are nested more than " + MAX_NODE_DEPTH + " deep");
+            }
+            SourceLocation sourceLocation = readSourceLocation();
+            Node<?> node = readNode(tag, sourceLocation);
+            depth--;
+            return (T) node;
+        }
+
+        private Node<?> readNode(int tag, @Nullable SourceLocation sourceLocation) {
+            List<Comment> comments = ImmutableKit.emptyList();
+            IgnoredChars ignoredChars = IgnoredChars.EMPTY;
+            Map<String, String> additionalData = ImmutableKit.emptyMap();
+            switch (tag) {
+                case DOCUMENT:
+                    return new Document(readNodes(), sourceLocation, comments, ignoredChars, additionalData);
+                case OPERATION_DEFINITION: {
+                    String name = readNullableString();
+                    OperationDefinition.Operation operation = OPERATIONS[readVarInt()];
+                    List<VariableDefinition> variableDefinitions = readNodes();
+                    List<Directive> directives = readNodes();
+                    SelectionSet selectionSet = readRequiredNode();
+                    Description description = readDescription();
+                    return new OperationDefinition(name, operation, variableDefinitions, directives, selectionSet, description, sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case FRAGMENT_DEFINITION: {
+                    String name = readString();
+                    TypeName typeCondition = readRequiredNode();
+                    List<Directive> directives = readNodes();
+                    SelectionSet selectionSet = readRequiredNode();
+                    Description description = readDescription();
+                    return new FragmentDefinition(name, typeCondition, directives, selectionSet, description, sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case SELECTION_SET:
+                    return new SelectionSet(readNodes(), sourceLocation, comments, ignoredChars, additionalData);
+                case FIELD: {
+                    String name = readString();
+                    String alias = readNullableString();
+                    List<Argument> arguments = readNodes();
+                    List<Directive> directives = readNodes();
+                    SelectionSet selectionSet = readNode();
+                    return new Field(name, alias, arguments, directives, selectionSet, sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case FRAGMENT_SPREAD: {
+                    String name = readString();
+                    return new FragmentSpread(name, readNodes(), sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case INLINE_FRAGMENT: {
+                    TypeName typeCondition = readNode();
+                    List<Directive> directives = readNodes();
+                    SelectionSet selectionSet = readRequiredNode();
+                    return new InlineFragment(typeCondition, directives, selectionSet, sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case ARGUMENT: {
+                    String name = readString();
+                    return new Argument(name, readRequiredNode(), sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case DIRECTIVE: {
+                    String name = readString();
+                    return new Directive(name, readNodes(), sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case VARIABLE_DEFINITION: {
+                    String name = readString();
+                    Type<?> type = readRequiredNode();
+                    Value<?> defaultValue = readNode();
+                    List<Directive> directives = readNodes();
+                    Description description = readDescription();
+                    return new VariableDefinition(name, type, defaultValue, directives, description, sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case VARIABLE_REFERENCE:
+                    return new VariableReference(readString(), sourceLocation, comments, ignoredChars, additionalData);
+                case TYPE_NAME:
+                    return new TypeName(readString(), sourceLocation, comments, ignoredChars, additionalData);
+                case LIST_TYPE:
+                    return new ListType(readRequiredNode(), sourceLocation, comments, ignoredChars, additionalData);
+                case NON_NULL_TYPE:
+                    return new NonNullType(readRequiredNode(), sourceLocation, comments, ignoredChars, additionalData);
+                case INT_VALUE:
+                    return new IntValue(BigInteger.valueOf(unZigZag(readVarLong())), sourceLocation, comments, ignoredChars, additionalData);
+                case BIG_INT_VALUE:
+                    return new IntValue(new BigInteger(readString()), sourceLocation, comments, ignoredChars, additionalData);
+                case FLOAT_VALUE:
+                    return new FloatValue(new BigDecimal(readString()), sourceLocation, comments, ignoredChars, additionalData);
+                case STRING_VALUE:
+                    return new StringValue(readNullableString(), sourceLocation, comments, ignoredChars, additionalData);
+                case BOOLEAN_VALUE:
+                    return new BooleanValue(readBoolean(), sourceLocation, comments, ignoredChars, additionalData);
+                case NULL_VALUE:
+                    return new NullValue(sourceLocation, comments, ignoredChars, additionalData);
+                case ENUM_VALUE:
+                    return new EnumValue(readString(), sourceLocation, comments, ignoredChars, additionalData);
+                case ARRAY_VALUE:
+                    return new ArrayValue(readNodes(), sourceLocation, comments, ignoredChars, additionalData);
+                case OBJECT_VALUE:
+                    return new ObjectValue(readNodes(), sourceLocation, comments, ignoredChars, additionalData);
+                case OBJECT_FIELD: {
+                    String name = readString();
+                    return new ObjectField(name, readRequiredNode(), sourceLocation, comments, ignoredChars, additionalData);
+                }
+                default:
+                    return readSdlNode(tag, sourceLocation, comments, ignoredChars, additionalData);
+            }
+        }
+
+        private Node<?> readSdlNode(int tag, @Nullable SourceLocation sourceLocation, List<Comment> comments, IgnoredChars ignoredChars, Map<String, String> additionalData) {
+            switch (tag) {
+                case FIELD_DEFINITION: {
+                    String name = readString();
+                    Type<?> type = readRequiredNode();
+                    List<InputValueDefinition> inputValueDefinitions = readNodes();
+                    List<Directive> directives = readNodes();
+                    Description description = readDescription();
+                    return new FieldDefinition(name, type, inputValueDefinitions, directives, description, sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case INPUT_VALUE_DEFINITION: {
+                    String name = readString();
+                    Type<?> type = readRequiredNode();
+                    Value<?> defaultValue = readNode();
+                    List<Directive> directives = readNodes();
+                    Description description = readDescription();
+                    return new InputValueDefinition(name, type, defaultValue, directives, description, sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case ENUM_VALUE_DEFINITION: {
+                    String name = readString();
+                    List<Directive> directives = readNodes();
+                    Description description = readDescription();
+                    return new EnumValueDefinition(name, directives, description, sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case OBJECT_TYPE_DEFINITION:
+                case OBJECT_TYPE_EXTENSION_DEFINITION: {
+                    String name = readString();
+                    List<Type> implementz = readNodes();
+                    List<Directive> directives = readNodes();
+                    List<FieldDefinition> fieldDefinitions = readNodes();
+                    Description description = readDescription();
+                    if (tag == OBJECT_TYPE_EXTENSION_DEFINITION) {
+                        return new ObjectTypeExtensionDefinition(name, implementz, directives, fieldDefinitions, description, sourceLocation, comments, ignoredChars, additionalData);
+                    }
+                    return new ObjectTypeDefinition(name, implementz, directives, fieldDefinitions, description, sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case INTERFACE_TYPE_DEFINITION:
+                case INTERFACE_TYPE_EXTENSION_DEFINITION: {
+                    String name = readString();
+                    List<Type> implementz = readNodes();
+                    List<FieldDefinition> fieldDefinitions = readNodes();
+                    List<Directive> directives = readNodes();
+                    Description description = readDescription();
+                    if (tag == INTERFACE_TYPE_EXTENSION_DEFINITION) {
+                        return new InterfaceTypeExtensionDefinition(name, implementz, fieldDefinitions, directives, description, sourceLocation, comments, ignoredChars, additionalData);
+                    }
+                    return new InterfaceTypeDefinition(name, implementz, fieldDefinitions, directives, description, sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case INPUT_OBJECT_TYPE_DEFINITION:
+                case INPUT_OBJECT_TYPE_EXTENSION_DEFINITION: {
+                    String name = readString();
+                    List<Directive> directives = readNodes();
+                    List<InputValueDefinition> inputValueDefinitions = readNodes();
+                    Description description = readDescription();
+                    if (tag == INPUT_OBJECT_TYPE_EXTENSION_DEFINITION) {
+                        return new InputObjectTypeExtensionDefinition(name, directives, inputValueDefinitions, description, sourceLocation, comments, ignoredChars, additionalData);
+                    }
+                    return new InputObjectTypeDefinition(name, directives, inputValueDefinitions, description, sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case ENUM_TYPE_DEFINITION:
+                case ENUM_TYPE_EXTENSION_DEFINITION: {
+                    String name = readString();
+                    List<EnumValueDefinition> enumValueDefinitions = readNodes();
+                    List<Directive> directives = readNodes();
+                    Description description = readDescription();
+                    if (tag == ENUM_TYPE_EXTENSION_DEFINITION) {
+                        return new EnumTypeExtensionDefinition(name, enumValueDefinitions, directives, description, sourceLocation, comments, ignoredChars, additionalData);
+                    }
+                    return new EnumTypeDefinition(name, enumValueDefinitions, directives, description, sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case UNION_TYPE_DEFINITION:
+                case UNION_TYPE_EXTENSION_DEFINITION: {
+                    String name = readString();
+                    List<Directive> directives = readNodes();
+                    List<Type> memberTypes = readNodes();
+                    Description description = readDescription();
+                    if (tag == UNION_TYPE_EXTENSION_DEFINITION) {
+                        return new UnionTypeExtensionDefinition(name, directives, memberTypes, description, sourceLocation, comments, ignoredChars, additionalData);
+                    }
+                    return new UnionTypeDefinition(name, directives, memberTypes, description, sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case SCALAR_TYPE_DEFINITION:
+                case SCALAR_TYPE_EXTENSION_DEFINITION: {
+                    String name = readString();
+                    List<Directive> directives = readNodes();
+                    Description description = readDescription();
+                    if (tag == SCALAR_TYPE_EXTENSION_DEFINITION) {
+                        return new ScalarTypeExtensionDefinition(name, directives, description, sourceLocation, comments, ignoredChars, additionalData);
+                    }
+                    return new ScalarTypeDefinition(name, directives, description, sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case SCHEMA_EXTENSION_DEFINITION: {
+                    List<Directive> directives = readNodes();
+                    List<OperationTypeDefinition> operationTypeDefinitions = readNodes();
+                    return new SchemaExtensionDefinition(directives, operationTypeDefinitions, sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case SCHEMA_DEFINITION: {
+                    List<Directive> directives = readNodes();
+                    List<OperationTypeDefinition> operationTypeDefinitions = readNodes();
+                    Description description = readDescription();
+                    return new SchemaDefinition(directives, operationTypeDefinitions, sourceLocation, comments, ignoredChars, additionalData, description);
+                }
+                case OPERATION_TYPE_DEFINITION: {
+                    String name = readString();
+                    return new OperationTypeDefinition(name, readRequiredNode(), sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case DIRECTIVE_EXTENSION_DEFINITION: {
+                    String name = readString();
+                    return new DirectiveExtensionDefinition(name, readNodes(), sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case DIRECTIVE_DEFINITION: {
+                    String name = readString();
+                    boolean repeatable = readBoolean();
+                    List<InputValueDefinition> inputValueDefinitions = readNodes();
+                    List<Directive> directives = readNodes();
+                    List<DirectiveLocation> directiveLocations = readNodes();
+                    Description description = readDescription();
+                    return new DirectiveDefinition(name, repeatable, description, inputValueDefinitions, directives, directiveLocations, sourceLocation, comments, ignoredChars, additionalData);
+                }
+                case DIRECTIVE_LOCATION:
+                    return new DirectiveLocation(readString(), sourceLocation, comments, ignoredChars, additionalData);
+                default:
+                    throw new GraphQLException("The bytes are not an encoded document, the node tag " + tag + " is unknown");
+            }
+        }
+    }
+
+    private static class Output {
+        private byte[] buffer;
+        private int size;
+
+        Output(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+
+        void writeBytes(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+        }
+
+        void writeVarInt(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
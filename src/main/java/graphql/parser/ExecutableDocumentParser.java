@@ -0,0 +1,1035 @@
+package graphql.parser;
+
+import com.google.common.collect.ImmutableList;
+import graphql.Internal;
+import graphql.collect.ImmutableKit;
+import graphql.i18n.I18n;
+import graphql.language.Argument;
+import graphql.language.ArrayValue;
+import graphql.language.BooleanValue;
+import graphql.language.Comment;
+import graphql.language.Definition;
+import graphql.language.Description;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.EnumValue;
+import graphql.language.Field;
+import graphql.language.FloatValue;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.IntValue;
+import graphql.language.ListType;
+import graphql.language.NodeBuilder;
+import graphql.language.NonNullType;
+import graphql.language.NullValue;
+import graphql.language.ObjectField;
+import graphql.language.ObjectValue;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.SourceLocation;
+import graphql.language.StringValue;
+import graphql.language.Type;
+import graphql.language.TypeName;
+import graphql.language.Value;
+import graphql.language.VariableDefinition;
+import graphql.language.VariableReference;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+import static graphql.parser.StringValueParsing.parseSingleQuotedString;
+import static graphql.parser.StringValueParsing.parseTripleQuotedString;
+
+/**
+ * A hand written recursive descent parser for executable documents, that is documents made up of operations and
+ * fragments, which builds the {@link graphql.language} AST directly from the document text.
+ * <p>
+ * It produces exactly the same AST as the ANTLR based parsing in {@link Parser} does, including source locations
+ * and comments, and it applies the same {@link ParserOptions} token and rule depth limits.  However it makes no attempt
+ * to report errors.  If the document contains anything it does not handle, such as SDL definitions, invalid syntax
+ * or input that breaks the parser limits, then it gives up and returns null so that ANTLR can parse the
+ * document and produce the error.
+ */
+@Internal
+@NullMarked
+class ExecutableDocumentParser {
+
+    private static final int EOF = 0;
+    private static final int NAME = 1;
+    private static final int INT = 2;
+    private static final int FLOAT = 3;
+    private static final int STRING = 4;
+    private static final int BLOCK_STRING = 5;
+    private static final int BANG = 6;
+    private static final int DOLLAR = 7;
+    private static final int LPAREN = 8;
+    private static final int RPAREN = 9;
+    private static final int SPREAD = 10;
+    private static final int COLON = 11;
+    private static final int EQUALS = 12;
+    private static final int AT = 13;
+    private static final int LBRACKET = 14;
+    private static final int RBRACKET = 15;
+    private static final int LBRACE = 16;
+    private static final int RBRACE = 17;
+
+    // the grammar treats these as ignored chars too
+    private static final char BYTE_ORDER_MARK = (char) 0xFEFF;
+    private static final char LINE_SEPARATOR = (char) 0x2028;
+    private static final char PARAGRAPH_SEPARATOR = (char) 0x2029;
+
+    /**
+     * Thrown to abandon the parse - it has no stack trace since it is only ever caught by this class
+     */
+    private static final RuntimeException BAIL = new RuntimeException("bail", null, false, false) {
+    };
+
+    private final String text;
+    private final int length;
+    private final MultiSourceReader multiSourceReader;
+    private final I18n i18n;
+    private final boolean captureSourceLocation;
+    private final boolean captureLineComments;
+    private final int maxTokens;
+    private final int maxWhitespaceTokens;
+    private final int maxRuleDepth;
+
+    // the lexer state
+    private int pos;
+    private int line = 1;
+    private int column;
+    private int tokenCount;
+    private int significantTokens;
+    private int commentTokens;
+    private int whitespaceTokens;
+    private boolean reachedEof;
+
+    // the tokens lexed so far, in parallel arrays
+    private int[] tokenTypes = new int[64];
+    private int[] tokenStarts = new int[64];
+    private int[] tokenEnds = new int[64];
+    private int[] tokenLines = new int[64];
+    private int[] tokenColumns = new int[64];
+    // the range of comments that precede each token
+    private int[] tokenCommentStarts = new int[64];
+
+    // the comments lexed so far, which are only kept if we capture comments
+    private int commentCount;
+    private int[] commentStarts = new int[0];
+    private int[] commentEnds = new int[0];
+    private int[] commentLines = new int[0];
+    private int[] commentColumns = new int[0];
+
+    // the parser state
+    private int current;
+
+    private int lastOverallLine = -1;
+    private MultiSourceReader.@Nullable SourceAndLine lastSourceAndLine;
+
+    private ExecutableDocumentParser(String text, MultiSourceReader multiSourceReader, ParserOptions parserOptions, I18n i18n) {
+        this.text = text;
+        this.length = text.length();
+        this.multiSourceReader = multiSourceReader;
+        this.i18n = i18n;
+        this.captureSourceLocation = parserOptions.isCaptureSourceLocation();
+        this.captureLineComments = parserOptions.isCaptureLineComments();
+        this.maxTokens = parserOptions.getMaxTokens();
+        this.maxWhitespaceTokens = parserOptions.getMaxWhitespaceTokens();
+        this.maxRuleDepth = parserOptions.getMaxRuleDepth();
+    }
+
+    /**
+     * @param parserOptions the parser options in play
+     *
+     * @return true if documents parsed with these options can be parsed by this class
+     */
+    static boolean isSupported(ParserOptions parserOptions) {
+        // ignored chars and parsing listeners are rarely used and are very tied to the ANTLR tokens
+        return !parserOptions.isCaptureIgnoredChars() && parserOptions.getParsingListener() == ParsingListener.NOOP;
+    }
+
+    /**
+     * Parses the document text
+     *
+     * @param text              the text of the document
+     * @param multiSourceReader the reader the text was read from, which is used to work out source names and lines
+     * @param parserOptions     the parser options in play
+     * @param i18n              the i18n to use for string value parsing
+     *
+     * @return the document or null if the text could not be parsed by this class
+     */
+    static @Nullable Document parse(String text, MultiSourceReader multiSourceReader, ParserOptions parserOptions, I18n i18n) {
+        ExecutableDocumentParser parser = new ExecutableDocumentParser(text, multiSourceReader, parserOptions, i18n);
+        try {
+            return parser.parseDocument();
+        } catch (RuntimeException e) {
+            // this is either a bail out or an error from building the AST, and ANTLR is the arbiter of both
+            return null;
+        }
+    }
+
+    //
+    // parsing - each method mirrors a rule in the ANTLR grammar and is given the depth that ANTLR would be at
+    // when entering that rule so that we apply the same maxRuleDepth limit
+    //
+
+    private Document parseDocument() {
+        enterRule(1);
+        int start = current;
+        if (type(start) == EOF) {
+            throw BAIL;
+        }
+        ImmutableList.Builder<Definition> definitions = ImmutableList.builder();
+        while (type(current) != EOF) {
+            definitions.add(parseDefinition(2));
+        }
+        Document.Builder document = Document.newDocument();
+        addCommonData(document, start);
+        document.definitions(definitions.build());
+        return document.build();
+    }
+
+    private Definition parseDefinition(int depth) {
+        enterRule(depth);
+        int keyword = current;
+        if (type(keyword) == LBRACE) {
+            return parseOperationDefinition(depth + 1);
+        }
+        if (isString(keyword)) {
+            keyword++;
+        }
+        if (type(keyword) == NAME) {
+            if (isOperationType(keyword)) {
+                return parseOperationDefinition(depth + 1);
+            }
+            if (is(keyword, "fragment")) {
+                return parseFragmentDefinition(depth + 1);
+            }
+        }
+        // type system definitions are left to ANTLR
+        throw BAIL;
+    }
+
+    private OperationDefinition parseOperationDefinition(int depth) {
+        enterRule(depth);
+        int start = current;
+        OperationDefinition.Builder operationDefinition = OperationDefinition.newOperationDefinition();
+        addCommonData(operationDefinition, start);
+        if (type(start) == LBRACE) {
+            operationDefinition.operation(OperationDefinition.Operation.QUERY);
+            operationDefinition.variableDefinitions(ImmutableKit.emptyList());
+            operationDefinition.selectionSet(parseSelectionSet(depth + 1));
+            operationDefinition.directives(ImmutableKit.emptyList());
+            return operationDefinition.build();
+        }
+        operationDefinition.description(parseOptionalDescription(depth + 1));
+        enterRule(depth + 1);
+        operationDefinition.operation(parseOperationType(current++));
+        if (type(current) == NAME) {
+            operationDefinition.name(parseName(depth + 1));
+        }
+        operationDefinition.variableDefinitions(type(current) == LPAREN ? parseVariableDefinitions(depth + 1) : ImmutableKit.emptyList());
+        operationDefinition.directives(parseOptionalDirectives(depth + 1));
+        operationDefinition.selectionSet(parseSelectionSet(depth + 1));
+        return operationDefinition.build();
+    }
+
+    private OperationDefinition.Operation parseOperationType(int token) {
+        if (is(token, "query")) {
+            return OperationDefinition.Operation.QUERY;
+        }
+        if (is(token, "mutation")) {
+            return OperationDefinition.Operation.MUTATION;
+        }
+        if (is(token, "subscription")) {
+            return OperationDefinition.Operation.SUBSCRIPTION;
+        }
+        throw BAIL;
+    }
+
+    private List<VariableDefinition> parseVariableDefinitions(int depth) {
+        enterRule(depth);
+        expect(LPAREN);
+        ImmutableList.Builder<VariableDefinition> variableDefinitions = ImmutableList.builder();
+        do {
+            variableDefinitions.add(parseVariableDefinition(depth + 1));
+        } while (type(current) != RPAREN);
+        current++;
+        return variableDefinitions.build();
+    }
+
+    private VariableDefinition parseVariableDefinition(int depth) {
+        enterRule(depth);
+        int start = current;
+        VariableDefinition.Builder variableDefinition = VariableDefinition.newVariableDefinition();
+        addCommonData(variableDefinition, start);
+        variableDefinition.description(parseOptionalDescription(depth + 1));
+        enterRule(depth + 1);
+        expect(DOLLAR);
+        variableDefinition.name(parseName(depth + 2));
+        expect(COLON);
+        variableDefinition.type(parseType(depth + 1));
+        if (type(current) == EQUALS) {
+            enterRule(depth + 1);
+            current++;
+            variableDefinition.defaultValue(parseValue(depth + 2, true));
+        }
+        variableDefinition.directives(parseOptionalDirectives(depth + 1));
+        return variableDefinition.build();
+    }
+
+    private FragmentDefinition parseFragmentDefinition(int depth) {
+        enterRule(depth);
+        int start = current;
+        FragmentDefinition.Builder fragmentDefinition = FragmentDefinition.newFragmentDefinition();
+        addCommonData(fragmentDefinition, start);
+        fragmentDefinition.description(parseOptionalDescription(depth + 1));
+        // the fragment keyword has already been checked
+        current++;
+        fragmentDefinition.name(parseFragmentName(depth + 1));
+        enterRule(depth + 1);
+        expectOn();
+        enterRule(depth + 2);
+        fragmentDefinition.typeCondition(TypeName.newTypeName().name(parseName(depth + 3)).build());
+        fragmentDefinition.directives(parseOptionalDirectives(depth + 1));
+        fragmentDefinition.selectionSet(parseSelectionSet(depth + 1));
+        return fragmentDefinition.build();
+    }
+
+    private SelectionSet parseSelectionSet(int depth) {
+        enterRule(depth);
+        int start = current;
+        expect(LBRACE);
+        ImmutableList.Builder<Selection> selections = ImmutableList.builder();
+        do {
+            selections.add(parseSelection(depth + 1));
+        } while (type(current) != RBRACE);
+        current++;
+        SelectionSet.Builder selectionSet = SelectionSet.newSelectionSet();
+        addCommonData(selectionSet, start);
+        selectionSet.selections(selections.build());
+        return selectionSet.build();
+    }
+
+    private Selection<?> parseSelection(int depth) {
+        enterRule(depth);
+        int tokenType = type(current);
+        if (tokenType == NAME) {
+            return parseField(depth + 1);
+        }
+        if (tokenType != SPREAD) {
+            throw BAIL;
+        }
+        int next = current + 1;
+        int nextType = type(next);
+        if (nextType == NAME && !is(next, "on")) {
+            return parseFragmentSpread(depth + 1);
+        }
+        if (nextType == NAME || nextType == AT || nextType == LBRACE) {
+            return parseInlineFragment(depth + 1);
+        }
+        throw BAIL;
+    }
+
+    private Field parseField(int depth) {
+        enterRule(depth);
+        int start = current;
+        Field.Builder field = Field.newField();
+        addCommonData(field, start);
+        if (type(current + 1) == COLON) {
+            enterRule(depth + 1);
+            field.alias(parseName(depth + 2));
+            current++;
+        }
+        field.name(parseName(depth + 1));
+        field.arguments(type(current) == LPAREN ? parseArguments(depth + 1) : ImmutableKit.emptyList());
+        field.directives(parseOptionalDirectives(depth + 1));
+        if (type(current) == LBRACE) {
+            field.selectionSet(parseSelectionSet(depth + 1));
+        }
+        return field.build();
+    }
+
+    private FragmentSpread parseFragmentSpread(int depth) {
+        enterRule(depth);
+        int start = current;
+        current++;
+        FragmentSpread.Builder fragmentSpread = FragmentSpread.newFragmentSpread().name(parseFragmentName(depth + 1));
+        addCommonData(fragmentSpread, start);
+        fragmentSpread.directives(parseOptionalDirectives(depth + 1));
+        return fragmentSpread.build();
+    }
+
+    private InlineFragment parseInlineFragment(int depth) {
+        enterRule(depth);
+        int start = current;
+        current++;
+        InlineFragment.Builder inlineFragment = InlineFragment.newInlineFragment();
+        addCommonData(inlineFragment, start);
+        if (type(current) == NAME) {
+            enterRule(depth + 1);
+            expectOn();
+            inlineFragment.typeCondition(parseTypeName(depth + 2));
+        }
+        inlineFragment.directives(parseOptionalDirectives(depth + 1));
+        inlineFragment.selectionSet(parseSelectionSet(depth + 1));
+        return inlineFragment.build();
+    }
+
+    private List<Directive> parseOptionalDirectives(int depth) {
+        if (type(current) != AT) {
+            return ImmutableKit.emptyList();
+        }
+        enterRule(depth);
+        ImmutableList.Builder<Directive> directives = ImmutableList.builder();
+        do {
+            directives.add(parseDirective(depth + 1));
+        } while (type(current) == AT);
+        return directives.build();
+    }
+
+    private Directive parseDirective(int depth) {
+        enterRule(depth);
+        int start = current;
+        current++;
+        Directive.Builder directive = Directive.newDirective();
+        directive.name(parseName(depth + 1));
+        addCommonData(directive, start);
+        directive.arguments(type(current) == LPAREN ? parseArguments(depth + 1) : ImmutableKit.emptyList());
+        return directive.build();
+    }
+
+    private List<Argument> parseArguments(int depth) {
+        enterRule(depth);
+        expect(LPAREN);
+        ImmutableList.Builder<Argument> arguments = ImmutableList.builder();
+        do {
+            arguments.add(parseArgument(depth + 1));
+        } while (type(current) != RPAREN);
+        current++;
+        return arguments.build();
+    }
+
+    private Argument parseArgument(int depth) {
+        enterRule(depth);
+        int start = current;
+        Argument.Builder argument = Argument.newArgument();
+        addCommonData(argument, start);
+        argument.name(parseName(depth + 1));
+        expect(COLON);
+        argument.value(parseValue(depth + 1, false));
+        return argument.build();
+    }
+
+    private Type<?> parseType(int depth) {
+        enterRule(depth);
+        int start = current;
+        // we assume the deeper non null type rule applies, which at worst makes us a little more conservative than ANTLR
+        Type<?> type = type(start) == LBRACKET ? parseListType(depth + 2) : parseTypeName(depth + 2);
+        if (type(current) != BANG) {
+            return type;
+        }
+        current++;
+        NonNullType.Builder nonNullType = NonNullType.newNonNullType();
+        addCommonData(nonNullType, start);
+        nonNullType.type(type);
+        return nonNullType.build();
+    }
+
+    private ListType parseListType(int depth) {
+        enterRule(depth);
+        int start = current;
+        expect(LBRACKET);
+        ListType.Builder listType = ListType.newListType();
+        addCommonData(listType, start);
+        listType.type(parseType(depth + 1));
+        expect(RBRACKET);
+        return listType.build();
+    }
+
+    private TypeName parseTypeName(int depth) {
+        enterRule(depth);
+        int start = current;
+        TypeName.Builder typeName = TypeName.newTypeName();
+        typeName.name(parseName(depth + 1));
+        addCommonData(typeName, start);
+        return typeName.build();
+    }
+
+    private Value<?> parseValue(int depth, boolean constant) {
+        enterRule(depth);
+        int start = current;
+        switch (type(start)) {
+            case DOLLAR: {
+                if (constant) {
+                    throw BAIL;
+                }
+                enterRule(depth + 1);
+                current++;
+                VariableReference.Builder variableReference = VariableReference.newVariableReference().name(parseName(depth + 2));
+                addCommonData(variableReference, start);
+                return variableReference.build();
+            }
+            case INT: {
+                current++;
+                IntValue.Builder intValue = IntValue.newIntValue().value(new BigInteger(tokenText(start)));
+                addCommonData(intValue, start);
+                return intValue.build();
+            }
+            case FLOAT: {
+                current++;
+                FloatValue.Builder floatValue = FloatValue.newFloatValue().value(new BigDecimal(tokenText(start)));
+                addCommonData(floatValue, start);
+                return floatValue.build();
+            }
+            case STRING:
+            case BLOCK_STRING: {
+                current++;
+                StringValue.Builder stringValue = StringValue.newStringValue().value(quotedString(start));
+                addCommonData(stringValue, start);
+                return stringValue.build();
+            }
+            case NAME: {
+                current++;
+                if (is(start, "true") || is(start, "false")) {
+                    BooleanValue.Builder booleanValue = BooleanValue.newBooleanValue().value(is(start, "true"));
+                    addCommonData(booleanValue, start);
+                    return booleanValue.build();
+                }
+                if (is(start, "null")) {
+                    NullValue.Builder nullValue = NullValue.newNullValue();
+                    addCommonData(nullValue, start);
+                    return nullValue.build();
+                }
+                // enumValue -> enumValueName -> baseName
+                enterRule(depth + 3);
+                EnumValue.Builder enumValue = EnumValue.newEnumValue().name(tokenText(start));
+                addCommonData(enumValue, start);
+                return enumValue.build();
+            }
+            case LBRACKET: {
+                enterRule(depth + 1);
+                current++;
+                ArrayValue.Builder arrayValue = ArrayValue.newArrayValue();
+                addCommonData(arrayValue, start);
+                ImmutableList.Builder<Value> values = ImmutableList.builder();
+                while (type(current) != RBRACKET) {
+                    values.add(parseValue(depth + 2, constant));
+                }
+                current++;
+                return arrayValue.values(values.build()).build();
+            }
+            case LBRACE: {
+                enterRule(depth + 1);
+                current++;
+                ObjectValue.Builder objectValue = ObjectValue.newObjectValue();
+                addCommonData(objectValue, start);
+                ImmutableList.Builder<ObjectField> objectFields = ImmutableList.builder();
+                while (type(current) != RBRACE) {
+                    enterRule(depth + 2);
+                    String name = parseName(depth + 3);
+                    expect(COLON);
+                    objectFields.add(ObjectField.newObjectField()
+                            .name(name)
+                            .value(parseValue(depth + 3, constant))
+                            .build());
+                }
+                current++;
+                return objectValue.objectFields(objectFields.build()).build();
+            }
+            default:
+                throw BAIL;
+        }
+    }
+
+    private @Nullable Description parseOptionalDescription(int depth) {
+        int token = current;
+        if (!isString(token)) {
+            return null;
+        }
+        enterRule(depth);
+        current++;
+        boolean multiLine = type(token) == BLOCK_STRING;
+        SourceLocation sourceLocation = sourceLocation(token);
+        String content = multiLine ? parseTripleQuotedString(tokenText(token)) : parseSingleQuotedString(i18n, tokenText(token), sourceLocation);
+        return new Description(content, sourceLocation, multiLine);
+    }
+
+    private String parseName(int depth) {
+        // name -> baseName
+        enterRule(depth + 1);
+        int token = current;
+        if (type(token) != NAME) {
+            throw BAIL;
+        }
+        current++;
+        return tokenText(token);
+    }
+
+    private String parseFragmentName(int depth) {
+        if (is(current, "on")) {
+            throw BAIL;
+        }
+        return parseName(depth);
+    }
+
+    private String quotedString(int token) {
+        String tokenText = tokenText(token);
+        if (type(token) == BLOCK_STRING) {
+            return parseTripleQuotedString(tokenText);
+        }
+        return parseSingleQuotedString(i18n, tokenText, createSourceLocation(tokenLines[token], tokenColumns[token]));
+    }
+
+    private void expect(int tokenType) {
+        if (type(current) != tokenType) {
+            throw BAIL;
+        }
+        current++;
+    }
+
+    private void expectOn() {
+        if (!is(current, "on")) {
+            throw BAIL;
+        }
+        current++;
+    }
+
+    private void enterRule(int depth) {
+        if (depth > maxRuleDepth) {
+            throw BAIL;
+        }
+    }
+
+    private void addCommonData(NodeBuilder nodeBuilder, int token) {
+        // make sure the token has been lexed
+        type(token);
+        if (captureLineComments) {
+            List<Comment> comments = comments(token);
+            if (!comments.isEmpty()) {
+                nodeBuilder.comments(comments);
+            }
+        }
+        nodeBuilder.sourceLocation(sourceLocation(token));
+    }
+
+    private SourceLocation sourceLocation(int token) {
+        if (!captureSourceLocation) {
+            return SourceLocation.EMPTY;
+        }
+        return createSourceLocation(tokenLines[token], tokenColumns[token]);
+    }
+
+    /*
+     * This is the same as AntlrHelper.createSourceLocation
+     */
+    private SourceLocation createSourceLocation(int antlrLine, int charPositionInLine) {
+        MultiSourceReader.SourceAndLine sourceAndLine = sourceAndLine(antlrLine - 1);
+        return new SourceLocation(sourceAndLine.getLine() + 1, charPositionInLine + 1, sourceAndLine.getSourceName());
+    }
+
+    private MultiSourceReader.SourceAndLine sourceAndLine(int overallLine) {
+        MultiSourceReader.SourceAndLine sourceAndLine = lastSourceAndLine;
+        if (sourceAndLine == null || overallLine != lastOverallLine) {
+            sourceAndLine = multiSourceReader.getSourceAndLineFromOverallLine(overallLine);
+            lastSourceAndLine = sourceAndLine;
+            lastOverallLine = overallLine;
+        }
+        return sourceAndLine;
+    }
+
+    /*
+     * This is the same as GraphqlAntlrToLanguage.getCommentOnChannel
+     */
+    private List<Comment> comments(int token) {
+        int from = tokenCommentStarts[token];
+        int to = token + 1 < tokenCount ? tokenCommentStarts[token + 1] : commentCount;
+        if (from == to) {
+            return ImmutableKit.emptyList();
+        }
+        ImmutableList.Builder<Comment> comments = ImmutableList.builder();
+        for (int i = from; i < to; i++) {
+            String commentText = text.substring(commentStarts[i] + 1, commentEnds[i]);
+            // ANTLR passes its 1 based line straight through here
+            MultiSourceReader.SourceAndLine sourceAndLine = multiSourceReader.getSourceAndLineFromOverallLine(commentLines[i]);
+            SourceLocation sourceLocation = SourceLocation.EMPTY;
+            if (captureSourceLocation) {
+                sourceLocation = new SourceLocation(sourceAndLine.getLine() + 1, commentColumns[i], sourceAndLine.getSourceName());
+            }
+            comments.add(new Comment(commentText, sourceLocation));
+        }
+        return comments.build();
+    }
+
+    //
+    // lexing - tokens are lexed on demand as the parser looks ahead
+    //
+
+    private int type(int token) {
+        while (token >= tokenCount) {
+            if (reachedEof) {
+                return EOF;
+            }
+            lexToken();
+        }
+        return tokenTypes[token];
+    }
+
+    private boolean is(int token, String name) {
+        return type(token) == NAME
+                && tokenEnds[token] - tokenStarts[token] == name.length()
+                && text.startsWith(name, tokenStarts[token]);
+    }
+
+    private boolean isString(int token) {
+        int tokenType = type(token);
+        return tokenType == STRING || tokenType == BLOCK_STRING;
+    }
+
+    private boolean isOperationType(int token) {
+        return is(token, "query") || is(token, "mutation") || is(token, "subscription");
+    }
+
+    private String tokenText(int token) {
+        return text.substring(tokenStarts[token], tokenEnds[token]);
+    }
+
+    private void lexToken() {
+        int firstComment = commentCount;
+        while (pos < length) {
+            char c = text.charAt(pos);
+            switch (c) {
+                case '\n':
+                    whitespace();
+                    pos++;
+                    line++;
+                    column = 0;
+                    continue;
+                case ' ':
+                case '\t':
+                case '\r':
+                case ',':
+                case BYTE_ORDER_MARK:
+                case LINE_SEPARATOR:
+                case PARAGRAPH_SEPARATOR:
+                    whitespace();
+                    pos++;
+                    column++;
+                    continue;
+                case '#':
+                    lexComment();
+                    continue;
+                case '!':
+                    punctuator(BANG, 1, firstComment);
+                    return;
+                case '$':
+                    punctuator(DOLLAR, 1, firstComment);
+                    return;
+                case '(':
+                    punctuator(LPAREN, 1, firstComment);
+                    return;
+                case ')':
+                    punctuator(RPAREN, 1, firstComment);
+                    return;
+                case ':':
+                    punctuator(COLON, 1, firstComment);
+                    return;
+                case '=':
+                    punctuator(EQUALS, 1, firstComment);
+                    return;
+                case '@':
+                    punctuator(AT, 1, firstComment);
+                    return;
+                case '[':
+                    punctuator(LBRACKET, 1, firstComment);
+                    return;
+                case ']':
+                    punctuator(RBRACKET, 1, firstComment);
+                    return;
+                case '{':
+                    punctuator(LBRACE, 1, firstComment);
+                    return;
+                case '}':
+                    punctuator(RBRACE, 1, firstComment);
+                    return;
+                case '.':
+                    if (pos + 2 < length && text.charAt(pos + 1) == '.' && text.charAt(pos + 2) == '.') {
+                        punctuator(SPREAD, 3, firstComment);
+                        return;
+                    }
+                    throw BAIL;
+                case '"':
+                    lexString(firstComment);
+                    return;
+                default:
+                    if (isNameStart(c)) {
+                        lexName(firstComment);
+                        return;
+                    }
+                    if (c == '-' || isDigit(c)) {
+                        lexNumber(firstComment);
+                        return;
+                    }
+                    throw BAIL;
+            }
+        }
+        addToken(EOF, pos, pos, line, column, firstComment);
+        reachedEof = true;
+    }
+
+    private void whitespace() {
+        if (++whitespaceTokens > maxWhitespaceTokens) {
+            throw BAIL;
+        }
+    }
+
+    private void lexComment() {
+        if (++commentTokens > maxTokens) {
+            throw BAIL;
+        }
+        int start = pos;
+        int startColumn = column;
+        pos++;
+        column++;
+        while (pos < length) {
+            char c = text.charAt(pos);
+            if (c == '\n' || c == '\r') {
+                break;
+            }
+            consumeSourceCharacter(c);
+        }
+        if (captureLineComments) {
+            if (commentCount == commentStarts.length) {
+                int newLength = Math.max(16, commentCount * 2);
+                commentStarts = Arrays.copyOf(commentStarts, newLength);
+                commentEnds = Arrays.copyOf(commentEnds, newLength);
+                commentLines = Arrays.copyOf(commentLines, newLength);
+                commentColumns = Arrays.copyOf(commentColumns, newLength);
+            }
+            commentStarts[commentCount] = start;
+            commentEnds[commentCount] = pos;
+            commentLines[commentCount] = line;
+            commentColumns[commentCount] = startColumn;
+            commentCount++;
+        }
+    }
+
+    private void lexName(int firstComment) {
+        int start = pos;
+        pos++;
+        while (pos < length && isNameContinue(text.charAt(pos))) {
+            pos++;
+        }
+        addToken(NAME, start, pos, line, column, firstComment);
+        column += pos - start;
+    }
+
+    private void lexNumber(int firstComment) {
+        int start = pos;
+        if (text.charAt(pos) == '-') {
+            pos++;
+        }
+        if (pos >= length || !isDigit(text.charAt(pos))) {
+            throw BAIL;
+        }
+        if (text.charAt(pos) == '0') {
+            pos++;
+        } else {
+            skipDigits();
+        }
+        boolean isFloat = false;
+        if (pos < length && text.charAt(pos) == '.') {
+            pos++;
+            requireDigits();
+            isFloat = true;
+        }
+        if (pos < length && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+            pos++;
+            if (pos < length && (text.charAt(pos) == '+' || text.charAt(pos) == '-')) {
+                pos++;
+            }
+            requireDigits();
+            isFloat = true;
+        }
+        // the grammar does not allow a number to run into another number, a dot or a name
+        if (pos < length) {
+            char c = text.charAt(pos);
+            if (isDigit(c) || c == '.' || isNameStart(c)) {
+                throw BAIL;
+            }
+        }
+        addToken(isFloat ? FLOAT : INT, start, pos, line, column, firstComment);
+        column += pos - start;
+    }
+
+    private void requireDigits() {
+        if (pos >= length || !isDigit(text.charAt(pos))) {
+            throw BAIL;
+        }
+        skipDigits();
+    }
+
+    private void skipDigits() {
+        while (pos < length && isDigit(text.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private void lexString(int firstComment) {
+        int start = pos;
+        int startLine = line;
+        int startColumn = column;
+        if (text.startsWith("\"\"\"", pos)) {
+            pos += 3;
+            column += 3;
+            while (true) {
+                if (pos >= length) {
+                    throw BAIL;
+                }
+                char c = text.charAt(pos);
+                if (c == '"' && text.startsWith("\"\"\"", pos)) {
+                    pos += 3;
+                    column += 3;
+                    break;
+                }
+                if (c == '\\' && text.startsWith("\\\"\"\"", pos)) {
+                    // escaped triple quotes are rare enough that we leave them to ANTLR
+                    throw BAIL;
+                }
+                if (c == '\n') {
+                    pos++;
+                    line++;
+                    column = 0;
+                } else {
+                    consumeSourceCharacter(c);
+                }
+            }
+            addToken(BLOCK_STRING, start, pos, startLine, startColumn, firstComment);
+            return;
+        }
+        pos++;
+        column++;
+        while (true) {
+            if (pos >= length) {
+                throw BAIL;
+            }
+            char c = text.charAt(pos);
+            if (c == '"') {
+                pos++;
+                column++;
+                break;
+            }
+            if (c == '\n' || c == '\r') {
+                throw BAIL;
+            }
+            if (c == '\\') {
+                lexEscape();
+            } else {
+                consumeSourceCharacter(c);
+            }
+        }
+        addToken(STRING, start, pos, startLine, startColumn, firstComment);
+    }
+
+    private void lexEscape() {
+        int start = pos;
+        pos++;
+        if (pos >= length) {
+            throw BAIL;
+        }
+        char c = text.charAt(pos);
+        if (c == 'u') {
+            pos++;
+            if (pos < length && text.charAt(pos) == '{') {
+                pos++;
+                int hexStart = pos;
+                while (pos < length && isHex(text.charAt(pos))) {
+                    pos++;
+                }
+                if (pos == hexStart || pos >= length || text.charAt(pos) != '}') {
+                    throw BAIL;
+                }
+                pos++;
+            } else {
+                for (int i = 0; i < 4; i++) {
+                    if (pos >= length || !isHex(text.charAt(pos))) {
+                        throw BAIL;
+                    }
+                    pos++;
+                }
+            }
+        } else if (c == '"' || c == '\\' || c == '/' || c == 'b' || c == 'f' || c == 'n' || c == 'r' || c == 't') {
+            pos++;
+        } else {
+            throw BAIL;
+        }
+        column += pos - start;
+    }
+
+    /*
+     * ANTLR works in code points and hence so do our columns.  Surrogates that are not part of a pair are not allowed
+     */
+    private void consumeSourceCharacter(char c) {
+        if (Character.isSurrogate(c)) {
+            if (Character.isHighSurrogate(c) && pos + 1 < length && Character.isLowSurrogate(text.charAt(pos + 1))) {
+                pos += 2;
+                column++;
+                return;
+            }
+            throw BAIL;
+        }
+        pos++;
+        column++;
+    }
+
+    private void punctuator(int tokenType, int tokenLength, int firstComment) {
+        addToken(tokenType, pos, pos + tokenLength, line, column, firstComment);
+        pos += tokenLength;
+        column += tokenLength;
+    }
+
+    private void addToken(int tokenType, int start, int end, int tokenLine, int tokenColumn, int firstComment) {
+        // ANTLR counts the EOF token as well
+        if (++significantTokens > maxTokens) {
+            throw BAIL;
+        }
+        if (tokenCount == tokenTypes.length) {
+            int newLength = tokenCount * 2;
+            tokenTypes = Arrays.copyOf(tokenTypes, newLength);
+            tokenStarts = Arrays.copyOf(tokenStarts, newLength);
+            tokenEnds = Arrays.copyOf(tokenEnds, newLength);
+            tokenLines = Arrays.copyOf(tokenLines, newLength);
+            tokenColumns = Arrays.copyOf(tokenColumns, newLength);
+            tokenCommentStarts = Arrays.copyOf(tokenCommentStarts, newLength);
+        }
+        tokenTypes[tokenCount] = tokenType;
+        tokenStarts[tokenCount] = start;
+        tokenEnds[tokenCount] = end;
+        tokenLines[tokenCount] = tokenLine;
+        tokenColumns[tokenCount] = tokenColumn;
+        tokenCommentStarts[tokenCount] = firstComment;
+        tokenCount++;
+    }
+
+    private static boolean isNameStart(char c) {
+        return c == '_' || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isNameContinue(char c) {
+        return isNameStart(c) || isDigit(c);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHex(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+}
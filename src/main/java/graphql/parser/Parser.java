@@ -183,7 +183,22 @@ public class Parser {
             Document doc = toLanguage.createDocument(documentContext);
             return new Object[]{documentContext, doc};
         };
-        return (Document) parseImpl(environment, nodeFunction);
+        ParserOptions parserOptions = getParserOptions(environment);
+        // sub classes can change how the AST is built, so they always get ANTLR
+        if (getClass() != Parser.class || !ExecutableDocumentParser.isSupported(parserOptions)) {
+            return (Document) parseImpl(environment, nodeFunction);
+        }
+        MultiSourceReader multiSourceReader = setupMultiSourceReader(environment, parserOptions);
+        SafeTokenReader safeTokenReader = setupSafeTokenReader(environment, parserOptions, multiSourceReader);
+        String text = readFully(safeTokenReader);
+
+        // most documents are operations, which the hand written parser can build much more cheaply than ANTLR can.
+        // It gives up on anything else, including syntax errors, and ANTLR then takes over to build the document or report the error
+        Document document = ExecutableDocumentParser.parse(text, multiSourceReader, parserOptions, environment.getI18N());
+        if (document != null) {
+            return document;
+        }
+        return (Document) parseImpl(environment, parserOptions, multiSourceReader, CharStreams.fromString(text), nodeFunction);
     }
 
     private Value<?> parseValueImpl(String input) throws InvalidSyntaxException {
@@ -231,9 +246,7 @@ public class Parser {
     }
 
     private Node<?> parseImpl(ParserEnvironment environment, BiFunction<GraphqlParser, GraphqlAntlrToLanguage, Object[]> nodeFunction) throws InvalidSyntaxException {
-        // default in the parser options if they are not set
-        ParserOptions parserOptions = environment.getParserOptions();
-        parserOptions = Optional.ofNullable(parserOptions).orElse(ParserOptions.getDefaultParserOptions());
+        ParserOptions parserOptions = getParserOptions(environment);
 
         MultiSourceReader multiSourceReader = setupMultiSourceReader(environment, parserOptions);
 
@@ -241,6 +254,10 @@ public class Parser {
 
         CodePointCharStream charStream = setupCharStream(safeTokenReader);
 
+        return parseImpl(environment, parserOptions, multiSourceReader, charStream, nodeFunction);
+    }
+
+    private Node<?> parseImpl(ParserEnvironment environment, ParserOptions parserOptions, MultiSourceReader multiSourceReader, CodePointCharStream charStream, BiFunction<GraphqlParser, GraphqlAntlrToLanguage, Object[]> nodeFunction) throws InvalidSyntaxException {
         GraphqlLexer lexer = setupGraphqlLexer(environment, multiSourceReader, charStream);
 
         // this lexer wrapper allows us to stop lexing when too many tokens are in place.  This prevents DOS attacks.
@@ -285,6 +302,12 @@ public class Parser {
         return node;
     }
 
+    private static ParserOptions getParserOptions(ParserEnvironment environment) {
+        // default in the parser options if they are not set
+        ParserOptions parserOptions = environment.getParserOptions();
+        return Optional.ofNullable(parserOptions).orElse(ParserOptions.getDefaultParserOptions());
+    }
+
     private static MultiSourceReader setupMultiSourceReader(ParserEnvironment environment, ParserOptions parserOptions) {
         MultiSourceReader multiSourceReader;
         Reader reader = environment.getDocument();
@@ -319,6 +342,22 @@ public class Parser {
         return charStream;
     }
 
+    @NonNull
+    private static String readFully(SafeTokenReader safeTokenReader) {
+        // like CharStreams.fromReader we read everything and then close the reader
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[4096];
+        try (SafeTokenReader reader = safeTokenReader) {
+            int read;
+            while ((read = reader.read(buffer, 0, buffer.length)) != -1) {
+                sb.append(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
     @NonNull
     private static GraphqlLexer setupGraphqlLexer(ParserEnvironment environment, MultiSourceReader multiSourceReader, CodePointCharStream charStream) {
         GraphqlLexer lexer = new GraphqlLexer(charStream);
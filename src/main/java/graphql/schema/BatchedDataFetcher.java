@@ -0,0 +1,75 @@
+package graphql.schema;
+
+import graphql.ExperimentalApi;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A {@link BatchedDataFetcher} is a {@link DataFetcher} that can fetch the values of a field for many source objects in
+ * one call.
+ * <p>
+ * When the engine completes a list of objects it calls {@link #getBatch(BatchedDataFetchingEnvironment)} once for each batched
+ * field of the list's object type, passing all the non-null list elements as sources.  The individual elements
+ * then use the values from the batch rather than calling the data fetcher themselves.  This means a list of 1000 elements
+ * with a batched field costs one data fetcher call rather than 1000 {@link DataFetchingEnvironment}s, data fetcher calls
+ * and perhaps {@link org.dataloader.DataLoader} calls.
+ * <p>
+ * When a field is fetched outside a list, for example for a single object, then {@link #get(DataFetchingEnvironment)}
+ * is called which by default calls {@link #getBatch(BatchedDataFetchingEnvironment)} with a batch of one source.
+ * <p>
+ * Batched data fetchers can be registered as data fetchers, either via
+ * {@link GraphQLCodeRegistry.Builder#dataFetcher(FieldCoordinates, DataFetcher)} or via
+ * {@link graphql.schema.idl.RuntimeWiring}, or be returned from a {@link BatchedDataFetcherFactory}.  Batched data
+ * fetchers that are returned from other factories or wrapped by other code are not seen as batched and are called one
+ * source at a time.
+ * <p>
+ * Each element's field still goes through {@link graphql.execution.instrumentation.Instrumentation#beginFieldFetching}
+ * and {@link graphql.execution.instrumentation.Instrumentation#instrumentDataFetcher}.  The data fetcher that is
+ * instrumented for an element hands out that element's value from the batch.
+ * <p>
+ * Batches are made per list rather than per level of the query, so the elements of two sibling lists at the same depth
+ * are fetched in separate batches.  Lists of abstract types, lists of lists and the fields of lists in subscription events
+ * are not batched.
+ *
+ * @param <T> the type of the values returned for each source. These may also be wrapped in a {@link graphql.execution.DataFetcherResult}
+ */
+@ExperimentalApi
+@NullMarked
+public interface BatchedDataFetcher<T extends @Nullable Object> extends DataFetcher<T> {
+
+    /**
+     * This is called by the engine to fetch the values for a batch of source objects.  It must return one value per source
+     * in the same order as {@link BatchedDataFetchingEnvironment#getSources()}.
+     *
+     * @param environment the batched environment holding the source objects
+     *
+     * @return a {@code List<T>} or a {@code CompletionStage<List<T>>} with a value for each source
+     *
+     * @throws Exception to relieve the implementations from having to wrap checked exceptions. Any exception thrown
+     *                   from a batched data fetcher will be handled by the registered {@link graphql.execution.DataFetcherExceptionHandler}
+     *                   for each source and the related fields will have a value of {@code null} in the result.
+     */
+    Object getBatch(BatchedDataFetchingEnvironment environment) throws Exception;
+
+    /**
+     * Fetches the value for a single source via {@link #getBatch(BatchedDataFetchingEnvironment)}
+     *
+     * @param environment this is the data fetching environment which contains all the context you need to fetch a value
+     *
+     * @return a value of type T or a {@code CompletionStage<T>}
+     *
+     * @throws Exception if the batch throws an exception
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    default T get(DataFetchingEnvironment environment) throws Exception {
+        Object values = getBatch(BatchedDataFetchingEnvironment.newSingleSourceEnvironment(environment));
+        if (values instanceof CompletionStage) {
+            return (T) ((CompletionStage<?>) values).thenApply(BatchedDataFetchingEnvironment::singleValue);
+        }
+        return (T) BatchedDataFetchingEnvironment.singleValue(values);
+    }
+}
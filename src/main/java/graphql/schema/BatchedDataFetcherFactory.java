@@ -0,0 +1,14 @@
+package graphql.schema;
+
+import graphql.ExperimentalApi;
+
+/**
+ * Marks a {@link DataFetcherFactory} that may return {@link BatchedDataFetcher}s.  The engine only looks for batched
+ * fields when completing lists if a batched data fetcher, or a factory marked this way, has been registered, so
+ * batched data fetchers returned from any other factory are called one source at a time.
+ *
+ * @param <T> the type of DataFetcher
+ */
+@ExperimentalApi
+public interface BatchedDataFetcherFactory<T> extends DataFetcherFactory<T> {
+}
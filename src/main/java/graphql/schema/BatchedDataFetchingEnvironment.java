@@ -0,0 +1,121 @@
+package graphql.schema;
+
+import com.google.common.collect.ImmutableList;
+import graphql.Assert;
+import graphql.ExperimentalApi;
+import graphql.Internal;
+import graphql.execution.ExecutionStepInfo;
+import graphql.util.FpKit;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * The environment passed to a {@link BatchedDataFetcher} holding the source objects of a batch.
+ * <p>
+ * All the sources in a batch come from the same list, and hence they share the same field, arguments, selection set
+ * and contexts.  These are available via {@link #getDataFetchingEnvironment()}, which is the environment of the
+ * first source in the batch.
+ */
+@ExperimentalApi
+@NullMarked
+public class BatchedDataFetchingEnvironment {
+
+    private final DataFetchingEnvironment dataFetchingEnvironment;
+    private final List<Object> sources;
+    private final Supplier<List<ExecutionStepInfo>> executionStepInfos;
+
+    private BatchedDataFetchingEnvironment(DataFetchingEnvironment dataFetchingEnvironment, List<Object> sources, Supplier<List<ExecutionStepInfo>> executionStepInfos) {
+        this.dataFetchingEnvironment = assertNotNull(dataFetchingEnvironment);
+        this.sources = assertNotNull(sources);
+        this.executionStepInfos = FpKit.interThreadMemoize(executionStepInfos);
+    }
+
+    /**
+     * @return the data fetching environment of the first source, which holds the field, arguments, selection set
+     * and contexts shared by all the sources
+     */
+    public DataFetchingEnvironment getDataFetchingEnvironment() {
+        return dataFetchingEnvironment;
+    }
+
+    /**
+     * @param <T> you decide what type it is
+     *
+     * @return the source objects to fetch values for.  Null list elements are never part of a batch
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getSources() {
+        return (List<T>) sources;
+    }
+
+    /**
+     * @return the number of source objects in this batch
+     */
+    public int size() {
+        return sources.size();
+    }
+
+    /**
+     * @return the field arguments, which are the same for all the sources
+     */
+    public Map<String, Object> getArguments() {
+        return dataFetchingEnvironment.getArguments();
+    }
+
+    /**
+     * The {@link ExecutionStepInfo}s for the field at each source, in the same order as the sources.  They are
+     * created on demand.
+     *
+     * @return the execution step infos of the field at each source
+     */
+    public List<ExecutionStepInfo> getExecutionStepInfos() {
+        return executionStepInfos.get();
+    }
+
+    /**
+     * Creates a batched environment
+     *
+     * @param dataFetchingEnvironment the environment of the first source
+     * @param sources                 the source objects
+     * @param executionStepInfos      a supplier of the execution step infos of the field at each source
+     *
+     * @return a new batched environment
+     */
+    @Internal
+    public static BatchedDataFetchingEnvironment newBatchedDataFetchingEnvironment(DataFetchingEnvironment dataFetchingEnvironment, List<Object> sources, Supplier<List<ExecutionStepInfo>> executionStepInfos) {
+        return new BatchedDataFetchingEnvironment(dataFetchingEnvironment, sources, executionStepInfos);
+    }
+
+    static BatchedDataFetchingEnvironment newSingleSourceEnvironment(DataFetchingEnvironment environment) {
+        List<Object> sources = Collections.singletonList(environment.getSource());
+        return new BatchedDataFetchingEnvironment(environment, sources, () -> ImmutableList.of(environment.getExecutionStepInfo()));
+    }
+
+    static @Nullable Object singleValue(@Nullable Object values) {
+        List<?> list = assertBatchSize(values, 1);
+        return list.get(0);
+    }
+
+    /**
+     * Asserts that the values returned from a batch are a list with one value per source
+     *
+     * @param values the values returned by {@link BatchedDataFetcher#getBatch(BatchedDataFetchingEnvironment)}
+     * @param size   the number of sources in the batch
+     *
+     * @return the values as a list
+     */
+    @Internal
+    public static List<?> assertBatchSize(@Nullable Object values, int size) {
+        Assert.assertTrue(values instanceof List, () -> "A BatchedDataFetcher must return a List of values");
+        List<?> list = (List<?>) values;
+        Assert.assertTrue(list.size() == size, () -> String.format("A BatchedDataFetcher must return a value for each of the %d sources but returned %d values", size, list.size()));
+        return list;
+    }
+}
@@ -0,0 +1,31 @@
+package graphql.schema;
+
+import graphql.ExperimentalApi;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Marks a {@link DataFetcher} as blocking, that is it waits on I/O such as a JDBC call or a blocking HTTP client
+ * on the thread that invokes it.  {@link graphql.execution.VirtualThreadExecutionStrategy} runs the data fetchers
+ * marked this way on its executor, and calls every other data fetcher inline.
+ * <p>
+ * Data fetchers that call {@link org.dataloader.DataLoader#load(Object)} should not be marked as blocking, since their
+ * loads would then be made on another thread, after the engine may have dispatched the data loaders.
+ *
+ * @param <T> the type of object returned
+ */
+@ExperimentalApi
+@NullMarked
+public interface BlockingDataFetcher<T> extends DataFetcher<T> {
+
+    /**
+     * Marks the given data fetcher as blocking
+     *
+     * @param dataFetcher the data fetcher that blocks
+     * @param <T>         the type of object returned
+     *
+     * @return a blocking data fetcher that calls the given data fetcher
+     */
+    static <T> BlockingDataFetcher<T> blocking(DataFetcher<T> dataFetcher) {
+        return dataFetcher::get;
+    }
+}
@@ -20,18 +20,41 @@ public class DataFetcherFactories {
      * @return a data fetcher factory that always returns the provided data fetcher
      */
     public static <T> DataFetcherFactory<T> useDataFetcher(DataFetcher<T> dataFetcher) {
-        //noinspection deprecation
-        return new DataFetcherFactory<>() {
-            @Override
-            public DataFetcher<T> get(DataFetcherFactoryEnvironment environment) {
-                return dataFetcher;
-            }
+        return new SingletonDataFetcherFactory<>(dataFetcher);
+    }
 
-            @Override
-            public DataFetcher<T> get(GraphQLFieldDefinition fieldDefinition) {
-                return dataFetcher;
-            }
-        };
+    /**
+     * A factory made here returns the same data fetcher every time, and any other factory has to be marked as a
+     * {@link BatchedDataFetcherFactory} to return a {@link BatchedDataFetcher}
+     *
+     * @param dataFetcherFactory the data fetcher factory to check
+     *
+     * @return true if the factory can return a {@link BatchedDataFetcher}
+     */
+    static boolean mayReturnBatchedDataFetcher(DataFetcherFactory<?> dataFetcherFactory) {
+        if (dataFetcherFactory instanceof SingletonDataFetcherFactory) {
+            return ((SingletonDataFetcherFactory<?>) dataFetcherFactory).dataFetcher instanceof BatchedDataFetcher;
+        }
+        return dataFetcherFactory instanceof BatchedDataFetcherFactory;
+    }
+
+    private static class SingletonDataFetcherFactory<T> implements DataFetcherFactory<T> {
+        private final DataFetcher<T> dataFetcher;
+
+        private SingletonDataFetcherFactory(DataFetcher<T> dataFetcher) {
+            this.dataFetcher = dataFetcher;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public DataFetcher<T> get(DataFetcherFactoryEnvironment environment) {
+            return dataFetcher;
+        }
+
+        @Override
+        public DataFetcher<T> get(GraphQLFieldDefinition fieldDefinition) {
+            return dataFetcher;
+        }
     }
 
     /**
@@ -1,8 +1,10 @@
 package graphql.schema;
 
+import graphql.ExperimentalApi;
 import graphql.GraphQLContext;
 import graphql.Internal;
 import graphql.PublicApi;
+import graphql.execution.Deadline;
 import graphql.execution.ExecutionId;
 import graphql.execution.ExecutionStepInfo;
 import graphql.execution.MergedField;
@@ -275,6 +277,16 @@ public interface DataFetchingEnvironment extends IntrospectionDataFetchingEnviro
      */
     Map<String, Object> getVariables();
 
+    /**
+     * This is the earliest of the deadline of the execution and the timeout of the field, if any, and can be
+     * passed on to the backends the data fetcher calls.  Once it passes the fetched value is no longer waited for.
+     *
+     * @return the deadline of this field fetch or null if it has none
+     */
+    @ExperimentalApi
+    default @Nullable Deadline getDeadline() {
+        return null;
+    }
 
     /**
      * A method that should only be used by the GraphQL Java library itself.
@@ -9,6 +9,7 @@ import graphql.Profiler;
 import graphql.collect.ImmutableKit;
 import graphql.collect.ImmutableMapWithNullValues;
 import graphql.execution.DataLoaderDispatchStrategy;
+import graphql.execution.Deadline;
 import graphql.execution.ExecutionContext;
 import graphql.execution.ExecutionId;
 import graphql.execution.ExecutionStepInfo;
@@ -61,6 +62,7 @@ public class DataFetchingEnvironmentImpl implements DataFetchingEnvironment {
     private final ImmutableMapWithNullValues<String, Object> variables;
     private final QueryDirectives queryDirectives;
     private final int level;
+    private final @Nullable Deadline deadline;
 
     // used for internal() method
     private final DFEInternalState dfeInternalState;
@@ -88,6 +90,7 @@ public class DataFetchingEnvironmentImpl implements DataFetchingEnvironment {
         this.variables = builder.variables == null ? ImmutableMapWithNullValues.emptyMap() : builder.variables;
         this.queryDirectives = builder.queryDirectives;
         this.level = builder.level;
+        this.deadline = builder.deadline;
 
         // internal state
         this.dfeInternalState = new DFEInternalState(builder.dataLoaderDispatchStrategy, builder.alternativeCallContext, builder.profiler);
@@ -236,7 +239,8 @@ public class DataFetchingEnvironmentImpl implements DataFetchingEnvironment {
             return null;
         }
         if (!graphQLContext.getBoolean(DataLoaderDispatchingContextKeys.ENABLE_DATA_LOADER_CHAINING, false)
-            && !graphQLContext.getBoolean(DataLoaderDispatchingContextKeys.ENABLE_DATA_LOADER_EXHAUSTED_DISPATCHING, false)) {
+            && !graphQLContext.getBoolean(DataLoaderDispatchingContextKeys.ENABLE_DATA_LOADER_EXHAUSTED_DISPATCHING, false)
+            && !graphQLContext.getBoolean(DataLoaderDispatchingContextKeys.ENABLE_DATA_LOADER_ADAPTIVE_DISPATCHING, false)) {
             return dataLoader;
         }
         return new DataLoaderWithContext<>(this, dataLoaderName, dataLoader);
@@ -268,6 +272,11 @@ public class DataFetchingEnvironmentImpl implements DataFetchingEnvironment {
     }
 
 
+    @Override
+    public @Nullable Deadline getDeadline() {
+        return deadline;
+    }
+
     @Override
     public Object toInternal() {
         return this.dfeInternalState;
@@ -312,6 +321,7 @@ public class DataFetchingEnvironmentImpl implements DataFetchingEnvironment {
         private Profiler profiler;
         private AlternativeCallContext alternativeCallContext;
         private int level;
+        private Deadline deadline;
 
         public Builder(DataFetchingEnvironmentImpl env) {
             this.source = env.source;
@@ -339,6 +349,7 @@ public class DataFetchingEnvironmentImpl implements DataFetchingEnvironment {
             this.profiler = env.dfeInternalState.profiler;
             this.alternativeCallContext = env.dfeInternalState.alternativeCallContext;
             this.level = env.level;
+            this.deadline = env.deadline;
         }
 
         public Builder() {
@@ -481,6 +492,11 @@ public class DataFetchingEnvironmentImpl implements DataFetchingEnvironment {
             this.level = level;
             return this;
         }
+
+        public Builder deadline(Deadline deadline) {
+            this.deadline = deadline;
+            return this;
+        }
     }
 
     @Internal
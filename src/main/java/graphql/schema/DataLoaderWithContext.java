@@ -2,6 +2,7 @@ package graphql.schema;
 
 import graphql.Internal;
 import graphql.execution.incremental.AlternativeCallContext;
+import graphql.execution.instrumentation.dataloader.AdaptiveDataLoaderDispatchStrategy;
 import graphql.execution.instrumentation.dataloader.ExhaustedDataLoaderDispatchStrategy;
 import graphql.execution.instrumentation.dataloader.PerLevelDataLoaderDispatchStrategy;
 import org.dataloader.DataLoader;
@@ -74,6 +75,9 @@ public class DataLoaderWithContext<K, V> extends DelegatingDataLoader<K, V> {
         } else if (dfeInternalState.getDataLoaderDispatchStrategy() instanceof ExhaustedDataLoaderDispatchStrategy) {
             AlternativeCallContext alternativeCallContext = dfeInternalState.getAlternativeCallContext();
             ((ExhaustedDataLoaderDispatchStrategy) dfeInternalState.dataLoaderDispatchStrategy).newDataLoaderInvocation(alternativeCallContext);
+        } else if (dfeInternalState.getDataLoaderDispatchStrategy() instanceof AdaptiveDataLoaderDispatchStrategy) {
+            AlternativeCallContext alternativeCallContext = dfeInternalState.getAlternativeCallContext();
+            ((AdaptiveDataLoaderDispatchStrategy) dfeInternalState.dataLoaderDispatchStrategy).newDataLoaderInvocation(alternativeCallContext);
         }
     }
 
@@ -2,6 +2,7 @@ package graphql.schema;
 
 import graphql.GraphQLContext;
 import graphql.PublicApi;
+import graphql.execution.Deadline;
 import graphql.execution.ExecutionId;
 import graphql.execution.ExecutionStepInfo;
 import graphql.execution.MergedField;
@@ -177,6 +178,11 @@ public class DelegatingDataFetchingEnvironment implements DataFetchingEnvironmen
         return delegateEnvironment.getVariables();
     }
 
+    @Override
+    public @Nullable Deadline getDeadline() {
+        return delegateEnvironment.getDeadline();
+    }
+
     @Override
     public Object toInternal() {
         return delegateEnvironment.toInternal();
@@ -38,6 +38,7 @@ public class GraphQLCodeRegistry {
     private final DataFetcherFactory<?> defaultDataFetcherFactory;
     // Fast lookup: typeName -> fieldName -> DataFetcherFactory, avoids creating FieldCoordinates on every field fetch
     private final Map<String, Map<String, DataFetcherFactory<?>>> dataFetcherByNames;
+    private final boolean hasBatchedDataFetchers;
 
     private GraphQLCodeRegistry(Builder builder) {
         this.dataFetcherMap = builder.dataFetcherMap;
@@ -46,6 +47,8 @@ public class GraphQLCodeRegistry {
         this.fieldVisibility = builder.fieldVisibility;
         this.defaultDataFetcherFactory = builder.defaultDataFetcherFactory;
         this.dataFetcherByNames = buildDataFetcherByNames(this.dataFetcherMap);
+        this.hasBatchedDataFetchers = DataFetcherFactories.mayReturnBatchedDataFetcher(this.defaultDataFetcherFactory)
+                || this.dataFetcherMap.values().stream().anyMatch(DataFetcherFactories::mayReturnBatchedDataFetcher);
     }
 
     private static Map<String, Map<String, DataFetcherFactory<?>>> buildDataFetcherByNames(Map<FieldCoordinates, DataFetcherFactory<?>> dataFetcherMap) {
@@ -58,6 +61,15 @@ public class GraphQLCodeRegistry {
         return result;
     }
 
+    /**
+     * @return true if any {@link BatchedDataFetcher}s or {@link BatchedDataFetcherFactory}s have been registered, in
+     * which case the engine will look for them when completing lists and batch the fetching of those fields across the
+     * elements
+     */
+    public boolean hasBatchedDataFetchers() {
+        return hasBatchedDataFetchers;
+    }
+
     /**
      * @return the {@link graphql.schema.visibility.GraphqlFieldVisibility}
      */
@@ -0,0 +1,968 @@
+package graphql.schema.idl;
+
+import graphql.Directives;
+import graphql.ExperimentalApi;
+import graphql.GraphQLContext;
+import graphql.GraphQLException;
+import graphql.collect.ImmutableKit;
+import graphql.execution.ValuesResolver;
+import graphql.introspection.Introspection;
+import graphql.language.ArrayValue;
+import graphql.language.BooleanValue;
+import graphql.language.EnumValue;
+import graphql.language.FieldDefinition;
+import graphql.language.FloatValue;
+import graphql.language.IntValue;
+import graphql.language.InterfaceTypeDefinition;
+import graphql.language.ListType;
+import graphql.language.NonNullType;
+import graphql.language.NullValue;
+import graphql.language.ObjectField;
+import graphql.language.ObjectTypeDefinition;
+import graphql.language.ObjectValue;
+import graphql.language.ScalarTypeDefinition;
+import graphql.language.StringValue;
+import graphql.language.Type;
+import graphql.language.TypeDefinition;
+import graphql.language.TypeName;
+import graphql.language.UnionTypeDefinition;
+import graphql.language.Value;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetcherFactories;
+import graphql.schema.DataFetcherFactory;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLAppliedDirective;
+import graphql.schema.GraphQLAppliedDirectiveArgument;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLEnumType;
+import graphql.schema.GraphQLEnumValueDefinition;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLInputObjectField;
+import graphql.schema.GraphQLInputObjectType;
+import graphql.schema.GraphQLInputType;
+import graphql.schema.GraphQLInterfaceType;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLNonNull;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLOutputType;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeReference;
+import graphql.schema.GraphQLUnionType;
+import graphql.schema.GraphqlTypeComparatorRegistry;
+import graphql.schema.InputValueWithState;
+import graphql.schema.SingletonPropertyDataFetcher;
+import graphql.schema.TypeResolver;
+import graphql.schema.TypeResolverProxy;
+import graphql.schema.idl.errors.MissingScalarImplementationError;
+import graphql.schema.idl.errors.SchemaProblem;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A schema snapshot is a compact binary form of the structure of a {@link GraphQLSchema}, that is its types, fields,
+ * arguments, directive definitions, applied directives and descriptions, that can be read back into a schema much
+ * faster than the SDL it came from can be parsed and generated into one.
+ * <p>
+ * The snapshot is written from a built schema, say at build time, and is read at startup along with the
+ * {@link RuntimeWiring} of the schema, which is applied to the types as {@link SchemaGenerator} would apply it.  The
+ * types are read directly into schema elements and put together with a {@link GraphQLSchema.FastBuilder}, so there
+ * is no SDL parsing, no type checking of a {@link TypeDefinitionRegistry} and no {@link graphql.schema.validation.SchemaValidator}
+ * run, which is only sensible for a snapshot of a schema that was known to be valid.
+ * <pre>
+ * {@code
+ * byte[] snapshot = SchemaSnapshot.write(schema);
+ * ...
+ * GraphQLSchema schema = SchemaSnapshot.read(snapshot, runtimeWiring);
+ * }
+ * </pre>
+ * There are some differences from a schema generated from SDL:
+ * <ul>
+ *     <li>the schema elements have no AST definitions</li>
+ *     <li>only the applied directives are present, as if {@link SchemaGenerator.Options#useAppliedDirectivesOnly(boolean)} was set</li>
+ *     <li>a {@link WiringFactory} is given environments whose definitions only have the names of the elements
+ *     and whose {@link TypeDefinitionRegistry} is empty</li>
+ *     <li>{@link SchemaDirectiveWiring} is not supported</li>
+ *     <li>default values and applied directive argument values are kept as literals</li>
+ * </ul>
+ * A snapshot written by one version of graphql-java can be read by a later one as long as the snapshot version is still
+ * supported, otherwise reading fails with a {@link GraphQLException} and the schema should be generated again.
+ */
+@ExperimentalApi
+@NullMarked
+public class SchemaSnapshot {
+
+    /**
+     * The version of the snapshots that are written
+     */
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'G', 'Q', 'L', 'S'};
+
+    private static final int OBJECT = 1;
+    private static final int INTERFACE = 2;
+    private static final int UNION = 3;
+    private static final int ENUM = 4;
+    private static final int INPUT_OBJECT = 5;
+    private static final int SCALAR = 6;
+
+    private static final int NAMED_TYPE = 1;
+    private static final int LIST_TYPE = 2;
+    private static final int NON_NULL_TYPE = 3;
+
+    private static final int NOT_SET = 0;
+    private static final int INT_VALUE = 1;
+    private static final int BIG_INT_VALUE = 2;
+    private static final int FLOAT_VALUE = 3;
+    private static final int STRING_VALUE = 4;
+    private static final int BOOLEAN_VALUE = 5;
+    private static final int NULL_VALUE = 6;
+    private static final int ENUM_VALUE = 7;
+    private static final int ARRAY_VALUE = 8;
+    private static final int OBJECT_VALUE = 9;
+
+    private SchemaSnapshot() {
+    }
+
+    /**
+     * Writes a snapshot of the structure of a schema
+     *
+     * @param graphQLSchema the schema
+     *
+     * @return the snapshot
+     */
+    public static byte[] write(GraphQLSchema graphQLSchema) {
+        Writer writer = new Writer();
+        writer.writeSchema(graphQLSchema);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Reads a snapshot back into a schema
+     *
+     * @param snapshot      the snapshot written by {@link #write(GraphQLSchema)}
+     * @param runtimeWiring the runtime wiring of the schema
+     *
+     * @return the schema
+     *
+     * @throws GraphQLException if the bytes are not a snapshot or were written with an unsupported version
+     * @throws SchemaProblem    if the runtime wiring has no implementation of a scalar in the snapshot
+     */
+    public static GraphQLSchema read(byte[] snapshot, RuntimeWiring runtimeWiring) {
+        assertTrue(runtimeWiring.getRegisteredDirectiveWiring().isEmpty() && runtimeWiring.getDirectiveWiring().isEmpty(),
+                "SchemaDirectiveWiring is not supported when reading a schema snapshot");
+        try {
+            Reader reader = new Reader(snapshot, runtimeWiring);
+            GraphQLSchema graphQLSchema = reader.readSchema();
+            if (reader.position != snapshot.length) {
+                throw notASnapshot();
+            }
+            return graphQLSchema;
+        } catch (IndexOutOfBoundsException | ClassCastException e) {
+            throw new GraphQLException("The bytes are not a schema snapshot", e);
+        }
+    }
+
+    private static class Writer {
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+        private final Output strings = new Output(1024);
+        private final Output body = new Output(8192);
+
+        byte[] toByteArray() {
+            Output header = new Output(16);
+            header.writeBytes(MAGIC, 0, MAGIC.length);
+            header.writeVarInt(VERSION);
+            header.writeVarInt(stringIndexes.size());
+            byte[] bytes = new byte[header.size + strings.size + body.size];
+            System.arraycopy(header.buffer, 0, bytes, 0, header.size);
+            System.arraycopy(strings.buffer, 0, bytes, header.size, strings.size);
+            System.arraycopy(body.buffer, 0, bytes, header.size + strings.size, body.size);
+            return bytes;
+        }
+
+        void writeSchema(GraphQLSchema graphQLSchema) {
+            writeString(graphQLSchema.getDescription());
+            writeString(graphQLSchema.getQueryType().getName());
+            writeString(graphQLSchema.getMutationType() == null ? null : graphQLSchema.getMutationType().getName());
+            writeString(graphQLSchema.getSubscriptionType() == null ? null : graphQLSchema.getSubscriptionType().getName());
+            writeAppliedDirectives(graphQLSchema.getSchemaAppliedDirectives());
+
+            List<GraphQLDirective> directives = ImmutableKit.filter(graphQLSchema.getDirectives(), directive -> !Directives.isBuiltInDirective(directive));
+            body.writeVarInt(directives.size());
+            for (GraphQLDirective directive : directives) {
+                writeDirective(directive);
+            }
+
+            List<GraphQLNamedType> types = ImmutableKit.filter(graphQLSchema.getAllTypesAsList(), type -> !Introspection.isIntrospectionTypes(type));
+            body.writeVarInt(types.size());
+            for (GraphQLNamedType type : types) {
+                writeNamedType(type);
+            }
+        }
+
+        void writeDirective(GraphQLDirective directive) {
+            writeString(directive.getName());
+            writeString(directive.getDescription());
+            writeBoolean(directive.isRepeatable());
+            writeString(directive.getDeprecationReason());
+            body.writeVarInt(directive.validLocations().size());
+            for (Introspection.DirectiveLocation location : directive.validLocations()) {
+                writeString(location.name());
+            }
+            writeArguments(directive.getArguments());
+            writeAppliedDirectives(directive.getAppliedDirectives());
+        }
+
+        void writeNamedType(GraphQLNamedType type) {
+            if (type instanceof GraphQLObjectType) {
+                GraphQLObjectType objectType = (GraphQLObjectType) type;
+                writeTypeHeader(OBJECT, objectType.getName(), objectType.getDescription());
+                writeTypeNames(objectType.getInterfaces());
+                writeFields(objectType.getFieldDefinitions());
+                writeAppliedDirectives(objectType.getAppliedDirectives());
+            } else if (type instanceof GraphQLInterfaceType) {
+                GraphQLInterfaceType interfaceType = (GraphQLInterfaceType) type;
+                writeTypeHeader(INTERFACE, interfaceType.getName(), interfaceType.getDescription());
+                writeTypeNames(interfaceType.getInterfaces());
+                writeFields(interfaceType.getFieldDefinitions());
+                writeAppliedDirectives(interfaceType.getAppliedDirectives());
+            } else if (type instanceof GraphQLUnionType) {
+                GraphQLUnionType unionType = (GraphQLUnionType) type;
+                writeTypeHeader(UNION, unionType.getName(), unionType.getDescription());
+                writeTypeNames(unionType.getTypes());
+                writeAppliedDirectives(unionType.getAppliedDirectives());
+            } else if (type instanceof GraphQLEnumType) {
+                GraphQLEnumType enumType = (GraphQLEnumType) type;
+                writeTypeHeader(ENUM, enumType.getName(), enumType.getDescription());
+                body.writeVarInt(enumType.getValues().size());
+                for (GraphQLEnumValueDefinition value : enumType.getValues()) {
+                    writeString(value.getName());
+                    writeString(value.getDescription());
+                    writeString(value.getDeprecationReason());
+                    writeAppliedDirectives(value.getAppliedDirectives());
+                }
+                writeAppliedDirectives(enumType.getAppliedDirectives());
+            } else if (type instanceof GraphQLInputObjectType) {
+                GraphQLInputObjectType inputObjectType = (GraphQLInputObjectType) type;
+                writeTypeHeader(INPUT_OBJECT, inputObjectType.getName(), inputObjectType.getDescription());
+                body.writeVarInt(inputObjectType.getFieldDefinitions().size());
+                for (GraphQLInputObjectField field : inputObjectType.getFieldDefinitions()) {
+                    writeString(field.getName());
+                    writeString(field.getDescription());
+                    writeType(field.getType());
+                    writeValue(field.getInputFieldDefaultValue(), field.getType());
+                    writeString(field.getDeprecationReason());
+                    writeAppliedDirectives(field.getAppliedDirectives());
+                }
+                writeAppliedDirectives(inputObjectType.getAppliedDirectives());
+            } else if (type instanceof GraphQLScalarType) {
+                GraphQLScalarType scalarType = (GraphQLScalarType) type;
+                writeTypeHeader(SCALAR, scalarType.getName(), scalarType.getDescription());
+                writeString(scalarType.getSpecifiedByUrl());
+                writeAppliedDirectives(scalarType.getAppliedDirectives());
+            } else {
+                throw new GraphQLException("The type " + type.getName() + " cannot be written to a schema snapshot");
+            }
+        }
+
+        void writeTypeHeader(int kind, String name, @Nullable String description) {
+            body.writeVarInt(kind);
+            writeString(name);
+            writeString(description);
+        }
+
+        void writeTypeNames(List<? extends GraphQLNamedType> types) {
+            body.writeVarInt(types.size());
+            for (GraphQLNamedType type : types) {
+                writeString(type.getName());
+            }
+        }
+
+        void writeFields(List<GraphQLFieldDefinition> fields) {
+            body.writeVarInt(fields.size());
+            for (GraphQLFieldDefinition field : fields) {
+                writeString(field.getName());
+                writeString(field.getDescription());
+                writeType(field.getType());
+                writeArguments(field.getArguments());
+                writeString(field.getDeprecationReason());
+                writeAppliedDirectives(field.getAppliedDirectives());
+            }
+        }
+
+        void writeArguments(List<GraphQLArgument> arguments) {
+            body.writeVarInt(arguments.size());
+            for (GraphQLArgument argument : arguments) {
+                writeString(argument.getName());
+                writeString(argument.getDescription());
+                writeType(argument.getType());
+                writeValue(argument.getArgumentDefaultValue(), argument.getType());
+                writeString(argument.getDeprecationReason());
+                writeAppliedDirectives(argument.getAppliedDirectives());
+            }
+        }
+
+        void writeAppliedDirectives(List<GraphQLAppliedDirective> appliedDirectives) {
+            body.writeVarInt(appliedDirectives.size());
+            for (GraphQLAppliedDirective appliedDirective : appliedDirectives) {
+                writeString(appliedDirective.getName());
+                body.writeVarInt(appliedDirective.getArguments().size());
+                for (GraphQLAppliedDirectiveArgument argument : appliedDirective.getArguments()) {
+                    writeString(argument.getName());
+                    writeString(argument.getDescription());
+                    writeType(argument.getType());
+                    writeValue(argument.getArgumentValue(), argument.getType());
+                }
+            }
+        }
+
+        void writeType(GraphQLType type) {
+            if (type instanceof GraphQLNonNull) {
+                body.writeVarInt(NON_NULL_TYPE);
+                writeType(((GraphQLNonNull) type).getWrappedType());
+            } else if (type instanceof GraphQLList) {
+                body.writeVarInt(LIST_TYPE);
+                writeType(((GraphQLList) type).getWrappedType());
+            } else {
+                body.writeVarInt(NAMED_TYPE);
+                writeString(((GraphQLNamedType) type).getName());
+            }
+        }
+
+        // values that are not literals are turned into literals, the same way they are printed into SDL
+        void writeValue(InputValueWithState inputValueWithState, GraphQLInputType type) {
+            if (inputValueWithState.isNotSet()) {
+                body.writeVarInt(NOT_SET);
+            } else if (inputValueWithState.isLiteral()) {
+                writeValue((Value<?>) assertNotNull(inputValueWithState.getValue()));
+            } else {
+                writeValue(ValuesResolver.valueToLiteral(inputValueWithState, type, GraphQLContext.getDefault(), Locale.getDefault()));
+            }
+        }
+
+        void writeValue(Value<?> value) {
+            if (value instanceof IntValue) {
+                BigInteger intValue = ((IntValue) value).getValue();
+                if (intValue.bitLength() < 64) {
+                    body.writeVarInt(INT_VALUE);
+                    body.writeVarLong(zigZag(intValue.longValue()));
+                } else {
+                    body.writeVarInt(BIG_INT_VALUE);
+                    writeString(intValue.toString());
+                }
+            } else if (value instanceof FloatValue) {
+                body.writeVarInt(FLOAT_VALUE);
+                writeString(((FloatValue) value).getValue().toString());
+            } else if (value instanceof StringValue) {
+                body.writeVarInt(STRING_VALUE);
+                writeString(((StringValue) value).getValue());
+            } else if (value instanceof BooleanValue) {
+                body.writeVarInt(BOOLEAN_VALUE);
+                writeBoolean(((BooleanValue) value).isValue());
+            } else if (value instanceof NullValue) {
+                body.writeVarInt(NULL_VALUE);
+            } else if (value instanceof EnumValue) {
+                body.writeVarInt(ENUM_VALUE);
+                writeString(((EnumValue) value).getName());
+            } else if (value instanceof ArrayValue) {
+                List<Value> values = ((ArrayValue) value).getValues();
+                body.writeVarInt(ARRAY_VALUE);
+                body.writeVarInt(values.size());
+                for (Value<?> element : values) {
+                    writeValue(element);
+                }
+            } else if (value instanceof ObjectValue) {
+                List<ObjectField> objectFields = ((ObjectValue) value).getObjectFields();
+                body.writeVarInt(OBJECT_VALUE);
+                body.writeVarInt(objectFields.size());
+                for (ObjectField objectField : objectFields) {
+                    writeString(objectField.getName());
+                    writeValue(objectField.getValue());
+                }
+            } else {
+                throw new GraphQLException("The value " + value + " cannot be written to a schema snapshot");
+            }
+        }
+
+        // strings are written as their index in the table plus one, so that zero is null
+        void writeString(@Nullable String string) {
+            if (string == null) {
+                body.writeVarInt(0);
+                return;
+            }
+            Integer index = stringIndexes.get(string);
+            if (index == null) {
+                index = stringIndexes.size();
+                stringIndexes.put(string, index);
+                byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+                strings.writeVarInt(utf8.length);
+                strings.writeBytes(utf8, 0, utf8.length);
+            }
+            body.writeVarInt(index + 1);
+        }
+
+        void writeBoolean(boolean value) {
+            body.writeVarInt(value ? 1 : 0);
+        }
+    }
+
+    private static class Reader {
+        private final byte[] bytes;
+        private final String[] strings;
+        private int position;
+
+        private final RuntimeWiring runtimeWiring;
+        private final WiringFactory wiringFactory;
+        private final GraphqlTypeComparatorRegistry comparatorRegistry;
+        private final GraphQLCodeRegistry.Builder codeRegistry;
+        private final TypeDefinitionRegistry typeRegistry = new TypeDefinitionRegistry();
+        private final Map<String, GraphQLTypeReference> typeReferences = new HashMap<>();
+
+        Reader(byte[] bytes, RuntimeWiring runtimeWiring) {
+            this.bytes = bytes;
+            this.runtimeWiring = runtimeWiring;
+            this.wiringFactory = runtimeWiring.getWiringFactory();
+            this.comparatorRegistry = runtimeWiring.getComparatorRegistry();
+            this.codeRegistry = GraphQLCodeRegistry.newCodeRegistry(runtimeWiring.getCodeRegistry());
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (bytes[i] != MAGIC[i]) {
+                    throw notASnapshot();
+                }
+            }
+            this.position = MAGIC.length;
+            int version = readVarInt();
+            if (version != VERSION) {
+                throw new GraphQLException("The schema snapshot was written with version " + version + " but only version " + VERSION + " is supported");
+            }
+            int stringCount = readVarInt();
+            this.strings = new String[stringCount];
+            for (int i = 0; i < stringCount; i++) {
+                int length = readVarInt();
+                if (length > bytes.length - position) {
+                    throw notASnapshot();
+                }
+                strings[i] = new String(bytes, position, length, StandardCharsets.UTF_8);
+                position += length;
+            }
+        }
+
+        GraphQLSchema readSchema() {
+            String description = readNullableString();
+            String queryTypeName = readString();
+            String mutationTypeName = readNullableString();
+            String subscriptionTypeName = readNullableString();
+            List<GraphQLAppliedDirective> schemaAppliedDirectives = readAppliedDirectives();
+
+            int directiveCount = readVarInt();
+            List<GraphQLDirective> directives = new ArrayList<>(directiveCount);
+            for (int i = 0; i < directiveCount; i++) {
+                directives.add(readDirective());
+            }
+
+            int typeCount = readVarInt();
+            Map<String, GraphQLNamedType> types = new LinkedHashMap<>(typeCount);
+            for (int i = 0; i < typeCount; i++) {
+                GraphQLNamedType type = readNamedType();
+                types.put(type.getName(), type);
+            }
+
+            codeRegistry.fieldVisibility(runtimeWiring.getFieldVisibility());
+            GraphQLSchema.FastBuilder builder = new GraphQLSchema.FastBuilder(codeRegistry,
+                    (GraphQLObjectType) assertNotNull(types.get(queryTypeName)),
+                    mutationTypeName == null ? null : (GraphQLObjectType) assertNotNull(types.get(mutationTypeName)),
+                    subscriptionTypeName == null ? null : (GraphQLObjectType) assertNotNull(types.get(subscriptionTypeName)));
+            builder.addTypes(types.values());
+            builder.additionalDirectives(directives);
+            builder.withSchemaAppliedDirectives(schemaAppliedDirectives);
+            if (description != null) {
+                builder.description(description);
+            }
+            return builder.build();
+        }
+
+        GraphQLDirective readDirective() {
+            GraphQLDirective.Builder builder = GraphQLDirective.newDirective()
+                    .name(readString())
+                    .description(readNullableString())
+                    .repeatable(readBoolean())
+                    .deprecate(readNullableString())
+                    .comparatorRegistry(comparatorRegistry);
+            int locationCount = readVarInt();
+            for (int i = 0; i < locationCount; i++) {
+                builder.validLocation(Introspection.DirectiveLocation.valueOf(readString()));
+            }
+            int argumentCount = readVarInt();
+            for (int i = 0; i < argumentCount; i++) {
+                builder.argument(readArgument());
+            }
+            for (GraphQLAppliedDirective appliedDirective : readAppliedDirectives()) {
+                builder.withAppliedDirective(appliedDirective);
+            }
+            return builder.build();
+        }
+
+        GraphQLNamedType readNamedType() {
+            int kind = readVarInt();
+            String name = readString();
+            String description = readNullableString();
+            switch (kind) {
+                case OBJECT:
+                    return readObjectType(name, description);
+                case INTERFACE:
+                    return readInterfaceType(name, description);
+                case UNION:
+                    return readUnionType(name, description);
+                case ENUM:
+                    return readEnumType(name, description);
+                case INPUT_OBJECT:
+                    return readInputObjectType(name, description);
+                case SCALAR:
+                    return readScalarType(name, description);
+                default:
+                    throw notASnapshot();
+            }
+        }
+
+        GraphQLObjectType readObjectType(String name, @Nullable String description) {
+            GraphQLObjectType.Builder builder = GraphQLObjectType.newObject()
+                    .name(name)
+                    .description(description)
+                    .comparatorRegistry(comparatorRegistry);
+            int interfaceCount = readVarInt();
+            for (int i = 0; i < interfaceCount; i++) {
+                builder.withInterface(typeReference(readString()));
+            }
+            ObjectTypeDefinition definition = ObjectTypeDefinition.newObjectTypeDefinition().name(name).build();
+            int fieldCount = readVarInt();
+            for (int i = 0; i < fieldCount; i++) {
+                builder.field(readField(definition));
+            }
+            for (GraphQLAppliedDirective appliedDirective : readAppliedDirectives()) {
+                builder.withAppliedDirective(appliedDirective);
+            }
+            return builder.build();
+        }
+
+        GraphQLInterfaceType readInterfaceType(String name, @Nullable String description) {
+            GraphQLInterfaceType.Builder builder = GraphQLInterfaceType.newInterface()
+                    .name(name)
+                    .description(description)
+                    .comparatorRegistry(comparatorRegistry);
+            int interfaceCount = readVarInt();
+            for (int i = 0; i < interfaceCount; i++) {
+                builder.withInterface(typeReference(readString()));
+            }
+            InterfaceTypeDefinition definition = InterfaceTypeDefinition.newInterfaceTypeDefinition().name(name).build();
+            int fieldCount = readVarInt();
+            for (int i = 0; i < fieldCount; i++) {
+                builder.field(readField(definition));
+            }
+            for (GraphQLAppliedDirective appliedDirective : readAppliedDirectives()) {
+                builder.withAppliedDirective(appliedDirective);
+            }
+            GraphQLInterfaceType interfaceType = builder.build();
+            if (!codeRegistry.hasTypeResolver(name)) {
+                InterfaceWiringEnvironment environment = new InterfaceWiringEnvironment(typeRegistry, definition);
+                TypeResolver typeResolver = wiringFactory.providesTypeResolver(environment) ? wiringFactory.getTypeResolver(environment) : runtimeWiring.getTypeResolvers().get(name);
+                codeRegistry.typeResolver(name, typeResolver != null ? typeResolver : new TypeResolverProxy());
+            }
+            return interfaceType;
+        }
+
+        GraphQLUnionType readUnionType(String name, @Nullable String description) {
+            GraphQLUnionType.Builder builder = GraphQLUnionType.newUnionType()
+                    .name(name)
+                    .description(description)
+                    .comparatorRegistry(comparatorRegistry);
+            int memberCount = readVarInt();
+            for (int i = 0; i < memberCount; i++) {
+                builder.possibleType(typeReference(readString()));
+            }
+            for (GraphQLAppliedDirective appliedDirective : readAppliedDirectives()) {
+                builder.withAppliedDirective(appliedDirective);
+            }
+            GraphQLUnionType unionType = builder.build();
+            if (!codeRegistry.hasTypeResolver(name)) {
+                UnionWiringEnvironment environment = new UnionWiringEnvironment(typeRegistry, UnionTypeDefinition.newUnionTypeDefinition().name(name).build());
+                TypeResolver typeResolver = wiringFactory.providesTypeResolver(environment) ? wiringFactory.getTypeResolver(environment) : runtimeWiring.getTypeResolvers().get(name);
+                codeRegistry.typeResolver(name, typeResolver != null ? typeResolver : new TypeResolverProxy());
+            }
+            return unionType;
+        }
+
+        GraphQLEnumType readEnumType(String name, @Nullable String description) {
+            GraphQLEnumType.Builder builder = GraphQLEnumType.newEnum()
+                    .name(name)
+                    .description(description)
+                    .comparatorRegistry(comparatorRegistry);
+            EnumValuesProvider enumValuesProvider = runtimeWiring.getEnumValuesProviders().get(name);
+            int valueCount = readVarInt();
+            for (int i = 0; i < valueCount; i++) {
+                String valueName = readString();
+                Object value = valueName;
+                if (enumValuesProvider != null) {
+                    value = assertNotNull(enumValuesProvider.getValue(valueName),
+                            "EnumValuesProvider for %s returned null for %s", name, valueName);
+                }
+                GraphQLEnumValueDefinition.Builder valueBuilder = GraphQLEnumValueDefinition.newEnumValueDefinition()
+                        .name(valueName)
+                        .value(value)
+                        .description(readNullableString())
+                        .deprecationReason(readNullableString())
+                        .comparatorRegistry(comparatorRegistry);
+                for (GraphQLAppliedDirective appliedDirective : readAppliedDirectives()) {
+                    valueBuilder.withAppliedDirective(appliedDirective);
+                }
+                builder.value(valueBuilder.build());
+            }
+            for (GraphQLAppliedDirective appliedDirective : readAppliedDirectives()) {
+                builder.withAppliedDirective(appliedDirective);
+            }
+            return builder.build();
+        }
+
+        GraphQLInputObjectType readInputObjectType(String name, @Nullable String description) {
+            GraphQLInputObjectType.Builder builder = GraphQLInputObjectType.newInputObject()
+                    .name(name)
+                    .description(description)
+                    .comparatorRegistry(comparatorRegistry);
+            int fieldCount = readVarInt();
+            for (int i = 0; i < fieldCount; i++) {
+                GraphQLInputObjectField.Builder fieldBuilder = GraphQLInputObjectField.newInputObjectField()
+                        .name(readString())
+                        .description(readNullableString())
+                        .type((GraphQLInputType) readType())
+                        .comparatorRegistry(comparatorRegistry);
+                Value<?> defaultValue = readValue();
+                if (defaultValue != null) {
+                    fieldBuilder.defaultValueLiteral(defaultValue);
+                }
+                fieldBuilder.deprecate(readNullableString());
+                for (GraphQLAppliedDirective appliedDirective : readAppliedDirectives()) {
+                    fieldBuilder.withAppliedDirective(appliedDirective);
+                }
+                builder.field(fieldBuilder.build());
+            }
+            for (GraphQLAppliedDirective appliedDirective : readAppliedDirectives()) {
+                builder.withAppliedDirective(appliedDirective);
+            }
+            return builder.build();
+        }
+
+        GraphQLScalarType readScalarType(String name, @Nullable String description) {
+            String specifiedByUrl = readNullableString();
+            List<GraphQLAppliedDirective> appliedDirectives = readAppliedDirectives();
+
+            ScalarTypeDefinition definition = ScalarTypeDefinition.newScalarTypeDefinition().name(name).build();
+            ScalarWiringEnvironment environment = new ScalarWiringEnvironment(typeRegistry, definition, ImmutableKit.emptyList());
+            GraphQLScalarType scalarType = wiringFactory.providesScalar(environment) ? wiringFactory.getScalar(environment) : runtimeWiring.getScalars().get(name);
+            if (scalarType == null) {
+                throw new SchemaProblem(Collections.singletonList(new MissingScalarImplementationError(name)));
+            }
+            if (ScalarInfo.isGraphqlSpecifiedScalar(scalarType)) {
+                return scalarType;
+            }
+            return scalarType.transform(builder -> {
+                if (scalarType.getDescription() == null || scalarType.getDescription().trim().isEmpty()) {
+                    builder.description(description != null ? description : "");
+                }
+                builder.comparatorRegistry(comparatorRegistry)
+                        .specifiedByUrl(specifiedByUrl)
+                        .clearDirectives();
+                for (GraphQLAppliedDirective appliedDirective : appliedDirectives) {
+                    builder.withAppliedDirective(appliedDirective);
+                }
+            });
+        }
+
+        GraphQLFieldDefinition readField(TypeDefinition<?> parentDefinition) {
+            String name = readString();
+            GraphQLFieldDefinition.Builder builder = GraphQLFieldDefinition.newFieldDefinition()
+                    .name(name)
+                    .description(readNullableString())
+                    .comparatorRegistry(comparatorRegistry);
+            GraphQLOutputType type = (GraphQLOutputType) readType();
+            builder.type(type);
+            int argumentCount = readVarInt();
+            for (int i = 0; i < argumentCount; i++) {
+                builder.argument(readArgument());
+            }
+            builder.deprecate(readNullableString());
+            List<GraphQLAppliedDirective> appliedDirectives = readAppliedDirectives();
+            for (GraphQLAppliedDirective appliedDirective : appliedDirectives) {
+                builder.withAppliedDirective(appliedDirective);
+            }
+            GraphQLFieldDefinition fieldDefinition = builder.build();
+
+            FieldCoordinates coordinates = FieldCoordinates.coordinates(parentDefinition.getName(), name);
+            if (!codeRegistry.hasDataFetcher(coordinates)) {
+                FieldDefinition definition = FieldDefinition.newFieldDefinition().name(name).type(toAstType(type)).build();
+                FieldWiringEnvironment environment = new FieldWiringEnvironment(typeRegistry, parentDefinition, definition, type, ImmutableKit.emptyList(), appliedDirectives);
+                DataFetcherFactory<?> dataFetcherFactory = dataFetcherFactory(environment, coordinates);
+                if (dataFetcherFactory != null) {
+                    codeRegistry.dataFetcher(coordinates, dataFetcherFactory);
+                }
+            }
+            return fieldDefinition;
+        }
+
+        // this follows SchemaGeneratorHelper.buildDataFetcherFactory
+        @Nullable DataFetcherFactory<?> dataFetcherFactory(FieldWiringEnvironment environment, FieldCoordinates coordinates) {
+            if (wiringFactory.providesDataFetcherFactory(environment)) {
+                return assertNotNull(wiringFactory.getDataFetcherFactory(environment), "The WiringFactory indicated it provides a data fetcher factory but then returned null");
+            }
+            DataFetcher<?> dataFetcher;
+            if (wiringFactory.providesDataFetcher(environment)) {
+                dataFetcher = assertNotNull(wiringFactory.getDataFetcher(environment), "The WiringFactory indicated it provides a data fetcher but then returned null");
+            } else {
+                dataFetcher = runtimeWiring.getDataFetchersForType(coordinates.getTypeName()).get(coordinates.getFieldName());
+                if (dataFetcher == null) {
+                    dataFetcher = runtimeWiring.getDefaultDataFetcherForType(coordinates.getTypeName());
+                }
+                if (dataFetcher == null) {
+                    dataFetcher = wiringFactory.getDefaultDataFetcher(environment);
+                }
+                if (dataFetcher == null) {
+                    if (codeRegistry.getDefaultDataFetcherFactory() != null) {
+                        return null;
+                    }
+                    dataFetcher = SingletonPropertyDataFetcher.singleton();
+                }
+            }
+            return DataFetcherFactories.useDataFetcher(dataFetcher);
+        }
+
+        GraphQLArgument readArgument() {
+            GraphQLArgument.Builder builder = GraphQLArgument.newArgument()
+                    .name(readString())
+                    .description(readNullableString())
+                    .type((GraphQLInputType) readType())
+                    .comparatorRegistry(comparatorRegistry);
+            Value<?> defaultValue = readValue();
+            if (defaultValue != null) {
+                builder.defaultValueLiteral(defaultValue);
+            }
+            builder.deprecate(readNullableString());
+            for (GraphQLAppliedDirective appliedDirective : readAppliedDirectives()) {
+                builder.withAppliedDirective(appliedDirective);
+            }
+            return builder.build();
+        }
+
+        List<GraphQLAppliedDirective> readAppliedDirectives() {
+            int count = readVarInt();
+            if (count == 0) {
+                return ImmutableKit.emptyList();
+            }
+            List<GraphQLAppliedDirective> appliedDirectives = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                GraphQLAppliedDirective.Builder builder = GraphQLAppliedDirective.newDirective()
+                        .name(readString())
+                        .comparatorRegistry(comparatorRegistry);
+                int argumentCount = readVarInt();
+                for (int j = 0; j < argumentCount; j++) {
+                    GraphQLAppliedDirectiveArgument.Builder argument = GraphQLAppliedDirectiveArgument.newArgument()
+                            .name(readString())
+                            .description(readNullableString())
+                            .type((GraphQLInputType) readType());
+                    Value<?> value = readValue();
+                    if (value != null) {
+                        argument.valueLiteral(value);
+                    }
+                    builder.argument(argument.build());
+                }
+                appliedDirectives.add(builder.build());
+            }
+            return appliedDirectives;
+        }
+
+        // the named types are all references which the FastBuilder replaces with the types in a single pass
+        GraphQLType readType() {
+            int kind = readVarInt();
+            switch (kind) {
+                case NAMED_TYPE:
+                    return typeReference(readString());
+                case LIST_TYPE:
+                    return GraphQLList.list(readType());
+                case NON_NULL_TYPE:
+                    return GraphQLNonNull.nonNull(readType());
+                default:
+                    throw notASnapshot();
+            }
+        }
+
+        GraphQLTypeReference typeReference(String name) {
+            return typeReferences.computeIfAbsent(name, GraphQLTypeReference::typeRef);
+        }
+
+        @Nullable Value<?> readValue() {
+            int kind = readVarInt();
+            switch (kind) {
+                case NOT_SET:
+                    return null;
+                case INT_VALUE:
+                    return new IntValue(BigInteger.valueOf(unZigZag(readVarLong())));
+                case BIG_INT_VALUE:
+                    return new IntValue(new BigInteger(readString()));
+                case FLOAT_VALUE:
+                    return new FloatValue(new BigDecimal(readString()));
+                case STRING_VALUE:
+                    return new StringValue(readString());
+                case BOOLEAN_VALUE:
+                    return new BooleanValue(readBoolean());
+                case NULL_VALUE:
+                    return NullValue.of();
+                case ENUM_VALUE:
+                    return new EnumValue(readString());
+                case ARRAY_VALUE: {
+                    int count = readVarInt();
+                    List<Value> values = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        values.add(readRequiredValue());
+                    }
+                    return new ArrayValue(values);
+                }
+                case OBJECT_VALUE: {
+                    int count = readVarInt();
+                    List<ObjectField> objectFields = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        String name = readString();
+                        objectFields.add(new ObjectField(name, readRequiredValue()));
+                    }
+                    return new ObjectValue(objectFields);
+                }
+                default:
+                    throw notASnapshot();
+            }
+        }
+
+        Value<?> readRequiredValue() {
+            Value<?> value = readValue();
+            if (value == null) {
+                throw notASnapshot();
+            }
+            return value;
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw notASnapshot();
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw notASnapshot();
+        }
+
+        @Nullable String readNullableString() {
+            int index = readVarInt();
+            return index == 0 ? null : strings[index - 1];
+        }
+
+        String readString() {
+            String string = readNullableString();
+            if (string == null) {
+                throw notASnapshot();
+            }
+            return string;
+        }
+
+        boolean readBoolean() {
+            return readVarInt() != 0;
+        }
+    }
+
+    private static Type<?> toAstType(GraphQLType type) {
+        if (type instanceof GraphQLNonNull) {
+            return new NonNullType(toAstType(((GraphQLNonNull) type).getWrappedType()));
+        }
+        if (type instanceof GraphQLList) {
+            return new ListType(toAstType(((GraphQLList) type).getWrappedType()));
+        }
+        return new TypeName(((GraphQLNamedType) type).getName());
+    }
+
+    private static class Output {
+        private byte[] buffer;
+        private int size;
+
+        Output(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+
+        void writeBytes(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+        }
+
+        void writeVarInt(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+    }
+
+    private static GraphQLException notASnapshot() {
+        return new GraphQLException("The bytes are not a schema snapshot");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
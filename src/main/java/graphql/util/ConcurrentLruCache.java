@@ -0,0 +1,112 @@
+package graphql.util;
+
+import graphql.Internal;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static graphql.Assert.assertTrue;
+
+/**
+ * A cache that holds at most a maximum number of values and forgets the least recently used ones first.
+ * <p>
+ * The values are split over segments by the hash of their key, each with its own lock, so that threads looking up
+ * different keys rarely wait on each other.  The least recently used value is forgotten per segment, so it is only
+ * approximately the least recently used of the whole cache.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+@Internal
+@NullMarked
+public class ConcurrentLruCache<K, V> {
+
+    private static final int MAX_SEGMENT_COUNT = 16;
+
+    private final Segment<K, V>[] segments;
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentLruCache(int maximumSize) {
+        assertTrue(maximumSize > 0, "maximumSize must be greater than zero");
+        int segmentCount = maximumSize < MAX_SEGMENT_COUNT ? 1 : MAX_SEGMENT_COUNT;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(maximumSize / segmentCount);
+        }
+    }
+
+    /**
+     * @param key the key of the value
+     *
+     * @return the cached value or null if there is none
+     */
+    public @Nullable V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        return segment.lock.callLocked(() -> segment.values.get(key));
+    }
+
+    /**
+     * Returns the cached value of the key, or computes and caches it.  The value is computed outside the lock, so
+     * two threads that miss at the same time may both compute it.
+     *
+     * @param key          the key of the value
+     * @param valueFunction computes the value when it is not cached
+     *
+     * @return the cached or computed value
+     */
+    public V computeIfAbsent(K key, Function<K, V> valueFunction) {
+        Segment<K, V> segment = segmentFor(key);
+        V value = segment.lock.callLocked(() -> segment.values.get(key));
+        if (value == null) {
+            V newValue = valueFunction.apply(key);
+            segment.lock.runLocked(() -> segment.values.put(key, newValue));
+            value = newValue;
+        }
+        return value;
+    }
+
+    /**
+     * @param key the key of the value
+     *
+     * @return true if a value of the key is cached
+     */
+    public boolean containsKey(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        return segment.lock.callLocked(() -> segment.values.containsKey(key));
+    }
+
+    /**
+     * @return the number of cached values
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.lock.callLocked(segment.values::size);
+        }
+        return size;
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        // the segment count is a power of two so the high bits are spread into the low ones
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    private static class Segment<K, V> {
+        private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+        // guarded by the lock
+        private final LinkedHashMap<K, V> values;
+
+        Segment(int maximumSize) {
+            this.values = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    return size() > maximumSize;
+                }
+            };
+        }
+    }
+}
@@ -32,6 +32,17 @@ public class LockKit {
             lock.unlock();
         }
 
+        /**
+         * Acquires the lock only if it is free at the time of invocation
+         * <p>
+         * It's on you to unlock it if this returns true!
+         *
+         * @return true if the lock was acquired
+         */
+        public boolean tryLock() {
+            return lock.tryLock();
+        }
+
         public void runLocked(Runnable codeToRun) {
             lock.lock();
             try {
@@ -72,6 +72,7 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 
@@ -324,6 +325,12 @@ public class OperationValidator implements DocumentVisitor {
     private final Set<Set<FieldAndType>> sameResponseShapeChecked = new LinkedHashSet<>();
     private final Set<Set<FieldAndType>> sameForCommonParentsChecked = new LinkedHashSet<>();
     private final Set<Set<Field>> conflictsReported = new LinkedHashSet<>();
+    // the fields a fragment collects, including the fragments it spreads, and the fields of a sub-selection, which
+    // are the same wherever the fragment or field is used so each is only collected once per document
+    private final Map<String, FragmentFields> overlappingFields_fragmentFields = new HashMap<>();
+    private final Set<String> overlappingFields_fragmentsInProgress = new HashSet<>();
+    private final Set<String> overlappingFields_cyclicFragments = new HashSet<>();
+    private final Map<Field, Map<String, Set<FieldAndType>>> overlappingFields_subSelectionFields = new IdentityHashMap<>();
 
     // --- State: LoneAnonymousOperation ---
     private boolean hasAnonymousOp = false;
@@ -1447,18 +1454,26 @@ public class OperationValidator implements DocumentVisitor {
     }
 
     private void overlappingFields_collectFields(Map<String, Set<FieldAndType>> fieldMap, SelectionSet selectionSet, @Nullable GraphQLType parentType, Set<String> visitedFragments) {
+        overlappingFields_collectFields(fieldMap, selectionSet, parentType, visitedFragments, null);
+    }
+
+    /*
+     * mergedFragments are the fragments whose fields are already in the field map, say from the sub selection of
+     * another field with the same response name, and which do not need to be merged again
+     */
+    private void overlappingFields_collectFields(Map<String, Set<FieldAndType>> fieldMap, SelectionSet selectionSet, @Nullable GraphQLType parentType, Set<String> visitedFragments, @Nullable Set<String> mergedFragments) {
         for (Selection selection : selectionSet.getSelections()) {
             if (selection instanceof Field) {
                 overlappingFields_collectFieldsForField(fieldMap, parentType, (Field) selection);
             } else if (selection instanceof InlineFragment) {
-                overlappingFields_collectFieldsForInlineFragment(fieldMap, visitedFragments, parentType, (InlineFragment) selection);
+                overlappingFields_collectFieldsForInlineFragment(fieldMap, visitedFragments, mergedFragments, parentType, (InlineFragment) selection);
             } else if (selection instanceof FragmentSpread) {
-                overlappingFields_collectFieldsForFragmentSpread(fieldMap, visitedFragments, (FragmentSpread) selection);
+                overlappingFields_collectFieldsForFragmentSpread(fieldMap, visitedFragments, mergedFragments, (FragmentSpread) selection);
             }
         }
     }
 
-    private void overlappingFields_collectFieldsForFragmentSpread(Map<String, Set<FieldAndType>> fieldMap, Set<String> visitedFragments, FragmentSpread fragmentSpread) {
+    private void overlappingFields_collectFieldsForFragmentSpread(Map<String, Set<FieldAndType>> fieldMap, Set<String> visitedFragments, @Nullable Set<String> mergedFragments, FragmentSpread fragmentSpread) {
         FragmentDefinition fragment = validationContext.getFragment(fragmentSpread.getName());
         if (fragment == null) {
             return;
@@ -1466,19 +1481,66 @@ public class OperationValidator implements DocumentVisitor {
         if (visitedFragments.contains(fragment.getName())) {
             return;
         }
+        FragmentFields fragmentFields = overlappingFields_fragmentFields(fragment);
+        if (fragmentFields != null) {
+            visitedFragments.addAll(fragmentFields.fragmentNames);
+            if (mergedFragments == null || !mergedFragments.contains(fragment.getName())) {
+                overlappingFields_mergeFields(fieldMap, fragmentFields.fieldMap);
+                if (mergedFragments != null) {
+                    mergedFragments.addAll(fragmentFields.fragmentNames);
+                }
+            }
+            return;
+        }
         visitedFragments.add(fragment.getName());
         GraphQLType graphQLType = TypeFromAST.getTypeFromAST(validationContext.getSchema(), fragment.getTypeCondition());
+        overlappingFields_collectFields(fieldMap, fragment.getSelectionSet(), graphQLType, visitedFragments, mergedFragments);
+    }
+
+    /*
+     * The fields a fragment collects do not depend on where it is spread, unless it reaches a fragment cycle, which is
+     * reported by NoFragmentCycles, in which case null is returned and the fragment is collected as it is found
+     */
+    private @Nullable FragmentFields overlappingFields_fragmentFields(FragmentDefinition fragment) {
+        String fragmentName = fragment.getName();
+        FragmentFields fragmentFields = overlappingFields_fragmentFields.get(fragmentName);
+        if (fragmentFields != null) {
+            return fragmentFields;
+        }
+        if (overlappingFields_cyclicFragments.contains(fragmentName) || overlappingFields_fragmentsInProgress.contains(fragmentName)) {
+            // every fragment being collected reaches the cycle too
+            overlappingFields_cyclicFragments.addAll(overlappingFields_fragmentsInProgress);
+            return null;
+        }
+        Map<String, Set<FieldAndType>> fieldMap = new LinkedHashMap<>();
+        Set<String> visitedFragments = new LinkedHashSet<>();
+        visitedFragments.add(fragmentName);
+        overlappingFields_fragmentsInProgress.add(fragmentName);
+        GraphQLType graphQLType = TypeFromAST.getTypeFromAST(validationContext.getSchema(), fragment.getTypeCondition());
         overlappingFields_collectFields(fieldMap, fragment.getSelectionSet(), graphQLType, visitedFragments);
+        overlappingFields_fragmentsInProgress.remove(fragmentName);
+        if (overlappingFields_cyclicFragments.contains(fragmentName)) {
+            return null;
+        }
+        fragmentFields = new FragmentFields(fieldMap, visitedFragments);
+        overlappingFields_fragmentFields.put(fragmentName, fragmentFields);
+        return fragmentFields;
+    }
+
+    private void overlappingFields_mergeFields(Map<String, Set<FieldAndType>> fieldMap, Map<String, Set<FieldAndType>> fieldsToMerge) {
+        for (Map.Entry<String, Set<FieldAndType>> entry : fieldsToMerge.entrySet()) {
+            fieldMap.computeIfAbsent(entry.getKey(), k -> new LinkedHashSet<>()).addAll(entry.getValue());
+        }
     }
 
-    private void overlappingFields_collectFieldsForInlineFragment(Map<String, Set<FieldAndType>> fieldMap, Set<String> visitedFragments, @Nullable GraphQLType parentType, InlineFragment inlineFragment) {
+    private void overlappingFields_collectFieldsForInlineFragment(Map<String, Set<FieldAndType>> fieldMap, Set<String> visitedFragments, @Nullable Set<String> mergedFragments, @Nullable GraphQLType parentType, InlineFragment inlineFragment) {
         GraphQLType graphQLType;
         if (inlineFragment.getTypeCondition() == null) {
             graphQLType = parentType;
         } else {
             graphQLType = TypeFromAST.getTypeFromAST(validationContext.getSchema(), inlineFragment.getTypeCondition());
         }
-        overlappingFields_collectFields(fieldMap, inlineFragment.getSelectionSet(), graphQLType, visitedFragments);
+        overlappingFields_collectFields(fieldMap, inlineFragment.getSelectionSet(), graphQLType, visitedFragments, mergedFragments);
     }
 
     private void overlappingFields_collectFieldsForField(Map<String, Set<FieldAndType>> fieldMap, @Nullable GraphQLType parentType, Field field) {
@@ -1518,16 +1580,35 @@ public class OperationValidator implements DocumentVisitor {
     }
 
     private Map<String, Set<FieldAndType>> mergeSubSelections(Set<FieldAndType> sameNameFields) {
+        if (sameNameFields.size() == 1) {
+            // the collected fields are only read so a single field's can be used as they are
+            return subSelectionFields(sameNameFields.iterator().next());
+        }
         Map<String, Set<FieldAndType>> fieldMap = new LinkedHashMap<>();
+        Set<String> mergedFragments = new HashSet<>();
         for (FieldAndType fieldAndType : sameNameFields) {
             if (fieldAndType.field.getSelectionSet() != null) {
                 Set<String> visitedFragments = new LinkedHashSet<>();
-                overlappingFields_collectFields(fieldMap, fieldAndType.field.getSelectionSet(), fieldAndType.graphQLType, visitedFragments);
+                overlappingFields_collectFields(fieldMap, fieldAndType.field.getSelectionSet(), fieldAndType.graphQLType, visitedFragments, mergedFragments);
             }
         }
         return fieldMap;
     }
 
+    private Map<String, Set<FieldAndType>> subSelectionFields(FieldAndType fieldAndType) {
+        SelectionSet selectionSet = fieldAndType.field.getSelectionSet();
+        if (selectionSet == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, Set<FieldAndType>> fieldMap = overlappingFields_subSelectionFields.get(fieldAndType.field);
+        if (fieldMap == null) {
+            fieldMap = new LinkedHashMap<>();
+            overlappingFields_collectFields(fieldMap, selectionSet, fieldAndType.graphQLType, new LinkedHashSet<>());
+            overlappingFields_subSelectionFields.put(fieldAndType.field, fieldMap);
+        }
+        return fieldMap;
+    }
+
     private void sameForCommonParentsByName(Map<String, Set<FieldAndType>> fieldMap, ImmutableList<String> currentPath, List<Conflict> conflictsResult) {
         for (Map.Entry<String, Set<FieldAndType>> entry : fieldMap.entrySet()) {
             List<Set<FieldAndType>> groups = groupByCommonParents(entry.getValue());
@@ -1747,6 +1828,17 @@ public class OperationValidator implements DocumentVisitor {
         }
     }
 
+    private static class FragmentFields {
+        final Map<String, Set<FieldAndType>> fieldMap;
+        // the fragment and the fragments it spreads
+        final Set<String> fragmentNames;
+
+        FragmentFields(Map<String, Set<FieldAndType>> fieldMap, Set<String> fragmentNames) {
+            this.fieldMap = fieldMap;
+            this.fragmentNames = fragmentNames;
+        }
+    }
+
     private static class Conflict {
         final String reason;
         final Set<Field> fields = new LinkedHashSet<>();
@@ -0,0 +1,205 @@
+package graphql
+
+import graphql.language.OperationDefinition
+import graphql.schema.DataFetcher
+import graphql.schema.FieldCoordinates
+import org.dataloader.BatchLoader
+import org.dataloader.DataLoaderFactory
+import org.dataloader.DataLoaderRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+import static graphql.ExecutionInput.newExecutionInput
+
+class AggregatingProfilerTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            dogs(breed: String) : [Dog]
+            cat : String
+        }
+        type Dog {
+            name : String
+            owner : String
+        }
+    '''
+
+    def dogsDF = { env -> [[id: 1, name: "Luna"], [id: 2, name: "Max"], [id: 3, name: "Rex"]] } as DataFetcher
+    def ownerDF = { env -> env.getDataLoader("owner").load(env.getSource().id) } as DataFetcher
+
+    def graphQL(AggregatingProfiler profiler) {
+        TestUtil.graphQL(sdl, [Query: [dogs: dogsDF, cat: { env -> "Tom" } as DataFetcher],
+                               Dog  : [owner: ownerDF]])
+                .aggregatingProfiler(profiler)
+                .build()
+    }
+
+    def execute(GraphQL graphQL, String query) {
+        BatchLoader<Integer, String> batchLoader = { keys -> CompletableFuture.completedFuture(keys.collect { "owner" + it }) }
+        def dataLoaderRegistry = new DataLoaderRegistry()
+        dataLoaderRegistry.register("owner", DataLoaderFactory.newDataLoader(batchLoader))
+        def er = graphQL.execute(newExecutionInput(query).dataLoaderRegistry(dataLoaderRegistry))
+        assert er.errors.isEmpty()
+        er
+    }
+
+    def "executions are grouped by the signature of their operation"() {
+        def profiler = AggregatingProfiler.newAggregatingProfiler().build()
+        def graphQL = graphQL(profiler)
+
+        when:
+        execute(graphQL, '{ dogs(breed: "lab") { name } }')
+        execute(graphQL, '{ dogs(breed: "pug") { dogName: name } }')
+        execute(graphQL, 'query Cat { cat __typename }')
+        def results = profiler.snapshot()
+
+        then:
+        results.size() == 2
+
+        def dogs = results.find { it.operationName == null }
+        dogs.signature == '{dogs(breed:""){name}}'
+        dogs.operationType == OperationDefinition.Operation.QUERY
+        dogs.executionCount == 2
+        dogs.fieldFetchCounts == [(FieldCoordinates.coordinates("Query", "dogs")): 2L,
+                                  (FieldCoordinates.coordinates("Dog", "name")) : 6L]
+
+        def cat = results.find { it.operationName == "Cat" }
+        cat.executionCount == 1
+        // introspection fields are not counted
+        cat.fieldFetchCounts == [(FieldCoordinates.coordinates("Query", "cat")): 1L]
+    }
+
+    def "the batches dispatched by each data loader are counted"() {
+        def profiler = AggregatingProfiler.newAggregatingProfiler().build()
+        def graphQL = graphQL(profiler)
+
+        when:
+        execute(graphQL, '{ dogs { owner } }')
+        execute(graphQL, '{ dogs { owner } }')
+        def result = profiler.snapshot()[0]
+
+        then:
+        result.executionCount == 2
+        result.fieldFetchCounts[FieldCoordinates.coordinates("Dog", "owner")] == 6L
+        result.dispatchStats.size() == 1
+
+        def dispatchStats = result.dispatchStats[0]
+        dispatchStats.dataLoaderName == "owner"
+        dispatchStats.level != null
+        dispatchStats.dispatchCount == 2
+        dispatchStats.keyCount == 6
+        dispatchStats.maxBatchSize == 3
+        dispatchStats.meanBatchSize == 3.0d
+        // batches of 2 or 3 keys are counted in the second bucket
+        dispatchStats.batchSizeCounts[1] == 2
+    }
+
+    def "the engine running and waiting times add up to the execution time"() {
+        long now = 0
+        def profiler = AggregatingProfiler.newAggregatingProfiler().ticker({ now += 10 }).build()
+        def graphQL = graphQL(profiler)
+
+        when:
+        execute(graphQL, '{ cat }')
+        def result = profiler.snapshot()[0]
+
+        then:
+        result.executionCount == 1
+        result.totalExecutionTime.toNanos() > 0
+        result.engineRunningTime.toNanos() > 0
+        result.engineRunningTime + result.engineWaitingTime == result.totalExecutionTime
+        result.meanExecutionTime == result.totalExecutionTime
+    }
+
+    def "the number of operations tracked is bounded"() {
+        def profiler = AggregatingProfiler.newAggregatingProfiler().maxOperations(1).build()
+        def graphQL = graphQL(profiler)
+
+        when:
+        execute(graphQL, '{ cat }')
+        execute(graphQL, '{ dogs { name } }')
+        execute(graphQL, '{ dogs { name } }')
+        execute(graphQL, '{ cat }')
+
+        then:
+        profiler.snapshot().size() == 1
+        profiler.snapshot()[0].signature == '{cat}'
+        profiler.snapshot()[0].executionCount == 2
+        profiler.untrackedCount == 2
+    }
+
+    def "query texts past the number whose signatures are remembered are still profiled"() {
+        def profiler = AggregatingProfiler.newAggregatingProfiler().build()
+        def graphQL = graphQL(profiler)
+        def queryCount = AggregatingProfiler.MAX_QUERY_SIGNATURES + 10
+
+        when:
+        (1..queryCount).each { execute(graphQL, "{ dogs(breed: \"${it}\") { name } }") }
+        execute(graphQL, '{ dogs(breed: "1") { name } }')
+
+        then:
+        profiler.querySignatureCount <= AggregatingProfiler.MAX_QUERY_SIGNATURES
+        profiler.untrackedCount == 0
+        profiler.snapshot().size() == 1
+        profiler.snapshot()[0].signature == '{dogs(breed:""){name}}'
+        profiler.snapshot()[0].executionCount == queryCount + 1
+    }
+
+    def "a snapshot can reset the profiles"() {
+        def profiler = AggregatingProfiler.newAggregatingProfiler().build()
+        def graphQL = graphQL(profiler)
+
+        when:
+        execute(graphQL, '{ dogs { name owner } }')
+        def first = profiler.snapshotAndReset()
+        execute(graphQL, '{ dogs { name owner } }')
+        execute(graphQL, '{ dogs { name owner } }')
+        def second = profiler.snapshotAndReset()
+        def third = profiler.snapshot()
+
+        then:
+        first[0].executionCount == 1
+        first[0].dispatchStats[0].dispatchCount == 1
+
+        second[0].executionCount == 2
+        second[0].fieldFetchCounts[FieldCoordinates.coordinates("Dog", "name")] == 6L
+        second[0].dispatchStats[0].dispatchCount == 2
+
+        third[0].executionCount == 0
+        third[0].totalExecutionTime.isZero()
+        third[0].fieldFetchCounts[FieldCoordinates.coordinates("Dog", "name")] == 0L
+        third[0].dispatchStats[0].dispatchCount == 0
+    }
+
+    def "a request that asks to be profiled is profiled on its own"() {
+        def profiler = AggregatingProfiler.newAggregatingProfiler().build()
+        def graphQL = graphQL(profiler)
+        def executionInput = newExecutionInput('{ cat }').profileExecution(true).build()
+
+        when:
+        graphQL.execute(executionInput)
+
+        then:
+        profiler.snapshot().isEmpty()
+        executionInput.getGraphQLContext().get(ProfilerResult.PROFILER_CONTEXT_KEY) instanceof ProfilerResult
+    }
+
+    def "the profiler is kept when a GraphQL is transformed"() {
+        def profiler = AggregatingProfiler.newAggregatingProfiler().build()
+
+        when:
+        def graphQL = graphQL(profiler).transform({})
+
+        then:
+        graphQL.aggregatingProfiler == profiler
+    }
+
+    def "maxOperations must be positive"() {
+        when:
+        AggregatingProfiler.newAggregatingProfiler().maxOperations(0)
+
+        then:
+        thrown(AssertException)
+    }
+}
@@ -0,0 +1,264 @@
+package graphql.execution
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.instrumentation.FieldFetchingInstrumentationContext
+import graphql.execution.instrumentation.Instrumentation
+import graphql.execution.instrumentation.InstrumentationState
+import graphql.execution.instrumentation.SimplePerformantInstrumentation
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters
+import graphql.schema.BatchedDataFetcher
+import graphql.schema.BatchedDataFetcherFactory
+import graphql.schema.BatchedDataFetchingEnvironment
+import graphql.schema.DataFetcher
+import graphql.schema.DataFetcherFactory
+import graphql.schema.DataFetcherFactoryEnvironment
+import graphql.schema.DataFetchingEnvironment
+import graphql.schema.FieldCoordinates
+import graphql.schema.GraphQLFieldDefinition
+import graphql.schema.idl.RuntimeWiring
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+import static graphql.execution.ResultNodesInfo.MAX_RESULT_NODES
+
+class BatchedDataFetcherTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            item : Item
+            items : [Item]
+        }
+
+        type Item {
+            id : Int
+            double(by : Int = 2) : Int
+            asyncDouble : Int
+            children : [Item]
+        }
+    '''
+
+    List<BatchedDataFetchingEnvironment> batches = []
+
+    def item(int id) {
+        [id: id]
+    }
+
+    def graphQL(BatchedDataFetcher doubleFetcher, Instrumentation instrumentation = SimplePerformantInstrumentation.INSTANCE) {
+        BatchedDataFetcher asyncDoubleFetcher = { BatchedDataFetchingEnvironment env ->
+            batches.add(env)
+            CompletableFuture.supplyAsync({ env.getSources().collect { it["id"] * 2 } })
+        }
+        def wiring = RuntimeWiring.newRuntimeWiring().type("Query", { builder ->
+            builder.dataFetcher("item", { env -> item(5) })
+                    .dataFetcher("items", { env -> [item(1), null, item(3)] })
+        }).type("Item", { builder ->
+            builder.dataFetcher("double", doubleFetcher)
+                    .dataFetcher("asyncDouble", asyncDoubleFetcher)
+                    .dataFetcher("children", { env -> [item(env.getSource()["id"] * 10), item(env.getSource()["id"] * 10 + 1)] })
+        }).build()
+        GraphQL.newGraphQL(TestUtil.schema(sdl, wiring)).instrumentation(instrumentation).build()
+    }
+
+    BatchedDataFetcher doubleFetcher = { BatchedDataFetchingEnvironment env ->
+        batches.add(env)
+        env.getSources().collect { it["id"] * env.getArguments()["by"] }
+    }
+
+    def "a batched data fetcher is called once for all the elements of a list"() {
+        def query = '''
+            {
+                items {
+                    id
+                    double
+                    asyncDouble
+                }
+            }
+        '''
+
+        when:
+        def er = graphQL(doubleFetcher).execute(ExecutionInput.newExecutionInput(query))
+
+        then:
+        er.errors.isEmpty()
+        er.data == [items: [[id: 1, double: 2, asyncDouble: 2], null, [id: 3, double: 6, asyncDouble: 6]]]
+        batches.size() == 2
+        batches.every { it.getSources() == [item(1), item(3)] }
+        batches.every { it.getExecutionStepInfos().collect { it.getPath().toString() } == ["/items[0]/" + it.getDataFetchingEnvironment().getField().getName(), "/items[2]/" + it.getDataFetchingEnvironment().getField().getName()] }
+    }
+
+    def "batches are made per list and use the field arguments and aliases"() {
+        def query = '''
+            {
+                items {
+                    children {
+                        tripled : double(by : 3)
+                    }
+                }
+            }
+        '''
+
+        when:
+        def er = graphQL(doubleFetcher).execute(ExecutionInput.newExecutionInput(query))
+
+        then:
+        er.errors.isEmpty()
+        er.data == [items: [[children: [[tripled: 30], [tripled: 33]]], null, [children: [[tripled: 90], [tripled: 93]]]]]
+        batches.size() == 2
+        batches.collect { it.getSources() } == [[item(10), item(11)], [item(30), item(31)]]
+    }
+
+    def "a batched data fetcher outside of a list is called with a batch of one"() {
+        when:
+        def er = graphQL(doubleFetcher).execute(ExecutionInput.newExecutionInput("{ item { double asyncDouble } }"))
+
+        then:
+        er.errors.isEmpty()
+        er.data == [item: [double: 10, asyncDouble: 10]]
+        batches.size() == 2
+        batches.every { it.getSources() == [item(5)] }
+    }
+
+    def "exceptions from a batch are reported for each element"() {
+        BatchedDataFetcher throwingFetcher = { env -> throw new RuntimeException("bang") }
+
+        when:
+        def er = graphQL(throwingFetcher).execute(ExecutionInput.newExecutionInput("{ items { id double } }"))
+
+        then:
+        er.data == [items: [[id: 1, double: null], null, [id: 3, double: null]]]
+        er.errors.collect { it.path } == [["items", 0, "double"], ["items", 2, "double"]]
+        er.errors.every { it.message.contains("bang") }
+    }
+
+    def "a batch must return a value for each source"() {
+        BatchedDataFetcher shortFetcher = { env -> [42] }
+
+        when:
+        def er = graphQL(shortFetcher).execute(ExecutionInput.newExecutionInput("{ items { double } }"))
+
+        then:
+        er.data == [items: [[double: null], null, [double: null]]]
+        er.errors.collect { it.path } == [["items", 0, "double"], ["items", 2, "double"]]
+    }
+
+    def "batched fields are instrumented for each element"() {
+        def fetchingPaths = []
+        def instrumentedPaths = []
+        def instrumentedValues = []
+        def instrumentation = new SimplePerformantInstrumentation() {
+            @Override
+            FieldFetchingInstrumentationContext beginFieldFetching(InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+                fetchingPaths.add(parameters.getExecutionStepInfo().getPath().toString())
+                return FieldFetchingInstrumentationContext.NOOP
+            }
+
+            @Override
+            DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+                def path = parameters.getExecutionStepInfo().getPath().toString()
+                return { DataFetchingEnvironment env ->
+                    def value = dataFetcher.get(env)
+                    instrumentedPaths.add(path)
+                    instrumentedValues.add(value)
+                    value
+                } as DataFetcher
+            }
+        }
+
+        when:
+        def er = graphQL(doubleFetcher, instrumentation).execute(ExecutionInput.newExecutionInput("{ items { double } }"))
+
+        then:
+        er.errors.isEmpty()
+        er.data == [items: [[double: 2], null, [double: 6]]]
+        batches.size() == 1
+        fetchingPaths == ["/items", "/items[0]/double", "/items[2]/double"]
+        instrumentedPaths == ["/items", "/items[0]/double", "/items[2]/double"]
+        instrumentedValues.drop(1) == [2, 6]
+    }
+
+    def "batched values that are never taken are removed once the list is completed"() {
+        ExecutionContext capturedContext = null
+        def instrumentation = new SimplePerformantInstrumentation() {
+            @Override
+            ExecutionContext instrumentExecutionContext(ExecutionContext executionContext, InstrumentationExecutionParameters parameters, InstrumentationState state) {
+                capturedContext = executionContext
+                return executionContext
+            }
+        }
+        def executionInput = ExecutionInput.newExecutionInput("{ items { id double } }").build()
+        // the result nodes run out before the fields of the last element are fetched
+        executionInput.getGraphQLContext().put(MAX_RESULT_NODES, 4)
+
+        when:
+        graphQL(doubleFetcher, instrumentation).execute(executionInput)
+
+        then:
+        batches.size() == 1
+        batches[0].getSources() == [item(1), item(3)]
+        capturedContext.getBatchedFieldValues().size() == 0
+    }
+
+    def "batched data fetchers returned from a batched data fetcher factory are batched"() {
+        def factory = new BatchedDataFetcherFactory<Object>() {
+            @Override
+            DataFetcher<Object> get(DataFetcherFactoryEnvironment environment) {
+                return doubleFetcher
+            }
+
+            @Override
+            DataFetcher<Object> get(GraphQLFieldDefinition fieldDefinition) {
+                return doubleFetcher
+            }
+        }
+        def wiring = RuntimeWiring.newRuntimeWiring().type("Query", { builder ->
+            builder.dataFetcher("items", { env -> [item(1), item(2), item(3)] })
+        }).build()
+        def schema = TestUtil.schema(sdl, wiring)
+        def codeRegistry = schema.getCodeRegistry().transform({ it.dataFetcher(FieldCoordinates.coordinates("Item", "double"), factory) })
+        def graphQL = GraphQL.newGraphQL(schema.transform({ it.codeRegistry(codeRegistry) })).build()
+
+        when:
+        def er = graphQL.execute(ExecutionInput.newExecutionInput("{ items { double } }"))
+
+        then:
+        er.errors.isEmpty()
+        er.data == [items: [[double: 2], [double: 4], [double: 6]]]
+        batches.size() == 1
+        batches[0].getSources() == [item(1), item(2), item(3)]
+    }
+
+    def "only batched data fetchers and factories marked as batched make the engine look for batched fields"() {
+        def factory = new DataFetcherFactory<Object>() {
+            @Override
+            DataFetcher<Object> get(DataFetcherFactoryEnvironment environment) {
+                return doubleFetcher
+            }
+
+            @Override
+            DataFetcher<Object> get(GraphQLFieldDefinition fieldDefinition) {
+                return doubleFetcher
+            }
+        }
+        def wiring = RuntimeWiring.newRuntimeWiring().type("Query", { builder ->
+            builder.dataFetcher("items", { env -> [item(1), item(2), item(3)] })
+        }).build()
+        def schema = TestUtil.schema(sdl, wiring)
+        def codeRegistry = schema.getCodeRegistry().transform({ it.dataFetcher(FieldCoordinates.coordinates("Item", "double"), factory) })
+        def graphQL = GraphQL.newGraphQL(schema.transform({ it.codeRegistry(codeRegistry) })).build()
+
+        when:
+        def er = graphQL.execute(ExecutionInput.newExecutionInput("{ items { double } }"))
+
+        then:
+        !schema.getCodeRegistry().hasBatchedDataFetchers()
+        !codeRegistry.hasBatchedDataFetchers()
+        er.errors.isEmpty()
+        er.data == [items: [[double: 2], [double: 4], [double: 6]]]
+        // the fetcher from an unmarked factory is called one source at a time
+        batches.size() == 3
+    }
+}
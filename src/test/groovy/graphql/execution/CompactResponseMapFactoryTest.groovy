@@ -0,0 +1,126 @@
+package graphql.execution
+
+import graphql.AssertException
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.schema.DataFetcher
+import spock.lang.Specification
+
+class CompactResponseMapFactoryTest extends Specification {
+
+    def "no keys"() {
+        given:
+        var sut = new CompactResponseMapFactory()
+
+        when:
+        var result = sut.createInsertionOrdered(List.of(), List.of())
+
+        then:
+        result.isEmpty()
+        result == [:]
+    }
+
+    def "keeps the insertion order and allows null values"() {
+        given:
+        var sut = new CompactResponseMapFactory()
+
+        when:
+        var result = sut.createInsertionOrdered(["name", "age", "nickname"], ["Mario", 18, null])
+
+        then:
+        result == ["name": "Mario", "age": 18, "nickname": null]
+        result.keySet() as List == ["name", "age", "nickname"]
+        result.values() as List == ["Mario", 18, null]
+        result.entrySet().collect { it.key + "=" + it.value } == ["name=Mario", "age=18", "nickname=null"]
+        result.get("age") == 18
+        result.containsKey("nickname")
+        !result.containsKey("height")
+        result.get("height") == null
+        result.hashCode() == ["name": "Mario", "age": 18, "nickname": null].hashCode()
+    }
+
+    def "finds the values of maps with many keys"() {
+        given:
+        var sut = new CompactResponseMapFactory()
+        def keys = (0..<20).collect { "field" + it }
+        def values = (0..<20).collect { it }
+
+        when:
+        var result = sut.createInsertionOrdered(keys, values)
+
+        then:
+        keys.every { result.get(it) == values[keys.indexOf(it)] }
+        result.get("field20") == null
+        result.keySet() as List == keys
+    }
+
+    def "maps with the same keys share their shape"() {
+        given:
+        var sut = new CompactResponseMapFactory()
+
+        when:
+        def map1 = sut.createInsertionOrdered(["name", "age"], ["Mario", 18]) as CompactResponseMapFactory.CompactMap
+        def map2 = sut.createInsertionOrdered(new ArrayList<>(["name", "age"]), ["Luigi", 17]) as CompactResponseMapFactory.CompactMap
+        def map3 = sut.createInsertionOrdered(["age", "name"], [17, "Luigi"]) as CompactResponseMapFactory.CompactMap
+
+        then:
+        map1.getShape().is(map2.getShape())
+        !map1.getShape().is(map3.getShape())
+        sut.sharedShapeCount() == 2
+        map2 == map3
+    }
+
+    def "the maps can not be modified"() {
+        given:
+        var sut = new CompactResponseMapFactory()
+        def map = sut.createInsertionOrdered(["name"], ["Mario"])
+
+        when:
+        map.put("name", "Luigi")
+
+        then:
+        thrown(UnsupportedOperationException)
+
+        when:
+        map.entrySet().iterator().next().setValue("Luigi")
+
+        then:
+        thrown(UnsupportedOperationException)
+        map == ["name": "Mario"]
+    }
+
+    def "there must be a value per key"() {
+        when:
+        new CompactResponseMapFactory().createInsertionOrdered(["name", "age"], ["Mario"])
+
+        then:
+        thrown(AssertException)
+    }
+
+    def "can be used for execution"() {
+        given:
+        def sdl = '''
+            type Query {
+                items : [Item]
+            }
+
+            type Item {
+                id : Int
+                name : String
+            }
+        '''
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, [Query: [items: { env -> [[id: 1, name: "a"], [id: 2, name: null]] } as DataFetcher]])).build()
+        def executionInput = ExecutionInput.newExecutionInput("{ items { id name } }").build()
+        GraphQL.unusualConfiguration(executionInput).responseMapFactory().useCompactMaps()
+
+        when:
+        def er = graphQL.execute(executionInput)
+
+        then:
+        er.errors.isEmpty()
+        er.data == [items: [[id: 1, name: "a"], [id: 2, name: null]]]
+        er.data instanceof CompactResponseMapFactory.CompactMap
+        er.data["items"].every { it instanceof CompactResponseMapFactory.CompactMap }
+    }
+}
@@ -0,0 +1,165 @@
+package graphql.execution
+
+import graphql.ExecutionInput
+import graphql.TestUtil
+import graphql.schema.DataFetcher
+import graphql.schema.DataFetchingEnvironment
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+class DeadlineTest extends Specification {
+
+    def sdl = '''
+        directive @timeout(ms: Int!) on FIELD_DEFINITION
+
+        type Query {
+            fast : String
+            slow : Item
+            timed : String @timeout(ms: 50)
+            deadline : Boolean
+        }
+
+        type Item {
+            name : String
+        }
+    '''
+
+    def fetchCount = new AtomicInteger()
+    def pending = new CompletableFuture<Object>()
+    DataFetchingEnvironment timedEnvironment
+
+    def graphQL() {
+        TestUtil.graphQL(sdl, [
+                Query: [
+                        fast    : { env -> fetchCount.incrementAndGet(); "fast" } as DataFetcher,
+                        slow    : { env -> fetchCount.incrementAndGet(); pending } as DataFetcher,
+                        timed   : { env -> fetchCount.incrementAndGet(); timedEnvironment = env; new CompletableFuture() } as DataFetcher,
+                        deadline: { env -> env.deadline != null } as DataFetcher,
+                ],
+                Item : [
+                        name: { env -> fetchCount.incrementAndGet(); "name" } as DataFetcher
+                ]
+        ]).build()
+    }
+
+    def "fields still in flight when the deadline passes are cut off and the data so far is returned"() {
+        def executionInput = ExecutionInput.newExecutionInput('{ fast slow { name } deadline }')
+                .deadline(Deadline.after(Duration.ofMillis(100)))
+                .build()
+
+        when:
+        def result = graphQL().execute(executionInput)
+
+        then:
+        result.data == [fast: "fast", slow: null, deadline: true]
+        result.errors.size() == 1
+        result.errors[0].path == ["slow"]
+        result.errors[0].message.contains("deadline passed")
+        // the future of the data fetcher may be shared so it is not cancelled
+        !pending.isCancelled()
+        // the nested field is never fetched
+        fetchCount.get() == 2
+    }
+
+    def "no fields are fetched once the deadline has passed"() {
+        def executionInput = ExecutionInput.newExecutionInput('{ fast slow { name } }')
+                .deadline(Deadline.after(Duration.ZERO))
+                .build()
+
+        when:
+        def result = graphQL().execute(executionInput)
+
+        then:
+        result.data == [fast: null, slow: null]
+        result.errors.collect { it.path } as Set == [["fast"], ["slow"]] as Set
+        fetchCount.get() == 0
+    }
+
+    def "a field can be given its own timeout via a directive"() {
+        when:
+        def result = graphQL().execute('{ fast timed deadline }')
+
+        then:
+        result.data == [fast: "fast", timed: null, deadline: false]
+        result.errors.size() == 1
+        result.errors[0].path == ["timed"]
+        timedEnvironment.deadline != null
+    }
+
+    def "a field timeout does not extend the deadline of the execution"() {
+        def executionDeadline = Deadline.after(Duration.ofMillis(10))
+        def executionInput = ExecutionInput.newExecutionInput('{ timed }')
+                .deadline(executionDeadline)
+                .build()
+
+        when:
+        def result = graphQL().execute(executionInput)
+
+        then:
+        result.data == [timed: null]
+        timedEnvironment.deadline.is(executionDeadline)
+    }
+
+    def "the deadline is kept when the execution input is transformed"() {
+        def deadline = Deadline.after(Duration.ofSeconds(1))
+        def executionInput = ExecutionInput.newExecutionInput('{ fast }').deadline(deadline).build()
+
+        expect:
+        executionInput.transform { it.operationName("op") }.deadline.is(deadline)
+    }
+
+    def "deadlines expire and the earliest one wins"() {
+        def now = new AtomicLong()
+        def ticker = { now.get() }
+        def soon = Deadline.after(Duration.ofSeconds(1), ticker)
+        def later = Deadline.after(Duration.ofSeconds(2), ticker)
+
+        expect:
+        !soon.isExpired()
+        soon.timeRemaining == Duration.ofSeconds(1)
+        soon.earliest(later).is(soon)
+        later.earliest(soon).is(soon)
+        soon.earliest(null).is(soon)
+
+        when:
+        now.set(Duration.ofSeconds(1).toNanos())
+
+        then:
+        soon.isExpired()
+        soon.timeRemaining == Duration.ZERO
+        !later.isExpired()
+    }
+
+    def "a bounded future completes like the original one when it is in time"() {
+        def future = new CompletableFuture<String>()
+        def bounded = Deadline.after(Duration.ofSeconds(10)).bound(future, "late")
+
+        when:
+        future.complete("on time")
+
+        then:
+        bounded.join() == "on time"
+        !future.isCancelled()
+    }
+
+    def "a bounded future that is late leaves the original one alone"() {
+        def future = new CompletableFuture<String>()
+        def bounded = Deadline.after(Duration.ZERO).bound(future, "late")
+
+        when:
+        bounded.join()
+
+        then:
+        def e = thrown(CompletionException)
+        e.cause instanceof DeadlineExceededException
+        e.cause.message == "late"
+        !future.isDone()
+        future.complete("shared")
+        future.join() == "shared"
+    }
+}
@@ -0,0 +1,189 @@
+package graphql.execution
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.GraphQLContext
+import graphql.TestUtil
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.execution.preparsed.PreparsedDocumentProvider
+import graphql.execution.preparsed.TestingPreparsedDocumentProvider
+import graphql.parser.Parser
+import graphql.schema.DataFetcher
+import graphql.schema.DataFetcherFactory
+import graphql.schema.DataFetcherFactoryEnvironment
+import graphql.schema.DataFetchingEnvironment
+import graphql.schema.FieldCoordinates
+import graphql.schema.GraphQLCodeRegistry
+import graphql.schema.idl.RuntimeWiring
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.atomic.AtomicInteger
+
+class ExecutionPlanTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            hero : Character
+            heroes : [Character]
+        }
+
+        interface Character {
+            name : String
+            friends : [Character]
+        }
+
+        type Human implements Character {
+            name : String
+            friends : [Character]
+            homePlanet : String
+        }
+
+        type Droid implements Character {
+            name : String
+            friends : [Character]
+            primaryFunction : String
+        }
+    '''
+
+    def luke = [type: "Human", name: "Luke", homePlanet: "Tatooine"]
+    def r2d2 = [type: "Droid", name: "R2-D2", primaryFunction: "Astromech"]
+
+    def setup() {
+        luke.friends = [r2d2]
+        r2d2.friends = [luke]
+    }
+
+    def schema() {
+        def wiring = RuntimeWiring.newRuntimeWiring().type("Character", { builder ->
+            builder.typeResolver({ env -> env.getSchema().getObjectType(env.getObject()["type"] as String) })
+        }).type("Query", { builder ->
+            builder.dataFetcher("hero", { env -> luke })
+                    .dataFetcher("heroes", { env -> [luke, r2d2] })
+        }).build()
+        TestUtil.schema(sdl, wiring)
+    }
+
+    def query = '''
+        query q($withFriends : Boolean!) {
+            heroes {
+                name
+                ... on Human { homePlanet }
+                ...DroidFields
+                friends @include(if : $withFriends) {
+                    name
+                }
+            }
+        }
+
+        fragment DroidFields on Droid {
+            primaryFunction
+        }
+    '''
+
+    def "execution plans give the same results as normal execution"() {
+        def graphQL = GraphQL.newGraphQL(schema())
+                .preparsedDocumentProvider(new TestingPreparsedDocumentProvider())
+                .build()
+
+        when:
+        def results = [true, false, true].collect { withFriends ->
+            def input = ExecutionInput.newExecutionInput(query).variables([withFriends: withFriends]).build()
+            GraphQL.unusualConfiguration(input).executionPlans().enableExecutionPlans(true)
+            graphQL.execute(input)
+        }
+        def plainResults = [true, false].collect { withFriends ->
+            graphQL.execute(ExecutionInput.newExecutionInput(query).variables([withFriends: withFriends]).build())
+        }
+
+        then:
+        results.every { it.errors.isEmpty() }
+        results[0].data == plainResults[0].data
+        results[1].data == plainResults[1].data
+        results[2].data == plainResults[0].data
+
+        results[0].data == [heroes: [
+                [name: "Luke", homePlanet: "Tatooine", friends: [[name: "R2-D2"]]],
+                [name: "R2-D2", primaryFunction: "Astromech", friends: [[name: "Luke"]]],
+        ]]
+        results[1].data == [heroes: [
+                [name: "Luke", homePlanet: "Tatooine"],
+                [name: "R2-D2", primaryFunction: "Astromech"],
+        ]]
+    }
+
+    def "a plan collects selection sets once per object type and conditional variable values"() {
+        def document = Parser.parse(query)
+        def schema = schema()
+        def entry = new PreparsedDocumentEntry(document)
+        def plan = entry.getExecutionPlan(schema)
+        def graphQL = GraphQL.newGraphQL(schema)
+                .preparsedDocumentProvider({ ei, fn -> CompletableFuture.completedFuture(entry) } as PreparsedDocumentProvider)
+                .build()
+
+        when:
+        def execute = { boolean withFriends ->
+            def input = ExecutionInput.newExecutionInput(query).variables([withFriends: withFriends]).build()
+            GraphQL.unusualConfiguration(input).executionPlans().enableExecutionPlans(true)
+            graphQL.execute(input)
+        }
+        execute(true)
+        def countAfterFirst = plan.cachedSelectionSetCount()
+        execute(true)
+        def countAfterSecond = plan.cachedSelectionSetCount()
+        execute(false)
+        def countAfterThird = plan.cachedSelectionSetCount()
+
+        then:
+        plan.getConditionalVariableNames() == ["withFriends"]
+        // root + heroes on Human + heroes on Droid + friends on Human + friends on Droid
+        countAfterFirst == 5
+        countAfterSecond == countAfterFirst
+        // friends are excluded and hence only root and the heroes selection sets are added
+        countAfterThird == countAfterFirst + 3
+
+        entry.getExecutionPlan(schema) === plan
+        entry.getExecutionPlan(schema()) !== plan
+    }
+
+    def "data fetchers are resolved once per field when plans are in use"() {
+        def factoryCalls = new AtomicInteger()
+        def factory = new DataFetcherFactory<Object>() {
+            @Override
+            DataFetcher<Object> get(DataFetcherFactoryEnvironment environment) {
+                factoryCalls.incrementAndGet()
+                return { DataFetchingEnvironment env -> "world" } as DataFetcher
+            }
+        }
+        def codeRegistry = GraphQLCodeRegistry.newCodeRegistry()
+                .dataFetcher(FieldCoordinates.coordinates("Query", "hello"), factory)
+                .build()
+        def schema = TestUtil.schema("type Query { hello : String }")
+                .transform({ builder -> builder.codeRegistry(codeRegistry) })
+        def graphQL = GraphQL.newGraphQL(schema)
+                .preparsedDocumentProvider(new TestingPreparsedDocumentProvider())
+                .build()
+
+        when:
+        def results = (1..3).collect {
+            def input = ExecutionInput.newExecutionInput("{ hello alias : hello }").build()
+            GraphQL.unusualConfiguration(input).executionPlans().enableExecutionPlans(true)
+            graphQL.execute(input)
+        }
+
+        then:
+        results.every { it.data == [hello: "world", alias: "world"] }
+        factoryCalls.get() == 1
+    }
+
+    def "plans are not used when incremental support is enabled"() {
+        def document = Parser.parse(query)
+        def schema = schema()
+        def plan = ExecutionPlan.newExecutionPlan(schema, document)
+        def context = GraphQLContext.newContext().build()
+
+        expect:
+        plan.bind(CoercedVariables.emptyVariables(), context, true) == null
+        plan.bind(CoercedVariables.emptyVariables(), context, false) != null
+    }
+}
@@ -4,6 +4,7 @@ package graphql.execution
 import spock.lang.Specification
 
 import static ExecutionStepInfo.newExecutionStepInfo
+import static graphql.Scalars.GraphQLInt
 import static graphql.Scalars.GraphQLString
 import static graphql.TestUtil.mergedSelectionSet
 import static graphql.execution.ExecutionStrategyParameters.newParameters
@@ -33,4 +34,37 @@ class ExecutionStrategyParametersTest extends Specification {
         newParameters.getLocalContext() == "newLocalContext"
     }
 
+    def "a lazy execution step info is only created when asked for and only once"() {
+        given:
+        def executionContext = Mock(ExecutionContext)
+        def parameters = newParameters()
+                .executionStepInfo(newExecutionStepInfo().type(GraphQLString))
+                .source(new Object())
+                .nonNullFieldValidator(new NonNullableFieldValidator(executionContext))
+                .fields(mergedSelectionSet("a": []))
+                .build()
+        def created = 0
+        def lazyStepInfo = { ->
+            created++
+            newExecutionStepInfo().type(GraphQLInt).build()
+        }
+
+        when:
+        def newParameters = parameters.transform(lazyStepInfo, GraphQLInt, "localContext", 123)
+
+        then:
+        newParameters.getExecutionStepInfoType() == GraphQLInt
+        newParameters.getSource() == 123
+        created == 0
+
+        when:
+        def stepInfo = newParameters.getExecutionStepInfo()
+
+        then:
+        stepInfo.getType() == GraphQLInt
+        newParameters.getExecutionStepInfo() is stepInfo
+        newParameters.transform { it -> it.source(456) }.getExecutionStepInfo() is stepInfo
+        created == 1
+    }
+
 }
\ No newline at end of file
@@ -229,6 +229,33 @@ class ExecutionStrategyTest extends Specification {
         e.getCause() instanceof NonNullableFieldWasNullException
     }
 
+    def "a non null field that resolves to null is passed up as a value internally and as a failed future publicly"() {
+        given:
+        ExecutionContext executionContext = buildContext()
+        def fieldType = nonNull(GraphQLString)
+        def fldDef = newFieldDefinition().name("test").type(fieldType).build()
+        def executionStepInfo = ExecutionStepInfo.newExecutionStepInfo().type(fieldType).fieldDefinition(fldDef).path(ResultPath.rootPath().segment("test")).build()
+        def parameters = newParameters()
+                .executionStepInfo(executionStepInfo)
+                .nonNullFieldValidator(new NonNullableFieldValidator(executionContext))
+                .source(null)
+                .fields(mergedSelectionSet(["fld": []]))
+                .build()
+
+        when:
+        def fieldValueInfo = executionStrategy.completeValue(executionContext, parameters)
+
+        then:
+        def nonNullException = fieldValueInfo.getFieldValueObjectOrNonNullException() as NonNullableFieldWasNullException
+        nonNullException.getPath() == ResultPath.rootPath().segment("test")
+        nonNullException.getStackTrace().length == 0
+        fieldValueInfo.isFutureValue()
+        (fieldValueInfo.fieldValueObject as CompletableFuture).isCompletedExceptionally()
+        fieldValueInfo.fieldValueFuture.isCompletedExceptionally()
+        executionContext.errors.size() == 1
+        executionContext.errors[0].message.contains("/test")
+    }
+
     def "completes value for java.util.OptionalInt"() {
         given:
         ExecutionContext executionContext = buildContext()
@@ -302,4 +302,44 @@ class ResultPathTest extends Specification {
         then:
         newPath.toList() == ["a", "b", "x"]
     }
+
+    def "paths built separately are equal and have the same hash code"() {
+        expect:
+        ResultPath.parse(pathString).equals(other)
+        ResultPath.parse(pathString).hashCode() == other.hashCode()
+        !ResultPath.parse(pathString).equals(other.sibling(1001))
+
+        where:
+        pathString        | other
+        "/a[1000]/b"      | ResultPath.rootPath().segment("a").segment(1000).segment("b")
+        "/a[1000]/b"      | ResultPath.fromList(["a", 1000, "b"])
+        "/a[1000][2]"     | ResultPath.rootPath().segment("a").segment(1000).segment(2)
+    }
+
+    def "segments can be read back"() {
+        def path = ResultPath.parse("/a[1000]/b")
+
+        expect:
+        path.getSegmentName() == "b"
+        path.getSegmentValue() == "b"
+        path.getParent().getSegmentIndex() == 1000
+        path.getParent().getSegmentValue() == 1000
+        path.getParent().isListSegment()
+        !path.isListSegment()
+        ResultPath.rootPath().getSegmentValue() == null
+        !ResultPath.rootPath().isListSegment()
+        !ResultPath.rootPath().isNamedSegment()
+
+        when:
+        path.getSegmentIndex()
+
+        then:
+        thrown(ClassCastException)
+
+        when:
+        ResultPath.rootPath().getSegmentName()
+
+        then:
+        thrown(AssertException)
+    }
 }
@@ -0,0 +1,184 @@
+package graphql.execution
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.schema.AsyncDataFetcher
+import graphql.schema.DataFetcher
+import graphql.schema.DataFetchingEnvironment
+import graphql.schema.PropertyDataFetcher
+import org.dataloader.BatchLoader
+import org.dataloader.DataLoaderFactory
+import org.dataloader.DataLoaderRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.Executors
+
+import static graphql.schema.BlockingDataFetcher.blocking
+
+class VirtualThreadExecutionStrategyTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            user(id : ID) : User
+            users : [User]
+        }
+
+        type User {
+            id : ID
+            name : String
+            bestFriend : User
+        }
+    '''
+
+    def "blocking data fetchers run off the calling thread"() {
+        def threads = new ConcurrentHashMap<String, Thread>()
+        def callingThread = Thread.currentThread()
+
+        def userDF = blocking({ DataFetchingEnvironment env ->
+            threads.put("user", Thread.currentThread())
+            [id: env.getArgument("id"), name: "Mario", bestFriend: [id: "2", name: "Luigi"]]
+        } as DataFetcher)
+        def schema = TestUtil.schema(sdl, [Query: [user: userDF]])
+        def graphQL = GraphQL.newGraphQL(schema).queryExecutionStrategy(new VirtualThreadExecutionStrategy()).build()
+
+        when:
+        def result = graphQL.execute('{ user(id : "1") { id name bestFriend { name } } }')
+
+        then:
+        result.errors.isEmpty()
+        result.data == [user: [id: "1", name: "Mario", bestFriend: [name: "Luigi"]]]
+        threads["user"] != callingThread
+        !VirtualThreadExecutionStrategy.isVirtualThreadsSupported() || threads["user"].isVirtual()
+    }
+
+    def "a supplied executor is used"() {
+        def executor = Executors.newSingleThreadExecutor({ r -> new Thread(r, "custom-fetcher-thread") })
+        def threadNames = ConcurrentHashMap.newKeySet()
+
+        def usersDF = blocking({ DataFetchingEnvironment env ->
+            threadNames.add(Thread.currentThread().getName())
+            [[id: "1", name: "Mario"], [id: "2", name: "Luigi"]]
+        } as DataFetcher)
+        def schema = TestUtil.schema(sdl, [Query: [users: usersDF]])
+        def strategy = new VirtualThreadExecutionStrategy(new SimpleDataFetcherExceptionHandler(), executor)
+        def graphQL = GraphQL.newGraphQL(schema).queryExecutionStrategy(strategy).build()
+
+        when:
+        def result = graphQL.execute('{ users { name } }')
+
+        then:
+        result.data == [users: [[name: "Mario"], [name: "Luigi"]]]
+        threadNames == ["custom-fetcher-thread"] as Set
+        strategy.getExecutor() == executor
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "only data fetchers marked as blocking are wrapped by default"() {
+        def strategy = new VirtualThreadExecutionStrategy()
+        DataFetcher plain = { env -> "x" }
+        def async = AsyncDataFetcher.async(plain)
+        def trivial = PropertyDataFetcher.fetching("name")
+        def blocking = blocking(plain)
+
+        expect:
+        strategy.decorateDataFetcher(null, null, async, async) === async
+        strategy.decorateDataFetcher(null, null, trivial, trivial) === trivial
+        strategy.decorateDataFetcher(null, null, plain, plain) === plain
+        strategy.decorateDataFetcher(null, null, blocking, blocking) instanceof VirtualThreadExecutionStrategy.OffloadedDataFetcher
+    }
+
+    def "data fetchers that are not marked as blocking run on the calling thread"() {
+        def threads = new ConcurrentHashMap<String, Thread>()
+        def callingThread = Thread.currentThread()
+
+        DataFetcher userDF = { DataFetchingEnvironment env ->
+            threads.put("user", Thread.currentThread())
+            [id: env.getArgument("id"), name: "Mario"]
+        }
+        def schema = TestUtil.schema(sdl, [Query: [user: userDF]])
+        def graphQL = GraphQL.newGraphQL(schema).queryExecutionStrategy(new VirtualThreadExecutionStrategy()).build()
+
+        when:
+        def result = graphQL.execute('{ user(id : "1") { id name } }')
+
+        then:
+        result.data == [user: [id: "1", name: "Mario"]]
+        threads["user"] == callingThread
+    }
+
+    def "data fetchers that are not blocking are not wrapped"() {
+        DataFetcher plain = { env -> "x" }
+        def strategy = new VirtualThreadExecutionStrategy(new SimpleDataFetcherExceptionHandler(), Executors.newSingleThreadExecutor(), { df -> false })
+
+        expect:
+        strategy.decorateDataFetcher(null, null, plain, plain) === plain
+    }
+
+    def "a completion stage returned from a blocking data fetcher is completed with its value"() {
+        def userDF = blocking({ DataFetchingEnvironment env ->
+            CompletableFuture.supplyAsync({ [id: env.getArgument("id"), name: "Mario"] })
+        } as DataFetcher)
+        def schema = TestUtil.schema(sdl, [Query: [user: userDF]])
+        def graphQL = GraphQL.newGraphQL(schema).queryExecutionStrategy(new VirtualThreadExecutionStrategy()).build()
+
+        when:
+        def result = graphQL.execute('{ user(id : "1") { id name } }')
+
+        then:
+        result.errors.isEmpty()
+        result.data == [user: [id: "1", name: "Mario"]]
+    }
+
+    def "data loader backed data fetchers are batched when they are not marked as blocking"() {
+        def batches = new CopyOnWriteArrayList<List<String>>()
+        def userLoader = DataLoaderFactory.newDataLoader({ List<String> keys ->
+            batches.add(keys)
+            CompletableFuture.completedFuture(keys.collect { [id: it, name: "friend of " + it] })
+        } as BatchLoader<String, Object>)
+        def registry = new DataLoaderRegistry()
+        registry.register("users", userLoader)
+
+        def bestFriendDF = new DataFetcher<Object>() {
+            @Override
+            Object get(DataFetchingEnvironment env) {
+                env.getDataLoader("users").load(env.getSource().id)
+            }
+        }
+        def usersDF = blocking({ env -> [[id: "1"], [id: "2"], [id: "3"]] } as DataFetcher)
+        def schema = TestUtil.schema(sdl, [Query: [users: usersDF], User: [bestFriend: bestFriendDF]])
+        def strategy = new VirtualThreadExecutionStrategy(new SimpleDataFetcherExceptionHandler(), Executors.newCachedThreadPool())
+        def graphQL = GraphQL.newGraphQL(schema).queryExecutionStrategy(strategy).build()
+
+        when:
+        def result = graphQL.execute(ExecutionInput.newExecutionInput('{ users { id bestFriend { name } } }').dataLoaderRegistry(registry).build())
+
+        then:
+        result.errors.isEmpty()
+        result.data == [users: [
+                [id: "1", bestFriend: [name: "friend of 1"]],
+                [id: "2", bestFriend: [name: "friend of 2"]],
+                [id: "3", bestFriend: [name: "friend of 3"]],
+        ]]
+        batches == [["1", "2", "3"]]
+    }
+
+    def "exceptions from data fetchers are handled as field errors"() {
+        def userDF = blocking({ DataFetchingEnvironment env -> throw new RuntimeException("bang") } as DataFetcher)
+        def schema = TestUtil.schema(sdl, [Query: [user: userDF]])
+        def graphQL = GraphQL.newGraphQL(schema).queryExecutionStrategy(new VirtualThreadExecutionStrategy()).build()
+
+        when:
+        def result = graphQL.execute(ExecutionInput.newExecutionInput('{ user(id : "1") { id } }').build())
+
+        then:
+        result.data == [user: null]
+        result.errors.size() == 1
+        result.errors[0].path == ["user"]
+    }
+}
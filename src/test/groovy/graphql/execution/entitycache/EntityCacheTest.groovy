@@ -0,0 +1,242 @@
+package graphql.execution.entitycache
+
+import graphql.ExecutionInput
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.ExecutionContext
+import graphql.execution.instrumentation.Instrumentation
+import graphql.execution.instrumentation.InstrumentationState
+import graphql.execution.instrumentation.SimplePerformantInstrumentation
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters
+import graphql.schema.DataFetcher
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+class EntityCacheTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            product(id : ID!) : Product
+            products : [Product]
+            review : Review
+        }
+
+        type Product {
+            id : ID!
+            name : String
+            price(currency : String) : Float
+            reviews : [Review]
+        }
+
+        type Review {
+            stars : Int
+            fails : String
+        }
+    '''
+
+    def productFetches = new AtomicInteger()
+    def nameFetches = new AtomicInteger()
+    def reviewFetches = new AtomicInteger()
+
+    GraphQL graphQL(Instrumentation instrumentation = SimplePerformantInstrumentation.INSTANCE) {
+        def products = ["1": [id: "1", name: "Bolt"], "2": [id: "2", name: "Nut"]]
+        TestUtil.graphQL(sdl, [
+                Query  : [
+                        product : { env -> productFetches.incrementAndGet(); products[env.getArgument("id")] } as DataFetcher,
+                        products: { env -> [products["1"], products["2"], products["1"]] } as DataFetcher,
+                        review  : { env -> [stars: 5] } as DataFetcher,
+                ],
+                Product: [
+                        name   : { env -> nameFetches.incrementAndGet(); CompletableFuture.completedFuture(env.source["name"]) } as DataFetcher,
+                        price  : { env -> env.getArgument("currency") == "EUR" ? 9.0d : 10.0d } as DataFetcher,
+                        reviews: { env -> reviewFetches.incrementAndGet(); [[stars: 4]] } as DataFetcher,
+                ],
+                Review : [
+                        fails: { env -> throw new RuntimeException("bang") } as DataFetcher
+                ]
+        ]).instrumentation(instrumentation).build()
+    }
+
+    static ExecutionResult execute(GraphQL graphQL, EntityCache cache, String query, Map<String, Object> variables = [:]) {
+        def executionInput = ExecutionInput.newExecutionInput(query).variables(variables).build()
+        GraphQL.unusualConfiguration(executionInput).entityCache().setEntityCache(cache)
+        graphQL.execute(executionInput)
+    }
+
+    def "completed objects are served from the cache including their nested fetches"() {
+        def graphQL = graphQL()
+        def cache = EntityCache.newEntityCache().build()
+        def query = '{ product(id: "1") { id name reviews { stars } } }'
+
+        when:
+        def results = (1..3).collect { execute(graphQL, cache, query) }
+
+        then:
+        results.every { it.data == [product: [id: "1", name: "Bolt", reviews: [[stars: 4]]]] }
+        productFetches.get() == 3
+        nameFetches.get() == 1
+        reviewFetches.get() == 1
+        cache.stats.hitCount == 2
+        cache.stats.missCount == 1
+        cache.stats.entryCount == 1
+    }
+
+    def "the same entity in a list is completed once"() {
+        def graphQL = graphQL()
+        def cache = EntityCache.newEntityCache().build()
+
+        when:
+        def result = execute(graphQL, cache, '{ products { id name } }')
+
+        then:
+        result.data == [products: [[id: "1", name: "Bolt"], [id: "2", name: "Nut"], [id: "1", name: "Bolt"]]]
+        nameFetches.get() == 2
+        cache.stats.hitCount == 1
+    }
+
+    def "the shape of a sub selection is computed once per execution"() {
+        def contexts = []
+        def instrumentation = new SimplePerformantInstrumentation() {
+            @Override
+            ExecutionContext instrumentExecutionContext(ExecutionContext executionContext, InstrumentationExecutionParameters parameters, InstrumentationState state) {
+                contexts.add(executionContext)
+                return executionContext
+            }
+        }
+        def graphQL = graphQL(instrumentation)
+        def cache = EntityCache.newEntityCache().build()
+
+        when:
+        2.times { execute(graphQL, cache, '{ products { id name } }') }
+
+        then:
+        contexts.size() == 2
+        // the shapes of the objects in the list are only kept by the execution that computed them
+        contexts.every { it.entityCacheSelectionShapes.size() == 1 }
+        !contexts[0].entityCacheSelectionShapes.is(contexts[1].entityCacheSelectionShapes)
+        cache.stats.hitCount == 4
+    }
+
+    def "objects are keyed by their sub selection and the variables it references"() {
+        def graphQL = graphQL()
+        def cache = EntityCache.newEntityCache().build()
+        def query = 'query q($currency : String) { product(id: "1") { id price(currency: $currency) } }'
+
+        when:
+        def usd = execute(graphQL, cache, query, [currency: "USD"])
+        def eur = execute(graphQL, cache, query, [currency: "EUR"])
+        def aliased = execute(graphQL, cache, '{ product(id: "1") { id cost: price(currency: "USD") } }')
+        def fragment = execute(graphQL, cache, '{ product(id: "1") { ...F } } fragment F on Product { id name }')
+        def otherFragment = execute(graphQL, cache, '{ product(id: "1") { ...F } } fragment F on Product { name }')
+
+        then:
+        usd.data == [product: [id: "1", price: 10.0d]]
+        eur.data == [product: [id: "1", price: 9.0d]]
+        aliased.data == [product: [id: "1", cost: 10.0d]]
+        fragment.data == [product: [id: "1", name: "Bolt"]]
+        otherFragment.data == [product: [name: "Bolt"]]
+        cache.stats.hitCount == 0
+        cache.stats.entryCount == 5
+    }
+
+    def "objects whose types have no id and objects that completed with errors are not cached"() {
+        def graphQL = graphQL()
+        def cache = EntityCache.newEntityCache().build()
+
+        when:
+        execute(graphQL, cache, '{ review { stars } }')
+        def failed = (1..2).collect { execute(graphQL, cache, '{ product(id: "1") { id reviews { fails } } }') }
+
+        then:
+        failed.every { it.errors.size() == 1 }
+        reviewFetches.get() == 2
+        cache.stats.entryCount == 0
+    }
+
+    def "a custom key function decides which objects are cached"() {
+        def graphQL = graphQL()
+        def cache = EntityCache.newEntityCache()
+                .keyFunction({ type, source -> source["id"] == "2" ? source["id"] : null })
+                .build()
+
+        when:
+        (1..2).each { execute(graphQL, cache, '{ products { name } }') }
+
+        then:
+        // the first product is completed each time it is seen and the second one only once
+        nameFetches.get() == 5
+    }
+
+    def "objects can be invalidated by entity, by type or all together"() {
+        def graphQL = graphQL()
+        def cache = EntityCache.newEntityCache().build()
+        def fill = { execute(graphQL, cache, '{ products { id name } }') }
+
+        when:
+        fill()
+        cache.invalidate("Product", "1")
+
+        then:
+        cache.stats.entryCount == 1
+        cache.stats.invalidationCount == 1
+
+        when:
+        fill()
+        cache.invalidateType("Product")
+
+        then:
+        cache.stats.entryCount == 0
+
+        when:
+        fill()
+        cache.invalidateAll()
+
+        then:
+        cache.stats.entryCount == 0
+        cache.stats.invalidationCount == 5
+    }
+
+    def "objects expire after their time to live and the least recently used are evicted"() {
+        def now = new AtomicLong()
+        def graphQL = graphQL()
+        def cache = EntityCache.newEntityCache()
+                .maximumSize(1)
+                .timeToLive(Duration.ofMinutes(1))
+                .ticker({ now.get() })
+                .build()
+
+        when:
+        execute(graphQL, cache, '{ product(id: "1") { name } }')
+        now.addAndGet(Duration.ofSeconds(59).toNanos())
+        execute(graphQL, cache, '{ product(id: "1") { name } }')
+
+        then:
+        nameFetches.get() == 1
+
+        when:
+        now.addAndGet(Duration.ofSeconds(1).toNanos())
+        execute(graphQL, cache, '{ product(id: "1") { name } }')
+        execute(graphQL, cache, '{ product(id: "2") { name } }')
+
+        then:
+        nameFetches.get() == 3
+        cache.stats.expirationCount == 1
+        cache.stats.evictionCount == 1
+        cache.stats.entryCount == 1
+    }
+
+    def "without an entity cache nothing is cached"() {
+        def graphQL = graphQL()
+
+        when:
+        (1..2).each { graphQL.execute('{ product(id: "1") { name } }') }
+
+        then:
+        nameFetches.get() == 2
+    }
+}
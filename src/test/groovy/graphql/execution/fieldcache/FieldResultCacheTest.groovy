@@ -0,0 +1,211 @@
+package graphql.execution.fieldcache
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.GraphqlErrorException
+import graphql.TestUtil
+import graphql.execution.DataFetcherResult
+import graphql.schema.DataFetcher
+import graphql.schema.FieldCoordinates
+import graphql.schema.GraphQLSchema
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+class FieldResultCacheTest extends Specification {
+
+    def sdl = '''
+        enum CacheControlScope { PUBLIC PRIVATE }
+
+        directive @cacheControl(maxAge: Int, scope: CacheControlScope = PUBLIC) on FIELD_DEFINITION
+
+        type Query {
+            config : String @cacheControl(maxAge: 60)
+            product(id : ID!) : Product
+            me : String @cacheControl(maxAge: 60, scope: PRIVATE)
+            uncached : String @cacheControl(maxAge: 0)
+            plain : String
+        }
+
+        type Product {
+            id : ID
+            reviewsSummary(id : ID!) : String @cacheControl(maxAge: 60)
+        }
+    '''
+
+    def calls = [:].withDefault { new AtomicInteger() }
+
+    DataFetcher counting(String name, Closure<Object> value) {
+        return { env ->
+            calls[name].incrementAndGet()
+            value.call(env)
+        } as DataFetcher
+    }
+
+    GraphQLSchema schema(Map<String, DataFetcher> queryFetchers = [:]) {
+        def fetchers = [
+                config  : counting("config", { "config-value" }),
+                product : { env -> [id: env.getArgument("id")] } as DataFetcher,
+                me      : counting("me", { env -> "me-" + env.graphQlContext.get(FieldResultCache.PRIVATE_SCOPE_CONTEXT_KEY) }),
+                uncached: counting("uncached", { "uncached-value" }),
+                plain   : counting("plain", { "plain-value" }),
+        ] + queryFetchers
+        TestUtil.schema(sdl, [
+                Query  : fetchers,
+                Product: [reviewsSummary: counting("reviewsSummary", { env -> "summary-" + env.getArgument("id") })]
+        ])
+    }
+
+    def "cached fields are fetched once and then served from the cache"() {
+        def graphQL = GraphQL.newGraphQL(FieldResultCache.newFieldResultCache().build().apply(schema())).build()
+
+        when:
+        def results = (1..3).collect { graphQL.execute("{ config uncached plain }") }
+
+        then:
+        results.every { it.data == [config: "config-value", uncached: "uncached-value", plain: "plain-value"] }
+        calls["config"].get() == 1
+        calls["uncached"].get() == 3
+        calls["plain"].get() == 3
+    }
+
+    def "only the fields with a cache control are wrapped"() {
+        def schema = schema()
+        def cachingSchema = FieldResultCache.newFieldResultCache().build().apply(schema)
+
+        expect:
+        cachingSchema.codeRegistry.getDataFetcher(FieldCoordinates.coordinates("Query", "config"), cachingSchema.queryType.getField("config")) instanceof CachingDataFetcher
+        !(cachingSchema.codeRegistry.getDataFetcher(FieldCoordinates.coordinates("Query", "uncached"), cachingSchema.queryType.getField("uncached")) instanceof CachingDataFetcher)
+        !(cachingSchema.codeRegistry.getDataFetcher(FieldCoordinates.coordinates("Query", "plain"), cachingSchema.queryType.getField("plain")) instanceof CachingDataFetcher)
+
+        and: "applying the cache again does not wrap fields twice"
+        def twice = FieldResultCache.newFieldResultCache().build().apply(cachingSchema)
+        !(((CachingDataFetcher) twice.codeRegistry.getDataFetcher(FieldCoordinates.coordinates("Query", "config"), twice.queryType.getField("config"))).delegate instanceof CachingDataFetcher)
+    }
+
+    def "a schema without cache controls is returned as is"() {
+        def schema = TestUtil.schema("type Query { f : String }")
+
+        expect:
+        FieldResultCache.newFieldResultCache().build().apply(schema).is(schema)
+    }
+
+    def "results are keyed by the coerced arguments of the field"() {
+        def graphQL = GraphQL.newGraphQL(FieldResultCache.newFieldResultCache().build().apply(schema())).build()
+
+        when:
+        def first = graphQL.execute('{ a: product(id: "p1") { id reviewsSummary(id: "p1") } b: product(id: "p2") { id reviewsSummary(id: "p2") } }')
+        def second = graphQL.execute(ExecutionInput.newExecutionInput('query q($id: ID!) { product(id: $id) { id reviewsSummary(id: $id) } }')
+                .variables([id: "p1"]).build())
+
+        then:
+        first.data == [a: [id: "p1", reviewsSummary: "summary-p1"], b: [id: "p2", reviewsSummary: "summary-p2"]]
+        second.data == [product: [id: "p1", reviewsSummary: "summary-p1"]]
+        calls["reviewsSummary"].get() == 2
+    }
+
+    def "private results are keyed by the scope in the context and not cached without one"() {
+        def graphQL = GraphQL.newGraphQL(FieldResultCache.newFieldResultCache().build().apply(schema())).build()
+
+        def execute = { Object scope ->
+            def builder = ExecutionInput.newExecutionInput("{ me }")
+            if (scope != null) {
+                builder.graphQLContext([(FieldResultCache.PRIVATE_SCOPE_CONTEXT_KEY): scope])
+            }
+            graphQL.execute(builder.build()).data
+        }
+
+        when:
+        def results = [execute("alice"), execute("bob"), execute("alice"), execute(null), execute(null)]
+
+        then:
+        results == [[me: "me-alice"], [me: "me-bob"], [me: "me-alice"], [me: "me-null"], [me: "me-null"]]
+        calls["me"].get() == 4
+    }
+
+    def "asynchronous results are cached once they complete successfully"() {
+        def attempts = new AtomicInteger()
+        def config = counting("config", {
+            attempts.incrementAndGet() == 1
+                    ? CompletableFuture.failedFuture(new RuntimeException("bang"))
+                    : CompletableFuture.completedFuture("async-value")
+        })
+        def graphQL = GraphQL.newGraphQL(FieldResultCache.newFieldResultCache().build().apply(schema([config: config]))).build()
+
+        when:
+        def results = (1..3).collect { graphQL.execute("{ config }") }
+
+        then:
+        results[0].errors.size() == 1
+        results[1].data == [config: "async-value"]
+        results[2].data == [config: "async-value"]
+        calls["config"].get() == 2
+    }
+
+    def "null results and results with errors are not cached"() {
+        def attempts = new AtomicInteger()
+        def config = counting("config", {
+            switch (attempts.incrementAndGet()) {
+                case 1: return null
+                case 2: return DataFetcherResult.newResult().data("partial").error(GraphqlErrorException.newErrorException().message("bad").build()).build()
+                default: return "config-value"
+            }
+        })
+        def graphQL = GraphQL.newGraphQL(FieldResultCache.newFieldResultCache().build().apply(schema([config: config]))).build()
+
+        when:
+        def results = (1..4).collect { graphQL.execute("{ config }") }
+
+        then:
+        results.collect { it.data } == [[config: null], [config: "partial"], [config: "config-value"], [config: "config-value"]]
+        calls["config"].get() == 3
+    }
+
+    def "results expire after their max age"() {
+        def now = new AtomicLong()
+        def store = new InMemoryFieldResultCacheStore(10, { now.get() })
+        def graphQL = GraphQL.newGraphQL(FieldResultCache.newFieldResultCache().store(store).build().apply(schema())).build()
+
+        when:
+        graphQL.execute("{ config }")
+        now.addAndGet(Duration.ofSeconds(59).toNanos())
+        graphQL.execute("{ config }")
+
+        then:
+        calls["config"].get() == 1
+
+        when:
+        now.addAndGet(Duration.ofSeconds(1).toNanos())
+        graphQL.execute("{ config }")
+
+        then:
+        calls["config"].get() == 2
+    }
+
+    def "the in memory store evicts the least recently used results"() {
+        def store = new InMemoryFieldResultCacheStore(2)
+        def key = { String name -> new FieldResultCacheKey(FieldCoordinates.coordinates("Query", name), [:], null) }
+        def ttl = Duration.ofMinutes(1)
+
+        when:
+        store.put(key("a"), "a", ttl)
+        store.put(key("b"), "b", ttl)
+        store.get(key("a"))
+        store.put(key("c"), "c", ttl)
+
+        then:
+        store.size() == 2
+        store.get(key("a")) == "a"
+        store.get(key("b")) == null
+        store.get(key("c")) == "c"
+
+        when:
+        store.invalidateAll()
+
+        then:
+        store.size() == 0
+    }
+}
@@ -0,0 +1,96 @@
+package graphql.execution.instrumentation
+
+import graphql.ExecutionInput
+import graphql.TestUtil
+import graphql.execution.instrumentation.parameters.InstrumentationFieldCompleteParameters
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters
+import graphql.execution.instrumentation.parameters.InstrumentationFieldParameters
+import graphql.schema.DataFetcher
+import spock.lang.Specification
+
+import static graphql.execution.instrumentation.InstrumentationHook.BEGIN_FIELD_COMPLETION
+import static graphql.execution.instrumentation.InstrumentationHook.BEGIN_FIELD_EXECUTION
+import static graphql.execution.instrumentation.InstrumentationHook.BEGIN_FIELD_FETCHING
+
+class InstrumentationHookTest extends Specification {
+
+    static class FieldExecutionInstrumentation extends SimplePerformantInstrumentation {
+        int count
+
+        @Override
+        InstrumentationContext<Object> beginFieldExecution(InstrumentationFieldParameters parameters, InstrumentationState state) {
+            count++
+            return null
+        }
+    }
+
+    static class LegacyFetchInstrumentation implements Instrumentation {
+        int count
+
+        @Override
+        InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+            count++
+            return SimpleInstrumentationContext.noOp()
+        }
+    }
+
+    static class DeclaredHooksInstrumentation extends SimplePerformantInstrumentation {
+        int count
+
+        @Override
+        InstrumentationContext<Object> beginFieldCompletion(InstrumentationFieldCompleteParameters parameters, InstrumentationState state) {
+            count++
+            return null
+        }
+
+        @Override
+        Set<InstrumentationHook> getInstrumentationHooks() {
+            return EnumSet.of(BEGIN_FIELD_EXECUTION)
+        }
+    }
+
+    def "the hooks of an instrumentation are the ones it overrides"() {
+        expect:
+        new SimplePerformantInstrumentation().getInstrumentationHooks().isEmpty()
+        new FieldExecutionInstrumentation().getInstrumentationHooks() == [BEGIN_FIELD_EXECUTION] as Set
+        // the default beginFieldFetching calls the deprecated beginFieldFetch
+        new LegacyFetchInstrumentation().getInstrumentationHooks() == [BEGIN_FIELD_FETCHING] as Set
+        new DeclaredHooksInstrumentation().getInstrumentationHooks() == [BEGIN_FIELD_EXECUTION] as Set
+    }
+
+    def "the hooks of a chain are the ones its instrumentations implement"() {
+        def chain = new ChainedInstrumentation(new FieldExecutionInstrumentation(), new SimplePerformantInstrumentation(), new LegacyFetchInstrumentation())
+
+        expect:
+        chain.getInstrumentationHooks() == [BEGIN_FIELD_EXECUTION, BEGIN_FIELD_FETCHING] as Set
+        new ChainedInstrumentation(chain).getInstrumentationHooks() == [BEGIN_FIELD_EXECUTION, BEGIN_FIELD_FETCHING] as Set
+        new ChainedInstrumentation(new SimplePerformantInstrumentation()).getInstrumentationHooks().isEmpty()
+        new NoContextChainedInstrumentation(new FieldExecutionInstrumentation()).getInstrumentationHooks() == [BEGIN_FIELD_EXECUTION] as Set
+    }
+
+    def "only the implemented hooks are called during execution"() {
+        def fieldExecution = new FieldExecutionInstrumentation()
+        def legacyFetch = new LegacyFetchInstrumentation()
+        def declaredHooks = new DeclaredHooksInstrumentation()
+        def instrumentations = [fieldExecution, new SimplePerformantInstrumentation(), legacyFetch, declaredHooks, new SimplePerformantInstrumentation()]
+
+        def graphQL = TestUtil.graphQL('''
+            type Query {
+                a : String
+                b : String
+            }
+        ''', [Query: [a: { env -> "A" } as DataFetcher, b: { env -> "B" } as DataFetcher]])
+                .instrumentation(new ChainedInstrumentation(instrumentations))
+                .build()
+
+        when:
+        def result = graphQL.execute(ExecutionInput.newExecutionInput("{ a b }"))
+
+        then:
+        result.data == [a: "A", b: "B"]
+        fieldExecution.count == 2
+        legacyFetch.count == 2
+        // it declared that it does not implement field completion
+        declaredHooks.count == 0
+    }
+}
@@ -1,5 +1,6 @@
 package graphql.execution.instrumentation
 
+import graphql.AssertException
 import graphql.GraphQL
 import graphql.StarWarsSchema
 import graphql.TestUtil
@@ -164,6 +165,66 @@ class TracingInstrumentationTest extends Specification {
         def options = newOptions()
         then:
         options.isIncludeTrivialDataFetchers()
+        options.getSamplingRate() == 1d
+    }
+
+    def "options keep each other when changed"() {
+        when:
+        def options = newOptions().samplingRate(0.5d).includeTrivialDataFetchers(false)
+
+        then:
+        options.getSamplingRate() == 0.5d
+        !options.isIncludeTrivialDataFetchers()
+
+        when:
+        newOptions().samplingRate(1.5d)
+
+        then:
+        thrown(AssertException)
+    }
+
+    def "requests that are not sampled are not traced"() {
+        def instrumentation = new TracingInstrumentation(newOptions().samplingRate(0d))
+
+        def graphQL = GraphQL
+                .newGraphQL(StarWarsSchema.starWarsSchema)
+                .instrumentation(instrumentation)
+                .build()
+
+        when:
+        def executionResult = graphQL.execute(query)
+
+        then:
+        executionResult.errors.isEmpty()
+        executionResult.data["hero"]["id"] == "2001"
+        executionResult.extensions == null
+    }
+
+    def "every field of a large result is traced in the order they were fetched"() {
+        def spec = '''
+            type Query {
+                items : [Item]
+            }
+
+            type Item {
+                name : String
+            }
+        '''
+        def items = (0..<200).collect { [name: "item" + it] }
+        def graphQL = TestUtil.graphQL(spec, [Query: [items: { env -> items } as DataFetcher]])
+                .instrumentation(new TracingInstrumentation())
+                .build()
+
+        when:
+        def executionResult = graphQL.execute("{ items { name } }")
+
+        then:
+        List resolvers = executionResult.extensions['tracing']['execution']['resolvers'] as List
+        resolvers.size() == 201
+        resolvers[0]['path'] == ["items"]
+        resolvers[200]['path'] == ["items", 199, "name"]
+        resolvers[200]['parentType'] == "Item"
+        resolvers.every { it['startOffset'] > 0L && it['duration'] >= 0L }
     }
 
     def 'do not trace introspection information'() {
@@ -0,0 +1,209 @@
+package graphql.execution.instrumentation.dataloader
+
+import graphql.EngineRunningState
+import graphql.ExecutionInput
+import graphql.GraphQLContext
+import graphql.Profiler
+import graphql.execution.AsyncExecutionStrategy
+import graphql.execution.CoercedVariables
+import graphql.execution.ExecutionContext
+import graphql.execution.ExecutionContextBuilder
+import graphql.execution.ExecutionId
+import graphql.execution.ExecutionStrategyParameters
+import graphql.execution.MergedSelectionSet
+import graphql.execution.NonNullableFieldValidator
+import graphql.execution.ResultPath
+import graphql.schema.GraphQLObjectType
+import graphql.schema.GraphQLSchema
+import org.dataloader.BatchLoader
+import org.dataloader.DataLoaderFactory
+import org.dataloader.DataLoaderRegistry
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.Executors
+
+import static graphql.Scalars.GraphQLString
+import static graphql.execution.ExecutionStepInfo.newExecutionStepInfo
+import static graphql.execution.ExecutionStrategyParameters.newParameters
+
+class AdaptiveDataLoaderDispatchStrategyTest extends Specification {
+
+    List<List<String>> slowBatches = new CopyOnWriteArrayList<>()
+    List<List<String>> smallBatches = new CopyOnWriteArrayList<>()
+    List<String> dispatchEvents = new CopyOnWriteArrayList<>()
+    CompletableFuture<List<String>> slowBatchResult = new CompletableFuture<>()
+
+    DataLoaderRegistry dataLoaderRegistry
+    ExecutionContext executionContext
+    AdaptiveDataLoaderDispatchStrategy strategy
+    ExecutionStrategyParameters rootParams
+
+    def profiler = new Profiler() {
+        @Override
+        void batchLoadedNewStrategy(String dataLoaderName, Integer level, int count, boolean delayed, boolean chained) {
+            dispatchEvents.add("$dataLoaderName:$count:${delayed ? 'delayed' : 'immediate'}".toString())
+        }
+    }
+
+    private void setupStrategy(Map<String, Object> contextValues) {
+        dataLoaderRegistry = new DataLoaderRegistry()
+        dataLoaderRegistry.register("slow", DataLoaderFactory.newDataLoader({ keys ->
+            slowBatches.add(keys)
+            slowBatchResult
+        } as BatchLoader<String, String>))
+        dataLoaderRegistry.register("small", DataLoaderFactory.newDataLoader({ keys ->
+            smallBatches.add(keys)
+            CompletableFuture.completedFuture(keys)
+        } as BatchLoader<String, String>))
+
+        def executionInput = ExecutionInput.newExecutionInput().query("{ dummy }").build()
+        def executionStrategy = new AsyncExecutionStrategy()
+        executionContext = new ExecutionContextBuilder()
+                .executionId(ExecutionId.generate())
+                .graphQLSchema(GraphQLSchema.newSchema().query(
+                        GraphQLObjectType.newObject()
+                                .name("Query")
+                                .field({ f -> f.name("dummy").type(GraphQLString) })
+                                .build()
+                ).build())
+                .queryStrategy(executionStrategy)
+                .mutationStrategy(executionStrategy)
+                .subscriptionStrategy(executionStrategy)
+                .graphQLContext(GraphQLContext.of(contextValues))
+                .coercedVariables(CoercedVariables.emptyVariables())
+                .dataLoaderRegistry(dataLoaderRegistry)
+                .executionInput(executionInput)
+                .profiler(profiler)
+                .engineRunningState(new EngineRunningState(executionInput, Profiler.NO_OP))
+                .build()
+
+        strategy = new AdaptiveDataLoaderDispatchStrategy(executionContext)
+
+        rootParams = newParameters()
+                .executionStepInfo(newExecutionStepInfo()
+                        .type(GraphQLString)
+                        .path(ResultPath.rootPath())
+                        .build())
+                .source(new Object())
+                .fields(MergedSelectionSet.newMergedSelectionSet().build())
+                .nonNullFieldValidator(new NonNullableFieldValidator(executionContext))
+                .build()
+    }
+
+    private void load(String dataLoaderName, String key) {
+        dataLoaderRegistry.getDataLoader(dataLoaderName).load(key)
+        strategy.newDataLoaderInvocation(null)
+    }
+
+    private void startSlowBatch() {
+        strategy.executionStrategy(executionContext, rootParams, 1)
+        dataLoaderRegistry.getDataLoader("slow").load("s1")
+        strategy.newDataLoaderInvocation(null)
+        // the engine is idle and nothing is in flight -> dispatched straight away
+        strategy.finishedFetching(executionContext, rootParams)
+        assert slowBatches == [["s1"]]
+    }
+
+    def "dispatches straight away when no other batch is in flight"() {
+        given:
+        setupStrategy([:])
+
+        when:
+        strategy.executionStrategy(executionContext, rootParams, 1)
+        dataLoaderRegistry.getDataLoader("small").load("a")
+        strategy.newDataLoaderInvocation(null)
+        strategy.finishedFetching(executionContext, rootParams)
+
+        then:
+        smallBatches == [["a"]]
+        dispatchEvents == ["small:1:immediate"]
+    }
+
+    def "small batches are held back until the in flight batch completes"() {
+        given:
+        setupStrategy([(DataLoaderDispatchingContextKeys.DATA_LOADER_DISPATCH_WINDOW): Duration.ofMinutes(1)])
+        startSlowBatch()
+
+        when:
+        load("small", "a")
+        load("small", "b")
+
+        then:
+        smallBatches.isEmpty()
+
+        when:
+        slowBatchResult.complete(["s1"])
+
+        then:
+        smallBatches == [["a", "b"]]
+        dispatchEvents == ["slow:1:immediate", "small:2:delayed"]
+    }
+
+    def "a DataLoader that reaches the target batch size is dispatched straight away"() {
+        given:
+        setupStrategy([(DataLoaderDispatchingContextKeys.DATA_LOADER_DISPATCH_WINDOW): Duration.ofMinutes(1),
+                       (DataLoaderDispatchingContextKeys.DATA_LOADER_TARGET_BATCH_SIZE): 2])
+        startSlowBatch()
+
+        when:
+        load("small", "a")
+
+        then:
+        smallBatches.isEmpty()
+
+        when:
+        load("small", "b")
+
+        then:
+        smallBatches == [["a", "b"]]
+    }
+
+    def "held back DataLoaders are dispatched when the dispatch window elapses"() {
+        given:
+        def scheduledExecutor = Executors.newSingleThreadScheduledExecutor()
+        DelayedDataLoaderDispatcherExecutorFactory executorFactory = { executionId, graphQLContext -> scheduledExecutor }
+        setupStrategy([(DataLoaderDispatchingContextKeys.DATA_LOADER_DISPATCH_WINDOW)                  : Duration.ofMillis(20),
+                       (DataLoaderDispatchingContextKeys.DELAYED_DATA_LOADER_DISPATCHER_EXECUTOR_FACTORY): executorFactory])
+        startSlowBatch()
+
+        when:
+        load("small", "a")
+        scheduledExecutor.submit({}).get()
+
+        then:
+        smallBatches.isEmpty()
+
+        when:
+        Thread.sleep(200)
+
+        then:
+        smallBatches == [["a"]]
+        dispatchEvents == ["slow:1:immediate", "small:1:delayed"]
+
+        cleanup:
+        scheduledExecutor.shutdownNow()
+    }
+
+    def "no DataLoader is dispatched while data fetchers are running"() {
+        given:
+        setupStrategy([(DataLoaderDispatchingContextKeys.DATA_LOADER_DISPATCH_WINDOW): Duration.ofMinutes(1)])
+        startSlowBatch()
+
+        when:
+        strategy.startComplete(rootParams)
+        load("small", "a")
+        slowBatchResult.complete(["s1"])
+
+        then:
+        smallBatches.isEmpty()
+
+        when:
+        strategy.stopComplete(rootParams)
+
+        then:
+        smallBatches == [["a"]]
+    }
+}
@@ -0,0 +1,192 @@
+package graphql.execution.instrumentation.dataloader
+
+import graphql.AssertException
+import org.dataloader.BatchLoader
+import org.dataloader.DataLoader
+import org.dataloader.DataLoaderFactory
+import org.dataloader.Try
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class SharedBatchCoordinatorTest extends Specification {
+
+    List<List<String>> sharedBatches = new CopyOnWriteArrayList<>()
+
+    BatchLoader<String, String> upperCaseLoader = { keys ->
+        sharedBatches.add(keys)
+        CompletableFuture.completedFuture(keys.collect { it.toUpperCase() })
+    } as BatchLoader<String, String>
+
+    SharedBatchCoordinator coordinator(BatchLoader<String, ?> batchLoader, Duration batchWindow = Duration.ofMillis(50), int maxBatchSize = Integer.MAX_VALUE) {
+        SharedBatchCoordinator.newSharedBatchCoordinator()
+                .batchLoader("names", batchLoader)
+                .batchWindow(batchWindow)
+                .maxBatchSize(maxBatchSize)
+                .build()
+    }
+
+    DataLoader<String, Object> executionDataLoader(SharedBatchCoordinator coordinator) {
+        DataLoaderFactory.newDataLoader(coordinator.<String, Object> batchLoader("names"))
+    }
+
+    def "batches of concurrent executions are merged into one call"() {
+        def coordinator = coordinator(upperCaseLoader)
+        def dataLoader1 = executionDataLoader(coordinator)
+        def dataLoader2 = executionDataLoader(coordinator)
+        def dataLoader3 = executionDataLoader(coordinator)
+
+        when:
+        def a1 = dataLoader1.load("a")
+        def b1 = dataLoader1.load("b")
+        def b2 = dataLoader2.load("b")
+        def c3 = dataLoader3.load("c")
+        [dataLoader1, dataLoader2, dataLoader3].each { it.dispatch() }
+        def values = [a1, b1, b2, c3].collect { it.get(1, TimeUnit.SECONDS) }
+
+        then:
+        values == ["A", "B", "B", "C"]
+        sharedBatches == [["a", "b", "c"]]
+    }
+
+    def "each execution keeps its own cache"() {
+        def coordinator = coordinator(upperCaseLoader, Duration.ZERO)
+        def dataLoader1 = executionDataLoader(coordinator)
+        def dataLoader2 = executionDataLoader(coordinator)
+
+        when:
+        dataLoader1.load("a")
+        dataLoader1.dispatch().get(1, TimeUnit.SECONDS)
+        dataLoader1.load("a")
+        dataLoader1.dispatch().get(1, TimeUnit.SECONDS)
+        dataLoader2.load("a")
+        dataLoader2.dispatch().get(1, TimeUnit.SECONDS)
+
+        then:
+        sharedBatches == [["a"], ["a"]]
+    }
+
+    def "a merged batch is loaded straight away when it reaches the maximum batch size"() {
+        def coordinator = coordinator(upperCaseLoader, Duration.ofMinutes(1), 2)
+        def dataLoader1 = executionDataLoader(coordinator)
+        def dataLoader2 = executionDataLoader(coordinator)
+
+        when:
+        def a = dataLoader1.load("a")
+        dataLoader1.dispatch()
+
+        then:
+        sharedBatches.isEmpty()
+
+        when:
+        def b = dataLoader2.load("b")
+        dataLoader2.dispatch()
+
+        then:
+        sharedBatches == [["a", "b"]]
+        a.get(1, TimeUnit.SECONDS) == "A"
+        b.get(1, TimeUnit.SECONDS) == "B"
+    }
+
+    def "failed keys only reach the executions that asked for them"() {
+        BatchLoader<String, Try<String>> tryLoader = { keys ->
+            CompletableFuture.completedFuture(keys.collect { it == "bad" ? Try.failed(new RuntimeException("bad key")) : Try.succeeded(it) })
+        } as BatchLoader<String, Try<String>>
+        def coordinator = coordinator(tryLoader)
+        def dataLoader1 = DataLoaderFactory.newDataLoaderWithTry(coordinator.<String, Try<String>> batchLoader("names"))
+        def dataLoader2 = DataLoaderFactory.newDataLoaderWithTry(coordinator.<String, Try<String>> batchLoader("names"))
+
+        when:
+        def bad = dataLoader1.load("bad")
+        def good = dataLoader2.load("good")
+        dataLoader1.dispatch()
+        dataLoader2.dispatch()
+
+        then:
+        good.get(1, TimeUnit.SECONDS) == "good"
+        bad.handle({ value, throwable -> throwable }).get(1, TimeUnit.SECONDS).getMessage().contains("bad key")
+    }
+
+    def "a failed shared call fails every execution in the merged batch"() {
+        BatchLoader<String, String> failingLoader = { keys -> throw new RuntimeException("backend down") } as BatchLoader<String, String>
+        def coordinator = coordinator(failingLoader)
+        def dataLoader1 = executionDataLoader(coordinator)
+        def dataLoader2 = executionDataLoader(coordinator)
+
+        when:
+        def a = dataLoader1.load("a")
+        def b = dataLoader2.load("b")
+        dataLoader1.dispatch()
+        dataLoader2.dispatch()
+        def failures = [a, b].collect { it.handle({ value, throwable -> throwable }).get(1, TimeUnit.SECONDS) }
+
+        then:
+        failures.every { it.getMessage().contains("backend down") }
+    }
+
+    def "a shared batch loader must return a value per key"() {
+        BatchLoader<String, String> shortLoader = { keys -> CompletableFuture.completedFuture([]) } as BatchLoader<String, String>
+        def coordinator = coordinator(shortLoader, Duration.ZERO)
+        def dataLoader = executionDataLoader(coordinator)
+
+        when:
+        def a = dataLoader.load("a")
+        dataLoader.dispatch()
+        def failure = a.handle({ value, throwable -> throwable }).get(1, TimeUnit.SECONDS)
+
+        then:
+        failure.getMessage().contains("must return a value for each of the 1 keys")
+    }
+
+    def "a blocking shared batch loader does not hold up the windows of other batch loaders"() {
+        def release = new CountDownLatch(1)
+        def loaderThreads = new CopyOnWriteArrayList<String>()
+        BatchLoader<String, String> blockingLoader = { keys ->
+            loaderThreads.add(Thread.currentThread().getName())
+            release.await(5, TimeUnit.SECONDS)
+            CompletableFuture.completedFuture(keys)
+        } as BatchLoader<String, String>
+        BatchLoader<String, String> namesLoader = { keys ->
+            loaderThreads.add(Thread.currentThread().getName())
+            CompletableFuture.completedFuture(keys.collect { it.toUpperCase() })
+        } as BatchLoader<String, String>
+        def executor = Executors.newCachedThreadPool({ runnable -> new Thread(runnable, "shared-batch-loader") })
+        def coordinator = SharedBatchCoordinator.newSharedBatchCoordinator()
+                .batchLoader("blocking", blockingLoader)
+                .batchLoader("names", namesLoader)
+                .batchWindow(Duration.ofMillis(10))
+                .executor(executor)
+                .build()
+        def blockingDataLoader = DataLoaderFactory.newDataLoader(coordinator.<String, String> batchLoader("blocking"))
+        def namesDataLoader = DataLoaderFactory.newDataLoader(coordinator.<String, String> batchLoader("names"))
+
+        when:
+        def blocked = blockingDataLoader.load("x")
+        blockingDataLoader.dispatch()
+        Thread.sleep(50)
+        def name = namesDataLoader.load("a")
+        namesDataLoader.dispatch()
+
+        then:
+        name.get(1, TimeUnit.SECONDS) == "A"
+        !blocked.isDone()
+        loaderThreads == ["shared-batch-loader", "shared-batch-loader"]
+
+        cleanup:
+        release.countDown()
+        executor.shutdown()
+    }
+
+    def "unknown shared batch loaders are rejected"() {
+        when:
+        coordinator(upperCaseLoader).batchLoader("unknown")
+
+        then:
+        thrown(AssertException)
+    }
+}
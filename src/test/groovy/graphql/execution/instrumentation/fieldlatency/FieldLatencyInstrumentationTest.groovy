@@ -0,0 +1,118 @@
+package graphql.execution.instrumentation.fieldlatency
+
+import graphql.TestUtil
+import graphql.schema.DataFetcher
+import graphql.schema.FieldCoordinates
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.atomic.AtomicLong
+
+class FieldLatencyInstrumentationTest extends Specification {
+
+    def spec = '''
+        type Query {
+            slow : String
+            fast : String
+            failing : String
+            property : String
+        }
+    '''
+
+    def now = new AtomicLong()
+
+    def graphQL(FieldLatencyInstrumentation instrumentation) {
+        TestUtil.graphQL(spec, [Query: [
+                slow   : { env ->
+                    // the value completes 5 ms after the fetch started
+                    CompletableFuture.runAsync({ now.addAndGet(Duration.ofMillis(5).toNanos()) }).thenApply({ "slow" })
+                } as DataFetcher,
+                fast   : { env -> "fast" } as DataFetcher,
+                failing: { env -> throw new RuntimeException("bang") } as DataFetcher,
+        ]]).instrumentation(instrumentation).build()
+    }
+
+    def "fetch latencies and errors are recorded per field coordinates"() {
+        def instrumentation = FieldLatencyInstrumentation.newFieldLatencyInstrumentation()
+                .ticker({ now.get() })
+                .build()
+        def graphQL = graphQL(instrumentation)
+
+        when:
+        3.times { graphQL.execute("{ slow fast failing property }") }
+        def stats = instrumentation.snapshot().collectEntries { [(it.coordinates): it] }
+
+        then:
+        // the property is fetched by a trivial data fetcher which is not timed
+        stats.keySet() == [coordinates("slow"), coordinates("fast"), coordinates("failing")] as Set
+
+        def slow = stats[coordinates("slow")]
+        slow.count == 3
+        slow.errorCount == 0
+        slow.meanTime == Duration.ofMillis(5)
+        slow.maxTime == Duration.ofMillis(5)
+        slow.getPercentile(50) == Duration.ofMillis(5)
+
+        def fast = stats[coordinates("fast")]
+        fast.count == 3
+        fast.errorCount == 0
+
+        def failing = stats[coordinates("failing")]
+        failing.count == 3
+        failing.errorCount == 3
+    }
+
+    def "snapshots can reset the latencies"() {
+        def instrumentation = FieldLatencyInstrumentation.newFieldLatencyInstrumentation().build()
+        def graphQL = graphQL(instrumentation)
+        graphQL.execute("{ fast }")
+
+        when:
+        def first = instrumentation.snapshotAndReset()
+        def second = instrumentation.snapshot()
+
+        then:
+        first.size() == 1
+        first[0].count == 1
+        second.size() == 1
+        second[0].count == 0
+    }
+
+    def "the number of field coordinates tracked is bounded"() {
+        def instrumentation = FieldLatencyInstrumentation.newFieldLatencyInstrumentation()
+                .maxFieldCoordinates(1)
+                .includeTrivialDataFetchers(true)
+                .build()
+        def graphQL = graphQL(instrumentation)
+
+        when:
+        graphQL.execute("{ fast property }")
+
+        then:
+        instrumentation.snapshot().collect { it.coordinates } == [coordinates("fast")]
+        instrumentation.untrackedCount == 1
+    }
+
+    def "latencies are counted in log linear buckets"() {
+        expect:
+        FieldLatencyStats.bucketIndex(nanos) == index
+        FieldLatencyStats.getBucketLowerBoundNanos(index) <= Math.min(nanos, FieldLatencyStats.getBucketLowerBoundNanos(FieldLatencyStats.BUCKET_COUNT - 1))
+
+        where:
+        nanos          | index
+        0              | 0
+        7              | 7
+        8              | 8
+        15             | 15
+        16             | 16
+        17             | 16
+        18             | 17
+        1_000_000      | 8 * 17 + 7
+        Long.MAX_VALUE | FieldLatencyStats.BUCKET_COUNT - 1
+    }
+
+    static FieldCoordinates coordinates(String fieldName) {
+        FieldCoordinates.coordinates("Query", fieldName)
+    }
+}
@@ -0,0 +1,190 @@
+package graphql.execution.preparsed.caching
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.StarWarsSchema
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.parser.Parser
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Function
+import java.util.function.LongSupplier
+
+class BoundedPreparsedDocumentProviderTest extends Specification {
+
+    def parseCounts = [:].withDefault { new AtomicInteger() }
+    Function<ExecutionInput, PreparsedDocumentEntry> parseFunction = { ExecutionInput ei ->
+        parseCounts[ei.query].incrementAndGet()
+        new PreparsedDocumentEntry(Parser.parse(ei.query))
+    }
+
+    static ExecutionInput input(String query) {
+        ExecutionInput.newExecutionInput(query).build()
+    }
+
+    def "documents are parsed once and then served from the cache"() {
+        def provider = BoundedPreparsedDocumentProvider.newBoundedPreparsedDocumentProvider().build()
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).preparsedDocumentProvider(provider).build()
+
+        when:
+        def results = (1..3).collect { graphQL.execute("{ hero { name } }") }
+        def stats = provider.getStats()
+
+        then:
+        results.every { it.data == [hero: [name: "R2-D2"]] }
+        stats.missCount == 1
+        stats.hitCount == 2
+        stats.entryCount == 1
+        stats.weightedSize > 0
+    }
+
+    def "documents are weighed by their node count"() {
+        expect:
+        // document, operation, selection set and field
+        BoundedPreparsedDocumentProvider.weigh(new PreparsedDocumentEntry(Parser.parse("{ f }"))) == 5
+        BoundedPreparsedDocumentProvider.weigh(new PreparsedDocumentEntry(Parser.parse("{ f g }"))) == 6
+    }
+
+    def "concurrent misses on the same document only parse it once"() {
+        def provider = BoundedPreparsedDocumentProvider.newBoundedPreparsedDocumentProvider().build()
+        def loading = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        Function<ExecutionInput, PreparsedDocumentEntry> slowParse = { ExecutionInput ei ->
+            loading.countDown()
+            release.await()
+            parseFunction.apply(ei)
+        }
+
+        when:
+        def first = CompletableFuture.supplyAsync({ provider.getDocumentAsync(input("{ f }"), slowParse).join() })
+        loading.await(5, TimeUnit.SECONDS)
+        def second = provider.getDocumentAsync(input("{ f }"), slowParse)
+
+        then:
+        !second.isDone()
+
+        when:
+        release.countDown()
+
+        then:
+        second.get(5, TimeUnit.SECONDS) === first.get(5, TimeUnit.SECONDS)
+        parseCounts["{ f }"].get() == 1
+        provider.getStats().missCount == 1
+        provider.getStats().hitCount == 1
+    }
+
+    def "the cache stays within its maximum weight"() {
+        def evicted = []
+        def provider = BoundedPreparsedDocumentProvider.newBoundedPreparsedDocumentProvider()
+                .maximumWeight(100)
+                .listener(new PreparsedDocumentCacheListener() {
+                    @Override
+                    void onEviction(Object key, PreparsedDocumentEntry documentEntry, int weight) {
+                        evicted.add(key)
+                    }
+                })
+                .build()
+
+        when:
+        (1..100).each { provider.getDocumentAsync(input("{ f$it }"), parseFunction).join() }
+        def stats = provider.getStats()
+
+        then:
+        stats.weightedSize <= 100
+        stats.evictionCount > 0
+        stats.evictionCount == evicted.size()
+        stats.entryCount + stats.evictionCount == 100
+    }
+
+    def "frequently used documents are not flushed out by one off documents"() {
+        def provider = BoundedPreparsedDocumentProvider.newBoundedPreparsedDocumentProvider()
+                .maximumWeight(2000)
+                .build()
+        def popular = "{ popular }"
+
+        when:
+        (1..10).each { provider.getDocumentAsync(input(popular), parseFunction).join() }
+        // far more one off documents than the cache can hold
+        (1..500).each { provider.getDocumentAsync(input("{ f$it }"), parseFunction).join() }
+        provider.getDocumentAsync(input(popular), parseFunction).join()
+
+        then:
+        provider.getStats().evictionCount > 0
+        provider.getStats().weightedSize <= 2000
+        parseCounts[popular].get() == 1
+    }
+
+    def "documents expire after their time to live"() {
+        long now = 0
+        def expired = []
+        def provider = BoundedPreparsedDocumentProvider.newBoundedPreparsedDocumentProvider()
+                .timeToLive(Duration.ofSeconds(10))
+                .ticker({ -> now } as LongSupplier)
+                .listener(new PreparsedDocumentCacheListener() {
+                    @Override
+                    void onExpiration(Object key, PreparsedDocumentEntry documentEntry) {
+                        expired.add(key)
+                    }
+                })
+                .build()
+
+        when:
+        provider.getDocumentAsync(input("{ f }"), parseFunction).join()
+        now = TimeUnit.SECONDS.toNanos(9)
+        provider.getDocumentAsync(input("{ f }"), parseFunction).join()
+
+        then:
+        parseCounts["{ f }"].get() == 1
+
+        when:
+        now = TimeUnit.SECONDS.toNanos(10)
+        provider.getDocumentAsync(input("{ f }"), parseFunction).join()
+
+        then:
+        parseCounts["{ f }"].get() == 2
+        expired == ["{ f }"]
+        provider.getStats().expirationCount == 1
+        provider.getStats().entryCount == 1
+    }
+
+    def "failures to parse are not cached"() {
+        def provider = BoundedPreparsedDocumentProvider.newBoundedPreparsedDocumentProvider().build()
+        def calls = 0
+        Function<ExecutionInput, PreparsedDocumentEntry> failingParse = { ExecutionInput ei ->
+            calls++
+            throw new IllegalStateException("boom")
+        }
+
+        when:
+        provider.getDocumentAsync(input("{ f }"), failingParse)
+
+        then:
+        thrown(IllegalStateException)
+
+        when:
+        def entry = provider.getDocumentAsync(input("{ f }"), parseFunction).join()
+
+        then:
+        calls == 1
+        entry.document != null
+        provider.getStats().entryCount == 1
+    }
+
+    def "all documents can be invalidated"() {
+        def provider = BoundedPreparsedDocumentProvider.newBoundedPreparsedDocumentProvider().build()
+
+        when:
+        provider.getDocumentAsync(input("{ f }"), parseFunction).join()
+        provider.invalidateAll()
+        provider.getDocumentAsync(input("{ f }"), parseFunction).join()
+
+        then:
+        parseCounts["{ f }"].get() == 2
+        provider.getStats().entryCount == 1
+    }
+}
@@ -0,0 +1,119 @@
+package graphql.execution.preparsed.persisted
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.schema.DataFetcher
+import spock.lang.Specification
+
+import java.util.concurrent.Executor
+
+import static graphql.execution.preparsed.persisted.PersistedQuerySupport.PERSISTED_QUERY_MARKER
+
+class PersistedQueryManifestTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            hello : String
+        }
+    '''
+
+    def schema = TestUtil.schema(sdl, [Query: [hello: { env -> "world" } as DataFetcher]])
+
+    def operations = [
+            hashOne  : "query One { hello }",
+            hashTwo  : "query Two { greeting: hello }",
+            undefined: "query Three { goodbye }",
+            syntax   : "query Four { hello ",
+    ]
+
+    def executionInput(String hash) {
+        ExecutionInput.newExecutionInput(PERSISTED_QUERY_MARKER)
+                .extensions([persistedQuery: [version: 1, sha256Hash: hash]])
+                .build()
+    }
+
+    def "the operations are parsed and validated when the manifest is built"() {
+        when:
+        def manifest = PersistedQueryManifest.newPersistedQueryManifest(schema).operations(operations).build()
+
+        then:
+        manifest.operationCount == 4
+        manifest.containsOperation("hashOne")
+        !manifest.containsOperation("hashFive")
+        manifest.invalidOperations.keySet() == ["undefined", "syntax"] as Set
+        manifest.invalidOperations["undefined"][0].message.contains("Field 'goodbye' in type 'Query' is undefined")
+        manifest.weightedSize > 0
+        manifest.loadTime != null
+    }
+
+    def "known operations are executed without being parsed again"() {
+        def manifest = PersistedQueryManifest.newPersistedQueryManifest(schema).operations(operations).build()
+        def graphQL = GraphQL.newGraphQL(schema).preparsedDocumentProvider(new ApolloPersistedQuerySupport(manifest)).build()
+
+        when:
+        def er = graphQL.execute(executionInput("hashTwo"))
+
+        then:
+        er.errors.isEmpty()
+        er.data == [greeting: "world"]
+
+        when:
+        er = graphQL.execute(executionInput("undefined"))
+
+        then:
+        er.errors.size() == 1
+        er.errors[0].message.contains("Field 'goodbye' in type 'Query' is undefined")
+    }
+
+    def "unknown operations are rejected even if they have query text"() {
+        def manifest = PersistedQueryManifest.newPersistedQueryManifest(schema).operations(operations).build()
+        def parseCount = 0
+        def onCacheMiss = { String queryText ->
+            parseCount++
+            return new PreparsedDocumentEntry([])
+        } as PersistedQueryCacheMiss
+        def input = ExecutionInput.newExecutionInput("query { hello }")
+                .extensions([persistedQuery: [version: 1, sha256Hash: "hashFive"]])
+                .build()
+
+        when:
+        manifest.getPersistedQueryDocumentAsync("hashFive", input, onCacheMiss)
+
+        then:
+        thrown(PersistedQueryNotFound)
+        parseCount == 0
+
+        when:
+        def er = GraphQL.newGraphQL(schema).preparsedDocumentProvider(new ApolloPersistedQuerySupport(manifest)).build()
+                .execute(input)
+
+        then:
+        er.errors.size() == 1
+        er.errors[0].message == "PersistedQueryNotFound"
+        er.errors[0].extensions["persistedQueryId"] == "hashFive"
+    }
+
+    def "the operations are loaded with the given executor"() {
+        def executions = 0
+        def executor = { Runnable runnable ->
+            executions++
+            runnable.run()
+        } as Executor
+
+        when:
+        def manifest = PersistedQueryManifest.newPersistedQueryManifest(schema)
+                .operation("hashOne", "query One { hello }")
+                .operation("hashTwo", "query Two { hello }")
+                .executor(executor)
+                .ticker({ 0L })
+                .build()
+
+        then:
+        executions == 2
+        manifest.operationCount == 2
+        manifest.invalidOperations.isEmpty()
+        manifest.loadTime.isZero()
+    }
+}
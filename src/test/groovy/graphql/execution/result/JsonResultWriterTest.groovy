@@ -0,0 +1,124 @@
+package graphql.execution.result
+
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.GraphQLException
+import graphql.GraphqlErrorBuilder
+import graphql.StarWarsSchema
+import groovy.json.JsonSlurper
+import spock.lang.Specification
+
+import java.nio.channels.Channels
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.DoubleAdder
+
+class JsonResultWriterTest extends Specification {
+
+    static String toJson(ExecutionResult executionResult, int bufferSize = 16) {
+        def out = new ByteArrayOutputStream()
+        def writer = new JsonResultWriter(out, bufferSize)
+        writer.value(executionResult.toSpecification())
+        writer.flush()
+        out.toString(StandardCharsets.UTF_8.name())
+    }
+
+    def "writes the same result as the specification map"() {
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).build()
+
+        when:
+        def executionResult = graphQL.execute('''
+            {
+                hero {
+                    id
+                    name
+                    appearsIn
+                    friends { name }
+                }
+                nope : human(id : "not there") { name }
+            }
+        ''')
+        def json = toJson(executionResult)
+
+        then:
+        json.startsWith('{"data":{"hero":{"id":"2001","name":"R2-D2","appearsIn":["NEWHOPE","EMPIRE","JEDI"]')
+        new JsonSlurper().parseText(json) == executionResult.toSpecification()
+    }
+
+    def "writes errors and extensions"() {
+        def error = GraphqlErrorBuilder.newError().message("bad \"thing\"").path(["a", 1]).build()
+        def executionResult = ExecutionResult.newExecutionResult()
+                .data([a: [null, [b: true]]])
+                .addError(error)
+                .extensions([cost: 1.5d, big: 12345678901234567890G])
+                .build()
+
+        when:
+        def json = toJson(executionResult)
+
+        then:
+        json == '{"errors":[{"message":"bad \\"thing\\"","locations":[],"path":["a",1],"extensions":{"classification":"DataFetchingException"}}],' +
+                '"data":{"a":[null,{"b":true}]},' +
+                '"extensions":{"cost":1.5,"big":12345678901234567890}}'
+    }
+
+    def "results without data leave out the data key"() {
+        def executionResult = ExecutionResult.newExecutionResult()
+                .addError(GraphqlErrorBuilder.newError().message("boom").build())
+                .build()
+
+        expect:
+        new JsonSlurper().parseText(toJson(executionResult)) == executionResult.toSpecification()
+        !toJson(executionResult).contains('"data"')
+    }
+
+    def "strings are escaped and encoded as UTF-8"() {
+        def out = new ByteArrayOutputStream()
+        def writer = new JsonResultWriter(Channels.newChannel(out), 16)
+
+        when:
+        writer.value(["quote\" back\\slash \n\t\u0001", "héllo € 😀", "lone \ud800"])
+        writer.flush()
+
+        then:
+        out.toString(StandardCharsets.UTF_8.name()) == '["quote\\" back\\\\slash \\n\\t\\u0001","héllo € 😀","lone \\ud800"]'
+    }
+
+    def "numbers are written as JSON numbers"() {
+        def out = new ByteArrayOutputStream()
+        def writer = new JsonResultWriter(out)
+
+        when:
+        writer.value([0, -1, Integer.MAX_VALUE, Long.MIN_VALUE, 1.25d, 2.5f, new BigDecimal("1.10"), new BigDecimal("1E+3"),
+                         12345678901234567890G, new AtomicLong(7), new DoubleAdder()])
+        writer.flush()
+
+        then:
+        out.toString(StandardCharsets.UTF_8.name()) == '[0,-1,2147483647,-9223372036854775808,1.25,2.5,1.10,1E+3,12345678901234567890,7,0.0]'
+    }
+
+    def "numbers without a JSON form are rejected"() {
+        def writer = new JsonResultWriter(new ByteArrayOutputStream())
+
+        when:
+        writer.numberValue(value)
+
+        then:
+        thrown(GraphQLException)
+
+        where:
+        value << [Double.NaN, Double.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, new NotANumber()]
+    }
+
+    static class NotANumber extends Number {
+        int intValue() { 0 }
+
+        long longValue() { 0 }
+
+        float floatValue() { 0 }
+
+        double doubleValue() { 0 }
+
+        String toString() { "not a number" }
+    }
+}
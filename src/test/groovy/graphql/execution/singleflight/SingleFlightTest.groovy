@@ -0,0 +1,150 @@
+package graphql.execution.singleflight
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.schema.DataFetcher
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.atomic.AtomicInteger
+
+class SingleFlightTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            hello(name : String) : String
+        }
+
+        type Mutation {
+            bump : String
+        }
+    '''
+
+    def fetchCount = new AtomicInteger()
+    def gate = new CompletableFuture<String>()
+    def singleFlight = SingleFlight.newSingleFlight().build()
+
+    GraphQL graphQL(SingleFlight singleFlight) {
+        def fetcher = { env ->
+            fetchCount.incrementAndGet()
+            gate.thenApply { it + (env.getArgument("name") ?: "") }
+        } as DataFetcher
+        TestUtil.graphQL(sdl, [Query: [hello: fetcher], Mutation: [bump: fetcher]])
+                .singleFlight(singleFlight)
+                .build()
+    }
+
+    static ExecutionInput input(String query, Map<String, Object> variables = [:], Object partitionKey = null) {
+        def builder = ExecutionInput.newExecutionInput(query).variables(variables)
+        if (partitionKey != null) {
+            builder.graphQLContext([(SingleFlight.PARTITION_KEY_CONTEXT_KEY): partitionKey])
+        }
+        builder.build()
+    }
+
+    def "identical queries in flight are executed once and share the result"() {
+        def graphQL = graphQL(singleFlight)
+
+        when:
+        def results = [
+                graphQL.executeAsync(input('{ hello }')),
+                graphQL.executeAsync(input('{hello}')),
+                graphQL.executeAsync(input('''
+                    # formatting and comments do not matter
+                    {
+                        hello
+                    }''')),
+        ]
+
+        then:
+        fetchCount.get() == 1
+        singleFlight.inFlightCount == 1
+
+        when:
+        gate.complete("hi")
+
+        then:
+        results.every { it.join().data == [hello: "hi"] }
+        singleFlight.executionCount == 1
+        singleFlight.sharedCount == 2
+        singleFlight.inFlightCount == 0
+    }
+
+    def "queries with different variables, operation names or partition keys are not shared"() {
+        def graphQL = graphQL(singleFlight)
+        def query = 'query A($name : String) { hello(name: $name) } query B { hello }'
+
+        when:
+        def results = [
+                graphQL.executeAsync(input(query, [name: "a"]).transform { it.operationName("A") }),
+                graphQL.executeAsync(input(query, [name: "b"]).transform { it.operationName("A") }),
+                graphQL.executeAsync(input(query).transform { it.operationName("B") }),
+                graphQL.executeAsync(input(query, [name: "a"], "user1").transform { it.operationName("A") }),
+                graphQL.executeAsync(input(query, [name: "a"], "user1").transform { it.operationName("A") }),
+        ]
+        gate.complete("hi")
+
+        then:
+        results.collect { it.join().data } == [[hello: "hia"], [hello: "hib"], [hello: "hi"], [hello: "hia"], [hello: "hia"]]
+        fetchCount.get() == 4
+        singleFlight.sharedCount == 1
+    }
+
+    def "mutations and invalid documents are never shared"() {
+        def graphQL = graphQL(singleFlight)
+
+        when:
+        def mutations = (1..2).collect { graphQL.executeAsync(input('mutation { bump }')) }
+        def invalid = (1..2).collect { graphQL.executeAsync(input('{ hello ')) }
+        gate.complete("hi")
+
+        then:
+        mutations.every { it.join().data == [bump: "hi"] }
+        invalid.every { it.join().errors.size() == 1 }
+        fetchCount.get() == 2
+        singleFlight.sharedCount == 0
+    }
+
+    def "queries that arrive after the flight has landed are executed again"() {
+        def graphQL = graphQL(singleFlight)
+        gate.complete("hi")
+
+        when:
+        (1..3).each { graphQL.execute(input('{ hello }')) }
+
+        then:
+        fetchCount.get() == 3
+        singleFlight.sharedCount == 0
+    }
+
+    def "without a single flight every query is executed"() {
+        def graphQL = graphQL(null)
+
+        when:
+        def results = (1..2).collect { graphQL.executeAsync(input('{ hello }')) }
+        gate.complete("hi")
+
+        then:
+        results.every { it.join().data == [hello: "hi"] }
+        fetchCount.get() == 2
+    }
+
+    def "the document signatures are bounded and the recently used ones are remembered"() {
+        def graphQL = graphQL(singleFlight)
+        gate.complete("hi")
+        def query = { int i -> "{ hello(name : \"${i}\") }".toString() }
+
+        when:
+        graphQL.execute(input('{ hello }'))
+        (1..<SingleFlight.MAX_DOCUMENT_SIGNATURES).each { graphQL.execute(input(query(it))) }
+        graphQL.execute(input('{ hello }'))
+        graphQL.execute(input(query(SingleFlight.MAX_DOCUMENT_SIGNATURES)))
+
+        then:
+        singleFlight.getDocumentSignatureCount() <= SingleFlight.MAX_DOCUMENT_SIGNATURES
+        singleFlight.hasDocumentSignature('{ hello }', null)
+        singleFlight.hasDocumentSignature(query(SingleFlight.MAX_DOCUMENT_SIGNATURES), null)
+        fetchCount.get() == SingleFlight.MAX_DOCUMENT_SIGNATURES + 2
+    }
+}
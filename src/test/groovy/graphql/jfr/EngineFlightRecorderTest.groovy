@@ -0,0 +1,105 @@
+package graphql.jfr
+
+import graphql.TestUtil
+import graphql.schema.DataFetcher
+import jdk.jfr.Recording
+import jdk.jfr.consumer.RecordedEvent
+import jdk.jfr.consumer.RecordingFile
+import org.dataloader.BatchLoader
+import org.dataloader.DataLoaderFactory
+import org.dataloader.DataLoaderRegistry
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+
+import static graphql.ExecutionInput.newExecutionInput
+
+class EngineFlightRecorderTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            dogs : [Dog]
+        }
+        type Dog {
+            name : String
+            owner : String
+        }
+    '''
+
+    def graphQL = TestUtil.graphQL(sdl, [
+            Query: [dogs: { env -> [[id: 1, name: "Luna"], [id: 2, name: "Max"]] } as DataFetcher],
+            Dog  : [owner: { env -> env.getDataLoader("owner").load(env.getSource().id) } as DataFetcher]
+    ]).build()
+
+    def execute() {
+        BatchLoader<Integer, String> batchLoader = { keys -> CompletableFuture.completedFuture(keys.collect { "owner" + it }) }
+        def dataLoaderRegistry = new DataLoaderRegistry()
+        dataLoaderRegistry.register("owner", DataLoaderFactory.newDataLoader(batchLoader))
+        def executionInput = newExecutionInput('query Dogs { dogs { name owner } }')
+                .operationName("Dogs")
+                .dataLoaderRegistry(dataLoaderRegistry)
+                .build()
+        def er = graphQL.execute(executionInput)
+        assert er.errors.isEmpty()
+        er
+    }
+
+    List<RecordedEvent> record(Closure<?> code) {
+        def recording = new Recording()
+        ["graphql.Parse", "graphql.Validation", "graphql.ExecutionStrategy", "graphql.FieldFetch", "graphql.DataLoaderDispatch"].each {
+            recording.enable(it).withThreshold(Duration.ZERO)
+        }
+        recording.start()
+        try {
+            code.call()
+        } finally {
+            recording.stop()
+        }
+        def file = Files.createTempFile("graphql", ".jfr")
+        try {
+            recording.dump(file)
+            return RecordingFile.readAllEvents(file)
+        } finally {
+            recording.close()
+            Files.delete(file)
+        }
+    }
+
+    def "the phases of an execution are recorded"() {
+        when:
+        def events = record { execute() }
+        def eventsByName = events.groupBy { it.eventType.name }
+
+        then:
+        eventsByName["graphql.Parse"].size() == 1
+        eventsByName["graphql.Parse"][0].getString("operationName") == "Dogs"
+        eventsByName["graphql.Validation"].size() == 1
+
+        eventsByName["graphql.ExecutionStrategy"].size() == 1
+        def executionStrategyEvent = eventsByName["graphql.ExecutionStrategy"][0]
+        executionStrategyEvent.getString("operationName") == "Dogs"
+        executionStrategyEvent.getString("operation") == "QUERY"
+        executionStrategyEvent.getString("executionStrategy") == "graphql.execution.AsyncExecutionStrategy"
+
+        // the trivial fetches of the names are not recorded
+        eventsByName["graphql.FieldFetch"].collect { it.getString("fieldCoordinates") + " " + it.getString("path") }.sort() ==
+                ["Dog.owner /dogs[0]/owner", "Dog.owner /dogs[1]/owner", "Query.dogs /dogs"]
+
+        eventsByName["graphql.DataLoaderDispatch"].size() == 1
+        def dispatchEvent = eventsByName["graphql.DataLoaderDispatch"][0]
+        dispatchEvent.getString("dataLoaderName") == "owner"
+        dispatchEvent.getInt("batchSize") == 2
+        dispatchEvent.getInt("level") > 0
+    }
+
+    def "nothing is recorded when no recording is running"() {
+        when:
+        execute()
+
+        then:
+        !EngineFlightRecorder.isRecording()
+        EngineFlightRecorder.beginParse(newExecutionInput("{ dogs { name } }").build()) == null
+    }
+}
@@ -0,0 +1,233 @@
+package graphql.language
+
+import graphql.GraphQLException
+import graphql.parser.Parser
+import graphql.util.TraversalControl
+import graphql.util.TraverserContext
+import spock.lang.Specification
+
+class AstBinaryCodecTest extends Specification {
+
+    def query = '''
+        query HeroForEpisode($ep: Episode! = JEDI, $ids: [ID!] @deprecated) @operation {
+          hero(episode: $ep, ids: $ids) {
+            name
+            friendName: friend(first: 10) @include(if: true) { name }
+            ...DroidFields
+            ... on Human { height(unit: FOOT, scale: 1.5e3) }
+            ... @skip(if: false) { id }
+          }
+          search(filter: {text: "luke\\nskywalker", tags: [null, "a"], block: """block
+          string""", big: 123456789012345678901234567890, negative: -42})
+        }
+
+        fragment DroidFields on Droid { primaryFunction }
+
+        mutation { addHero }
+
+        subscription OnHero { heroAdded }
+    '''
+
+    def sdl = '''
+        """
+        the schema
+        """
+        schema @schemaDirective { query: Query mutation: Mutation }
+        extend schema { subscription: Subscription }
+
+        "a query"
+        type Query implements Node & Entity @key(fields: "id") {
+            "the hero"
+            hero(episode: Episode = NEWHOPE, first: Int = 10): [Character!]!
+        }
+        extend type Query { villain: Character }
+
+        interface Character implements Node { name: String }
+        extend interface Character { age: Int }
+
+        union SearchResult = Human | Droid
+        extend union SearchResult = Starship
+
+        enum Episode { NEWHOPE "the empire" EMPIRE @deprecated(reason: "no") JEDI }
+        extend enum Episode { PHANTOM }
+
+        input ReviewInput { stars: Int! = 5 commentary: String = null tags: [String] = ["a"] }
+        extend input ReviewInput { date: Date }
+
+        scalar Date
+        extend scalar Date @specifiedBy(url: "https://example.com")
+
+        directive @key(fields: String!) repeatable on OBJECT | INTERFACE
+    '''
+
+    static Document roundTrip(Document document, boolean includeSourceLocations = true) {
+        AstBinaryCodec.decode(AstBinaryCodec.encode(document, includeSourceLocations))
+    }
+
+    static List<Node> allNodes(Document document) {
+        def nodes = []
+        new NodeTraverser().depthFirst(new NodeVisitorStub() {
+            @Override
+            protected TraversalControl visitNode(Node node, TraverserContext<Node> context) {
+                nodes.add(node)
+                TraversalControl.CONTINUE
+            }
+        }, document)
+        nodes
+    }
+
+    def "a query survives a round trip"() {
+        def document = Parser.parse(query)
+
+        when:
+        def decoded = roundTrip(document)
+
+        then:
+        AstPrinter.printAst(decoded) == AstPrinter.printAst(document)
+        allNodes(decoded).collect { it.class } == allNodes(document).collect { it.class }
+        allNodes(decoded).collect { it.sourceLocation } == allNodes(document).collect { it.sourceLocation }
+    }
+
+    def "an SDL document survives a round trip"() {
+        def document = Parser.parse(sdl)
+
+        when:
+        def decoded = roundTrip(document)
+
+        then:
+        AstPrinter.printAst(decoded) == AstPrinter.printAst(document)
+        allNodes(decoded).collect { it.class } == allNodes(document).collect { it.class }
+        allNodes(decoded).collect { it.sourceLocation } == allNodes(document).collect { it.sourceLocation }
+
+        def schemaDefinition = decoded.getFirstDefinitionOfType(SchemaDefinition).get()
+        schemaDefinition.description.content == "the schema"
+        schemaDefinition.description.multiLine
+        schemaDefinition.description.sourceLocation == document.getFirstDefinitionOfType(SchemaDefinition).get().description.sourceLocation
+        decoded.getDefinitionsOfType(DirectiveDefinition)[0].repeatable
+    }
+
+    def "the values keep their exact types"() {
+        def document = Parser.parse('{ f(i: -9223372036854775808, big: 9223372036854775808, f: 0.10, b: true, s: "", n: null) }')
+
+        when:
+        def arguments = roundTrip(document).getFirstDefinitionOfType(OperationDefinition).get().selectionSet.selections[0].arguments
+        def values = arguments.collectEntries { [(it.name): it.value] }
+
+        then:
+        values.i.value == Long.MIN_VALUE as BigInteger
+        values.big.value == new BigInteger("9223372036854775808")
+        values.f.value == new BigDecimal("0.10")
+        values.b instanceof BooleanValue && values.b.value
+        values.s instanceof StringValue && values.s.value == ""
+        values.n instanceof NullValue
+    }
+
+    def "source locations can be left out"() {
+        def document = Parser.parse(query)
+
+        when:
+        def withLocations = AstBinaryCodec.encode(document)
+        def withoutLocations = AstBinaryCodec.encode(document, false)
+        def decoded = AstBinaryCodec.decode(withoutLocations)
+
+        then:
+        withoutLocations.length < withLocations.length
+        AstPrinter.printAst(decoded) == AstPrinter.printAst(document)
+        allNodes(decoded).every { it.sourceLocation == null }
+    }
+
+    def "source names are kept"() {
+        def document = Document.newDocument()
+                .definition(OperationDefinition.newOperationDefinition()
+                        .operation(OperationDefinition.Operation.QUERY)
+                        .sourceLocation(new SourceLocation(5, 1, "a.graphql"))
+                        .selectionSet(SelectionSet.newSelectionSet()
+                                .sourceLocation(new SourceLocation(2, 3, "a.graphql"))
+                                .selection(Field.newField("x").sourceLocation(new SourceLocation(9, 7, "b.graphql")).build())
+                                .selection(Field.newField("y").sourceLocation(new SourceLocation(1, 1, null)).build())
+                                .build())
+                        .build())
+                .build()
+
+        when:
+        def operationDefinition = roundTrip(document).getFirstDefinitionOfType(OperationDefinition).get()
+
+        then:
+        operationDefinition.sourceLocation == new SourceLocation(5, 1, "a.graphql")
+        operationDefinition.selectionSet.sourceLocation == new SourceLocation(2, 3, "a.graphql")
+        operationDefinition.selectionSet.selections.collect { it.sourceLocation } ==
+                [new SourceLocation(9, 7, "b.graphql"), new SourceLocation(1, 1, null)]
+    }
+
+    def "bytes that are not an encoded document are rejected"() {
+        def bytes = AstBinaryCodec.encode(Parser.parse(query))
+        def otherVersion = bytes.clone()
+        otherVersion[4] = 9
+
+        when:
+        AstBinaryCodec.decode(otherVersion)
+
+        then:
+        def e = thrown(GraphQLException)
+        e.message == "The document was encoded with version 9 but only version 1 is supported"
+
+        when:
+        AstBinaryCodec.decode(Arrays.copyOf(bytes, bytes.length - 3))
+
+        then:
+        thrown(GraphQLException)
+
+        when:
+        AstBinaryCodec.decode("query { hello }".getBytes("UTF-8"))
+
+        then:
+        thrown(GraphQLException)
+    }
+
+    // the magic number, version 1, no source locations and then the string table and nodes as given
+    static byte[] encoded(List<Integer> stringsAndNodes) {
+        (("GQLD".getBytes("UTF-8") as List) + [1, 0] + stringsAndNodes) as byte[]
+    }
+
+    def "corrupt counts, nesting and values are rejected as not an encoded document"() {
+        when: "the string count is more than the bytes that remain"
+        AstBinaryCodec.decode(encoded([0xFF, 0xFF, 0xFF, 0xFF, 0x07]))
+
+        then:
+        def e = thrown(GraphQLException)
+        e.message.contains("is more than the bytes that remain")
+
+        when: "the string count is negative"
+        AstBinaryCodec.decode(encoded([0xFF, 0xFF, 0xFF, 0xFF, 0x0F]))
+
+        then:
+        thrown(GraphQLException)
+
+        when: "a document claims more definitions than there are bytes"
+        AstBinaryCodec.decode(encoded([0, 1, 0xFF, 0xFF, 0xFF, 0xFF, 0x07]))
+
+        then:
+        e = thrown(GraphQLException)
+        e.message.contains("is more than the bytes that remain")
+
+        when: "the values are nested deeper than the maximum"
+        AstBinaryCodec.decode(encoded([0, 1, 1] + [22, 1] * (AstBinaryCodec.MAX_NODE_DEPTH + 1) + [20]))
+
+        then:
+        e = thrown(GraphQLException)
+        e.message.contains("nested more than")
+
+        when: "an integer value is not a number"
+        AstBinaryCodec.decode(encoded([1, 1, (int) 'x', 1, 1, 16, 1]))
+
+        then:
+        e = thrown(GraphQLException)
+        e.cause instanceof NumberFormatException
+
+        when: "a string index is unknown"
+        AstBinaryCodec.decode(encoded([0, 1, 1, 21, 5]))
+
+        then:
+        thrown(GraphQLException)
+    }
+}
@@ -0,0 +1,244 @@
+package graphql.parser
+
+import graphql.i18n.I18n
+import graphql.language.AstComparator
+import graphql.language.Document
+import graphql.language.Node
+import graphql.language.OperationDefinition
+import graphql.parser.exceptions.ParseCancelledException
+import graphql.parser.exceptions.ParseCancelledTooDeepException
+import spock.lang.Specification
+
+class ExecutableDocumentParserTest extends Specification {
+
+    def kitchenSink = '''
+        # a leading comment
+        query Kitchen($id: ID! = "1", $ids: [ID!]! = ["1", "2"], $filter: Filter = {name: "x", tags: [A, B], nested: {deep: null}}) @op(arg: 1) {
+            # field comment
+            alias: user(id: $id, n: -42, f: 1.5e-3, s: "esc \\" \\u00e9 \\u{1F600}", b: true, e: ENUM_VALUE, l: [], o: {}) @skip(if: false) {
+                ...UserFields @include(if: true)
+                ... on User { id }
+                ... @defer { name }
+                ... { name }
+                on: on
+                true: true
+                fragment: query
+            }
+        }
+
+        """
+        a block description
+        """
+        mutation { doIt(input: """block
+            string""") { ok } }
+
+        "a description"
+        subscription Sub { events { id } }
+
+        fragment UserFields on User {
+            # spread comment
+            id, name
+        }
+
+        {
+          plain
+        }
+    '''
+
+    static ParserOptions options(boolean captureSourceLocation, boolean captureLineComments) {
+        ParserOptions.newParserOptions()
+                .captureSourceLocation(captureSourceLocation)
+                .captureLineComments(captureLineComments)
+                .build()
+    }
+
+    static Document fastParse(String text, ParserOptions parserOptions, String sourceName = null) {
+        fastParse(MultiSourceReader.newMultiSourceReader().string(text, sourceName).build(), parserOptions)
+    }
+
+    static Document fastParse(MultiSourceReader multiSourceReader, ParserOptions parserOptions) {
+        // read the text the same way the parser does so that the reader tracks the lines
+        def text = new StringWriter()
+        multiSourceReader.transferTo(text)
+        return ExecutableDocumentParser.parse(text.toString(), multiSourceReader, parserOptions, I18n.i18n(I18n.BundleType.Parsing, Locale.ENGLISH))
+    }
+
+    static Document antlrParse(String text, ParserOptions parserOptions, String sourceName = null) {
+        // sub classes of Parser always use ANTLR
+        def antlrParser = new Parser() {}
+        def multiSourceReader = MultiSourceReader.newMultiSourceReader().string(text, sourceName).build()
+        def environment = ParserEnvironment.newParserEnvironment().document(multiSourceReader).parserOptions(parserOptions).build()
+        return antlrParser.parseDocument(environment)
+    }
+
+    static void assertSameAst(Node fast, Node antlr) {
+        assert fast.getClass() == antlr.getClass()
+        assert fast.isEqualTo(antlr)
+        assert fast.getSourceLocation() == antlr.getSourceLocation()
+        assert fast.getComments().collect { [it.content, it.sourceLocation] } == antlr.getComments().collect { [it.content, it.sourceLocation] }
+        if (fast instanceof OperationDefinition) {
+            def fastDescription = (fast as OperationDefinition).getDescription()
+            def antlrDescription = (antlr as OperationDefinition).getDescription()
+            assert fastDescription?.content == antlrDescription?.content
+            assert fastDescription?.sourceLocation == antlrDescription?.sourceLocation
+            assert fastDescription?.multiLine == antlrDescription?.multiLine
+        }
+        List<Node> fastChildren = fast.getChildren()
+        List<Node> antlrChildren = antlr.getChildren()
+        assert fastChildren.size() == antlrChildren.size()
+        for (int i = 0; i < fastChildren.size(); i++) {
+            assertSameAst(fastChildren[i], antlrChildren[i])
+        }
+    }
+
+    def "produces the same AST as ANTLR"() {
+        def parserOptions = options(captureSourceLocation, captureLineComments)
+
+        when:
+        def fast = fastParse(kitchenSink, parserOptions, "kitchen.graphql")
+        def antlr = antlrParse(kitchenSink, parserOptions, "kitchen.graphql")
+
+        then:
+        fast != null
+        AstComparator.isEqual(fast, antlr)
+        assertSameAst(fast, antlr)
+
+        where:
+        captureSourceLocation | captureLineComments
+        true                  | true
+        true                  | false
+        false                 | true
+        false                 | false
+    }
+
+    def "produces the same source locations as ANTLR across multiple sources"() {
+        def multiSourceReader = { ->
+            MultiSourceReader.newMultiSourceReader()
+                    .string("query A {\n  a\n}\n", "a.graphql")
+                    .string("# comment\nfragment F on T {\n  f\n}\n", "b.graphql")
+                    .build()
+        }
+        def parserOptions = options(true, true)
+
+        when:
+        def fast = fastParse(multiSourceReader(), parserOptions)
+        def antlr = new Parser() {}.parseDocument(ParserEnvironment.newParserEnvironment().document(multiSourceReader()).parserOptions(parserOptions).build())
+
+        then:
+        fast != null
+        assertSameAst(fast, antlr)
+        fast.getDefinitions()[1].getSourceLocation().getSourceName() == "b.graphql"
+    }
+
+    def "the parser uses the fast path and gets the same result"() {
+        def parserOptions = options(true, true)
+
+        when:
+        def document = new Parser().parseDocument(ParserEnvironment.newParserEnvironment().document(kitchenSink).parserOptions(parserOptions).build())
+
+        then:
+        assertSameAst(document, antlrParse(kitchenSink, parserOptions))
+    }
+
+    def "gives up on documents it does not handle"() {
+        expect:
+        fastParse(text, options(true, true)) == null
+
+        where:
+        text                                | _
+        ''                                  | _
+        '   # just a comment'               | _
+        'type Query { f : String }'         | _
+        'extend type Query { f : String }'  | _
+        'schema { query : Query }'          | _
+        '{ f '                              | _
+        '{ f } }'                           | _
+        '{ }'                               | _
+        '{ f() }'                           | _
+        'query Q() { f }'                   | _
+        'query Q($v : Int = $other) { f }'  | _
+        '{ f(a : 01) }'                     | _
+        '{ f(a : 1.) }'                     | _
+        '{ f(a : 1x) }'                     | _
+        '{ f(a : "unterminated) }'          | _
+        '{ f(a : "bad \\q escape") }'       | _
+        '{ f(a : """a \\""" b""") }'        | _
+        'fragment on on T { f }'            | _
+        '{ ... on { f } }'                  | _
+        '{ f @ }'                           | _
+        '{ f | g }'                         | _
+        '{ f & g }'                         | _
+    }
+
+    def "invalid documents still get ANTLR syntax errors"() {
+        when:
+        Parser.parse(text)
+
+        then:
+        thrown(InvalidSyntaxException)
+
+        where:
+        text              | _
+        '{ f '            | _
+        '{ f } }'         | _
+        '{ f(a : 01) }'   | _
+        'query Q() { f }' | _
+    }
+
+    def "SDL documents are still parsed via ANTLR"() {
+        when:
+        def document = Parser.parse('type Query { f : String }')
+
+        then:
+        document.getDefinitions().size() == 1
+    }
+
+    def "token limits are honoured"() {
+        def query = '{ a b c d e }'
+
+        when:
+        def fast = fastParse(query, ParserOptions.newParserOptions().maxTokens(maxTokens).build())
+
+        then:
+        (fast != null) == parses
+
+        where:
+        maxTokens | parses
+        8         | true
+        7         | false
+    }
+
+    def "whitespace token limits are honoured"() {
+        def query = '{ a b c d e }'
+
+        when:
+        def fast = fastParse(query, ParserOptions.newParserOptions().maxWhitespaceTokens(maxWhitespaceTokens).build())
+
+        then:
+        (fast != null) == parses
+
+        where:
+        maxWhitespaceTokens | parses
+        6                   | true
+        5                   | false
+    }
+
+    def "limits still produce the ANTLR exceptions"() {
+        def parserEnvironment = ParserEnvironment.newParserEnvironment()
+                .document(query)
+                .parserOptions(parserOptions)
+                .build()
+
+        when:
+        new Parser().parseDocument(parserEnvironment)
+
+        then:
+        thrown(expectedException)
+
+        where:
+        query                                 | parserOptions                                                   | expectedException
+        '{ a b c d e }'                       | ParserOptions.newParserOptions().maxTokens(5).build()           | ParseCancelledException
+        '{ a b c d e }'                       | ParserOptions.newParserOptions().maxWhitespaceTokens(3).build() | ParseCancelledException
+        '{ a { b { c { d { e { f } } } } } }' | ParserOptions.newParserOptions().maxRuleDepth(10).build()       | ParseCancelledTooDeepException
+    }
+}
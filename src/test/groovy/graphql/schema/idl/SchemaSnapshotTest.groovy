@@ -0,0 +1,196 @@
+package graphql.schema.idl
+
+import graphql.AssertException
+import graphql.GraphQL
+import graphql.GraphQLException
+import graphql.TestUtil
+import graphql.schema.DataFetcher
+import graphql.schema.GraphQLSchema
+import graphql.schema.TypeResolver
+import graphql.schema.idl.errors.SchemaProblem
+import spock.lang.Specification
+
+class SchemaSnapshotTest extends Specification {
+
+    def sdl = '''
+        """
+        the schema
+        """
+        schema @key(fields: "schema") {
+            query: Query
+            mutation: Mutation
+        }
+
+        "the key"
+        directive @key(fields: String! = "id") repeatable on SCHEMA | OBJECT | INTERFACE
+
+        type Query {
+            hero(episode: Episode = NEWHOPE): Character
+            search(first: Int = 10, after: String @deprecated(reason: "no")): [SearchResult!]
+            greeting: String
+        }
+
+        type Mutation {
+            review(input: ReviewInput): String
+        }
+
+        interface Node {
+            id: ID!
+        }
+
+        "a character"
+        interface Character implements Node @key(fields: "id") {
+            id: ID!
+            name: String @deprecated(reason: "use fullName")
+        }
+
+        type Human implements Character & Node @key(fields: "id") @key(fields: "name") {
+            id: ID!
+            name: String @deprecated(reason: "use fullName")
+            born: Date
+        }
+
+        type Droid implements Character & Node {
+            id: ID!
+            name: String @deprecated(reason: "use fullName")
+        }
+
+        union SearchResult = Human | Droid
+
+        enum Episode {
+            NEWHOPE
+            "the empire"
+            EMPIRE @deprecated(reason: "old")
+        }
+
+        input ReviewInput {
+            stars: Int! = 5
+            tags: [String] = ["a", null]
+            episode: Episode = EMPIRE
+            nested: ReviewInput
+        }
+
+        scalar Date @specifiedBy(url: "https://example.com/date")
+    '''
+
+    def typeResolver = { env -> env.schema.getObjectType("Human") } as TypeResolver
+
+    def wiring = RuntimeWiring.newRuntimeWiring()
+            .scalar(TestUtil.mockScalar("Date"))
+            .type("Query", { it.dataFetcher("greeting", { env -> "hello" } as DataFetcher)
+                    .dataFetcher("hero", { env -> [id: "1", name: "Luke", born: "1977"] } as DataFetcher) })
+            .type("Node", { it.typeResolver(typeResolver) })
+            .type("Character", { it.typeResolver(typeResolver) })
+            .type("SearchResult", { it.typeResolver(typeResolver) })
+            .build()
+
+    def printer = new SchemaPrinter(SchemaPrinter.Options.defaultOptions()
+            .includeSchemaDefinition(true)
+            .includeDirectives(true)
+            .includeScalarTypes(true))
+
+    GraphQLSchema generate(RuntimeWiring runtimeWiring) {
+        def options = SchemaGenerator.Options.defaultOptions()
+                .captureAstDefinitions(false)
+                .useAppliedDirectivesOnly(true)
+        new SchemaGenerator().makeExecutableSchema(options, new SchemaParser().parse(sdl), runtimeWiring)
+    }
+
+    def "a schema read from a snapshot prints the same as the generated one"() {
+        def schema = generate(wiring)
+
+        when:
+        def read = SchemaSnapshot.read(SchemaSnapshot.write(schema), wiring)
+
+        then:
+        printer.print(read) == printer.print(schema)
+        read.allTypesAsList*.name == schema.allTypesAsList*.name
+        read.directives*.name as Set == schema.directives*.name as Set
+        read.description == "the schema"
+        read.getDirective("key").repeatable
+        read.getObjectType("Human").getAppliedDirectives("key").size() == 2
+        read.getType("Date").specifiedByUrl == "https://example.com/date"
+    }
+
+    def "the runtime wiring is applied to the snapshot"() {
+        def read = SchemaSnapshot.read(SchemaSnapshot.write(generate(wiring)), wiring)
+
+        when:
+        def er = GraphQL.newGraphQL(read).build().execute('{ greeting hero { id name ... on Human { born } } }')
+
+        then:
+        er.errors.isEmpty()
+        er.data == [greeting: "hello", hero: [id: "1", name: "Luke", born: "1977"]]
+
+        when:
+        er = GraphQL.newGraphQL(read).build().execute('{ __type(name: "ReviewInput") { inputFields { name defaultValue } } }')
+
+        then:
+        er.errors.isEmpty()
+        er.data.__type.inputFields == [
+                [name: "stars", defaultValue: "5"],
+                [name: "tags", defaultValue: '["a", null]'],
+                [name: "episode", defaultValue: "EMPIRE"],
+                [name: "nested", defaultValue: null],
+        ]
+    }
+
+    def "a snapshot can be read with the wiring factory of the runtime wiring"() {
+        def schema = generate(RuntimeWiring.MOCKED_WIRING)
+
+        when:
+        def read = SchemaSnapshot.read(SchemaSnapshot.write(schema), RuntimeWiring.MOCKED_WIRING)
+
+        then:
+        printer.print(read) == printer.print(schema)
+    }
+
+    def "a scalar that is not wired is reported"() {
+        def snapshot = SchemaSnapshot.write(generate(wiring))
+
+        when:
+        SchemaSnapshot.read(snapshot, RuntimeWiring.newRuntimeWiring().build())
+
+        then:
+        thrown(SchemaProblem)
+    }
+
+    def "schema directive wiring is not supported"() {
+        def snapshot = SchemaSnapshot.write(generate(wiring))
+        def directiveWiring = RuntimeWiring.newRuntimeWiring()
+                .scalar(TestUtil.mockScalar("Date"))
+                .directive("key", new SchemaDirectiveWiring() {})
+                .build()
+
+        when:
+        SchemaSnapshot.read(snapshot, directiveWiring)
+
+        then:
+        thrown(AssertException)
+    }
+
+    def "bytes that are not a snapshot are rejected"() {
+        def snapshot = SchemaSnapshot.write(generate(wiring))
+        def otherVersion = snapshot.clone()
+        otherVersion[4] = 9
+
+        when:
+        SchemaSnapshot.read(otherVersion, wiring)
+
+        then:
+        def e = thrown(GraphQLException)
+        e.message == "The schema snapshot was written with version 9 but only version 1 is supported"
+
+        when:
+        SchemaSnapshot.read(Arrays.copyOf(snapshot, snapshot.length - 3), wiring)
+
+        then:
+        thrown(GraphQLException)
+
+        when:
+        SchemaSnapshot.read("type Query { hello: String }".getBytes("UTF-8"), wiring)
+
+        then:
+        thrown(GraphQLException)
+    }
+}
@@ -0,0 +1,51 @@
+package graphql.util
+
+import spock.lang.Specification
+
+class ConcurrentLruCacheTest extends Specification {
+
+    def "values are computed once and then cached"() {
+        def cache = new ConcurrentLruCache<String, String>(10)
+        def computeCount = 0
+
+        when:
+        def first = cache.computeIfAbsent("a") { computeCount++; it.toUpperCase() }
+        def second = cache.computeIfAbsent("a") { computeCount++; it.toUpperCase() }
+
+        then:
+        first == "A"
+        second == "A"
+        computeCount == 1
+        cache.get("a") == "A"
+        cache.get("b") == null
+        cache.containsKey("a")
+        cache.size() == 1
+    }
+
+    def "a small cache forgets the least recently used value"() {
+        def cache = new ConcurrentLruCache<Integer, Integer>(2)
+
+        when:
+        cache.computeIfAbsent(1) { it }
+        cache.computeIfAbsent(2) { it }
+        cache.get(1)
+        cache.computeIfAbsent(3) { it }
+
+        then:
+        cache.size() == 2
+        cache.containsKey(1)
+        !cache.containsKey(2)
+        cache.containsKey(3)
+    }
+
+    def "a large cache stays within its maximum size"() {
+        def cache = new ConcurrentLruCache<Integer, Integer>(64)
+
+        when:
+        (1..1000).each { i -> cache.computeIfAbsent(i) { it } }
+
+        then:
+        cache.size() <= 64
+        cache.containsKey(1000)
+    }
+}
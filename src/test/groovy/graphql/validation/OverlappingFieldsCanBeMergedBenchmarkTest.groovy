@@ -23,12 +23,17 @@ class OverlappingFieldsCanBeMergedBenchmarkTest extends Specification {
             "type Concrete2 implements Abstract2{ field: Abstract leaf: Int} " +
             "type Viewer { xingId: XingId } type XingId { firstName: String! lastName: String! }"
 
+    static String fragmentSchemaSdl = "type Query { node: Node } type Node { id: ID name: String child: Node children: [Node] }"
+
     @Shared
     GraphQLSchema schema
 
     @Shared
     GraphQLSchema schema2
 
+    @Shared
+    GraphQLSchema fragmentSchema
+
     @Shared
     Document largeSchemaDocument
 
@@ -38,6 +43,7 @@ class OverlappingFieldsCanBeMergedBenchmarkTest extends Specification {
         schema = SchemaGenerator.createdMockedSchema(schemaString)
         largeSchemaDocument = Parser.parse(query)
         schema2 = SchemaGenerator.createdMockedSchema(schemaSdl)
+        fragmentSchema = SchemaGenerator.createdMockedSchema(fragmentSchemaSdl)
     }
 
     private static String loadResource(String name) {
@@ -152,6 +158,39 @@ class OverlappingFieldsCanBeMergedBenchmarkTest extends Specification {
         errors.size() == 0
     }
 
+    def "fragment fan out produces no errors"() {
+        given:
+        Document doc = makeFragmentFanOutQuery(50)
+
+        when:
+        def errors = validateQuery(fragmentSchema, doc)
+
+        then:
+        errors.size() == 0
+    }
+
+    def "fragment chain produces no errors"() {
+        given:
+        Document doc = makeFragmentChainQuery(50)
+
+        when:
+        def errors = validateQuery(fragmentSchema, doc)
+
+        then:
+        errors.size() == 0
+    }
+
+    def "repeated fragment spreads produce no errors"() {
+        given:
+        Document doc = makeRepeatedFragmentSpreadsQuery(100)
+
+        when:
+        def errors = validateQuery(fragmentSchema, doc)
+
+        then:
+        errors.size() == 0
+    }
+
     // -- Query builders (copied from OverlappingFieldValidationPerformance) --
 
     private static Document makeQueryWithFragments(int size, boolean overlapping) {
@@ -219,4 +258,51 @@ class OverlappingFieldsCanBeMergedBenchmarkTest extends Specification {
         q.append("\n}")
         return Parser.parse(q.toString())
     }
+
+    private static Document makeFragmentFanOutQuery(int width) {
+        StringBuilder q = new StringBuilder()
+
+        for (int i = 1; i <= width; i++) {
+            q.append("fragment leaf").append(i).append(" on Node { id name child { id name } children { id name } }\n")
+        }
+        for (int i = 1; i <= width; i++) {
+            q.append("fragment branch").append(i).append(" on Node { child { ")
+            for (int j = 1; j <= width; j++) {
+                q.append("...leaf").append(j).append(" ")
+            }
+            q.append("} }\n")
+        }
+
+        q.append("query FragmentFanOut { node { ")
+        for (int i = 1; i <= width; i++) {
+            q.append("...branch").append(i).append(" ")
+        }
+        q.append("} }")
+        return Parser.parse(q.toString())
+    }
+
+    private static Document makeFragmentChainQuery(int depth) {
+        StringBuilder q = new StringBuilder()
+
+        for (int i = 1; i < depth; i++) {
+            q.append("fragment chain").append(i).append(" on Node { id name child { ...chain").append(i + 1).append(" } }\n")
+        }
+        q.append("fragment chain").append(depth).append(" on Node { id name }\n")
+
+        q.append("query FragmentChain { node { ...chain1 } node { ...chain1 } }")
+        return Parser.parse(q.toString())
+    }
+
+    private static Document makeRepeatedFragmentSpreadsQuery(int size) {
+        StringBuilder q = new StringBuilder()
+
+        q.append("fragment nodeFields on Node { id name child { id name children { id name } } }\n")
+
+        q.append("query RepeatedFragmentSpreads { node { ")
+        for (int i = 1; i <= size; i++) {
+            q.append("child { ...nodeFields } ")
+        }
+        q.append("} }")
+        return Parser.parse(q.toString())
+    }
 }
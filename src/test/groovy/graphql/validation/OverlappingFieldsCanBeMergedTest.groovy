@@ -1059,5 +1059,64 @@ class OverlappingFieldsCanBeMergedTest extends Specification {
 
     }
 
+    def "conflicts in fragments that are spread many times are reported once"() {
+        given:
+        def schema = schema('''
+        type Query {
+            node: Node
+        }
+        type Node {
+            id: ID
+            name: String
+            child: Node
+        }
+        ''')
+        def query = '''
+        {
+            node { ...parent child { ...id } }
+            node { ...grandParent child { ...name } }
+        }
+        fragment grandParent on Node { ...parent }
+        fragment parent on Node { child { ...id } }
+        fragment id on Node { x: id }
+        fragment name on Node { x: name }
+        '''
+
+        when:
+        traverse(query, schema)
+
+        then:
+        errorCollector.getErrors().size() == 1
+        errorCollector.getErrors()[0].message == "Validation error (FieldsConflict) : 'node/child/x' : returns different types 'ID' and 'String'"
+        errorCollector.getErrors()[0].locations == [new SourceLocation(8, 31), new SourceLocation(9, 33)]
+    }
 
+    def "conflicts in fragment cycles are still reported"() {
+        given:
+        def schema = schema('''
+        type Query {
+            node: Node
+        }
+        type Node {
+            id: ID
+            name: String
+            child: Node
+        }
+        ''')
+        def query = '''
+        {
+            node { ...first }
+        }
+        fragment first on Node { x: id child { ...second } ...second }
+        fragment second on Node { x: name child { ...first } }
+        '''
+
+        when:
+        traverse(query, schema)
+
+        then:
+        errorCollector.getErrors().size() == 1
+        errorCollector.getErrors()[0].message == "Validation error (FieldsConflict) : 'node/x' : returns different types 'ID' and 'String'"
+        errorCollector.getErrors()[0].locations == [new SourceLocation(5, 34), new SourceLocation(6, 35)]
+    }
 }